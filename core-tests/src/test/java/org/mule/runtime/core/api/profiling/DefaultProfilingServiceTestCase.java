@@ -45,6 +45,9 @@ import org.mule.runtime.core.api.context.notification.ServerNotificationManager;
 import org.mule.runtime.core.internal.profiling.DefaultProfilingService;
 import org.mule.runtime.core.internal.profiling.DefaultProfilingNotificationListener;
 import org.mule.runtime.core.internal.profiling.ResettableProfilingDataProducerDelegate;
+import org.mule.runtime.core.internal.profiling.consumer.AggregatingByteBufferAllocationDataConsumer;
+import org.mule.runtime.core.internal.profiling.consumer.AggregatingComponentThreadingDataConsumer;
+import org.mule.runtime.core.internal.profiling.consumer.AggregatingTaskSchedulingDataConsumer;
 import org.mule.runtime.core.internal.profiling.consumer.LoggerByteBufferAllocationProfilingDataConsumer;
 import org.mule.runtime.core.internal.profiling.consumer.LoggerComponentThreadingDataConsumer;
 import org.mule.runtime.core.internal.profiling.consumer.TaskSchedulingLoggerDataConsumer;
@@ -136,19 +139,22 @@ public class DefaultProfilingServiceTestCase extends AbstractMuleContextTestCase
     assertThat(profilingService.getDiscoveryStrategy(), instanceOf(CompositeProfilingDataConsumerDiscoveryStrategy.class));
     Set<ProfilingDataConsumer<? extends ProfilingEventContext>> profilingDataConsumers =
         profilingService.getDiscoveryStrategy().discover();
-    assertThat(profilingDataConsumers, hasSize(6));
+    assertThat(profilingDataConsumers, hasSize(9));
     assertThat(profilingDataConsumers, hasItem(is(instanceOf(LoggerByteBufferAllocationProfilingDataConsumer.class))));
     assertThat(profilingDataConsumers, hasItem(is(instanceOf(LoggerComponentThreadingDataConsumer.class))));
     assertThat(profilingDataConsumers, hasItem(is(instanceOf(LoggerByteBufferAllocationProfilingDataConsumer.class))));
     assertThat(profilingDataConsumers, hasItem(is(instanceOf(TaskSchedulingLoggerDataConsumer.class))));
     assertThat(profilingDataConsumers, hasItem(is(instanceOf(TransactionLoggerDataConsumer.class))));
+    assertThat(profilingDataConsumers, hasItem(is(instanceOf(AggregatingComponentThreadingDataConsumer.class))));
+    assertThat(profilingDataConsumers, hasItem(is(instanceOf(AggregatingTaskSchedulingDataConsumer.class))));
+    assertThat(profilingDataConsumers, hasItem(is(instanceOf(AggregatingByteBufferAllocationDataConsumer.class))));
     assertThat(profilingDataConsumers, hasItem(testProfilingDataConsumer));
   }
 
   @Test
   @Description("The notification listener is correctly set so that the notifications are managed")
   public void correctNotificationListenerSet() {
-    verify(notificationManager, times(6)).addListenerSubscription(any(DefaultProfilingNotificationListener.class), any());
+    verify(notificationManager, times(9)).addListenerSubscription(any(DefaultProfilingNotificationListener.class), any());
   }
 
   @Test
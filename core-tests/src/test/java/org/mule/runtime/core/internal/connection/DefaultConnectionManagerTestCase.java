@@ -116,6 +116,20 @@ public class DefaultConnectionManagerTestCase extends AbstractMuleTestCase {
     assertBound(false);
   }
 
+  @Test
+  public void rebindReplacesBindingAndClosesPrevious() throws Exception {
+    connectionManager.bind(config, connectionProvider);
+    connectionManager.getConnection(config);
+
+    CachedConnectionProvider<Banana> otherConnectionProvider = mockConnectionProvider(CachedConnectionProvider.class);
+    connectionManager.bind(config, otherConnectionProvider);
+
+    verifyDisconnect();
+    assertBound(true);
+    connectionManager.getConnection(config).getConnection();
+    verify(otherConnectionProvider).connect();
+  }
+
   private void assertBound(boolean bound) {
     assertThat(connectionManager.hasBinding(config), is(bound));
   }
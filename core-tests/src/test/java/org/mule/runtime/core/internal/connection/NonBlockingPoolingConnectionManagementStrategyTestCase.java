@@ -0,0 +1,261 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.connection;
+
+import static org.mule.runtime.api.config.PoolingProfile.DEFAULT_MAX_POOL_WAIT;
+import static org.mule.runtime.api.config.PoolingProfile.INITIALISE_ALL;
+import static org.mule.runtime.api.config.PoolingProfile.INITIALISE_NONE;
+import static org.mule.runtime.api.config.PoolingProfile.WHEN_EXHAUSTED_FAIL;
+import static org.mule.runtime.api.config.PoolingProfile.WHEN_EXHAUSTED_WAIT;
+import static org.mule.runtime.core.internal.connection.NonBlockingConnectionPool.NUM_ACTIVE_KEY;
+import static org.mule.runtime.core.internal.connection.NonBlockingConnectionPool.NUM_WAITERS_KEY;
+import static org.mule.runtime.core.internal.connection.NonBlockingConnectionPool.TIMED_OUT_ACQUISITIONS_KEY;
+import static org.mule.runtime.core.internal.connection.NonBlockingConnectionPool.WAITED_ACQUISITIONS_KEY;
+
+import static java.lang.Thread.currentThread;
+import static java.lang.Thread.interrupted;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.api.config.PoolingProfile;
+import org.mule.runtime.api.connection.ConnectionException;
+import org.mule.runtime.api.connection.ConnectionHandler;
+import org.mule.runtime.api.connection.ConnectionProvider;
+import org.mule.runtime.api.connection.PoolingListener;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class NonBlockingPoolingConnectionManagementStrategyTestCase extends AbstractMuleTestCase {
+
+  private static final String OWNER_CONFIG_NAME = "SomeConfigName";
+
+  private ConnectionProvider<Object> connectionProvider;
+  private PoolingListener<Object> poolingListener;
+  private NonBlockingPoolingConnectionManagementStrategy<Object> strategy;
+
+  @Before
+  public void before() throws Exception {
+    connectionProvider = mock(ConnectionProvider.class);
+    when(connectionProvider.connect()).thenAnswer(invocation -> new Object());
+    poolingListener = mock(PoolingListener.class);
+  }
+
+  @After
+  public void after() throws Exception {
+    if (strategy != null) {
+      strategy.close();
+    }
+  }
+
+  @Test
+  public void getConnection() throws Exception {
+    initStrategy(new PoolingProfile(2, 2, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_WAIT, INITIALISE_NONE));
+    ConnectionHandler<Object> connection1 = strategy.getConnectionHandler();
+    ConnectionHandler<Object> connection2 = strategy.getConnectionHandler();
+
+    assertThat(connection1.getConnection(), is(not(sameInstance(connection2.getConnection()))));
+    verify(connectionProvider, times(2)).connect();
+    verify(poolingListener).onBorrow(connection1.getConnection());
+    verify(poolingListener).onBorrow(connection2.getConnection());
+  }
+
+  @Test
+  public void releasedConnectionIsReused() throws Exception {
+    initStrategy(new PoolingProfile(2, 2, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_WAIT, INITIALISE_NONE));
+    ConnectionHandler<Object> connectionHandler = strategy.getConnectionHandler();
+    Object connection = connectionHandler.getConnection();
+    connectionHandler.release();
+
+    assertThat(strategy.getConnectionHandler().getConnection(), is(sameInstance(connection)));
+    verify(connectionProvider).connect();
+    verify(poolingListener).onReturn(connection);
+  }
+
+  @Test
+  public void exhaustedPoolCompletesWaiterOnRelease() throws Exception {
+    initStrategy(new PoolingProfile(1, 1, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_WAIT, INITIALISE_NONE));
+    ConnectionHandler<Object> connectionHandler = strategy.getConnectionHandler();
+    Object connection = connectionHandler.getConnection();
+
+    CompletableFuture<ConnectionHandler<Object>> pending = strategy.getConnectionHandlerAsync();
+    assertThat(pending.isDone(), is(false));
+
+    connectionHandler.release();
+    assertThat(pending.get().getConnection(), is(sameInstance(connection)));
+    assertThat((Long) strategy.getPoolStatistics().get(WAITED_ACQUISITIONS_KEY), is(1L));
+  }
+
+  @Test
+  public void exhaustedPoolCompletesWaiterOnInvalidate() throws Exception {
+    initStrategy(new PoolingProfile(1, 1, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_WAIT, INITIALISE_NONE));
+    ConnectionHandler<Object> connectionHandler = strategy.getConnectionHandler();
+    Object connection = connectionHandler.getConnection();
+
+    CompletableFuture<ConnectionHandler<Object>> pending = strategy.getConnectionHandlerAsync();
+    connectionHandler.invalidate();
+
+    verify(connectionProvider).disconnect(connection);
+    assertThat(pending.get().getConnection(), is(not(sameInstance(connection))));
+  }
+
+  @Test
+  public void cancelledWaiterDoesNotTakeReleasedConnection() throws Exception {
+    initStrategy(new PoolingProfile(1, 1, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_WAIT, INITIALISE_NONE));
+    ConnectionHandler<Object> connectionHandler = strategy.getConnectionHandler();
+    Object connection = connectionHandler.getConnection();
+
+    strategy.getConnectionHandlerAsync().cancel(false);
+    assertThat((Integer) strategy.getPoolStatistics().get(NUM_WAITERS_KEY), is(0));
+
+    connectionHandler.release();
+    CompletableFuture<ConnectionHandler<Object>> next = strategy.getConnectionHandlerAsync();
+    assertThat(next.isDone(), is(true));
+    assertThat(next.get().getConnection(), is(sameInstance(connection)));
+  }
+
+  @Test
+  public void interruptedWaitDoesNotLeakConnection() throws Exception {
+    initStrategy(new PoolingProfile(1, 1, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_WAIT, INITIALISE_NONE));
+    ConnectionHandler<Object> connectionHandler = strategy.getConnectionHandler();
+
+    currentThread().interrupt();
+    try {
+      strategy.getConnectionHandler();
+      fail("Was expecting the wait to be interrupted");
+    } catch (ConnectionException e) {
+      assertThat(interrupted(), is(true));
+    }
+
+    connectionHandler.release();
+    assertThat((Integer) strategy.getPoolStatistics().get(NUM_WAITERS_KEY), is(0));
+    assertThat(strategy.getConnectionHandlerAsync().isDone(), is(true));
+  }
+
+  @Test
+  public void invalidateAfterReleaseDoesNothing() throws Exception {
+    initStrategy(new PoolingProfile(2, 2, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_WAIT, INITIALISE_NONE));
+    ConnectionHandler<Object> connectionHandler = strategy.getConnectionHandler();
+
+    connectionHandler.release();
+    connectionHandler.invalidate();
+    connectionHandler.release();
+
+    verify(connectionProvider, never()).disconnect(any());
+    verify(poolingListener, times(1)).onReturn(any());
+  }
+
+  @Test
+  public void invalidateTwiceDisconnectsOnce() throws Exception {
+    initStrategy(new PoolingProfile(2, 2, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_WAIT, INITIALISE_NONE));
+    ConnectionHandler<Object> connectionHandler = strategy.getConnectionHandler();
+    strategy.getConnectionHandler();
+
+    connectionHandler.invalidate();
+    connectionHandler.invalidate();
+
+    verify(connectionProvider, times(1)).disconnect(any());
+    assertThat((Integer) strategy.getPoolStatistics().get(NUM_ACTIVE_KEY), is(1));
+  }
+
+  @Test
+  public void exhaustedPoolTimesOut() throws Exception {
+    initStrategy(new PoolingProfile(1, 1, 100, WHEN_EXHAUSTED_WAIT, INITIALISE_NONE));
+    strategy.getConnectionHandler();
+
+    try {
+      strategy.getConnectionHandlerAsync().get();
+      fail("Was expecting the acquisition to time out");
+    } catch (ExecutionException e) {
+      assertThat(e.getCause(), is(instanceOf(ConnectionException.class)));
+    }
+    assertThat((Long) strategy.getPoolStatistics().get(TIMED_OUT_ACQUISITIONS_KEY), is(1L));
+  }
+
+  @Test
+  public void exhaustedPoolFails() throws Exception {
+    initStrategy(new PoolingProfile(1, 1, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_FAIL, INITIALISE_NONE));
+    ConnectionHandler<Object> connectionHandler = strategy.getConnectionHandler();
+
+    try {
+      strategy.getConnectionHandler();
+      fail("Was expecting the pool to be exhausted");
+    } catch (ConnectionException e) {
+      // expected
+    }
+
+    connectionHandler.release();
+    strategy.getConnectionHandler();
+  }
+
+  @Test
+  public void poolIdStartsWithConfigName() throws Exception {
+    initStrategy(new PoolingProfile(1, 1, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_WAIT, INITIALISE_NONE));
+    assertThat(strategy.getPoolId(), startsWith(OWNER_CONFIG_NAME + "-"));
+  }
+
+  @Test
+  public void initialiseAll() throws Exception {
+    initStrategy(new PoolingProfile(3, 3, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_WAIT, INITIALISE_ALL));
+    verify(connectionProvider, times(3)).connect();
+  }
+
+  @Test
+  public void closeDisconnectsIdleConnectionsAndReturnedOnes() throws Exception {
+    initStrategy(new PoolingProfile(2, 2, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_WAIT, INITIALISE_NONE));
+    ConnectionHandler<Object> connection1 = strategy.getConnectionHandler();
+    ConnectionHandler<Object> connection2 = strategy.getConnectionHandler();
+    connection1.release();
+
+    strategy.close();
+    verify(connectionProvider).disconnect(any());
+
+    connection2.release();
+    verify(connectionProvider, times(2)).disconnect(any());
+    strategy = null;
+  }
+
+  @Test
+  public void poolingListenerFailsOnBorrow() throws Exception {
+    initStrategy(new PoolingProfile(2, 2, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_WAIT, INITIALISE_NONE));
+    RuntimeException exception = new RuntimeException();
+    doThrow(exception).when(poolingListener).onBorrow(any());
+
+    try {
+      strategy.getConnectionHandler();
+      fail("was expecting poolingListener to fail");
+    } catch (ConnectionException e) {
+      assertThat(e.getCause(), is(sameInstance(exception)));
+      verify(connectionProvider).disconnect(any());
+      verify(poolingListener, never()).onReturn(any());
+    }
+  }
+
+  private void initStrategy(PoolingProfile poolingProfile) {
+    strategy = new NonBlockingPoolingConnectionManagementStrategy<>(connectionProvider, poolingProfile, poolingListener,
+                                                                    mock(MuleContext.class), OWNER_CONFIG_NAME);
+  }
+}
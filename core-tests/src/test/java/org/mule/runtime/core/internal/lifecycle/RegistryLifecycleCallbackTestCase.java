@@ -0,0 +1,160 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.lifecycle;
+
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.internal.lifecycle.RegistryLifecycleCallback.PARALLEL_LIFECYCLE_PROPERTY;
+import static org.mule.runtime.core.internal.lifecycle.RegistryLifecycleCallback.PARALLEL_LIFECYCLE_THREADS_PROPERTY;
+import static org.mule.tck.probe.PollingProber.check;
+import static org.mule.test.allure.AllureConstants.LifecycleAndDependencyInjectionFeature.LIFECYCLE_AND_DEPENDENCY_INJECTION;
+import static org.mule.test.allure.AllureConstants.LifecycleAndDependencyInjectionFeature.LifecyclePhaseStory.LIFECYCLE_PHASE_STORY;
+
+import static java.lang.Thread.currentThread;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.synchronizedList;
+import static java.util.Optional.empty;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.api.lifecycle.Initialisable;
+import org.mule.runtime.api.lifecycle.LifecycleException;
+import org.mule.runtime.core.internal.lifecycle.phases.LifecyclePhase;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.junit4.rule.SystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+@Feature(LIFECYCLE_AND_DEPENDENCY_INJECTION)
+@Story(LIFECYCLE_PHASE_STORY)
+public class RegistryLifecycleCallbackTestCase extends AbstractMuleTestCase {
+
+  private static final Object FIRST = "first";
+  private static final Object LEFT = "left";
+  private static final Object RIGHT = "right";
+  private static final Object FAILING = "failing";
+  private static final Object OTHER_FAILING = "otherFailing";
+  private static final Object PENDING = "pending";
+  private static final Object LAST = "last";
+
+  @Rule
+  public SystemProperty parallelLifecycle = new SystemProperty(PARALLEL_LIFECYCLE_PROPERTY, "true");
+
+  @Rule
+  public SystemProperty parallelLifecycleThreads = new SystemProperty(PARALLEL_LIFECYCLE_THREADS_PROPERTY, "2");
+
+  private final List<Object> applied = synchronizedList(new ArrayList<>());
+  private final List<Thread> threads = synchronizedList(new ArrayList<>());
+
+  private final LifecycleException failure = new LifecycleException(createStaticMessage("Expected"), FAILING);
+  private final LifecycleException otherFailure = new LifecycleException(createStaticMessage("Also expected"), OTHER_FAILING);
+  // makes both failing objects be in progress at the same time
+  private final CountDownLatch failingLatch = new CountDownLatch(2);
+
+  private LifecyclePhase phase;
+  private RegistryLifecycleManager lifecycleManager;
+  private RegistryLifecycleCallback<Object> callback;
+
+  @Before
+  public void before() throws Exception {
+    phase = mock(LifecyclePhase.class);
+    when(phase.getName()).thenReturn(Initialisable.PHASE_NAME);
+    doAnswer(invocation -> {
+      Object target = invocation.getArgument(0);
+      applied.add(target);
+      threads.add(currentThread());
+      if (target.equals(FAILING) || target.equals(OTHER_FAILING)) {
+        failingLatch.countDown();
+        failingLatch.await();
+        throw target.equals(FAILING) ? failure : otherFailure;
+      }
+      return null;
+    }).when(phase).applyLifecycle(any());
+
+    lifecycleManager = mock(RegistryLifecycleManager.class);
+    when(lifecycleManager.getPhase(Initialisable.PHASE_NAME)).thenReturn(phase);
+    when(lifecycleManager.getMuleContext()).thenReturn(empty());
+
+    callback = new RegistryLifecycleCallback<>(lifecycleManager);
+  }
+
+  @Test
+  @Description("Each level is applied after the previous one completes, the objects in it concurrently")
+  public void levelsAreAppliedInOrder() throws Exception {
+    when(lifecycleManager.getObjectLevelsForPhase(phase))
+        .thenReturn(asList(singletonList(FIRST), asList(LEFT, RIGHT), singletonList(LAST)));
+
+    callback.onTransition(Initialisable.PHASE_NAME, new Object());
+
+    assertThat(applied, hasSize(4));
+    assertThat(applied.get(0), is(FIRST));
+    assertThat(applied.subList(1, 3), containsInAnyOrder(LEFT, RIGHT));
+    assertThat(applied.get(3), is(LAST));
+    // the single object levels are applied by the thread driving the transition
+    assertThat(threads.get(0), is(currentThread()));
+    assertThat(threads.get(1), is(not(currentThread())));
+    assertThat(threads.get(3), is(currentThread()));
+    assertExecutorShutdown();
+  }
+
+  @Test
+  @Description("A failure in a level is thrown once the objects in progress complete, without applying the phase to the "
+      + "pending objects of the level nor to the following levels")
+  public void failureInMiddleLevel() throws Exception {
+    when(lifecycleManager.getObjectLevelsForPhase(phase))
+        .thenReturn(asList(singletonList(FIRST), asList(LEFT, RIGHT), asList(FAILING, OTHER_FAILING, PENDING),
+                           singletonList(LAST)));
+
+    try {
+      callback.onTransition(Initialisable.PHASE_NAME, new Object());
+      fail("Expected the transition to fail");
+    } catch (LifecycleException e) {
+      assertThat(e, is(sameInstance(failure)));
+      assertThat(e.getSuppressed(), arrayContaining((Throwable) otherFailure));
+    }
+
+    assertThat(applied, hasSize(5));
+    assertThat(applied.get(0), is(FIRST));
+    assertThat(applied.subList(1, 3), containsInAnyOrder(LEFT, RIGHT));
+    assertThat(applied.subList(3, 5), containsInAnyOrder(FAILING, OTHER_FAILING));
+    assertThat(applied, not(hasItem(PENDING)));
+    assertThat(applied, not(hasItem(LAST)));
+    assertExecutorShutdown();
+  }
+
+  private void assertExecutorShutdown() {
+    check(5000, 50, () -> {
+      synchronized (threads) {
+        for (Thread thread : threads) {
+          assertThat(thread.getName(), thread.isAlive() && thread != currentThread(), is(false));
+        }
+      }
+      return true;
+    });
+  }
+}
@@ -149,6 +149,28 @@ public class InstanceLockGroupTestCase extends AbstractMuleTestCase {
     }
   }
 
+  @Test
+  public void entriesAreReleasedWhenUsingManyKeysConcurrently() throws Exception {
+    List<Thread> threads = new ArrayList<>(THREAD_COUNT);
+    for (int i = 0; i < THREAD_COUNT; i++) {
+      final String keyPrefix = "key-" + (i % 10) + "-";
+      Thread thread = new Thread(() -> {
+        for (int j = 0; j < ITERATIONS_PER_THREAD; j++) {
+          String key = keyPrefix + (j % 5);
+          instanceLockGroup.lock(key);
+          instanceLockGroup.unlock(key);
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertThat(instanceLockGroup.size(), is(0));
+  }
+
   private void lockUnlockThenDestroy(int lockTimes) {
     mockLockProvider = Mockito.mock(LockProvider.class, Answers.RETURNS_DEEP_STUBS);
     InstanceLockGroup instanceLockGroup = new InstanceLockGroup(mockLockProvider);
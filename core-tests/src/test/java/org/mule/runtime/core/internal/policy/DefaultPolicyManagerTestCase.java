@@ -10,11 +10,13 @@ import static org.mule.runtime.api.component.TypedComponentIdentifier.ComponentT
 import static org.mule.runtime.api.component.location.Location.builderFromStringRepresentation;
 import static org.mule.runtime.api.functional.Either.left;
 import static org.mule.runtime.api.functional.Either.right;
+import static org.mule.runtime.api.notification.FlowConstructNotification.FLOW_CONSTRUCT_STOPPED;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
 import static org.mule.runtime.dsl.api.component.config.DefaultComponentLocation.fromSingleComponent;
 import static org.mule.tck.probe.PollingProber.DEFAULT_POLLING_INTERVAL;
+import static org.mule.tck.probe.PollingProber.probe;
 
 import static java.lang.Thread.sleep;
 import static java.util.Arrays.asList;
@@ -33,6 +35,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -46,6 +49,7 @@ import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.functional.Either;
 import org.mule.runtime.api.lifecycle.Disposable;
 import org.mule.runtime.api.lifecycle.InitialisationException;
+import org.mule.runtime.api.notification.FlowConstructNotification;
 import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.policy.OperationPolicyParametersTransformer;
@@ -376,6 +380,93 @@ public class DefaultPolicyManagerTestCase extends AbstractMuleContextTestCase {
     assertThat(operationPolicy1, not(operationPolicy2));
   }
 
+  @Test
+  public void sourcePolicyForComponentOnlyParamsResolvedOnce() {
+    final Policy policy = stubPolicy("PolicyStub");
+    when(policyProvider.findSourceParameterizedPolicies(any())).thenReturn(asList(policy));
+    clearPolicyManagerCaches();
+
+    final InternalEvent event1 = mock(InternalEvent.class);
+    when(event1.getSourcePolicyContext())
+        .thenReturn((EventInternalContext) new SourcePolicyContext(new ComponentPolicyPointcutParameters(flowOne)));
+    final InternalEvent event2 = mock(InternalEvent.class);
+    when(event2.getSourcePolicyContext())
+        .thenReturn((EventInternalContext) new SourcePolicyContext(new ComponentPolicyPointcutParameters(flowOne)));
+
+    final SourcePolicy policy1 = policyManager.createSourcePolicyInstance(flowOne, event1, ePub -> ePub,
+                                                                          mock(MessageSourceResponseParametersProcessor.class));
+    final SourcePolicy policy2 = policyManager.createSourcePolicyInstance(flowOne, event2, ePub -> ePub,
+                                                                          mock(MessageSourceResponseParametersProcessor.class));
+
+    assertThat(policy1, instanceOf(CompositeSourcePolicy.class));
+    assertThat(policy1, sameInstance(policy2));
+    verify(policyProvider, times(1)).findSourceParameterizedPolicies(any());
+  }
+
+  @Test
+  public void operationPolicyForComponentOnlyParamsResolvedOnce() {
+    final Policy policy = stubPolicy("PolicyStub");
+    when(policyProvider.findOperationParameterizedPolicies(any())).thenReturn(asList(policy));
+    clearPolicyManagerCaches();
+
+    final OperationParametersProcessor parametersProcessor = mock(OperationParametersProcessor.class);
+    final OperationPolicy operationPolicy1 =
+        policyManager.createOperationPolicy(testOperationOne, mock(InternalEvent.class), parametersProcessor);
+    final OperationPolicy operationPolicy2 =
+        policyManager.createOperationPolicy(testOperationOne, mock(InternalEvent.class), parametersProcessor);
+
+    assertThat(operationPolicy1, instanceOf(CompositeOperationPolicy.class));
+    assertThat(operationPolicy1, sameInstance(operationPolicy2));
+    verify(policyProvider, times(1)).findOperationParameterizedPolicies(any());
+    verify(parametersProcessor, times(1)).getOperationParameters();
+  }
+
+  @Test
+  public void componentOnlyParamsOperationPolicyReresolvedWhenFlowStops() {
+    when(policyProvider.findOperationParameterizedPolicies(any())).thenReturn(asList(stubPolicy("PolicyStub")));
+    clearPolicyManagerCaches();
+
+    // the name of its flow starts with the name of the flow of the other operations
+    TypedComponentIdentifier operationIdentifier = testOperationOne.getLocation().getComponentIdentifier();
+    Component otherFlowOperation = mock(Component.class);
+    ComponentLocation otherFlowOperationLocation = mock(ComponentLocation.class);
+    when(otherFlowOperationLocation.getLocation()).thenReturn("flow2/processors/0");
+    when(otherFlowOperationLocation.getComponentIdentifier()).thenReturn(operationIdentifier);
+    when(otherFlowOperation.getLocation()).thenReturn(otherFlowOperationLocation);
+
+    final OperationParametersProcessor parametersProcessor = mock(OperationParametersProcessor.class);
+    policyManager.createOperationPolicy(testOperationOne, mock(InternalEvent.class), parametersProcessor);
+    policyManager.createOperationPolicy(otherFlowOperation, mock(InternalEvent.class), parametersProcessor);
+    verify(policyProvider, times(2)).findOperationParameterizedPolicies(any());
+
+    muleContext.getNotificationManager().fireNotification(new FlowConstructNotification("flow", FLOW_CONSTRUCT_STOPPED));
+
+    probe(() -> {
+      policyManager.createOperationPolicy(testOperationOne, mock(InternalEvent.class), parametersProcessor);
+      verify(policyProvider, times(3)).findOperationParameterizedPolicies(any());
+      return true;
+    });
+    policyManager.createOperationPolicy(otherFlowOperation, mock(InternalEvent.class), parametersProcessor);
+    verify(policyProvider, times(3)).findOperationParameterizedPolicies(any());
+  }
+
+  @Test
+  public void componentOnlyParamsPolicyReresolvedWhenPoliciesChange() {
+    when(policyProvider.findOperationParameterizedPolicies(any()))
+        .thenReturn(asList(stubPolicy("PolicyStub")))
+        .thenReturn(emptyList());
+    clearPolicyManagerCaches();
+
+    final OperationPolicy operationPolicy1 = policyManager.createOperationPolicy(testOperationOne, mock(InternalEvent.class),
+                                                                                 mock(OperationParametersProcessor.class));
+    clearPolicyManagerCaches();
+    final OperationPolicy operationPolicy2 = policyManager.createOperationPolicy(testOperationOne, mock(InternalEvent.class),
+                                                                                 mock(OperationParametersProcessor.class));
+
+    assertThat(operationPolicy1, instanceOf(CompositeOperationPolicy.class));
+    assertThat(operationPolicy2, not(instanceOf(CompositeOperationPolicy.class)));
+  }
+
   @Test
   public void sourcePolicyDisposeWithNoInflightEvents() throws MuleException {
     startIfNeeded(policyManager);
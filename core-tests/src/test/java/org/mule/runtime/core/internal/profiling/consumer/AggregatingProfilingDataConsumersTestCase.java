@@ -0,0 +1,226 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.profiling.consumer;
+
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.MEMORY_BYTE_BUFFER_ALLOCATION;
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.MEMORY_BYTE_BUFFER_DEALLOCATION;
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.OPERATION_EXECUTED;
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.OPERATION_THREAD_RELEASE;
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.SCHEDULING_TASK_EXECUTION;
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.STARTING_OPERATION_EXECUTION;
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.STARTING_TASK_EXECUTION;
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.TASK_EXECUTED;
+import static org.mule.runtime.core.internal.profiling.consumer.AggregatingByteBufferAllocationDataConsumer.ALLOCATED_BYTES_KEY;
+import static org.mule.runtime.core.internal.profiling.consumer.AggregatingByteBufferAllocationDataConsumer.ALLOCATIONS_KEY;
+import static org.mule.runtime.core.internal.profiling.consumer.AggregatingByteBufferAllocationDataConsumer.DEALLOCATIONS_KEY;
+import static org.mule.runtime.core.internal.profiling.consumer.AggregatingComponentThreadingDataConsumer.EXECUTIONS_KEY;
+import static org.mule.runtime.core.internal.profiling.consumer.AggregatingComponentThreadingDataConsumer.EXECUTION_TIME_KEY;
+import static org.mule.runtime.core.internal.profiling.consumer.AggregatingComponentThreadingDataConsumer.THREAD_RELEASES_KEY;
+import static org.mule.runtime.core.internal.profiling.consumer.AggregatingComponentThreadingDataConsumer.THREAD_SWITCHES_KEY;
+import static org.mule.runtime.core.internal.profiling.consumer.AggregatingTaskSchedulingDataConsumer.QUEUEING_DELAY_KEY;
+import static org.mule.runtime.core.internal.profiling.consumer.AggregatingTaskSchedulingDataConsumer.TASKS_KEY;
+import static org.mule.runtime.core.internal.profiling.consumer.AggregatingTaskSchedulingDataConsumer.getSchedulerName;
+import static org.mule.runtime.core.internal.profiling.consumer.ProfilingHistogram.COUNT_KEY;
+import static org.mule.runtime.core.internal.profiling.consumer.ProfilingHistogram.MAX_KEY;
+import static org.mule.runtime.core.internal.profiling.consumer.ProfilingHistogram.P50_KEY;
+import static org.mule.runtime.core.internal.profiling.consumer.ProfilingHistogram.P99_KEY;
+import static org.mule.runtime.core.internal.profiling.consumer.ProfilingHistogram.SUM_KEY;
+import static org.mule.test.allure.AllureConstants.Profiling.PROFILING;
+import static org.mule.test.allure.AllureConstants.Profiling.ProfilingServiceStory.DEFAULT_PROFILING_SERVICE;
+
+import static java.util.Optional.of;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.api.profiling.type.context.ByteBufferProviderEventContext;
+import org.mule.runtime.api.profiling.type.context.ComponentThreadingProfilingEventContext;
+import org.mule.runtime.api.profiling.type.context.TaskSchedulingProfilingEventContext;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.internal.profiling.context.DefaultComponentThreadingProfilingEventContext;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.Test;
+
+@Feature(PROFILING)
+@Story(DEFAULT_PROFILING_SERVICE)
+public class AggregatingProfilingDataConsumersTestCase extends AbstractMuleTestCase {
+
+  private static final String LOCATION = "flow/processors/0";
+  private static final String CORRELATION_ID = "correlationId";
+  private static final String TASK_ID = "taskId";
+  private static final String PROVIDER_NAME = "provider";
+
+  @Test
+  @Description("The histogram approximates the percentiles to the upper bound of the power of two bucket of the value.")
+  public void histogramSnapshot() {
+    ProfilingHistogram histogram = new ProfilingHistogram();
+    for (int i = 0; i < 99; i++) {
+      histogram.record(5);
+    }
+    histogram.record(1000);
+
+    Map<String, Object> snapshot = histogram.getSnapshot();
+    assertThat(valueOf(snapshot, COUNT_KEY), is(100L));
+    assertThat(valueOf(snapshot, SUM_KEY), is(1495L));
+    assertThat(valueOf(snapshot, MAX_KEY), is(1000L));
+    assertThat(valueOf(snapshot, P50_KEY), is(7L));
+    assertThat(valueOf(snapshot, P99_KEY), is(7L));
+  }
+
+  @Test
+  @Description("The component threading consumer aggregates executions, thread releases and thread switches per location.")
+  public void componentThreadingAggregation() {
+    AggregatingComponentThreadingDataConsumer dataConsumer = new AggregatingComponentThreadingDataConsumer();
+
+    dataConsumer.onProfilingEvent(STARTING_OPERATION_EXECUTION, componentThreadingContext(100, "cpuLite.01"));
+    dataConsumer.onProfilingEvent(OPERATION_THREAD_RELEASE, componentThreadingContext(110, "cpuLite.01"));
+    dataConsumer.onProfilingEvent(OPERATION_EXECUTED, componentThreadingContext(130, "io.02"));
+
+    Map<String, Object> locationSnapshot = snapshotOf(dataConsumer.getSnapshot(), LOCATION);
+    assertThat(valueOf(locationSnapshot, EXECUTIONS_KEY), is(1L));
+    assertThat(valueOf(locationSnapshot, THREAD_RELEASES_KEY), is(1L));
+    assertThat(valueOf(locationSnapshot, THREAD_SWITCHES_KEY), is(1L));
+    assertThat(valueOf(snapshotOf(locationSnapshot, EXECUTION_TIME_KEY), SUM_KEY), is(30L));
+  }
+
+  @Test
+  @Description("Concurrent executions of the same location for the same correlation id are measured separately.")
+  public void concurrentComponentExecutionsAggregation() {
+    AggregatingComponentThreadingDataConsumer dataConsumer = new AggregatingComponentThreadingDataConsumer();
+    CoreEvent firstRoute = routeEvent("correlationId_0");
+    CoreEvent secondRoute = routeEvent("correlationId_1");
+
+    dataConsumer.onProfilingEvent(STARTING_OPERATION_EXECUTION, componentThreadingContext(firstRoute, 100));
+    dataConsumer.onProfilingEvent(STARTING_OPERATION_EXECUTION, componentThreadingContext(secondRoute, 105));
+    dataConsumer.onProfilingEvent(OPERATION_EXECUTED, componentThreadingContext(firstRoute, 130));
+    dataConsumer.onProfilingEvent(OPERATION_EXECUTED, componentThreadingContext(secondRoute, 150));
+
+    Map<String, Object> locationSnapshot = snapshotOf(dataConsumer.getSnapshot(), LOCATION);
+    assertThat(valueOf(locationSnapshot, EXECUTIONS_KEY), is(2L));
+    assertThat(valueOf(snapshotOf(locationSnapshot, EXECUTION_TIME_KEY), COUNT_KEY), is(2L));
+    assertThat(valueOf(snapshotOf(locationSnapshot, EXECUTION_TIME_KEY), SUM_KEY), is(75L));
+  }
+
+  @Test
+  @Description("Tasks that never start do not prevent the queueing delay of new tasks from being measured.")
+  public void unstartedTasksDoNotPreventAggregation() {
+    AggregatingTaskSchedulingDataConsumer dataConsumer = new AggregatingTaskSchedulingDataConsumer();
+    AtomicInteger taskIndex = new AtomicInteger();
+    TaskSchedulingProfilingEventContext unstartedTask = mock(TaskSchedulingProfilingEventContext.class);
+    when(unstartedTask.getTaskId()).thenAnswer(invocation -> "unstarted" + taskIndex.incrementAndGet());
+    when(unstartedTask.getTriggerTimestamp()).thenReturn(0L);
+    when(unstartedTask.getThreadName()).thenReturn("caller");
+
+    for (int i = 0; i < 20000; i++) {
+      dataConsumer.onProfilingEvent(SCHEDULING_TASK_EXECUTION, unstartedTask);
+    }
+    dataConsumer.onProfilingEvent(SCHEDULING_TASK_EXECUTION, taskSchedulingContext(100, "caller"));
+    dataConsumer.onProfilingEvent(STARTING_TASK_EXECUTION, taskSchedulingContext(140, "[MuleRuntime].uber.03: [app].flow"));
+
+    Map<String, Object> schedulerSnapshot = snapshotOf(dataConsumer.getSnapshot(), "[MuleRuntime].uber");
+    assertThat(valueOf(snapshotOf(schedulerSnapshot, QUEUEING_DELAY_KEY), SUM_KEY), is(40L));
+  }
+
+  @Test
+  @Description("The task scheduling consumer aggregates the queueing delay and execution time per scheduler.")
+  public void taskSchedulingAggregation() {
+    AggregatingTaskSchedulingDataConsumer dataConsumer = new AggregatingTaskSchedulingDataConsumer();
+
+    dataConsumer.onProfilingEvent(SCHEDULING_TASK_EXECUTION, taskSchedulingContext(100, "caller"));
+    dataConsumer.onProfilingEvent(STARTING_TASK_EXECUTION, taskSchedulingContext(140, "[MuleRuntime].uber.03: [app].flow"));
+    dataConsumer.onProfilingEvent(TASK_EXECUTED, taskSchedulingContext(150, "[MuleRuntime].uber.03: [app].flow"));
+
+    Map<String, Object> schedulerSnapshot = snapshotOf(dataConsumer.getSnapshot(), "[MuleRuntime].uber");
+    assertThat(valueOf(schedulerSnapshot, TASKS_KEY), is(1L));
+    assertThat(valueOf(snapshotOf(schedulerSnapshot, QUEUEING_DELAY_KEY), SUM_KEY), is(40L));
+    assertThat(valueOf(snapshotOf(schedulerSnapshot, AggregatingTaskSchedulingDataConsumer.EXECUTION_TIME_KEY), SUM_KEY),
+               is(10L));
+  }
+
+  @Test
+  @Description("The scheduler name is derived from the thread name without its index.")
+  public void schedulerName() {
+    assertThat(getSchedulerName("[MuleRuntime].uber.03: [app].flow.CPU_LITE @6b8f0e"), is("[MuleRuntime].uber"));
+    assertThat(getSchedulerName("pool-1-thread-12"), is("pool-1-thread"));
+    assertThat(getSchedulerName("main"), is("main"));
+  }
+
+  @Test
+  @Description("The byte buffer consumer aggregates allocations, deallocations and allocated bytes per provider.")
+  public void byteBufferAllocationAggregation() {
+    AggregatingByteBufferAllocationDataConsumer dataConsumer = new AggregatingByteBufferAllocationDataConsumer();
+
+    dataConsumer.onProfilingEvent(MEMORY_BYTE_BUFFER_ALLOCATION, byteBufferContext(1024));
+    dataConsumer.onProfilingEvent(MEMORY_BYTE_BUFFER_ALLOCATION, byteBufferContext(512));
+    dataConsumer.onProfilingEvent(MEMORY_BYTE_BUFFER_DEALLOCATION, byteBufferContext(1024));
+
+    Map<String, Object> providerSnapshot = snapshotOf(dataConsumer.getSnapshot(), PROVIDER_NAME);
+    assertThat(valueOf(providerSnapshot, ALLOCATIONS_KEY), is(2L));
+    assertThat(valueOf(providerSnapshot, DEALLOCATIONS_KEY), is(1L));
+    assertThat(valueOf(providerSnapshot, ALLOCATED_BYTES_KEY), is(512L));
+  }
+
+  private static Map<String, Object> snapshotOf(Map<String, Object> snapshot, String key) {
+    return (Map<String, Object>) snapshot.get(key);
+  }
+
+  private static long valueOf(Map<String, Object> snapshot, String key) {
+    return (Long) snapshot.get(key);
+  }
+
+  private static ComponentThreadingProfilingEventContext componentThreadingContext(long timestamp, String threadName) {
+    ComponentLocation location = mock(ComponentLocation.class);
+    when(location.getLocation()).thenReturn(LOCATION);
+
+    ComponentThreadingProfilingEventContext context = mock(ComponentThreadingProfilingEventContext.class);
+    when(context.getLocation()).thenReturn(of(location));
+    when(context.getCorrelationId()).thenReturn(CORRELATION_ID);
+    when(context.getTriggerTimestamp()).thenReturn(timestamp);
+    when(context.getThreadName()).thenReturn(threadName);
+    return context;
+  }
+
+  private static CoreEvent routeEvent(String eventContextId) {
+    CoreEvent event = mock(CoreEvent.class, RETURNS_DEEP_STUBS);
+    when(event.getCorrelationId()).thenReturn(CORRELATION_ID);
+    when(event.getContext().getId()).thenReturn(eventContextId);
+    return event;
+  }
+
+  private static ComponentThreadingProfilingEventContext componentThreadingContext(CoreEvent event, long timestamp) {
+    ComponentLocation location = mock(ComponentLocation.class);
+    when(location.getLocation()).thenReturn(LOCATION);
+
+    return new DefaultComponentThreadingProfilingEventContext(event, location, "cpuLite.01", "app", "APP", timestamp);
+  }
+
+  private static TaskSchedulingProfilingEventContext taskSchedulingContext(long timestamp, String threadName) {
+    TaskSchedulingProfilingEventContext context = mock(TaskSchedulingProfilingEventContext.class);
+    when(context.getTaskId()).thenReturn(TASK_ID);
+    when(context.getTriggerTimestamp()).thenReturn(timestamp);
+    when(context.getThreadName()).thenReturn(threadName);
+    return context;
+  }
+
+  private static ByteBufferProviderEventContext byteBufferContext(int size) {
+    ByteBufferProviderEventContext context = mock(ByteBufferProviderEventContext.class);
+    when(context.getByteBufferProviderName()).thenReturn(PROVIDER_NAME);
+    when(context.size()).thenReturn(size);
+    return context;
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.profiling.startup;
+
+import static org.mule.runtime.core.internal.profiling.startup.StartupTracer.STARTUP_TRACE_FOLDED_FILE_NAME;
+import static org.mule.runtime.core.internal.profiling.startup.StartupTracer.STARTUP_TRACE_JSON_FILE_NAME;
+import static org.mule.runtime.core.internal.profiling.startup.StartupTracer.STARTUP_TRACE_PROPERTY;
+import static org.mule.runtime.core.internal.profiling.startup.StartupTracer.getTrace;
+import static org.mule.runtime.core.internal.profiling.startup.StartupTracer.phase;
+import static org.mule.runtime.core.internal.profiling.startup.StartupTracer.removeTrace;
+import static org.mule.runtime.core.internal.profiling.startup.StartupTracer.startTrace;
+import static org.mule.runtime.core.internal.profiling.startup.StartupTracer.writeReport;
+import static org.mule.test.allure.AllureConstants.Profiling.PROFILING;
+
+import static java.lang.System.setProperty;
+import static java.nio.file.Files.readAllBytes;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.junit4.rule.SystemProperty;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.qameta.allure.Feature;
+
+@SmallTest
+@Feature(PROFILING)
+public class StartupTracerTestCase extends AbstractMuleTestCase {
+
+  private static final String ARTIFACT_NAME = "app";
+
+  @Rule
+  public SystemProperty startupTrace = new SystemProperty(STARTUP_TRACE_PROPERTY, "true");
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @After
+  public void tearDown() {
+    removeTrace(ARTIFACT_NAME);
+  }
+
+  @Test
+  public void nestedPhases() {
+    startTrace(ARTIFACT_NAME);
+    try (StartupPhase init = phase(ARTIFACT_NAME, "init")) {
+      try (StartupPhase ast = phase("ast")) {
+        // nothing to do
+      }
+      try (StartupPhase registry = phase("registry")) {
+        try (StartupPhase refresh = phase("refresh")) {
+          // nothing to do
+        }
+      }
+    }
+
+    StartupTrace trace = getTrace(ARTIFACT_NAME).get();
+    assertThat(trace.getPhases(), hasSize(1));
+    StartupPhase init = trace.getPhases().get(0);
+    assertThat(init.getName(), equalTo("init"));
+    assertThat(init.isClosed(), is(true));
+    assertThat(init.getChildren(), hasSize(2));
+    assertThat(init.getChildren().get(0).getName(), equalTo("ast"));
+    assertThat(init.getChildren().get(1).getChildren().get(0).getName(), equalTo("refresh"));
+    assertThat(init.getDurationNanos(), greaterThanOrEqualTo(init.getChildren().get(1).getDurationNanos()));
+  }
+
+  @Test
+  public void phaseOutsideTopLevelPhaseIsNotTraced() {
+    assertThat(phase("orphan"), sameInstance(StartupPhase.NO_OP));
+  }
+
+  @Test
+  public void closedTopLevelPhaseIsNoLongerCurrent() {
+    phase(ARTIFACT_NAME, "init").close();
+
+    assertThat(phase("late"), sameInstance(StartupPhase.NO_OP));
+  }
+
+  @Test
+  public void disabledTracingDoesNotTrace() {
+    setProperty(STARTUP_TRACE_PROPERTY, "false");
+
+    startTrace(ARTIFACT_NAME);
+    assertThat(phase(ARTIFACT_NAME, "init"), sameInstance(StartupPhase.NO_OP));
+    assertThat(getTrace(ARTIFACT_NAME).isPresent(), is(false));
+  }
+
+  @Test
+  public void reportIsWritten() throws Exception {
+    startTrace(ARTIFACT_NAME);
+    try (StartupPhase init = phase(ARTIFACT_NAME, "init")) {
+      phase("ast").close();
+    }
+
+    File folder = temporaryFolder.newFolder();
+    writeReport(ARTIFACT_NAME, folder);
+
+    assertThat(new String(readAllBytes(new File(folder, STARTUP_TRACE_JSON_FILE_NAME).toPath())),
+               containsString("\"ast\""));
+    assertThat(new String(readAllBytes(new File(folder, STARTUP_TRACE_FOLDED_FILE_NAME).toPath())),
+               containsString("app;init;ast "));
+  }
+}
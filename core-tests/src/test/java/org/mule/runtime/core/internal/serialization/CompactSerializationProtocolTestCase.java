@@ -0,0 +1,211 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.serialization;
+
+import static org.mule.runtime.api.metadata.DataType.BYTE_ARRAY;
+import static org.mule.runtime.api.metadata.DataType.STRING;
+import static org.mule.runtime.api.metadata.MediaType.APPLICATION_JSON;
+import static org.mule.runtime.core.internal.context.DefaultMuleContext.currentMuleContext;
+import static org.mule.test.allure.AllureConstants.SerializationFeature.SERIALIZATION;
+import static org.mule.test.allure.AllureConstants.SerializationFeature.SerializationStory.MESSAGE_SERIALIZATION;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.OptionalLong.of;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.mule.runtime.api.message.ItemSequenceInfo;
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.api.serialization.SerializationException;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.internal.streaming.object.Bucket;
+import org.mule.tck.core.internal.serialization.AbstractSerializerProtocolContractTestCase;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature(SERIALIZATION)
+@Story(MESSAGE_SERIALIZATION)
+public class CompactSerializationProtocolTestCase extends AbstractSerializerProtocolContractTestCase {
+
+  @Before
+  public void setUp() {
+    currentMuleContext.set(muleContext);
+  }
+
+  @After
+  public void teardown() {
+    currentMuleContext.set(null);
+  }
+
+  @Override
+  protected void doSetUp() throws Exception {
+    CompactObjectSerializer serializer = new CompactObjectSerializer();
+    serializer.setMuleContext(muleContext);
+    serializationProtocol = serializer.getExternalProtocol();
+  }
+
+  @Test(expected = SerializationException.class)
+  public void notSerializable() throws Exception {
+    serializationProtocol.serialize(new Object());
+  }
+
+  @Test
+  public void primitives() throws Exception {
+    assertRoundTrip(true);
+    assertRoundTrip((byte) 3);
+    assertRoundTrip((short) -300);
+    assertRoundTrip(Integer.MIN_VALUE);
+    assertRoundTrip(Long.MAX_VALUE);
+    assertRoundTrip(-1L);
+    assertRoundTrip(1.5f);
+    assertRoundTrip(Math.PI);
+    assertRoundTrip('\u00F1');
+    assertRoundTrip("Hello W\u00F6rld");
+  }
+
+  @Test
+  public void collections() throws Exception {
+    List<Object> list = new ArrayList<>();
+    list.add("a");
+    list.add(null);
+    list.add(1);
+
+    Set<String> set = new LinkedHashSet<>();
+    set.add("x");
+    set.add("y");
+
+    Map<String, Object> map = new LinkedHashMap<>();
+    map.put("list", list);
+    map.put("set", set);
+    map.put("nested", new HashMap<>(map));
+
+    assertRoundTrip(map);
+  }
+
+  @Test
+  public void byteArray() throws Exception {
+    byte[] bytes = "Hello".getBytes(UTF_8);
+    assertThat(serializationProtocol.deserialize(serializationProtocol.serialize(bytes)), equalTo(bytes));
+  }
+
+  @Test
+  public void typedValue() throws Exception {
+    TypedValue<String> typedValue =
+        new TypedValue<>("{}", DataType.builder(STRING).mediaType(APPLICATION_JSON).charset(UTF_8).build(), of(2));
+
+    TypedValue<String> deserialized = serializationProtocol.deserialize(serializationProtocol.serialize(typedValue));
+    assertThat(deserialized.getValue(), is("{}"));
+    assertThat(deserialized.getDataType().getType(), equalTo(String.class));
+    assertThat(deserialized.getDataType().getMediaType(), equalTo(typedValue.getDataType().getMediaType()));
+    assertThat(deserialized.getByteLength().getAsLong(), is(2L));
+  }
+
+  @Test
+  public void message() throws Exception {
+    byte[] payload = "payload".getBytes(UTF_8);
+    Message message = Message.builder().payload(new TypedValue<>(payload, BYTE_ARRAY)).attributesValue("attributes").build();
+
+    Message deserialized = serializationProtocol.deserialize(serializationProtocol.serialize(message));
+    assertThat((byte[]) deserialized.getPayload().getValue(), equalTo(payload));
+    assertThat(deserialized.getPayload().getDataType().getType(), equalTo(byte[].class));
+    assertThat((String) deserialized.getAttributes().getValue(), is("attributes"));
+  }
+
+  @Test
+  public void bucket() throws Exception {
+    Bucket<String> bucket = new Bucket<>(2, 3);
+    bucket.add("a");
+    bucket.add(null);
+
+    Bucket<String> deserialized = serializationProtocol.deserialize(serializationProtocol.serialize(bucket));
+    assertThat(deserialized.getIndex(), is(2));
+    assertThat(deserialized.getCapacity(), is(3));
+    assertThat(deserialized.size(), is(2));
+    assertThat(deserialized.get(0).get(), is("a"));
+    assertThat(deserialized.get(1).isPresent(), is(false));
+  }
+
+  @Test
+  public void event() throws Exception {
+    CoreEvent event = getEventBuilder()
+        .message(Message.of("payload"))
+        .addVariable("count", 3)
+        .addVariable("json", "{}", DataType.builder(STRING).mediaType(APPLICATION_JSON).build())
+        .itemSequenceInfo(Optional.of(ItemSequenceInfo.of(1, 3)))
+        .build();
+
+    CoreEvent deserialized = serializationProtocol.deserialize(serializationProtocol.serialize(event));
+    assertThat(deserialized.getContext().getId(), is(event.getContext().getId()));
+    assertThat(deserialized.getCorrelationId(), is(event.getCorrelationId()));
+    assertThat((String) deserialized.getMessage().getPayload().getValue(), is("payload"));
+    assertThat((Integer) deserialized.getVariables().get("count").getValue(), is(3));
+    assertThat((String) deserialized.getVariables().get("json").getValue(), is("{}"));
+    assertThat(deserialized.getVariables().get("json").getDataType().getMediaType().matches(APPLICATION_JSON), is(true));
+    assertThat(deserialized.getItemSequenceInfo().get().getPosition(), is(1));
+    assertThat(deserialized.getItemSequenceInfo().get().getSequenceSize().getAsInt(), is(3));
+    assertThat(serializationProtocol.serialize(event).length,
+               lessThan(new JavaExternalSerializerProtocol().serialize(event).length));
+  }
+
+  @Test
+  public void selfContainingCollection() throws Exception {
+    List<Object> list = new ArrayList<>();
+    list.add("a");
+    list.add(list);
+    Map<String, Object> map = new HashMap<>();
+    map.put("list", list);
+
+    Map<String, Object> deserialized = serializationProtocol.deserialize(serializationProtocol.serialize(map));
+    List<Object> deserializedList = (List<Object>) deserialized.get("list");
+    assertThat(deserializedList.get(0), is("a"));
+    assertThat(deserializedList.get(1), is(sameInstance(deserializedList)));
+  }
+
+  @Test
+  public void readsJavaSerializedData() throws Exception {
+    Map<String, Object> map = new HashMap<>();
+    map.put("key", "value");
+    byte[] bytes = new JavaExternalSerializerProtocol().serialize(map);
+
+    assertThat(serializationProtocol.deserialize(bytes), equalTo(map));
+  }
+
+  @Test
+  public void smallerThanJavaSerialization() throws Exception {
+    Map<String, Object> map = new HashMap<>();
+    for (int i = 0; i < 20; ++i) {
+      map.put("key" + i, i);
+    }
+
+    assertThat(serializationProtocol.serialize(map).length,
+               lessThan(new JavaExternalSerializerProtocol().serialize(map).length));
+  }
+
+  private void assertRoundTrip(Object value) {
+    assertThat(serializationProtocol.deserialize(serializationProtocol.serialize(value)), equalTo(value));
+  }
+}
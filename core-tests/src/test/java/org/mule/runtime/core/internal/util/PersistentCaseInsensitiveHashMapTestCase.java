@@ -0,0 +1,229 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util;
+
+import static org.mule.runtime.core.internal.util.PersistentCaseInsensitiveHashMap.copyOf;
+import static org.mule.runtime.core.internal.util.PersistentCaseInsensitiveHashMap.emptyPersistentCaseInsensitiveMap;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+
+import org.mule.runtime.core.api.util.CaseInsensitiveHashMap;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Test;
+
+@SmallTest
+public class PersistentCaseInsensitiveHashMapTestCase extends AbstractMuleTestCase {
+
+  @Test
+  public void caseInsensitive() {
+    PersistentCaseInsensitiveHashMap<String> map = new PersistentCaseInsensitiveHashMap<>();
+    map.put("FOO", "BAR");
+    map.put("doo", "3");
+
+    assertThat(map.get("foo"), is("BAR"));
+    assertThat(map.get("FOO"), is("BAR"));
+    assertThat(map.get("DOO"), is("3"));
+    assertThat(map.containsKey("fOo"), is(true));
+    assertThat(map.keySet(), containsInAnyOrder("FOO", "doo"));
+  }
+
+  @Test
+  public void replacingKeepsOriginalKeyCase() {
+    PersistentCaseInsensitiveHashMap<String> map = new PersistentCaseInsensitiveHashMap<>();
+    map.put("FOO", "BAR");
+
+    assertThat(map.put("foo", "BAZ"), is("BAR"));
+    assertThat(map.size(), is(1));
+    assertThat(map.get("Foo"), is("BAZ"));
+    assertThat(map.keySet(), containsInAnyOrder("FOO"));
+  }
+
+  @Test
+  public void copiesAreIndependent() {
+    PersistentCaseInsensitiveHashMap<Integer> map = new PersistentCaseInsensitiveHashMap<>();
+    map.put("a", 1);
+    map.put("b", 2);
+
+    PersistentCaseInsensitiveHashMap<Integer> copy = map.copy();
+    copy.put("c", 3);
+    copy.put("A", 10);
+    copy.remove("b");
+
+    assertThat(map.size(), is(2));
+    assertThat(map.get("a"), is(1));
+    assertThat(map.get("b"), is(2));
+    assertThat(map.get("c"), is(nullValue()));
+
+    assertThat(copy.size(), is(2));
+    assertThat(copy.get("a"), is(10));
+    assertThat(copy.get("c"), is(3));
+  }
+
+  @Test
+  public void immutableVersionIsNotAffectedByLaterChanges() {
+    PersistentCaseInsensitiveHashMap<Integer> map = new PersistentCaseInsensitiveHashMap<>();
+    map.put("a", 1);
+
+    CaseInsensitiveHashMap<String, Integer> immutable = map.toImmutableCaseInsensitiveMap();
+    map.put("b", 2);
+
+    assertThat(immutable.size(), is(1));
+    assertThat(immutable.get("b"), is(nullValue()));
+    assertThat(immutable.toImmutableCaseInsensitiveMap(), is(sameInstance(immutable)));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void immutableVersionRejectsChanges() {
+    PersistentCaseInsensitiveHashMap<Integer> map = new PersistentCaseInsensitiveHashMap<>();
+    map.put("a", 1);
+
+    map.toImmutableCaseInsensitiveMap().put("b", 2);
+  }
+
+  @Test
+  public void settingEntryValuePutsIt() {
+    PersistentCaseInsensitiveHashMap<Integer> map = new PersistentCaseInsensitiveHashMap<>();
+    map.put("A", 1);
+    PersistentCaseInsensitiveHashMap<Integer> copy = map.copy();
+
+    Map.Entry<String, Integer> entry = map.entrySet().iterator().next();
+    assertThat(entry.setValue(2), is(1));
+
+    assertThat(entry.getValue(), is(2));
+    assertThat(map.get("a"), is(2));
+    assertThat(map.keySet(), containsInAnyOrder("A"));
+    assertThat(copy.get("a"), is(1));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void immutableVersionRejectsEntryChanges() {
+    PersistentCaseInsensitiveHashMap<Integer> map = new PersistentCaseInsensitiveHashMap<>();
+    map.put("a", 1);
+
+    map.toImmutableCaseInsensitiveMap().entrySet().iterator().next().setValue(2);
+  }
+
+  @Test
+  public void copyOfImmutableIsMutable() {
+    PersistentCaseInsensitiveHashMap<Integer> copy = copyOf(emptyPersistentCaseInsensitiveMap());
+    copy.put("a", 1);
+
+    assertThat(copy.get("A"), is(1));
+    assertThat(emptyPersistentCaseInsensitiveMap().isEmpty(), is(true));
+  }
+
+  @Test
+  public void copyOfPlainMap() {
+    Map<String, String> source = new HashMap<>();
+    source.put("Key", "value");
+
+    assertThat(copyOf(source).get("KEY"), is("value"));
+  }
+
+  @Test
+  public void iteratorRemove() {
+    PersistentCaseInsensitiveHashMap<Integer> map = new PersistentCaseInsensitiveHashMap<>();
+    for (int i = 0; i < 100; ++i) {
+      map.put("key" + i, i);
+    }
+
+    Iterator<Integer> iterator = map.values().iterator();
+    int iterated = 0;
+    while (iterator.hasNext()) {
+      if (iterator.next() % 2 == 0) {
+        iterator.remove();
+      }
+      iterated++;
+    }
+
+    assertThat(iterated, is(100));
+    assertThat(map.size(), is(50));
+    assertThat(map.containsKey("key1"), is(true));
+    assertThat(map.containsKey("key2"), is(false));
+  }
+
+  @Test
+  public void collidingKeys() {
+    // "az" and "b[" have the same hash code
+    PersistentCaseInsensitiveHashMap<Integer> map = new PersistentCaseInsensitiveHashMap<>();
+    map.put("az", 1);
+    map.put("b[", 2);
+    map.put("azb[", 3);
+    map.put("b[az", 4);
+
+    assertThat(map.size(), is(4));
+    assertThat(map.get("AZ"), is(1));
+    assertThat(map.get("B["), is(2));
+    assertThat(map.get("AZB["), is(3));
+    assertThat(map.get("B[AZ"), is(4));
+
+    map.remove("az");
+    assertThat(map.size(), is(3));
+    assertThat(map.get("az"), is(nullValue()));
+    assertThat(map.get("b["), is(2));
+  }
+
+  @Test
+  public void behavesAsHashMap() {
+    Random random = new Random(42);
+    Map<String, Integer> expected = new HashMap<>();
+    PersistentCaseInsensitiveHashMap<Integer> map = new PersistentCaseInsensitiveHashMap<>();
+    PersistentCaseInsensitiveHashMap<Integer> snapshot = map.copy();
+    Map<String, Integer> expectedSnapshot = new HashMap<>();
+
+    for (int i = 0; i < 5000; ++i) {
+      String key = "k" + random.nextInt(500);
+      if (random.nextInt(3) == 0) {
+        assertThat(map.remove(key), is(expected.remove(key)));
+      } else {
+        assertThat(map.put(key, i), is(expected.put(key, i)));
+      }
+
+      if (i % 1000 == 0) {
+        snapshot = map.copy();
+        expectedSnapshot = new HashMap<>(expected);
+      }
+    }
+
+    assertSameContents(map, expected);
+    assertSameContents(snapshot, expectedSnapshot);
+  }
+
+  @Test
+  public void serializesAsCaseInsensitiveHashMap() {
+    PersistentCaseInsensitiveHashMap<String> map = new PersistentCaseInsensitiveHashMap<>();
+    map.put("FOO", "BAR");
+
+    Object deserialized = SerializationUtils.deserialize(SerializationUtils.serialize(map));
+    assertThat(deserialized, is(instanceOf(CaseInsensitiveHashMap.class)));
+    assertThat(((CaseInsensitiveHashMap<String, String>) deserialized).get("foo"), is("BAR"));
+  }
+
+  private void assertSameContents(PersistentCaseInsensitiveHashMap<Integer> map, Map<String, Integer> expected) {
+    assertThat(map.size(), is(expected.size()));
+    expected.forEach((k, v) -> assertThat(map.get(k.toUpperCase()), is(v)));
+    int count = 0;
+    for (Map.Entry<String, Integer> entry : map.entrySet()) {
+      assertThat(expected.get(entry.getKey()), is(entry.getValue()));
+      count++;
+    }
+    assertThat(count, is(expected.size()));
+  }
+}
@@ -6,6 +6,9 @@
  */
 package org.mule.runtime.core.internal.util.journal;
 
+import static org.mule.runtime.core.internal.util.journal.TransactionJournalFile.ENTRY_HEADER_SIZE;
+import static org.mule.runtime.core.internal.util.journal.TransactionJournalFile.HEADER_SIZE;
+
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
@@ -15,7 +18,10 @@ import org.mule.runtime.core.internal.util.journal.queue.LocalQueueTxJournalEntr
 import org.mule.runtime.core.internal.util.journal.queue.LocalTxQueueTransactionJournal;
 import org.mule.tck.junit4.AbstractMuleContextTestCase;
 
+import java.io.DataOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.RandomAccessFile;
 import java.io.Serializable;
 import java.util.Collection;
 
@@ -28,6 +34,7 @@ import org.junit.rules.TemporaryFolder;
 public class TransactionJournalFileTestCase extends AbstractMuleContextTestCase {
 
   private static final long KB_500 = 500 * 1024l;
+  private static final String QUEUE_NAME = "queue";
 
   @Rule
   public TemporaryFolder temporaryFolder = new TemporaryFolder();
@@ -53,12 +60,80 @@ public class TransactionJournalFileTestCase extends AbstractMuleContextTestCase
     assertThat(entry.getValue(), equalTo(payload));
   }
 
+  @Test
+  public void incompleteEntryIsDiscarded() throws Exception {
+    TransactionJournalFile<Integer, LocalQueueTxJournalEntry> journal = openJournal();
+    journal.logOperation(new LocalQueueTxJournalEntry(1, (byte) 6, QUEUE_NAME, "first"));
+    journal.logOperation(new LocalQueueTxJournalEntry(2, (byte) 6, QUEUE_NAME, "second"));
+    journal.close();
+
+    // simulate the process being killed while writing the last entry
+    try (RandomAccessFile file = new RandomAccessFile(getJournalFile(), "rw")) {
+      file.setLength(file.length() - 3);
+    }
+
+    journal = openJournal();
+    assertThat(journal.containsTx(1), is(true));
+    assertThat(journal.containsTx(2), is(false));
+
+    journal.logOperation(new LocalQueueTxJournalEntry(3, (byte) 6, QUEUE_NAME, "third"));
+    journal.close();
+
+    journal = openJournal();
+    assertThat(journal.containsTx(1), is(true));
+    assertThat(journal.getLogEntries(3).iterator().next().getValue(), equalTo("third"));
+    journal.close();
+  }
+
+  @Test
+  public void entriesBeforeCheckpointAreNotLoaded() throws Exception {
+    TransactionJournalFile<Integer, LocalQueueTxJournalEntry> journal = openJournal();
+    journal.logOperation(new LocalQueueTxJournalEntry(1, (byte) 6, QUEUE_NAME, "first"));
+    journal.logOperation(new LocalQueueTxJournalEntry(2, (byte) 6, QUEUE_NAME, "second"));
+    journal.clearEntriesForTransaction(1);
+    journal.close();
+
+    // corrupt the entry of the completed transaction, so it would stop the loading if read
+    try (RandomAccessFile file = new RandomAccessFile(getJournalFile(), "rw")) {
+      file.seek(HEADER_SIZE + ENTRY_HEADER_SIZE);
+      file.write(new byte[] {1, 2, 3, 4});
+    }
+
+    journal = openJournal();
+    assertThat(journal.containsTx(1), is(false));
+    assertThat(journal.getLogEntries(2).iterator().next().getValue(), equalTo("second"));
+    journal.close();
+  }
+
+  @Test
+  public void legacyFileIsLoadedAndRewritten() throws Exception {
+    JournalEntrySerializer<Integer, LocalQueueTxJournalEntry> serializer = createSerializer();
+    try (DataOutputStream out = new DataOutputStream(new FileOutputStream(getJournalFile()))) {
+      serializer.serialize(new LocalQueueTxJournalEntry(1, (byte) 6, QUEUE_NAME, "legacy"), out);
+    }
+
+    TransactionJournalFile<Integer, LocalQueueTxJournalEntry> journal = openJournal();
+    assertThat(journal.getLogEntries(1).iterator().next().getValue(), equalTo("legacy"));
+    journal.logOperation(new LocalQueueTxJournalEntry(2, (byte) 6, QUEUE_NAME, "current"));
+    journal.close();
+
+    journal = openJournal();
+    assertThat(journal.getLogEntries(1).iterator().next().getValue(), equalTo("legacy"));
+    assertThat(journal.getLogEntries(2).iterator().next().getValue(), equalTo("current"));
+    journal.close();
+  }
+
   private TransactionJournalFile<Integer, LocalQueueTxJournalEntry> openJournal() {
-    File journalFile = new File(temporaryFolder.getRoot(), "journal");
-    JournalEntrySerializer<Integer, LocalQueueTxJournalEntry> serializer = LocalTxQueueTransactionJournal
+    return new TransactionJournalFile<>(getJournalFile(), createSerializer(), journalEntry -> false, KB_500);
+  }
+
+  private JournalEntrySerializer<Integer, LocalQueueTxJournalEntry> createSerializer() {
+    return LocalTxQueueTransactionJournal
         .createLocalTxQueueJournalEntrySerializer(muleContext.getObjectSerializer().getInternalProtocol());
+  }
 
-    return new TransactionJournalFile<>(journalFile, serializer, journalEntry -> false, KB_500);
+  private File getJournalFile() {
+    return new File(temporaryFolder.getRoot(), "journal");
   }
 
 }
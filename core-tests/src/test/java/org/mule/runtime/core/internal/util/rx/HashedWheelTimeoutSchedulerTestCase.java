@@ -0,0 +1,199 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.rx;
+
+import static java.lang.System.nanoTime;
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+
+import org.mule.tck.SimpleUnitTestSupportSchedulerService;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler.Worker;
+
+@SmallTest
+public class HashedWheelTimeoutSchedulerTestCase extends AbstractMuleTestCase {
+
+  private SimpleUnitTestSupportSchedulerService schedulerService;
+  private HashedWheelTimeoutScheduler timeoutScheduler;
+
+  @Before
+  public void before() throws Exception {
+    schedulerService = new SimpleUnitTestSupportSchedulerService();
+    // A small wheel so that the tests go through several rounds
+    timeoutScheduler = new HashedWheelTimeoutScheduler(schedulerService, "test", 5, MILLISECONDS, 8);
+    timeoutScheduler.initialise();
+  }
+
+  @After
+  public void after() throws Exception {
+    timeoutScheduler.dispose();
+    schedulerService.stop();
+  }
+
+  @Test
+  public void scheduledTaskRunsAfterDelay() throws Exception {
+    CountDownLatch latch = new CountDownLatch(1);
+    long start = nanoTime();
+    timeoutScheduler.schedule(latch::countDown, 100, MILLISECONDS);
+
+    assertThat(latch.await(5, SECONDS), is(true));
+    assertThat(NANOSECONDS.toMillis(nanoTime() - start), greaterThanOrEqualTo(100L));
+  }
+
+  @Test
+  public void cancelledTaskDoesNotRun() throws Exception {
+    AtomicInteger executions = new AtomicInteger();
+    CountDownLatch latch = new CountDownLatch(1);
+
+    Disposable cancelled = timeoutScheduler.schedule(executions::incrementAndGet, 20, MILLISECONDS);
+    cancelled.dispose();
+    timeoutScheduler.schedule(latch::countDown, 100, MILLISECONDS);
+
+    assertThat(cancelled.isDisposed(), is(true));
+    assertThat(latch.await(5, SECONDS), is(true));
+    assertThat(executions.get(), is(0));
+  }
+
+  @Test
+  public void manyTasksWithDifferentDelays() throws Exception {
+    int tasks = 200;
+    CountDownLatch latch = new CountDownLatch(tasks);
+    for (int i = 0; i < tasks; ++i) {
+      timeoutScheduler.schedule(latch::countDown, i, MILLISECONDS);
+    }
+
+    assertThat(latch.await(5, SECONDS), is(true));
+  }
+
+  @Test
+  public void slowTaskDoesNotDelayLaterTasks() throws Exception {
+    CountDownLatch laterTaskRun = new CountDownLatch(1);
+    CountDownLatch slowTaskDone = new CountDownLatch(1);
+
+    timeoutScheduler.schedule(() -> {
+      try {
+        // only returns if the later task runs while this one is still running
+        if (laterTaskRun.await(5, SECONDS)) {
+          slowTaskDone.countDown();
+        }
+      } catch (InterruptedException e) {
+        currentThread().interrupt();
+      }
+    }, 10, MILLISECONDS);
+    timeoutScheduler.schedule(laterTaskRun::countDown, 50, MILLISECONDS);
+
+    assertThat(slowTaskDone.await(5, SECONDS), is(true));
+  }
+
+  @Test
+  public void reactorTimeout() {
+    String result = Mono.<String>never()
+        .timeout(Duration.ofMillis(50), Mono.just("fallback"), timeoutScheduler)
+        .block(Duration.ofSeconds(5));
+
+    assertThat(result, is("fallback"));
+  }
+
+  @Test
+  public void workerRunsTasksOneAtATimeInOrder() throws Exception {
+    int tasks = 1000;
+    Worker worker = timeoutScheduler.createWorker();
+    List<Integer> executed = new ArrayList<>();
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger overlaps = new AtomicInteger();
+    CountDownLatch latch = new CountDownLatch(tasks);
+
+    try {
+      for (int i = 0; i < tasks; ++i) {
+        int task = i;
+        worker.schedule(() -> {
+          if (running.incrementAndGet() > 1) {
+            overlaps.incrementAndGet();
+          }
+          executed.add(task);
+          running.decrementAndGet();
+          latch.countDown();
+        });
+      }
+
+      assertThat(latch.await(5, SECONDS), is(true));
+      assertThat(overlaps.get(), is(0));
+      for (int i = 0; i < tasks; ++i) {
+        assertThat(executed.get(i), is(i));
+      }
+    } finally {
+      worker.dispose();
+    }
+  }
+
+  @Test
+  public void workerDelayedTaskRunsAfterEarlierOnes() throws Exception {
+    Worker worker = timeoutScheduler.createWorker();
+    List<String> executed = new CopyOnWriteArrayList<>();
+    CountDownLatch latch = new CountDownLatch(2);
+
+    try {
+      worker.schedule(() -> {
+        executed.add("delayed");
+        latch.countDown();
+      }, 20, MILLISECONDS);
+      worker.schedule(() -> {
+        executed.add("immediate");
+        latch.countDown();
+      });
+
+      assertThat(latch.await(5, SECONDS), is(true));
+      assertThat(executed, contains("immediate", "delayed"));
+    } finally {
+      worker.dispose();
+    }
+  }
+
+  @Test
+  public void disposedWorkerDoesNotRunPendingTasks() throws Exception {
+    Worker worker = timeoutScheduler.createWorker();
+    AtomicInteger executions = new AtomicInteger();
+
+    worker.schedule(executions::incrementAndGet, 20, MILLISECONDS);
+    worker.dispose();
+
+    CountDownLatch latch = new CountDownLatch(1);
+    timeoutScheduler.schedule(latch::countDown, 100, MILLISECONDS);
+    assertThat(latch.await(5, SECONDS), is(true));
+    assertThat(executions.get(), is(0));
+  }
+
+  @Test(expected = RejectedExecutionException.class)
+  public void rejectsAfterDispose() {
+    timeoutScheduler.dispose();
+    timeoutScheduler.schedule(() -> {
+    }, 10, MILLISECONDS);
+  }
+}
@@ -6,18 +6,27 @@
  */
 package org.mule.runtime.core.internal.util.store;
 
+import static org.mule.runtime.core.internal.util.store.MonitoredObjectStoreWrapper.FULL_SCAN_INTERVAL_PROPERTY;
+import static org.mule.runtime.core.internal.util.store.MonitoredObjectStoreWrapper.MAX_EXPIRATIONS_PER_RUN_PROPERTY;
+import static org.mule.runtime.core.internal.util.store.MonitoredObjectStoreWrapper.SWEEP_PAGE_SIZE_PROPERTY;
 import static org.mule.tck.probe.PollingProber.DEFAULT_POLLING_INTERVAL;
 import static org.mule.tck.probe.PollingProber.check;
 
+import static java.lang.System.clearProperty;
 import static java.lang.System.currentTimeMillis;
+import static java.lang.System.setProperty;
 import static java.util.Arrays.asList;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
 
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
 
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.junit.MockitoJUnit.rule;
@@ -26,6 +35,7 @@ import org.mule.runtime.api.store.ObjectDoesNotExistException;
 import org.mule.runtime.api.store.ObjectStore;
 import org.mule.runtime.api.store.ObjectStoreException;
 import org.mule.runtime.api.store.ObjectStoreSettings;
+import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.internal.util.store.MonitoredObjectStoreWrapper.StoredObject;
 import org.mule.tck.core.util.store.InMemoryExpirableObjectStore;
 import org.mule.tck.junit4.AbstractMuleTestCase;
@@ -51,6 +61,7 @@ public class MonitoredObjectStoreWrapperTestCase extends AbstractMuleTestCase {
 
   private static final String KEY = "key";
   private static final String OTHER_KEY = "otherKey";
+  private static final String THIRD_KEY = "thirdKey";
 
   private static final int GC_POLLING_TIMEOUT = 10000;
 
@@ -224,4 +235,212 @@ public class MonitoredObjectStoreWrapperTestCase extends AbstractMuleTestCase {
     wrapper = new MonitoredObjectStoreWrapper(objectStore, settings);
     wrapper.expire();
   }
+
+  @Test
+  public void expireOnlyScansStoreOnFirstRun() throws Exception {
+    when(settings.getMaxEntries()).thenReturn(empty());
+    when(settings.getEntryTTL()).thenReturn(of(1L));
+
+    objectStore = spy(new InMemoryExpirableObjectStore());
+    wrapper = new MonitoredObjectStoreWrapper(objectStore, settings);
+
+    wrapper.store(KEY, "value");
+    Thread.sleep(5);
+    wrapper.expire();
+
+    wrapper.store(OTHER_KEY, "value");
+    Thread.sleep(5);
+    wrapper.expire();
+
+    verify(objectStore, times(1)).allKeys();
+    assertThat(objectStore.contains(KEY), is(false));
+    assertThat(objectStore.contains(OTHER_KEY), is(false));
+    assertThat(wrapper.getExpiredEntries(), is(2L));
+  }
+
+  @Test
+  public void expireWithMaxEntriesRemovesOldestStored() throws Exception {
+    when(settings.getMaxEntries()).thenReturn(of(1));
+    when(settings.getEntryTTL()).thenReturn(empty());
+
+    objectStore = new InMemoryExpirableObjectStore();
+    wrapper = new MonitoredObjectStoreWrapper(objectStore, settings);
+
+    wrapper.store(KEY, "value");
+    Thread.sleep(2);
+    wrapper.store(OTHER_KEY, "value");
+    wrapper.expire();
+
+    assertThat(wrapper.contains(KEY), is(false));
+    assertThat(wrapper.contains(OTHER_KEY), is(true));
+  }
+
+  @Test
+  public void expiredEntryIsRemovedOnRetrieve() throws Exception {
+    when(settings.getMaxEntries()).thenReturn(empty());
+    when(settings.getEntryTTL()).thenReturn(of(1000L));
+
+    objectStore = new InMemoryExpirableObjectStore();
+    objectStore.store(KEY, new StoredObject<>("value", 0L, KEY));
+    wrapper = new MonitoredObjectStoreWrapper(objectStore, settings);
+
+    try {
+      wrapper.retrieve(KEY);
+      fail("Expired entry should not be retrieved");
+    } catch (ObjectDoesNotExistException e) {
+      assertThat(objectStore.contains(KEY), is(false));
+    }
+  }
+
+  @Test
+  public void expirationsPerRunAreBounded() throws Exception {
+    when(settings.getMaxEntries()).thenReturn(empty());
+    when(settings.getEntryTTL()).thenReturn(of(1L));
+
+    setProperty(MAX_EXPIRATIONS_PER_RUN_PROPERTY, "2");
+    try {
+      objectStore = new InMemoryExpirableObjectStore();
+      wrapper = new MonitoredObjectStoreWrapper(objectStore, settings);
+    } finally {
+      clearProperty(MAX_EXPIRATIONS_PER_RUN_PROPERTY);
+    }
+
+    wrapper.store(KEY, "value");
+    wrapper.store(OTHER_KEY, "value");
+    wrapper.store(THIRD_KEY, "value");
+    Thread.sleep(5);
+
+    wrapper.expire();
+    assertThat(wrapper.getExpiredEntries(), is(2L));
+    assertThat(objectStore.allKeys().size(), is(1));
+
+    wrapper.expire();
+    assertThat(wrapper.getExpiredEntries(), is(3L));
+    assertThat(objectStore.allKeys().size(), is(0));
+  }
+
+  @Test
+  public void entriesStoredByOtherInstancesAreExpiredAfterFullScan() throws Exception {
+    when(settings.getMaxEntries()).thenReturn(empty());
+    when(settings.getEntryTTL()).thenReturn(of(1L));
+
+    setProperty(FULL_SCAN_INTERVAL_PROPERTY, "0");
+    try {
+      objectStore = new InMemoryExpirableObjectStore();
+      wrapper = new MonitoredObjectStoreWrapper(objectStore, settings);
+    } finally {
+      clearProperty(FULL_SCAN_INTERVAL_PROPERTY);
+    }
+
+    wrapper.expire();
+    // stored straight into the base store, as another instance sharing it would do
+    objectStore.store(KEY, new StoredObject<>("value", 0L, KEY));
+    wrapper.expire();
+
+    assertThat(objectStore.contains(KEY), is(false));
+  }
+
+  @Test
+  public void indexIsDroppedWhenNotPrimaryPollingInstance() throws Exception {
+    when(settings.getMaxEntries()).thenReturn(empty());
+    when(settings.getEntryTTL()).thenReturn(of(1L));
+
+    MuleContext muleContext = mock(MuleContext.class);
+    objectStore = spy(new InMemoryExpirableObjectStore());
+    wrapper = new MonitoredObjectStoreWrapper(objectStore, settings);
+    wrapper.setMuleContext(muleContext);
+
+    when(muleContext.isPrimaryPollingInstance()).thenReturn(true);
+    wrapper.run();
+    when(muleContext.isPrimaryPollingInstance()).thenReturn(false);
+    wrapper.run();
+    wrapper.store(KEY, "value");
+    Thread.sleep(5);
+
+    when(muleContext.isPrimaryPollingInstance()).thenReturn(true);
+    wrapper.run();
+
+    verify(objectStore, times(2)).allKeys();
+    assertThat(objectStore.contains(KEY), is(false));
+  }
+
+  @Test
+  public void persistentStoreIsScannedOnEachRun() throws Exception {
+    when(settings.getMaxEntries()).thenReturn(empty());
+    when(settings.getEntryTTL()).thenReturn(of(1L));
+
+    objectStore = spy(new InMemoryExpirableObjectStore());
+    when(objectStore.isPersistent()).thenReturn(true);
+    wrapper = new MonitoredObjectStoreWrapper(objectStore, settings);
+
+    wrapper.store(KEY, "value");
+    Thread.sleep(5);
+    wrapper.expire();
+    wrapper.store(OTHER_KEY, "value");
+    Thread.sleep(5);
+    wrapper.expire();
+
+    verify(objectStore, times(2)).allKeys();
+    assertThat(objectStore.contains(KEY), is(false));
+    assertThat(objectStore.contains(OTHER_KEY), is(false));
+    assertThat(wrapper.getExpiredEntries(), is(2L));
+  }
+
+  @Test
+  public void persistentStoreIsSweptInPages() throws Exception {
+    when(settings.getMaxEntries()).thenReturn(empty());
+    when(settings.getEntryTTL()).thenReturn(of(1L));
+
+    objectStore = spy(new InMemoryExpirableObjectStore());
+    when(objectStore.isPersistent()).thenReturn(true);
+    setProperty(SWEEP_PAGE_SIZE_PROPERTY, "2");
+    try {
+      wrapper = new MonitoredObjectStoreWrapper(objectStore, settings);
+    } finally {
+      clearProperty(SWEEP_PAGE_SIZE_PROPERTY);
+    }
+
+    wrapper.store(KEY, "value");
+    wrapper.store(OTHER_KEY, "value");
+    wrapper.store(THIRD_KEY, "value");
+    Thread.sleep(5);
+
+    wrapper.expire();
+    assertThat(wrapper.getExpiredEntries(), is(2L));
+    assertThat(objectStore.allKeys().size(), is(1));
+
+    wrapper.expire();
+    assertThat(wrapper.getExpiredEntries(), is(3L));
+    assertThat(objectStore.allKeys().size(), is(0));
+    // one for each check plus the one when the sweep started
+    verify(objectStore, times(3)).allKeys();
+  }
+
+  @Test
+  public void persistentStoreSweepRemovesOldestInExcessOnceCompleted() throws Exception {
+    when(settings.getMaxEntries()).thenReturn(of(1));
+    when(settings.getEntryTTL()).thenReturn(empty());
+
+    objectStore = spy(new InMemoryExpirableObjectStore());
+    when(objectStore.isPersistent()).thenReturn(true);
+    setProperty(SWEEP_PAGE_SIZE_PROPERTY, "2");
+    try {
+      wrapper = new MonitoredObjectStoreWrapper(objectStore, settings);
+    } finally {
+      clearProperty(SWEEP_PAGE_SIZE_PROPERTY);
+    }
+
+    objectStore.store(KEY, new StoredObject<>("value", 2L, KEY));
+    objectStore.store(OTHER_KEY, new StoredObject<>("value", 0L, OTHER_KEY));
+    objectStore.store(THIRD_KEY, new StoredObject<>("value", 1L, THIRD_KEY));
+
+    wrapper.expire();
+    assertThat(wrapper.getExpiredEntries(), is(0L));
+
+    wrapper.expire();
+    assertThat(wrapper.getExpiredEntries(), is(2L));
+    assertThat(objectStore.contains(KEY), is(true));
+    assertThat(objectStore.contains(OTHER_KEY), is(false));
+    assertThat(objectStore.contains(THIRD_KEY), is(false));
+  }
 }
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.store;
+
+import static org.mule.runtime.core.internal.util.store.MuleObjectStoreManager.UNBOUNDED;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.assertThat;
+
+import org.mule.runtime.api.store.ObjectAlreadyExistsException;
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.core.internal.store.OffHeapPartitionedInMemoryObjectStore;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class OffHeapPartitionedInMemoryObjectStoreTestCase extends AbstractMuleTestCase {
+
+  private static final String TEST_PARTITION = "testPartition";
+  private static final String TEST_VALUE = "testValue";
+  private static final String TEST_KEY1 = "testKey1";
+  private static final String TEST_KEY2 = "testKey2";
+  private static final String TEST_KEY3 = "testKey3";
+
+  private OffHeapPartitionedInMemoryObjectStore<Serializable> store;
+
+  private long currentNanoTime = MILLISECONDS.toNanos(1);
+
+  @Before
+  public void setup() {
+    store = new OffHeapPartitionedInMemoryObjectStore<Serializable>() {
+
+      @Override
+      protected long getCurrentNanoTime() {
+        return currentNanoTime;
+      }
+    };
+  }
+
+  @Test
+  public void storeRetrieveAndRemove() throws ObjectStoreException {
+    ArrayList<String> value = new ArrayList<>(Arrays.asList("a", "b"));
+    store.store(TEST_KEY1, value, TEST_PARTITION);
+
+    assertThat(store.contains(TEST_KEY1, TEST_PARTITION), is(true));
+    assertThat(store.retrieve(TEST_KEY1, TEST_PARTITION), equalTo(value));
+    assertThat(store.remove(TEST_KEY1, TEST_PARTITION), equalTo(value));
+    assertThat(store.contains(TEST_KEY1, TEST_PARTITION), is(false));
+  }
+
+  @Test(expected = ObjectAlreadyExistsException.class)
+  public void storeExistingKey() throws ObjectStoreException {
+    store.store(TEST_KEY1, TEST_VALUE, TEST_PARTITION);
+    store.store(TEST_KEY1, TEST_VALUE, TEST_PARTITION);
+  }
+
+  @Test
+  public void valuesOfDifferentSizes() throws ObjectStoreException {
+    byte[] small = new byte[10];
+    byte[] medium = new byte[100 * 1024];
+    byte[] large = new byte[3 * 1024 * 1024];
+    Arrays.fill(medium, (byte) 1);
+    Arrays.fill(large, (byte) 2);
+
+    store.store(TEST_KEY1, small, TEST_PARTITION);
+    store.store(TEST_KEY2, medium, TEST_PARTITION);
+    store.store(TEST_KEY3, large, TEST_PARTITION);
+
+    assertThat(store.retrieve(TEST_KEY1, TEST_PARTITION), equalTo(small));
+    assertThat(store.retrieve(TEST_KEY2, TEST_PARTITION), equalTo(medium));
+    assertThat(store.retrieve(TEST_KEY3, TEST_PARTITION), equalTo(large));
+  }
+
+  @Test
+  public void freedBlocksAreReused() throws ObjectStoreException {
+    for (int i = 0; i < 10000; ++i) {
+      store.store(TEST_KEY1, "value-" + i, TEST_PARTITION);
+      store.store(TEST_KEY2, "other-" + i, TEST_PARTITION);
+      assertThat(store.remove(TEST_KEY1, TEST_PARTITION), equalTo("value-" + i));
+      assertThat(store.remove(TEST_KEY2, TEST_PARTITION), equalTo("other-" + i));
+    }
+    assertThat(store.allKeys(TEST_PARTITION), is(empty()));
+  }
+
+  @Test
+  public void valuesAreKeptWhenEmptySlabsAreReleased() throws ObjectStoreException {
+    // spans several slabs of the smallest size class
+    for (int i = 0; i < 5000; ++i) {
+      store.store("key-" + i, "value-" + i, TEST_PARTITION);
+    }
+    for (int i = 0; i < 4000; ++i) {
+      assertThat(store.remove("key-" + i, TEST_PARTITION), equalTo("value-" + i));
+    }
+    for (int i = 0; i < 4000; ++i) {
+      store.store("key-" + i, "other-" + i, TEST_PARTITION);
+    }
+
+    for (int i = 0; i < 4000; ++i) {
+      assertThat(store.retrieve("key-" + i, TEST_PARTITION), equalTo("other-" + i));
+    }
+    for (int i = 4000; i < 5000; ++i) {
+      assertThat(store.retrieve("key-" + i, TEST_PARTITION), equalTo("value-" + i));
+    }
+  }
+
+  @Test
+  public void retrieveAllKeepsInsertionOrder() throws ObjectStoreException {
+    store.store(TEST_KEY2, "2", TEST_PARTITION);
+    store.store(TEST_KEY1, "1", TEST_PARTITION);
+    store.store(TEST_KEY3, "3", TEST_PARTITION);
+    store.remove(TEST_KEY1, TEST_PARTITION);
+
+    Map<String, Serializable> all = store.retrieveAll(TEST_PARTITION);
+    assertThat(all.keySet(), contains(TEST_KEY2, TEST_KEY3));
+    assertThat(all.get(TEST_KEY3), equalTo("3"));
+  }
+
+  @Test
+  public void expireByTtlWithNegativeMaxEntriesAndEmptyStore() throws ObjectStoreException {
+    store.expire(1, -1, TEST_PARTITION);
+  }
+
+  @Test
+  public void expireByTtl() throws ObjectStoreException {
+    store.store(TEST_KEY1, TEST_VALUE, TEST_PARTITION);
+    store.store(TEST_KEY2, TEST_VALUE, TEST_PARTITION);
+
+    currentNanoTime = MILLISECONDS.toNanos(2);
+
+    store.store(TEST_KEY3, TEST_VALUE, TEST_PARTITION);
+    store.expire(1, 100, TEST_PARTITION);
+
+    assertThat(store.contains(TEST_KEY1, TEST_PARTITION), is(false));
+    assertThat(store.contains(TEST_KEY2, TEST_PARTITION), is(false));
+    assertThat(store.retrieve(TEST_KEY3, TEST_PARTITION), equalTo(TEST_VALUE));
+  }
+
+  @Test
+  public void expireByNumberOfEntries() throws ObjectStoreException {
+    store.store(TEST_KEY1, TEST_VALUE, TEST_PARTITION);
+    store.store(TEST_KEY2, TEST_VALUE, TEST_PARTITION);
+    store.store(TEST_KEY3, TEST_VALUE, TEST_PARTITION);
+    store.remove(TEST_KEY1, TEST_PARTITION);
+
+    store.expire(UNBOUNDED, 1, TEST_PARTITION);
+
+    assertThat(store.contains(TEST_KEY2, TEST_PARTITION), is(false));
+    assertThat(store.retrieve(TEST_KEY3, TEST_PARTITION), equalTo(TEST_VALUE));
+  }
+
+  @Test
+  public void removesDataOnClear() throws ObjectStoreException {
+    store.store(TEST_KEY1, TEST_VALUE, TEST_PARTITION);
+    store.clear(TEST_PARTITION);
+
+    assertThat(store.retrieveAll(TEST_PARTITION).size(), is(0));
+    store.store(TEST_KEY1, TEST_VALUE, TEST_PARTITION);
+    assertThat(store.retrieve(TEST_KEY1, TEST_PARTITION), equalTo(TEST_VALUE));
+  }
+
+  @Test
+  public void removesDataOnClose() throws ObjectStoreException {
+    store.store(TEST_KEY1, TEST_VALUE, TEST_PARTITION);
+    store.close(TEST_PARTITION);
+
+    assertThat(store.allPartitions(), is(empty()));
+  }
+}
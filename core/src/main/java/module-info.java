@@ -95,6 +95,8 @@ module org.mule.runtime.core {
   requires java.annotation;
   requires java.inject;
   requires java.management;
+  // allocated bytes per thread, used by StartupTracer
+  requires jdk.management;
   // InvalidTransactionException extends java.rmi.RemoteException
   requires java.rmi;
   requires java.transaction;
@@ -227,6 +229,7 @@ module org.mule.runtime.core {
       org.mule.runtime.extensions.soap.support,
       org.mule.runtime.extensions.xml.support,
       org.mule.runtime.spring.config,
+      org.mule.runtime.troubleshooting,
       spring.beans;
   exports org.mule.runtime.core.internal.connectivity to
       org.mule.runtime.spring.config,
@@ -355,10 +358,16 @@ module org.mule.runtime.core {
       org.mule.runtime.deployment.model.impl,
       org.mule.runtime.tracer.customization.impl,
       org.mule.service.scheduler,
+      org.mule.runtime.troubleshooting,
       com.mulesoft.mule.runtime.batch,
       spring.beans;
   exports org.mule.runtime.core.internal.profiling.context to
       org.mule.runtime.extensions.support;
+  exports org.mule.runtime.core.internal.profiling.startup to
+      org.mule.runtime.deployment,
+      org.mule.runtime.deployment.model.impl,
+      org.mule.runtime.spring.config,
+      org.mule.runtime.troubleshooting;
   exports org.mule.runtime.core.internal.profiling.tracing.event.span.condition to
       org.mule.runtime.tracer.internal.impl;
   exports org.mule.runtime.core.internal.registry to
@@ -513,6 +522,7 @@ module org.mule.runtime.core {
       spring.beans;
   exports org.mule.runtime.core.internal.util.store to
       org.mule.runtime.spring.config,
+      org.mule.runtime.troubleshooting,
       com.mulesoft.mule.runtime.cluster,
       spring.beans;
   exports org.mule.runtime.core.internal.util.version to
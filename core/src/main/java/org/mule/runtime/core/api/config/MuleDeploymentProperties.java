@@ -23,6 +23,14 @@ public class MuleDeploymentProperties {
       MULE_LAZY_INIT_DEPLOYMENT_PROPERTY + ".enableXmlValidations";
   public static final String MULE_LAZY_INIT_ENABLE_DSL_DECLARATION_VALIDATIONS_DEPLOYMENT_PROPERTY =
       MULE_LAZY_INIT_DEPLOYMENT_PROPERTY + ".enableDslDeclarationValidations";
+  /**
+   * When {@code true}, the flows without a message source are only created, initialised and started when first requested, for
+   * instance from a dynamic {@code flow-ref} or a lookup by name.
+   *
+   * @since 4.9.0
+   */
+  public static final String MULE_ON_DEMAND_FLOWS_DEPLOYMENT_PROPERTY =
+      DEPLOYMENT_PROPERTY_PREFIX + ".onDemandFlows";
   public static final String MULE_LAZY_CONNECTIONS_DEPLOYMENT_PROPERTY =
       DEPLOYMENT_PROPERTY_PREFIX + ".lazyConnections";
   public static final String MULE_ADD_TOOLING_OBJECTS_TO_REGISTRY =
@@ -229,6 +229,12 @@ public class MuleProperties {
   public static final String OBJECT_STATISTICS = "_muleStatistics";
   public static final String OBJECT_RESOURCE_LOCATOR = "_muleResourceLocator";
   public static final String OBJECT_ARTIFACT_AST = "_muleArtifactAst";
+  /**
+   * Registry key for the scheduler shared by the components of an artifact to schedule their timeouts.
+   *
+   * @since 4.9.0
+   */
+  public static final String OBJECT_TIMEOUT_SCHEDULER = "_muleTimeoutScheduler";
   /**
    * @deprecated since 4.9 there are no uses of this constant
    */
@@ -208,6 +208,8 @@ public class CaseInsensitiveHashMap<K, V> implements Map<K, V>, Serializable {
     private transient final CaseInsensitiveHashMap<K, V> originalMap;
 
     private ImmutableCaseInsensitiveHashMap(CaseInsensitiveHashMap<K, V> caseInsensitiveHashMap) {
+      // the delegate is set right away, so the default one is not created
+      super((CaseInsensitiveMapWrapper) null);
       this.delegate = unmodifiableMap(caseInsensitiveHashMap);
       originalMap = caseInsensitiveHashMap;
     }
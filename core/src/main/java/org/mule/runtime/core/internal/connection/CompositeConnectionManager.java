@@ -27,6 +27,10 @@ import org.mule.runtime.core.api.retry.ReconnectionConfig;
 import org.mule.runtime.core.api.retry.policy.RetryPolicyTemplate;
 import org.mule.runtime.extension.api.runtime.config.ConfigurationInstance;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
 import org.slf4j.Logger;
 
 /**
@@ -97,6 +101,25 @@ public class CompositeConnectionManager implements ConnectionManager, Connection
         : parentConnectionManager.getConnection(config);
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public <C> CompletableFuture<ConnectionHandler<C>> getConnectionAsync(Object config) {
+    return childConnectionManager.hasBinding(config) ? childConnectionManager.getConnectionAsync(config)
+        : parentConnectionManager.getConnectionAsync(config);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Map<String, Map<String, Object>> getPoolStatistics() {
+    Map<String, Map<String, Object>> statistics = new LinkedHashMap<>(parentConnectionManager.getPoolStatistics());
+    statistics.putAll(childConnectionManager.getPoolStatistics());
+    return statistics;
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -6,6 +6,9 @@
  */
 package org.mule.runtime.core.internal.connection;
 
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+
 import org.mule.runtime.api.connection.ConnectionException;
 import org.mule.runtime.api.connection.ConnectionHandler;
 import org.mule.runtime.api.connection.ConnectionProvider;
@@ -13,6 +16,8 @@ import org.mule.runtime.core.api.Closeable;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.api.exception.MuleException;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Strategy to implement different connection management mechanisms.
  * <p>
@@ -48,6 +53,24 @@ abstract class ConnectionManagementStrategy<C> implements Closeable {
    */
   abstract ConnectionHandler<C> getConnectionHandler() throws ConnectionException;
 
+  /**
+   * Same as {@link #getConnectionHandler()}, but strategies that may have to wait for a connection to be available can do so
+   * without blocking the calling thread.
+   * <p>
+   * This default implementation just delegates into {@link #getConnectionHandler()}.
+   *
+   * @return a {@link CompletableFuture} completed with the {@link ConnectionHandler}, or exceptionally with a
+   *         {@link ConnectionException} if the connection could not be obtained
+   * @since 4.9.0
+   */
+  CompletableFuture<ConnectionHandler<C>> getConnectionHandlerAsync() {
+    try {
+      return completedFuture(getConnectionHandler());
+    } catch (ConnectionException e) {
+      return failedFuture(e);
+    }
+  }
+
   /**
    * Closes all connections and resources allocated through {@code this} instance.
    *
@@ -9,8 +9,11 @@ package org.mule.runtime.core.internal.connection;
 import static org.mule.runtime.api.meta.model.connection.ConnectionManagementType.CACHED;
 import static org.mule.runtime.api.meta.model.connection.ConnectionManagementType.NONE;
 import static org.mule.runtime.api.meta.model.connection.ConnectionManagementType.POOLING;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.core.api.connection.util.ConnectionProviderUtils.unwrapProviderWrapper;
 
+import static java.lang.Boolean.getBoolean;
+
 import org.mule.runtime.api.config.FeatureFlaggingService;
 import org.mule.runtime.api.config.PoolingProfile;
 import org.mule.runtime.api.connection.CachedConnectionProvider;
@@ -27,6 +30,14 @@ import org.mule.runtime.api.meta.model.connection.ConnectionManagementType;
  */
 final class ConnectionManagementStrategyFactory {
 
+  /**
+   * When set to {@code true}, pooled connections are managed through a {@link NonBlockingPoolingConnectionManagementStrategy}
+   * instead of a {@link PoolingConnectionManagementStrategy}.
+   *
+   * @since 4.9.0
+   */
+  static final String NON_BLOCKING_CONNECTION_POOL_PROPERTY = SYSTEM_PROPERTY_PREFIX + "connection.pool.nonBlocking";
+
   private final PoolingProfile defaultPoolingProfile;
   private final MuleContext muleContext;
 
@@ -81,11 +92,18 @@ final class ConnectionManagementStrategyFactory {
       ownerConfigName = ((ConnectionProviderWrapper<C>) connectionProvider).getOwnerConfigName().orElse("");
     }
 
-    return poolingProfile.isDisabled() ? withoutManagement(connectionProvider)
-        : new PoolingConnectionManagementStrategy<>(connectionProvider, poolingProfile,
-                                                    (PoolingListener<C>) unwrapProviderWrapper(connectionProvider,
-                                                                                               PoolingConnectionProvider.class),
-                                                    muleContext, ownerConfigName, featureFlaggingService);
+    if (poolingProfile.isDisabled()) {
+      return withoutManagement(connectionProvider);
+    }
+
+    PoolingListener<C> poolingListener =
+        (PoolingListener<C>) unwrapProviderWrapper(connectionProvider, PoolingConnectionProvider.class);
+    if (getBoolean(NON_BLOCKING_CONNECTION_POOL_PROPERTY)) {
+      return new NonBlockingPoolingConnectionManagementStrategy<>(connectionProvider, poolingProfile, poolingListener,
+                                                                  muleContext, ownerConfigName);
+    }
+    return new PoolingConnectionManagementStrategy<>(connectionProvider, poolingProfile, poolingListener, muleContext,
+                                                     ownerConfigName, featureFlaggingService);
   }
 
   private <C> ConnectionManagementType getManagementType(ConnectionProvider<C> connectionProvider) {
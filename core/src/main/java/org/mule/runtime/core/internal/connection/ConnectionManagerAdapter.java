@@ -6,13 +6,22 @@
  */
 package org.mule.runtime.core.internal.connection;
 
+import static java.util.Collections.emptyMap;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+
 import org.mule.runtime.api.config.PoolingProfile;
+import org.mule.runtime.api.connection.ConnectionException;
+import org.mule.runtime.api.connection.ConnectionHandler;
 import org.mule.runtime.api.connection.ConnectionProvider;
 import org.mule.runtime.api.lifecycle.Lifecycle;
 import org.mule.runtime.core.api.connector.ConnectionManager;
 import org.mule.runtime.core.api.retry.ReconnectionConfig;
 import org.mule.runtime.core.api.retry.policy.RetryPolicyTemplate;
 
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Interface for {@link ConnectionManager} implementations which expands its contract with non API functionality
  *
@@ -45,4 +54,36 @@ public interface ConnectionManagerAdapter extends ConnectionManager, Lifecycle {
    * @return a {@link PoolingProfile}
    */
   PoolingProfile getDefaultPoolingProfile();
+
+  /**
+   * Same as {@link #getConnection(Object)}, but if the connections of the given {@code config} are pooled and the pool is
+   * exhausted, the returned {@link CompletableFuture} is completed once a connection is available instead of blocking the
+   * calling thread.
+   * <p>
+   * Cancelling the returned {@link CompletableFuture} gives up waiting for the connection.
+   *
+   * @param config the configuration that owns the connection
+   * @param <C>    the generic type of the connection
+   * @return a {@link CompletableFuture} completed with the {@link ConnectionHandler}, or exceptionally with a
+   *         {@link ConnectionException} if the connection could not be obtained
+   * @since 4.9.0
+   */
+  default <C> CompletableFuture<ConnectionHandler<C>> getConnectionAsync(Object config) {
+    try {
+      return completedFuture(getConnection(config));
+    } catch (ConnectionException e) {
+      return failedFuture(e);
+    }
+  }
+
+  /**
+   * Returns a snapshot of the state of the connection pools that can be inspected at runtime, such as the number of active,
+   * idle and waiting connections and the time spent waiting for them.
+   *
+   * @return the statistics of each pool, by the pool ID
+   * @since 4.9.0
+   */
+  default Map<String, Map<String, Object>> getPoolStatistics() {
+    return emptyMap();
+  }
 }
@@ -102,4 +102,23 @@ public final class ConnectionUtils {
                  poolId, pool.getNumActive(), maxActive, pool.getNumIdle(), maxIdle);
     }
   }
+
+  /**
+   * Logs the status of a {@link NonBlockingConnectionPool} if debug is enabled.
+   *
+   * @param logger the {@link Logger} to use
+   * @param pool   the pool to log the status of
+   * @param poolId the id of the pool
+   *
+   * @since 4.9.0
+   */
+  static <C> void logPoolStatus(Logger logger, NonBlockingConnectionPool<C> pool, String poolId) {
+    if (logger.isDebugEnabled()) {
+      String maxActive = pool.getMaxTotal() == MAX_VALUE ? "unlimited" : String.valueOf(pool.getMaxTotal());
+      String maxIdle = pool.getMaxIdle() == MAX_VALUE ? "unlimited" : String.valueOf(pool.getMaxIdle());
+      logger
+          .debug("Status for pool {}: {} connections are active out of {} max active limit, {} connections are idle out of {} max idle limit, {} acquisitions are waiting",
+                 poolId, pool.getNumActive(), maxActive, pool.getNumIdle(), maxIdle, pool.getNumWaiters());
+    }
+  }
 }
@@ -13,6 +13,8 @@ import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNee
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
 import static org.mule.runtime.core.api.retry.ReconnectionConfig.defaultReconnectionConfig;
 
+import static java.util.concurrent.CompletableFuture.failedFuture;
+
 import static org.slf4j.LoggerFactory.getLogger;
 
 import org.mule.runtime.api.config.FeatureFlaggingService;
@@ -23,7 +25,6 @@ import org.mule.runtime.api.connection.ConnectionProvider;
 import org.mule.runtime.api.connection.ConnectionValidationResult;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.lifecycle.InitialisationException;
-import org.mule.runtime.api.util.Reference;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.connector.ConnectionManager;
 import org.mule.runtime.core.api.retry.ReconnectionConfig;
@@ -31,12 +32,11 @@ import org.mule.runtime.core.api.retry.policy.NoRetryPolicyTemplate;
 import org.mule.runtime.core.api.retry.policy.RetryPolicyTemplate;
 import org.mule.runtime.extension.api.runtime.config.ConfigurationInstance;
 
-import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.Callable;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.CompletableFuture;
 
 import javax.inject.Inject;
 
@@ -51,10 +51,10 @@ public final class DefaultConnectionManager implements ConnectionManagerAdapter
 
   private static final Logger LOGGER = getLogger(DefaultConnectionManager.class);
 
-  private final Map<Reference<Object>, ConnectionManagementStrategy> connections = new HashMap<>();
-  private final ReadWriteLock readWriteLock = new ReentrantReadWriteLock();
-  private final Lock readLock = readWriteLock.readLock();
-  private final Lock writeLock = readWriteLock.writeLock();
+  // Bindings are keyed by the identity of the owner. The map is never modified once published, so that looking up a binding
+  // takes no lock. Binding and unbinding publish a modified copy while holding the bindingsLock.
+  private volatile Map<Object, ConnectionManagementStrategy> connections = new IdentityHashMap<>();
+  private final Object bindingsLock = new Object();
   private final MuleContext muleContext;
   private final RetryPolicyTemplate retryPolicyTemplate;
   private final PoolingProfile defaultPoolingProfile;
@@ -92,11 +92,10 @@ public final class DefaultConnectionManager implements ConnectionManagerAdapter
 
     ConnectionManagementStrategy<C> previous;
 
-    writeLock.lock();
-    try {
-      previous = connections.put(new Reference<>(owner), managementStrategy);
-    } finally {
-      writeLock.unlock();
+    synchronized (bindingsLock) {
+      Map<Object, ConnectionManagementStrategy> updatedConnections = new IdentityHashMap<>(connections);
+      previous = updatedConnections.put(owner, managementStrategy);
+      connections = updatedConnections;
     }
 
     if (previous != null) {
@@ -168,14 +167,10 @@ public final class DefaultConnectionManager implements ConnectionManagerAdapter
       final Object config = configurationInstance.getValue();
       ConnectionHandler<Object> connectionHandler;
       try {
-        readLock.lock();
-        try {
-          connectionHandler = hasBinding(config)
-              ? getConnection(config)
-              : managementStrategyFactory.getStrategy(connectionProvider, featureFlaggingService).getConnectionHandler();
-        } finally {
-          readLock.unlock();
-        }
+        ConnectionManagementStrategy<Object> managementStrategy = connections.get(config);
+        connectionHandler = managementStrategy != null
+            ? managementStrategy.getConnectionHandler()
+            : managementStrategyFactory.getStrategy(connectionProvider, featureFlaggingService).getConnectionHandler();
       } catch (ConnectionException e) {
         return failure(e.getMessage(), e.getErrorType().orElse(null), e);
       }
@@ -219,7 +214,7 @@ public final class DefaultConnectionManager implements ConnectionManagerAdapter
    */
   @Override
   public boolean hasBinding(Object config) {
-    return connections.containsKey(new Reference<>(config));
+    return connections.containsKey(config);
   }
 
   /**
@@ -229,11 +224,13 @@ public final class DefaultConnectionManager implements ConnectionManagerAdapter
   @Override
   public void unbind(Object config) {
     ConnectionManagementStrategy managementStrategy;
-    writeLock.lock();
-    try {
-      managementStrategy = connections.remove(new Reference<>(config));
-    } finally {
-      writeLock.unlock();
+    synchronized (bindingsLock) {
+      if (!connections.containsKey(config)) {
+        return;
+      }
+      Map<Object, ConnectionManagementStrategy> updatedConnections = new IdentityHashMap<>(connections);
+      managementStrategy = updatedConnections.remove(config);
+      connections = updatedConnections;
     }
 
     if (managementStrategy != null) {
@@ -246,19 +243,44 @@ public final class DefaultConnectionManager implements ConnectionManagerAdapter
    */
   @Override
   public <C> ConnectionHandler<C> getConnection(Object config) throws ConnectionException {
-    ConnectionManagementStrategy<C> handlingStrategy = null;
-    readLock.lock();
+    return this.<C>getManagementStrategy(config).getConnectionHandler();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public <C> CompletableFuture<ConnectionHandler<C>> getConnectionAsync(Object config) {
     try {
-      handlingStrategy = connections.get(new Reference<>(config));
-    } finally {
-      readLock.unlock();
+      return this.<C>getManagementStrategy(config).getConnectionHandlerAsync();
+    } catch (ConnectionException e) {
+      return failedFuture(e);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Map<String, Map<String, Object>> getPoolStatistics() {
+    Map<String, Map<String, Object>> statistics = new LinkedHashMap<>();
+    for (ConnectionManagementStrategy managementStrategy : connections.values()) {
+      if (managementStrategy instanceof NonBlockingPoolingConnectionManagementStrategy) {
+        NonBlockingPoolingConnectionManagementStrategy<?> poolingStrategy =
+            (NonBlockingPoolingConnectionManagementStrategy<?>) managementStrategy;
+        statistics.put(poolingStrategy.getPoolId(), poolingStrategy.getPoolStatistics());
+      }
     }
+    return statistics;
+  }
 
+  private <C> ConnectionManagementStrategy<C> getManagementStrategy(Object config) throws ConnectionException {
+    ConnectionManagementStrategy<C> handlingStrategy = connections.get(config);
     if (handlingStrategy == null) {
       throw new ConnectionException("No ConnectionProvider has been registered for owner " + config);
     }
 
-    return handlingStrategy.getConnectionHandler();
+    return handlingStrategy;
   }
 
   /**
@@ -268,13 +290,12 @@ public final class DefaultConnectionManager implements ConnectionManagerAdapter
    */
   @Override
   public void stop() throws MuleException {
-    writeLock.lock();
-    try {
-      connections.values().stream().forEach(this::close);
-      connections.clear();
-    } finally {
-      writeLock.unlock();
+    Map<Object, ConnectionManagementStrategy> previousConnections;
+    synchronized (bindingsLock) {
+      previousConnections = connections;
+      connections = new IdentityHashMap<>();
     }
+    previousConnections.values().forEach(this::close);
   }
 
   // TODO: MULE-9082
@@ -27,6 +27,8 @@ import org.mule.runtime.extension.api.runtime.config.ConfigurationInstance;
 
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import javax.inject.Inject;
 
@@ -87,6 +89,16 @@ public final class DelegateConnectionManagerAdapter implements ConnectionManager
     return connectionManagerAdapterStrategy.getConnection(config);
   }
 
+  @Override
+  public <C> CompletableFuture<ConnectionHandler<C>> getConnectionAsync(Object config) {
+    return connectionManagerAdapterStrategy.getConnectionAsync(config);
+  }
+
+  @Override
+  public Map<String, Map<String, Object>> getPoolStatistics() {
+    return connectionManagerAdapterStrategy.getPoolStatistics();
+  }
+
   @Override
   public <C> ConnectionValidationResult testConnectivity(ConnectionProvider<C> connectionProvider) {
     return connectionManagerAdapterStrategy.testConnectivity(connectionProvider);
@@ -171,6 +183,16 @@ public final class DelegateConnectionManagerAdapter implements ConnectionManager
       return delegate.getConnection(config);
     }
 
+    @Override
+    public <C> CompletableFuture<ConnectionHandler<C>> getConnectionAsync(Object config) {
+      return delegate.getConnectionAsync(config);
+    }
+
+    @Override
+    public Map<String, Map<String, Object>> getPoolStatistics() {
+      return delegate.getPoolStatistics();
+    }
+
     @Override
     public <C> ConnectionValidationResult testConnectivity(ConnectionProvider<C> connectionProvider) {
       return delegate.testConnectivity(connectionProvider);
@@ -307,6 +329,11 @@ public final class DelegateConnectionManagerAdapter implements ConnectionManager
     public PoolingProfile getDefaultPoolingProfile() {
       return delegate.getDefaultPoolingProfile();
     }
+
+    @Override
+    public Map<String, Map<String, Object>> getPoolStatistics() {
+      return delegate.getPoolStatistics();
+    }
   }
 
   class LazyInvocationHandler implements InvocationHandler {
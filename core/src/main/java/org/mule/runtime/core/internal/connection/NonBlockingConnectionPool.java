@@ -0,0 +1,436 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.connection;
+
+import static org.mule.runtime.api.config.PoolingProfile.WHEN_EXHAUSTED_FAIL;
+import static org.mule.runtime.api.config.PoolingProfile.WHEN_EXHAUSTED_GROW;
+
+import static java.lang.Integer.MAX_VALUE;
+import static java.lang.System.currentTimeMillis;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import org.mule.runtime.api.config.PoolingProfile;
+import org.mule.runtime.api.connection.ConnectionProvider;
+import org.mule.runtime.api.connection.ConnectionValidationResult;
+import org.mule.runtime.core.internal.profiling.consumer.ProfilingHistogram;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A pool of connections that never blocks the thread that requests a connection.
+ * <p>
+ * Idle connections are kept in a lock-free LIFO stack, so that the most recently used connection is the one handed out next.
+ * When the pool is exhausted and the {@link PoolingProfile} is configured to wait, the acquisition is queued in a FIFO of
+ * waiters and the returned {@link CompletableFuture} is completed by whoever releases or invalidates a connection, or
+ * exceptionally once the {@link PoolingProfile#getMaxWait() max wait} elapses.
+ *
+ * @param <C> the generic type of the pooled connections
+ * @since 4.9.0
+ */
+final class NonBlockingConnectionPool<C> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(NonBlockingConnectionPool.class);
+
+  public static final String NUM_ACTIVE_KEY = "numActive";
+  public static final String NUM_IDLE_KEY = "numIdle";
+  public static final String NUM_WAITERS_KEY = "numWaiters";
+  public static final String ACQUISITIONS_KEY = "acquisitions";
+  public static final String WAITED_ACQUISITIONS_KEY = "waitedAcquisitions";
+  public static final String TIMED_OUT_ACQUISITIONS_KEY = "timedOutAcquisitions";
+  public static final String WAIT_TIME_KEY = "waitTimeMillis";
+  public static final String CONNECT_TIME_KEY = "connectTimeMillis";
+
+  private final ConnectionProvider<C> connectionProvider;
+  private final String poolId;
+  private final String exhaustedAction;
+  private final int maxTotal;
+  private final int maxIdle;
+  private final long maxWait;
+  private final long minEvictionMillis;
+
+  private final ConcurrentLinkedDeque<IdleConnection<C>> idleConnections = new ConcurrentLinkedDeque<>();
+  private final AtomicInteger numIdle = new AtomicInteger();
+  private final AtomicInteger numTotal = new AtomicInteger();
+  private final ConcurrentLinkedQueue<CompletableFuture<C>> waiters = new ConcurrentLinkedQueue<>();
+  private volatile boolean closed = false;
+
+  private final LongAdder acquisitions = new LongAdder();
+  private final LongAdder waitedAcquisitions = new LongAdder();
+  private final LongAdder timedOutAcquisitions = new LongAdder();
+  private final ProfilingHistogram waitTime = new ProfilingHistogram();
+  private final ProfilingHistogram connectTime = new ProfilingHistogram();
+
+  /**
+   * Creates a new instance
+   *
+   * @param connectionProvider the {@link ConnectionProvider} used to create and destroy the connections
+   * @param poolingProfile     the {@link PoolingProfile} which configures the pool
+   * @param poolId             the id of the pool, used for logging
+   */
+  NonBlockingConnectionPool(ConnectionProvider<C> connectionProvider, PoolingProfile poolingProfile, String poolId) {
+    this.connectionProvider = connectionProvider;
+    this.poolId = poolId;
+    this.exhaustedAction = poolingProfile.getExhaustedAction();
+    this.maxTotal = WHEN_EXHAUSTED_GROW.equals(exhaustedAction) || poolingProfile.getMaxActive() < 0
+        ? MAX_VALUE
+        : poolingProfile.getMaxActive();
+    this.maxIdle = poolingProfile.getMaxIdle() < 0 ? MAX_VALUE : poolingProfile.getMaxIdle();
+    this.maxWait = poolingProfile.getMaxWait();
+    this.minEvictionMillis = poolingProfile.getMinEvictionMillis();
+  }
+
+  /**
+   * Acquires a connection from the pool. The calling thread is never blocked waiting for a connection to be released, although
+   * it may be used to create a new one if the pool is not exhausted.
+   *
+   * @return a {@link CompletableFuture} completed with the acquired connection, or exceptionally with a
+   *         {@link NoSuchElementException} if the pool is exhausted and no connection is released on time. Cancelling it
+   *         gives up waiting for a connection.
+   */
+  CompletableFuture<C> acquire() {
+    if (closed) {
+      return failedFuture(new IllegalStateException("Pool " + poolId + " is closed"));
+    }
+    acquisitions.increment();
+
+    C connection = pollIdle();
+    if (connection != null) {
+      waitTime.record(0);
+      return completedFuture(connection);
+    }
+
+    if (tryReserve()) {
+      try {
+        connection = create();
+      } catch (Exception e) {
+        freeSlot();
+        return failedFuture(e);
+      }
+      waitTime.record(0);
+      return completedFuture(connection);
+    }
+
+    if (WHEN_EXHAUSTED_FAIL.equals(exhaustedAction)) {
+      return failedFuture(new NoSuchElementException("Pool " + poolId + " exhausted"));
+    }
+
+    return enqueueWaiter();
+  }
+
+  private CompletableFuture<C> enqueueWaiter() {
+    waitedAcquisitions.increment();
+    long waitStart = nanoTime();
+
+    CompletableFuture<C> waiter = new CompletableFuture<>();
+    waiters.add(waiter);
+    if (maxWait >= 0) {
+      waiter.orTimeout(maxWait, MILLISECONDS);
+    }
+    CompletableFuture<C> acquisition = waiter.handle((connection, failure) -> {
+      if (failure == null) {
+        waitTime.record(NANOSECONDS.toMillis(nanoTime() - waitStart));
+        return connection;
+      }
+
+      waiters.remove(waiter);
+      if (failure instanceof TimeoutException) {
+        timedOutAcquisitions.increment();
+        throw new CompletionException(new NoSuchElementException("Timeout waiting for idle connection in pool " + poolId));
+      }
+      throw failure instanceof CompletionException ? (CompletionException) failure : new CompletionException(failure);
+    });
+
+    // Cancelling the acquisition gives up the place in the queue. If a connection was handed to the waiter meanwhile, it goes back
+    // to the pool.
+    acquisition.whenComplete((connection, failure) -> {
+      if (failure instanceof CancellationException) {
+        waiters.remove(waiter);
+        if (!waiter.cancel(false) && !waiter.isCompletedExceptionally()) {
+          release(waiter.join());
+        }
+      }
+    });
+
+    // A connection may have been released or invalidated between the checks in acquire() and the waiter being queued.
+    serveWaiters();
+
+    return acquisition;
+  }
+
+  /**
+   * Returns a connection to the pool, handing it to the first waiting acquisition if there is any.
+   *
+   * @param connection the connection to return
+   */
+  void release(C connection) {
+    if (closed) {
+      destroy(connection);
+      return;
+    }
+
+    if (handToWaiter(connection)) {
+      return;
+    }
+
+    if (numIdle.incrementAndGet() > maxIdle) {
+      numIdle.decrementAndGet();
+      destroy(connection);
+      return;
+    }
+    idleConnections.offerFirst(new IdleConnection<>(connection, currentTimeMillis()));
+
+    // A waiter may have been queued after checking for waiters and before the connection became idle.
+    serveWaiters();
+  }
+
+  /**
+   * Destroys a connection, freeing its slot in the pool.
+   *
+   * @param connection the connection to invalidate
+   */
+  void invalidate(C connection) {
+    destroy(connection);
+  }
+
+  /**
+   * Creates connections up to the given amount and adds them to the idle ones.
+   *
+   * @param initialConnections the amount of connections to create
+   */
+  void prefill(int initialConnections) {
+    for (int i = 0; i < initialConnections; i++) {
+      if (!tryReserve()) {
+        return;
+      }
+      try {
+        release(create());
+      } catch (Exception e) {
+        freeSlot();
+        LOGGER.warn("Failed to create a connection while applying the pool initialization policy.", e);
+      }
+    }
+  }
+
+  /**
+   * Destroys the idle connections that have been idle for longer than the {@link PoolingProfile#getMinEvictionMillis()} and
+   * the ones that are not valid anymore.
+   */
+  void evict() {
+    long now = currentTimeMillis();
+    // Iterate over a copy, since the connections that are still valid are added back to the idle ones.
+    for (IdleConnection<C> idleConnection : new ArrayList<>(idleConnections)) {
+      // Removing the connection from the idle ones guarantees that it is not being handed out concurrently.
+      if (!idleConnections.remove(idleConnection)) {
+        continue;
+      }
+      numIdle.decrementAndGet();
+
+      if (minEvictionMillis >= 0 && now - idleConnection.idleSince >= minEvictionMillis) {
+        LOGGER.debug("Evicting idle connection {} from pool {}", idleConnection.connection, poolId);
+        destroy(idleConnection.connection);
+      } else if (!isValid(idleConnection.connection)) {
+        LOGGER.debug("Evicting invalid connection {} from pool {}", idleConnection.connection, poolId);
+        destroy(idleConnection.connection);
+      } else {
+        numIdle.incrementAndGet();
+        idleConnections.offerLast(idleConnection);
+        serveWaiters();
+      }
+    }
+  }
+
+  /**
+   * Closes the pool, destroying the idle connections and failing the pending acquisitions. Connections that are in use are
+   * destroyed when they are returned.
+   */
+  void close() {
+    closed = true;
+
+    CompletableFuture<C> waiter;
+    while ((waiter = waiters.poll()) != null) {
+      waiter.completeExceptionally(new IllegalStateException("Pool " + poolId + " is closed"));
+    }
+
+    IdleConnection<C> idleConnection;
+    while ((idleConnection = idleConnections.pollFirst()) != null) {
+      numIdle.decrementAndGet();
+      destroy(idleConnection.connection);
+    }
+  }
+
+  int getNumActive() {
+    return numTotal.get() - numIdle.get();
+  }
+
+  int getNumIdle() {
+    return numIdle.get();
+  }
+
+  int getNumWaiters() {
+    return waiters.size();
+  }
+
+  int getMaxTotal() {
+    return maxTotal;
+  }
+
+  int getMaxIdle() {
+    return maxIdle;
+  }
+
+  /**
+   * @return a snapshot of the state of the pool, along with the amount of acquisitions and the time they had to wait.
+   */
+  Map<String, Object> getStatistics() {
+    Map<String, Object> statistics = new LinkedHashMap<>();
+    statistics.put(NUM_ACTIVE_KEY, getNumActive());
+    statistics.put(NUM_IDLE_KEY, getNumIdle());
+    statistics.put(NUM_WAITERS_KEY, getNumWaiters());
+    statistics.put(ACQUISITIONS_KEY, acquisitions.sum());
+    statistics.put(WAITED_ACQUISITIONS_KEY, waitedAcquisitions.sum());
+    statistics.put(TIMED_OUT_ACQUISITIONS_KEY, timedOutAcquisitions.sum());
+    statistics.put(WAIT_TIME_KEY, waitTime.getSnapshot());
+    statistics.put(CONNECT_TIME_KEY, connectTime.getSnapshot());
+    return statistics;
+  }
+
+  private void serveWaiters() {
+    while (!waiters.isEmpty() && !closed) {
+      C connection = pollIdle();
+      if (connection != null) {
+        if (!handToWaiter(connection)) {
+          release(connection);
+          return;
+        }
+      } else if (tryReserve()) {
+        CompletableFuture<C> waiter = pollWaiter();
+        if (waiter == null) {
+          numTotal.decrementAndGet();
+          return;
+        }
+        C connection;
+        try {
+          connection = create();
+        } catch (Exception e) {
+          numTotal.decrementAndGet();
+          waiter.completeExceptionally(e);
+          continue;
+        }
+        if (!waiter.complete(connection)) {
+          // The waiter timed out while the connection was being created
+          release(connection);
+        }
+      } else {
+        return;
+      }
+    }
+  }
+
+  private void freeSlot() {
+    numTotal.decrementAndGet();
+    serveWaiters();
+  }
+
+  private boolean handToWaiter(C connection) {
+    CompletableFuture<C> waiter;
+    while ((waiter = waiters.poll()) != null) {
+      if (waiter.complete(connection)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private CompletableFuture<C> pollWaiter() {
+    CompletableFuture<C> waiter;
+    while ((waiter = waiters.poll()) != null) {
+      if (!waiter.isDone()) {
+        return waiter;
+      }
+    }
+    return null;
+  }
+
+  private C pollIdle() {
+    IdleConnection<C> idleConnection = idleConnections.pollFirst();
+    if (idleConnection == null) {
+      return null;
+    }
+    numIdle.decrementAndGet();
+    return idleConnection.connection;
+  }
+
+  private boolean tryReserve() {
+    int current;
+    do {
+      current = numTotal.get();
+      if (current >= maxTotal) {
+        return false;
+      }
+    } while (!numTotal.compareAndSet(current, current + 1));
+    return true;
+  }
+
+  private C create() throws Exception {
+    long start = nanoTime();
+    C connection = connectionProvider.connect();
+    connectTime.record(NANOSECONDS.toMillis(nanoTime() - start));
+    LOGGER.debug("Created connection {}", connection);
+    return connection;
+  }
+
+  private void destroy(C connection) {
+    try {
+      LOGGER.debug("Disconnecting connection {}", connection);
+      connectionProvider.disconnect(connection);
+    } catch (Exception e) {
+      LOGGER.warn("Exception was thrown trying to disconnect connection of type " + connection.getClass().getName(), e);
+    } finally {
+      numTotal.decrementAndGet();
+      serveWaiters();
+    }
+  }
+
+  private boolean isValid(C connection) {
+    try {
+      ConnectionValidationResult result = connectionProvider.validate(connection);
+      return result == null || result.isValid();
+    } catch (Exception e) {
+      LOGGER.debug("Exception was thrown validating idle connection {} from pool {}", connection, poolId, e);
+      return false;
+    }
+  }
+
+  private static final class IdleConnection<C> {
+
+    private final C connection;
+    private final long idleSince;
+
+    private IdleConnection(C connection, long idleSince) {
+      this.connection = connection;
+      this.idleSince = idleSince;
+    }
+  }
+}
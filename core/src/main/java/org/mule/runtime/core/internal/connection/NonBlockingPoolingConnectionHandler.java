@@ -0,0 +1,120 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.connection;
+
+import static org.mule.runtime.api.util.Preconditions.checkState;
+import static org.mule.runtime.core.internal.connection.ConnectionUtils.logPoolStatus;
+
+import org.mule.runtime.api.connection.ConnectionException;
+import org.mule.runtime.api.connection.ConnectionProvider;
+import org.mule.runtime.api.connection.PoolingListener;
+import org.mule.runtime.api.exception.MuleException;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Implementation of {@link ConnectionHandlerAdapter} which wraps a {@code Connection} obtained from a
+ * {@link NonBlockingConnectionPool}.
+ *
+ * @param <C> the generic type of the connection to be returned
+ * @since 4.9.0
+ */
+final class NonBlockingPoolingConnectionHandler<C> implements ConnectionHandlerAdapter<C> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(NonBlockingPoolingConnectionHandler.class);
+
+  // set to null once the connection is released or invalidated, so that it is returned to the pool only once
+  private final AtomicReference<C> connection;
+  private final NonBlockingConnectionPool<C> pool;
+  private final String poolId;
+  private final PoolingListener<C> poolingListener;
+  private final ConnectionProvider<C> connectionProvider;
+
+  /**
+   * Creates a new instance
+   *
+   * @param connection the connection to be wrapped
+   * @param pool       the pool from which the {@code connection} was obtained and to which it has to be returned
+   */
+  NonBlockingPoolingConnectionHandler(C connection, NonBlockingConnectionPool<C> pool, String poolId,
+                                      PoolingListener<C> poolingListener, ConnectionProvider<C> connectionProvider) {
+    this.connection = new AtomicReference<>(connection);
+    this.pool = pool;
+    this.poolId = poolId;
+    this.poolingListener = poolingListener;
+    this.connectionProvider = connectionProvider;
+  }
+
+  /**
+   * @return the {@link #connection}
+   */
+  @Override
+  public C getConnection() throws ConnectionException {
+    C current = connection.get();
+    checkState(current != null, "Connection has been either released or invalidated");
+    return current;
+  }
+
+  /**
+   * Returns the {@link #connection} to the {@link #pool}. Does nothing if it was already released or invalidated.
+   */
+  @Override
+  public void release() {
+    C released = connection.getAndSet(null);
+    if (released == null) {
+      return;
+    }
+
+    try {
+      LOGGER.debug("Returning back connection {} to pool {}", released, poolId);
+      poolingListener.onReturn(released);
+    } catch (Exception e) {
+      LOGGER.warn("Could not return connection to the pool. Connection will be terminated", e);
+      invalidate(released);
+      return;
+    }
+
+    pool.release(released);
+    logPoolStatus(LOGGER, pool, poolId);
+  }
+
+  /**
+   * Destroys the {@link #connection}. Does nothing if it was already released or invalidated.
+   */
+  @Override
+  public void invalidate() {
+    C invalidated = connection.getAndSet(null);
+    if (invalidated != null) {
+      invalidate(invalidated);
+    }
+  }
+
+  private void invalidate(C invalidated) {
+    LOGGER.debug("Invalidating connection {} from pool {}", invalidated, poolId);
+    pool.invalidate(invalidated);
+    logPoolStatus(LOGGER, pool, poolId);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public ConnectionProvider<C> getConnectionProvider() {
+    return connectionProvider;
+  }
+
+  /**
+   * Does nothing for this implementation. Connections are only closed when the pool is.
+   */
+  @Override
+  public void close() throws MuleException {
+
+  }
+}
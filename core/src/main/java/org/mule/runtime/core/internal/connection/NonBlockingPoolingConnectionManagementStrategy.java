@@ -0,0 +1,243 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.connection;
+
+import static org.mule.runtime.api.config.PoolingProfile.INITIALISE_ALL;
+import static org.mule.runtime.api.config.PoolingProfile.INITIALISE_NONE;
+import static org.mule.runtime.api.config.PoolingProfile.INITIALISE_ONE;
+import static org.mule.runtime.core.internal.connection.ConnectionUtils.logPoolStatus;
+
+import static java.lang.Integer.min;
+import static java.lang.Thread.currentThread;
+import static java.util.UUID.randomUUID;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import org.mule.runtime.api.config.PoolingProfile;
+import org.mule.runtime.api.connection.ConnectionException;
+import org.mule.runtime.api.connection.ConnectionHandler;
+import org.mule.runtime.api.connection.ConnectionProvider;
+import org.mule.runtime.api.connection.PoolingListener;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.MuleContext;
+
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link ConnectionManagementStrategy} which returns connections obtained from a {@link NonBlockingConnectionPool}.
+ * <p>
+ * Unlike {@link PoolingConnectionManagementStrategy}, {@link #getConnectionHandlerAsync()} does not block the calling thread
+ * when the pool is exhausted, so that a starving config does not exhaust the threads of the application.
+ * <p>
+ * Extension operations obtain their connections through {@link ConnectionManagerAdapter#getConnectionAsync(Object)}, so they
+ * are resumed once a connection is available. {@link #getConnectionHandler()} waits for the acquisition on the calling thread,
+ * so it is left for the callers that need the connection right away, such as connectivity testing or transactions.
+ *
+ * @param <C> the generic type of the connections to be managed
+ * @since 4.9.0
+ */
+final class NonBlockingPoolingConnectionManagementStrategy<C> extends ConnectionManagementStrategy<C> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(NonBlockingPoolingConnectionManagementStrategy.class);
+
+  private final PoolingProfile poolingProfile;
+  private final NonBlockingConnectionPool<C> pool;
+  private final String poolId;
+  private final PoolingListener<C> poolingListener;
+  private Scheduler evictionScheduler;
+  private ScheduledFuture<?> evictionTask;
+
+  /**
+   * Creates a new instance
+   *
+   * @param connectionProvider the {@link ConnectionProvider} used to manage the connections
+   * @param poolingProfile     the {@link PoolingProfile} which configures the {@link #pool}
+   * @param poolingListener    a {@link PoolingListener}
+   * @param muleContext        the application's {@link MuleContext}
+   * @param ownerConfigName    the name of the config that owns the pool
+   */
+  NonBlockingPoolingConnectionManagementStrategy(ConnectionProvider<C> connectionProvider, PoolingProfile poolingProfile,
+                                                 PoolingListener<C> poolingListener, MuleContext muleContext,
+                                                 String ownerConfigName) {
+    super(connectionProvider, muleContext);
+    this.poolingProfile = poolingProfile;
+    this.poolingListener = poolingListener;
+    this.poolId = ownerConfigName.concat("-").concat(randomUUID().toString());
+    this.pool = new NonBlockingConnectionPool<>(connectionProvider, poolingProfile, poolId);
+    LOGGER.debug("Creating non blocking pool with ID {} for config {}", poolId, ownerConfigName);
+
+    applyInitialisationPolicy();
+    scheduleEviction();
+    logPoolStatus(LOGGER, pool, poolId);
+  }
+
+  /**
+   * Returns a {@link ConnectionHandler} which wraps a connection obtained from the {@link #pool}, waiting for one to be
+   * released if the pool is exhausted.
+   *
+   * @return a {@link ConnectionHandler}
+   * @throws ConnectionException if the connection could not be obtained
+   */
+  @Override
+  public ConnectionHandler<C> getConnectionHandler() throws ConnectionException {
+    CompletableFuture<ConnectionHandler<C>> connectionHandler = getConnectionHandlerAsync();
+    try {
+      return connectionHandler.get();
+    } catch (InterruptedException e) {
+      currentThread().interrupt();
+      // The connection may have been obtained right before the interruption, in which case nobody else will return it.
+      if (!connectionHandler.cancel(false) && !connectionHandler.isCompletedExceptionally()) {
+        connectionHandler.join().release();
+      }
+      throw new ConnectionException("Interrupted while waiting for a connection from pool " + poolId, e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof ConnectionException) {
+        throw (ConnectionException) cause;
+      }
+      throw new ConnectionException("An exception was found trying to obtain a connection: " + cause.getMessage(), cause);
+    }
+  }
+
+  /**
+   * Returns a {@link CompletableFuture} completed with a {@link ConnectionHandler} which wraps a connection obtained from the
+   * {@link #pool}. If the pool is exhausted, it is completed once a connection is released, without blocking the calling
+   * thread.
+   *
+   * @return a {@link CompletableFuture} for the {@link ConnectionHandler}
+   */
+  @Override
+  CompletableFuture<ConnectionHandler<C>> getConnectionHandlerAsync() {
+    CompletableFuture<C> acquisition = pool.acquire();
+    CompletableFuture<ConnectionHandler<C>> connectionHandler = acquisition
+        .handle((connection, failure) -> {
+          if (failure != null) {
+            throw new CompletionException(toConnectionException(failure));
+          }
+
+          LOGGER.debug("Acquiring connection {} from the pool {}", connection, poolId);
+          logPoolStatus(LOGGER, pool, poolId);
+          try {
+            poolingListener.onBorrow(connection);
+          } catch (Exception e) {
+            pool.invalidate(connection);
+            throw new CompletionException(new ConnectionException("An exception was found trying to obtain a connection: "
+                + e.getMessage(), e));
+          }
+          return new NonBlockingPoolingConnectionHandler<>(connection, pool, poolId, poolingListener, connectionProvider);
+        });
+
+    // Cancelling the returned future has to give up the place in the queue of the pool, or the connection handed to it would
+    // never be returned.
+    connectionHandler.whenComplete((handler, failure) -> {
+      if (failure instanceof CancellationException
+          && !acquisition.cancel(false) && !acquisition.isCompletedExceptionally()) {
+        pool.release(acquisition.join());
+      }
+    });
+    return connectionHandler;
+  }
+
+  private ConnectionException toConnectionException(Throwable failure) {
+    Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+    if (cause instanceof ConnectionException) {
+      return (ConnectionException) cause;
+    } else if (cause instanceof NoSuchElementException) {
+      return new ConnectionException("Connection pool is exhausted", cause);
+    } else {
+      return new ConnectionException("An exception was found trying to obtain a connection: " + cause.getMessage(), cause);
+    }
+  }
+
+  /**
+   * @return the ID of the {@link #pool}, made of the name of the config that owns it and a random suffix.
+   */
+  String getPoolId() {
+    return poolId;
+  }
+
+  /**
+   * @return a snapshot of the state and wait times of the {@link #pool}.
+   */
+  Map<String, Object> getPoolStatistics() {
+    return pool.getStatistics();
+  }
+
+  /**
+   * Closes the pool, causing the idle connections to be closed as well. Connections in use are closed when returned.
+   *
+   * @throws MuleException
+   */
+  @Override
+  public void close() throws MuleException {
+    if (evictionTask != null) {
+      evictionTask.cancel(false);
+      evictionScheduler.stop();
+    }
+    logPoolStatus(LOGGER, pool, poolId);
+    LOGGER.debug("Closing pool {}", poolId);
+    pool.close();
+  }
+
+  private void applyInitialisationPolicy() {
+    int initialConnections;
+    switch (poolingProfile.getInitialisationPolicy()) {
+      case INITIALISE_NONE:
+        initialConnections = 0;
+        break;
+      case INITIALISE_ONE:
+        initialConnections = 1;
+        break;
+      case INITIALISE_ALL:
+        if (poolingProfile.getMaxActive() < 0) {
+          initialConnections = poolingProfile.getMaxIdle();
+        } else if (poolingProfile.getMaxIdle() < 0) {
+          initialConnections = poolingProfile.getMaxActive();
+        } else {
+          initialConnections = min(poolingProfile.getMaxActive(), poolingProfile.getMaxIdle());
+        }
+        break;
+      default:
+        throw new IllegalStateException("Unexpected value for pooling profile initialization policy: "
+            + poolingProfile.getInitialisationPolicy());
+    }
+
+    LOGGER.debug("Initializing pool {} with {} initial connections", poolId, initialConnections);
+    pool.prefill(initialConnections);
+  }
+
+  private void scheduleEviction() {
+    long evictionInterval = poolingProfile.getEvictionCheckIntervalMillis();
+    if (evictionInterval <= 0 || muleContext == null || muleContext.getSchedulerService() == null) {
+      return;
+    }
+
+    evictionScheduler = muleContext.getSchedulerService()
+        .ioScheduler(muleContext.getSchedulerBaseConfig().withName(poolId + "-evictor").withMaxConcurrentTasks(1));
+    evictionTask = evictionScheduler.scheduleWithFixedDelay(() -> {
+      try {
+        pool.evict();
+        logPoolStatus(LOGGER, pool, poolId);
+      } catch (Exception e) {
+        LOGGER.warn("Exception was found evicting connections from pool " + poolId, e);
+      }
+    }, evictionInterval, evictionInterval, MILLISECONDS);
+  }
+
+  public PoolingProfile getPoolingProfile() {
+    return poolingProfile;
+  }
+}
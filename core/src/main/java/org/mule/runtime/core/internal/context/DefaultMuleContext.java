@@ -85,6 +85,7 @@ import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
 import static org.mule.runtime.core.api.management.stats.AllStatistics.configureComputeConnectionErrorsInStats;
 import static org.mule.runtime.core.api.util.UUID.getClusterUUID;
 import static org.mule.runtime.core.internal.profiling.AbstractProfilingService.configureEnableProfilingService;
+import static org.mule.runtime.core.internal.profiling.startup.StartupTracer.phase;
 import static org.mule.runtime.core.internal.transformer.simple.ObjectToString.configureToStringTransformerTransformIteratorElements;
 import static org.mule.runtime.core.internal.util.FunctionalUtils.safely;
 import static org.mule.runtime.core.internal.util.version.JdkVersionUtils.getSupportedJdks;
@@ -172,6 +173,7 @@ import org.mule.runtime.core.internal.lifecycle.LifecycleInterceptor;
 import org.mule.runtime.core.internal.lifecycle.LifecycleStrategy;
 import org.mule.runtime.core.internal.lifecycle.MuleContextLifecycleManager;
 import org.mule.runtime.core.internal.lifecycle.MuleLifecycleInterceptor;
+import org.mule.runtime.core.internal.profiling.startup.StartupPhase;
 import org.mule.runtime.core.internal.registry.MuleRegistry;
 import org.mule.runtime.core.internal.registry.MuleRegistryHelper;
 import org.mule.runtime.core.internal.registry.Registry;
@@ -401,10 +403,14 @@ public class DefaultMuleContext implements MuleContextWithRegistry, PrivilegedMu
 
         // Initialize the helper, this only initialises the helper class and does not call the registry lifecycle manager
         // The registry lifecycle is called below using 'getLifecycleManager().fireLifecycle(Initialisable.PHASE_NAME);'
-        getRegistry().initialise();
+        try (StartupPhase phase = phase("registry.initialise")) {
+          getRegistry().initialise();
+        }
 
         fireNotification(new MuleContextNotification(this, CONTEXT_INITIALISING));
-        getLifecycleManager().fireLifecycle(Initialisable.PHASE_NAME);
+        try (StartupPhase phase = phase("lifecycle.initialise")) {
+          getLifecycleManager().fireLifecycle(Initialisable.PHASE_NAME);
+        }
         fireNotification(new MuleContextNotification(this, CONTEXT_INITIALISED));
         final org.mule.runtime.api.artifact.Registry apiRegistry = getApiRegistry();
         listeners.forEach(l -> l.onInitialization(this, apiRegistry));
@@ -466,9 +472,13 @@ public class DefaultMuleContext implements MuleContextWithRegistry, PrivilegedMu
       startDate = System.currentTimeMillis();
 
       fireNotification(new MuleContextNotification(this, CONTEXT_STARTING));
-      getLifecycleManager().fireLifecycle(Startable.PHASE_NAME);
+      try (StartupPhase phase = phase("lifecycle.start")) {
+        getLifecycleManager().fireLifecycle(Startable.PHASE_NAME);
+      }
 
-      lifecycleStrategy.start(this);
+      try (StartupPhase phase = phase("sources.start")) {
+        lifecycleStrategy.start(this);
+      }
 
       fireNotification(new MuleContextNotification(this, CONTEXT_STARTED));
       final org.mule.runtime.api.artifact.Registry apiRegistry = getApiRegistry();
@@ -8,6 +8,7 @@ package org.mule.runtime.core.internal.context;
 
 import static java.util.Optional.empty;
 import static org.mule.runtime.core.api.context.notification.ServerNotificationManager.createDefaultNotificationManager;
+import static org.mule.runtime.core.internal.serialization.CompactObjectSerializer.createDefaultObjectSerializer;
 
 import org.mule.runtime.api.exception.ErrorTypeRepository;
 import org.mule.runtime.api.exception.MuleRuntimeException;
@@ -31,7 +32,6 @@ import org.mule.runtime.core.api.util.ClassUtils;
 import org.mule.runtime.core.internal.exception.DefaultSystemExceptionStrategy;
 import org.mule.runtime.core.internal.lifecycle.MuleContextLifecycleManager;
 import org.mule.runtime.core.internal.registry.SimpleRegistry;
-import org.mule.runtime.core.internal.serialization.JavaObjectSerializer;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -122,7 +122,10 @@ public class DefaultMuleContextBuilder implements MuleContextBuilder {
 
   private void getObjectSerializer(DefaultMuleContext muleContext) {
     if (objectSerializer == null) {
-      objectSerializer = new JavaObjectSerializer();
+      objectSerializer = muleContext.getConfiguration().getDefaultObjectSerializer();
+    }
+    if (objectSerializer == null) {
+      objectSerializer = createDefaultObjectSerializer();
     }
 
     if (objectSerializer instanceof MuleContextAware) {
@@ -10,9 +10,9 @@ import static org.mule.runtime.api.el.BindingContextUtils.NULL_BINDING_CONTEXT;
 import static org.mule.runtime.api.el.BindingContextUtils.addEventBindings;
 import static org.mule.runtime.api.util.collection.SmallMap.copy;
 import static org.mule.runtime.api.util.collection.SmallMap.unmodifiable;
-import static org.mule.runtime.core.api.util.CaseInsensitiveHashMap.basedOn;
 import static org.mule.runtime.core.api.util.CaseInsensitiveHashMap.emptyCaseInsensitiveMap;
 import static org.mule.runtime.core.internal.message.EventInternalContext.copyOf;
+import static org.mule.runtime.core.internal.util.PersistentCaseInsensitiveHashMap.emptyPersistentCaseInsensitiveMap;
 import static org.mule.runtime.core.internal.util.message.ItemSequenceInfoUtils.fromGroupCorrelation;
 import static org.mule.runtime.core.internal.util.message.ItemSequenceInfoUtils.toGroupCorrelation;
 
@@ -42,6 +42,7 @@ import org.mule.runtime.core.internal.event.InternalEvent.Builder;
 import org.mule.runtime.core.internal.message.EventInternalContext;
 import org.mule.runtime.core.internal.message.InternalMessage;
 import org.mule.runtime.core.internal.store.DeserializationPostInitialisable;
+import org.mule.runtime.core.internal.util.PersistentCaseInsensitiveHashMap;
 import org.mule.runtime.core.privileged.event.BaseEventContext;
 import org.mule.runtime.core.privileged.event.MuleSession;
 import org.mule.runtime.core.privileged.event.PrivilegedEvent;
@@ -88,7 +89,7 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
 
   public DefaultEventBuilder(BaseEventContext messageContext) {
     this.context = messageContext;
-    this.originalVars = emptyCaseInsensitiveMap();
+    this.originalVars = emptyPersistentCaseInsensitiveMap();
     this.originalParameters = emptyCaseInsensitiveMap();
     this.internalParameters = new SmallMap<>();
     internalParametersInitialized = true;
@@ -107,12 +108,7 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
     this.originalVars = (CaseInsensitiveHashMap<String, TypedValue<?>>) event.getVariables();
     originalParameters = (CaseInsensitiveHashMap<String, TypedValue<?>>) event.getParameters();
 
-    this.loggingVariables = (CaseInsensitiveHashMap<String, String>) event.getLoggingVariables().orElse(null);
-    if (loggingVariables != null) {
-      CaseInsensitiveHashMap<String, String> loggingVariablesCopyMap = new CaseInsensitiveHashMap<>();
-      loggingVariablesCopyMap.putAll(loggingVariables);
-      this.loggingVariables = loggingVariablesCopyMap;
-    }
+    this.loggingVariables = event.getLoggingVariables().map(PersistentCaseInsensitiveHashMap::copyOf).orElse(null);
     this.internalParameters = (Map<String, Object>) event.getInternalParameters();
     flowProcessMediatorContext = copyOf(event.getFlowProcessMediatorContext());
     foreachInternalContext = copyOf(event.getForeachInternalContext());
@@ -216,7 +212,7 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
 
   @Override
   public CoreEvent.Builder parameters(Map<String, ?> parameters) {
-    this.parameters = new CaseInsensitiveHashMap<>();
+    this.parameters = new PersistentCaseInsensitiveHashMap<>();
     copyFromTo(parameters, this.parameters);
 
     parametersModified = true;
@@ -234,7 +230,7 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
   @Override
   public PrivilegedEvent.Builder addLoggingVariable(String key, String value) {
     if (loggingVariables == null) {
-      loggingVariables = new CaseInsensitiveHashMap<>();
+      loggingVariables = new PersistentCaseInsensitiveHashMap<>();
     }
     loggingVariables.put(key, value);
     modified = true;
@@ -273,7 +269,7 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
     if ((flowVariables != null && !this.flowVariables.isEmpty()) || !this.originalVars.isEmpty()) {
       this.varsModified = true;
       this.modified = true;
-      flowVariables = basedOn(new SmallMap<>());
+      flowVariables = new PersistentCaseInsensitiveHashMap<>();
     }
     return this;
   }
@@ -373,7 +369,8 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
 
   protected void initVariables() {
     if (!varsModified && flowVariables == null) {
-      flowVariables = originalVars.copy();
+      // Variables from events built by this class are persistent, so this copy shares their structure instead of copying them
+      flowVariables = PersistentCaseInsensitiveHashMap.copyOf(originalVars);
     }
   }
 
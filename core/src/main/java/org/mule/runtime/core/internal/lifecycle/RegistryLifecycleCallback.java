@@ -8,12 +8,19 @@ package org.mule.runtime.core.internal.lifecycle;
 
 import static org.mule.runtime.api.exception.ExceptionHelper.unwrap;
 import static org.mule.runtime.api.util.MuleSystemProperties.MULE_LIFECYCLE_FAIL_ON_FIRST_DISPOSE_ERROR;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.core.api.util.ExceptionUtils.extractOfType;
 
+import static java.lang.Boolean.getBoolean;
+import static java.lang.Integer.getInteger;
+import static java.lang.Runtime.getRuntime;
 import static java.lang.String.format;
 import static java.lang.System.getProperty;
+import static java.lang.Thread.currentThread;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
+import static java.util.concurrent.ConcurrentHashMap.newKeySet;
+import static java.util.concurrent.Executors.newFixedThreadPool;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -21,16 +28,25 @@ import org.mule.runtime.api.component.Component;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.api.lifecycle.Initialisable;
 import org.mule.runtime.api.lifecycle.LifecycleException;
+import org.mule.runtime.api.lifecycle.Startable;
 import org.mule.runtime.api.lifecycle.Stoppable;
 import org.mule.runtime.core.api.lifecycle.LifecycleCallback;
+import org.mule.runtime.core.api.util.concurrent.NamedThreadFactory;
 import org.mule.runtime.core.api.util.func.CheckedRunnable;
 import org.mule.runtime.core.internal.lifecycle.phases.LifecyclePhase;
 import org.mule.runtime.core.internal.registry.Registry;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.slf4j.Logger;
 
@@ -41,6 +57,27 @@ import org.slf4j.Logger;
  */
 public class RegistryLifecycleCallback<T> implements LifecycleCallback<T>, HasLifecycleInterceptor {
 
+  /**
+   * When {@code true}, the initialise and start phases are applied concurrently to the objects that don't depend on each other,
+   * as determined by {@link org.mule.runtime.core.internal.lifecycle.phases.LifecycleObjectSorter#getSortedObjectLevels()}.
+   * <p>
+   * The objects are still grouped by lifecycle type, and the phase is only applied to an object after it was applied to the
+   * objects it depends on. The lifecycle lock of the {@link org.mule.runtime.core.api.MuleContext} is held by the thread that
+   * drives the transition, not by the ones applying the phase to each object.
+   * <p>
+   * Unlike when applied sequentially, the phase may have been applied to other objects of the same level as the one that fails,
+   * if they were already in progress. The phase is not applied to the objects of the level that are still pending after the
+   * failure, nor to the following levels. When several objects of a level fail, the first failure is thrown with the others added
+   * as suppressed.
+   */
+  public static final String PARALLEL_LIFECYCLE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "lifecycle.parallel";
+
+  /**
+   * The maximum number of objects to which a phase is applied concurrently when {@link #PARALLEL_LIFECYCLE_PROPERTY} is enabled.
+   * Defaults to the number of available processors.
+   */
+  public static final String PARALLEL_LIFECYCLE_THREADS_PROPERTY = SYSTEM_PROPERTY_PREFIX + "lifecycle.parallel.threads";
+
   private static final Logger LOGGER = getLogger(RegistryLifecycleCallback.class);
 
   protected final RegistryLifecycleManager registryLifecycleManager;
@@ -77,11 +114,101 @@ public class RegistryLifecycleCallback<T> implements LifecycleCallback<T>, HasLi
       LOGGER.debug("Applying lifecycle phase: {} for registry: {}", phase, object.getClass().getSimpleName());
     }
 
-    doApplyLifecycle(phase, new HashSet<>(), registryLifecycleManager.getObjectsForPhase(phase));
+    if (isParallel(phase)) {
+      doApplyLifecycleInParallel(phase, registryLifecycleManager.getObjectLevelsForPhase(phase));
+    } else {
+      doApplyLifecycle(phase, new HashSet<>(), registryLifecycleManager.getObjectsForPhase(phase));
+    }
 
     interceptor.onPhaseCompleted(phase);
   }
 
+  private boolean isParallel(LifecyclePhase phase) {
+    return getBoolean(PARALLEL_LIFECYCLE_PROPERTY)
+        && (phase.getName().equals(Initialisable.PHASE_NAME) || phase.getName().equals(Startable.PHASE_NAME));
+  }
+
+  private void doApplyLifecycleInParallel(LifecyclePhase phase, List<List<Object>> levels) throws LifecycleException {
+    Set<Object> duplicates = newKeySet();
+    ExecutorService executor = null;
+    try {
+      for (List<Object> level : levels) {
+        if (level.size() == 1) {
+          doApplyLifecycle(phase, duplicates, level);
+          continue;
+        }
+
+        if (executor == null) {
+          executor = newFixedThreadPool(getInteger(PARALLEL_LIFECYCLE_THREADS_PROPERTY, getRuntime().availableProcessors()),
+                                        new NamedThreadFactory("lifecycle-" + phase.getName(),
+                                                               currentThread().getContextClassLoader()));
+        }
+
+        List<Future<?>> results = new ArrayList<>(level.size());
+        AtomicBoolean levelFailed = new AtomicBoolean();
+        for (Object target : level) {
+          if (target == null || duplicates.contains(target)) {
+            continue;
+          }
+          if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("lifecycle phase: {} for object: {}", phase.getName(), target.getClass().getSimpleName());
+          }
+          results.add(executor.submit(() -> {
+            if (levelFailed.get()) {
+              // the transition fails anyway, so the phase is not applied to the objects still pending
+              return null;
+            }
+            try {
+              applyLifecycle(phase, duplicates, target);
+            } catch (Exception | Error e) {
+              levelFailed.set(true);
+              throw e;
+            }
+            return null;
+          }));
+        }
+
+        awaitLevel(results);
+      }
+    } finally {
+      if (executor != null) {
+        executor.shutdownNow();
+      }
+    }
+  }
+
+  /**
+   * Waits for the phase to be applied to all the objects of a level, so that it is not applied to objects that depend on them
+   * while they are still in progress, and rethrows the first failure found.
+   */
+  private void awaitLevel(List<Future<?>> results) throws LifecycleException {
+    Throwable failure = null;
+    for (Future<?> result : results) {
+      try {
+        result.get();
+      } catch (ExecutionException e) {
+        if (failure == null) {
+          failure = e.getCause();
+        } else {
+          failure.addSuppressed(e.getCause());
+        }
+      } catch (InterruptedException e) {
+        currentThread().interrupt();
+        throw new LifecycleException(e, this);
+      }
+    }
+
+    if (failure instanceof LifecycleException) {
+      throw (LifecycleException) failure;
+    } else if (failure instanceof RuntimeException) {
+      throw (RuntimeException) failure;
+    } else if (failure instanceof Error) {
+      throw (Error) failure;
+    } else if (failure != null) {
+      throw new LifecycleException(failure, this);
+    }
+  }
+
   private void doApplyLifecycle(LifecyclePhase phase, Set<Object> duplicates, Collection<?> targetObjects)
       throws LifecycleException {
     for (Object target : targetObjects) {
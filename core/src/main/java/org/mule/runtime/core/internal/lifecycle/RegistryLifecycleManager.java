@@ -184,6 +184,21 @@ public class RegistryLifecycleManager extends AbstractLifecycleManager<Registry>
   }
 
   protected List<Object> getObjectsForPhase(LifecyclePhase phase) {
+    return getSorterForPhase(phase).getSortedObjects();
+  }
+
+  /**
+   * @param phase the phase to apply
+   * @return the objects to apply the {@code phase} to, grouped so that the objects in each group only depend on objects of the
+   *         previous groups.
+   * @see LifecycleObjectSorter#getSortedObjectLevels()
+   * @since 4.9.0
+   */
+  protected List<List<Object>> getObjectLevelsForPhase(LifecyclePhase phase) {
+    return getSorterForPhase(phase).getSortedObjectLevels();
+  }
+
+  private LifecycleObjectSorter getSorterForPhase(LifecyclePhase phase) {
     LifecycleObjectSorter sorter = phase.newLifecycleObjectSorter();
     Map<String, Object> lookupObjectsForLifecycle = lookupObjectsForLifecycle();
     List<String> lookupObjects = new ArrayList<>();
@@ -193,7 +208,7 @@ public class RegistryLifecycleManager extends AbstractLifecycleManager<Registry>
       lookupObjects.add(key);
     });
     sorter.setLifeCycleObjectNameOrder(lookupObjects);
-    return sorter.getSortedObjects();
+    return sorter;
   }
 
   protected Map<String, Object> lookupObjectsForLifecycle() {
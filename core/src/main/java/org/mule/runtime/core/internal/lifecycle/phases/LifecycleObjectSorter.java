@@ -6,6 +6,9 @@
  */
 package org.mule.runtime.core.internal.lifecycle.phases;
 
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+
 import org.mule.runtime.core.internal.registry.Registry;
 
 import java.util.List;
@@ -31,6 +34,19 @@ public interface LifecycleObjectSorter {
    */
   List<Object> getSortedObjects();
 
+  /**
+   * Groups the sorted objects so that the objects in each group only depend on objects of the previous groups, and so the
+   * lifecycle can be applied concurrently to the objects of the same group.
+   * <p>
+   * By default, each object is in a group of its own, so the lifecycle is applied to one object at a time.
+   *
+   * @return The groups of the objects previously added through {@link #addObject(String, Object)}, in order
+   * @since 4.9.0
+   */
+  default List<List<Object>> getSortedObjectLevels() {
+    return getSortedObjects().stream().map(object -> singletonList(object)).collect(toList());
+  }
+
   /**
    * Provides the order of objects as reference for initialise/dispose phases
    *
@@ -10,8 +10,8 @@ import static java.lang.System.currentTimeMillis;
 import static java.lang.Thread.currentThread;
 import static org.slf4j.LoggerFactory.getLogger;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
@@ -20,20 +20,24 @@ import org.slf4j.Logger;
 
 /**
  * {@link LockGroup} implementation for holding references to created locks inside a mule instance.
+ * <p>
+ * The entries for each lock id are kept in a {@link ConcurrentHashMap} and their reference count is only updated from within
+ * atomic {@code compute} operations, so operations on different lock ids do not contend with each other.
  */
 public class InstanceLockGroup implements LockGroup {
 
   private static final long DEFAULT_LOCK_GROUP_SHUTDOWN_TIMEOUT = 5000L;
   private static final Logger LOGGER = getLogger(InstanceLockGroup.class);
 
-  private final Map<String, LockEntry> locks;
-  private final Object lockAccessMonitor = new Object();
+  private final ConcurrentMap<String, LockEntry> locks;
+  private final Object disposeMonitor = new Object();
+  private volatile boolean disposing = false;
   private final LockProvider lockProvider;
   private final long gracefulShutdownTimeoutMillis;
 
   public InstanceLockGroup(LockProvider lockProvider, long shutdownTimeoutMillis) {
     this.lockProvider = lockProvider;
-    this.locks = new HashMap<>();
+    this.locks = new ConcurrentHashMap<>();
     this.gracefulShutdownTimeoutMillis = shutdownTimeoutMillis;
   }
 
@@ -49,14 +53,13 @@ public class InstanceLockGroup implements LockGroup {
 
   @Override
   public void unlock(String key) {
-    synchronized (lockAccessMonitor) {
-      LockEntry lockEntry = locks.get(key);
-      if (lockEntry != null) {
-        lockEntry.getLock().unlock();
-        releaseLockEntry(key, lockEntry);
-      } else {
-        LOGGER.warn("Trying to unlock a lock with id {} that wasn't previously locked", key);
-      }
+    // the entry can't be released by another thread meanwhile, since the count of this thread's lock is still held
+    LockEntry lockEntry = locks.get(key);
+    if (lockEntry != null) {
+      lockEntry.getLock().unlock();
+      releaseLockEntry(key, lockEntry);
+    } else {
+      LOGGER.warn("Trying to unlock a lock with id {} that wasn't previously locked", key);
     }
   }
 
@@ -132,38 +135,36 @@ public class InstanceLockGroup implements LockGroup {
   }
 
   private LockEntry getOrCreateLockEntry(String lockId) {
-    LockEntry lockEntry;
-    synchronized (lockAccessMonitor) {
-      if (locks.containsKey(lockId)) {
-        lockEntry = locks.get(lockId);
-      } else {
-        lockEntry = new LockEntry(lockProvider.createLock(lockId));
-        locks.put(lockId, lockEntry);
+    return locks.compute(lockId, (id, lockEntry) -> {
+      if (lockEntry == null) {
+        lockEntry = new LockEntry(lockProvider.createLock(id));
       }
       lockEntry.incrementLockCount();
-    }
-    return lockEntry;
+      return lockEntry;
+    });
   }
 
   private void releaseLockEntry(String lockId, LockEntry lockEntry) {
-    synchronized (lockAccessMonitor) {
+    locks.computeIfPresent(lockId, (id, currentLockEntry) -> {
       lockEntry.decrementLockCount();
-      if (!lockEntry.hasPendingLocks()) {
-        locks.remove(lockId);
-        if (locks.isEmpty()) {
-          lockAccessMonitor.notifyAll();
-        }
+      return lockEntry.hasPendingLocks() ? currentLockEntry : null;
+    });
+
+    if (disposing && locks.isEmpty()) {
+      synchronized (disposeMonitor) {
+        disposeMonitor.notifyAll();
       }
     }
   }
 
   private void waitForLocksToBeUnlocked() {
+    disposing = true;
     long timeOutMillis = currentTimeMillis() + gracefulShutdownTimeoutMillis;
-    synchronized (lockAccessMonitor) {
+    synchronized (disposeMonitor) {
       try {
         long remainingMillis = timeOutMillis - currentTimeMillis();
         while (!locks.isEmpty() && remainingMillis > 0) {
-          lockAccessMonitor.wait(remainingMillis);
+          disposeMonitor.wait(remainingMillis);
           remainingMillis = timeOutMillis - currentTimeMillis();
         }
       } catch (InterruptedException e) {
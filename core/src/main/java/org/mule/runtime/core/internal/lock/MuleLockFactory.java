@@ -36,7 +36,7 @@ public class MuleLockFactory implements LockFactory, Initialisable, Disposable {
   private MuleContext muleContext;
 
   @Override
-  public synchronized Lock createLock(String lockId) {
+  public Lock createLock(String lockId) {
     return new LockAdapter(lockId, lockGroup, schedulerService);
   }
 
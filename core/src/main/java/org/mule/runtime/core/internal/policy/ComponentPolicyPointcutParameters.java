@@ -0,0 +1,26 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.policy;
+
+import org.mule.runtime.api.component.Component;
+import org.mule.runtime.policy.api.PolicyPointcutParameters;
+
+/**
+ * {@link PolicyPointcutParameters} for a source that has no {@link org.mule.runtime.policy.api.SourcePolicyPointcutParametersFactory}
+ * associated, so the only information it carries is the component itself.
+ * <p>
+ * Pointcuts evaluated against these parameters yield the same result for every event of the same source, which allows the
+ * {@link PolicyMatchingIndex} to resolve the policies to apply by component location alone.
+ *
+ * @since 4.9
+ */
+final class ComponentPolicyPointcutParameters extends PolicyPointcutParameters {
+
+  ComponentPolicyPointcutParameters(Component component) {
+    super(component);
+  }
+}
@@ -161,6 +161,9 @@ public class DefaultPolicyManager implements PolicyManager, Lifecycle {
 
   private PolicyPointcutParametersManager policyPointcutParametersManager;
 
+  // Resolves the policies for components whose pointcut parameters do not depend on the event, without the caches above.
+  private PolicyMatchingIndex policyMatchingIndex;
+
   @Inject
   private FeatureFlaggingService featureFlaggingService;
 
@@ -168,8 +171,6 @@ public class DefaultPolicyManager implements PolicyManager, Lifecycle {
   public SourcePolicy createSourcePolicyInstance(Component source, CoreEvent sourceEvent,
                                                  ReactiveProcessor flowExecutionProcessor,
                                                  MessageSourceResponseParametersProcessor messageSourceResponseParametersProcessor) {
-    final ComponentIdentifier sourceIdentifier = source.getLocation().getComponentIdentifier().getIdentifier();
-
     if (!isSourcePoliciesAvailable.get()) {
       final SourcePolicy policy = noPolicySourceInstances.getIfPresent(source.getRootContainerLocation().getGlobalName());
 
@@ -183,9 +184,35 @@ public class DefaultPolicyManager implements PolicyManager, Lifecycle {
 
     final SourcePolicyContext ctx = SourcePolicyContext.from(sourceEvent);
     final PolicyPointcutParameters sourcePointcutParameters = ctx.getPointcutParameters();
+    final String rootContainerName = source.getLocation().getRootContainerName();
 
-    final Pair<String, PolicyPointcutParameters> policyKey =
-        new Pair<>(source.getLocation().getRootContainerName(), sourcePointcutParameters);
+    if (policyMatchingIndex.isIndexable(sourcePointcutParameters)) {
+      final SourcePolicy policy = policyMatchingIndex.getSourcePolicy(rootContainerName);
+      if (policy != null) {
+        return policy;
+      }
+
+      // Same locking considerations as for the outer cache below apply to the matching index.
+      cacheInvalidateLock.readLock().lock();
+
+      try {
+        if (LOGGER.isDebugEnabled()) {
+          LOGGER.debug("Source policy - populating matching index for {}", rootContainerName);
+        }
+
+        SourcePolicy sourcePolicy = policyMatchingIndex
+            .computeSourcePolicyIfAbsent(rootContainerName,
+                                         () -> resolveSourcePolicy(source, sourcePointcutParameters, flowExecutionProcessor));
+
+        activePolicies.add(new DeferredDisposableWeakReference((DeferredDisposable) sourcePolicy, stalePoliciesQueue));
+
+        return sourcePolicy;
+      } finally {
+        cacheInvalidateLock.readLock().unlock();
+      }
+    }
+
+    final Pair<String, PolicyPointcutParameters> policyKey = new Pair<>(rootContainerName, sourcePointcutParameters);
 
     final SourcePolicy policy = sourcePolicyOuterCache.getIfPresent(policyKey);
     if (policy != null) {
@@ -201,17 +228,8 @@ public class DefaultPolicyManager implements PolicyManager, Lifecycle {
         LOGGER.debug("Source policy - populating outer cache for {}", policyKey);
       }
 
-      SourcePolicy sourcePolicy = sourcePolicyOuterCache.get(policyKey, outerKey -> sourcePolicyInnerCache
-          .get(new Pair<>(source.getLocation().getRootContainerName(),
-                          policyProvider.findSourceParameterizedPolicies(sourcePointcutParameters)),
-               innerKey -> innerKey.getSecond().isEmpty()
-                   ? new NoSourcePolicy(flowExecutionProcessor)
-                   : compositePolicyFactory.createSourcePolicy(innerKey.getSecond(), flowExecutionProcessor,
-                                                               lookupSourceParametersTransformer(sourceIdentifier),
-                                                               sourcePolicyProcessorFactory,
-                                                               exception -> new MessagingExceptionResolver(source)
-                                                                   .resolve(exception, errorTypeLocator,
-                                                                            exceptionContextProviders))));
+      SourcePolicy sourcePolicy = sourcePolicyOuterCache
+          .get(policyKey, outerKey -> resolveSourcePolicy(source, sourcePointcutParameters, flowExecutionProcessor));
 
       activePolicies.add(new DeferredDisposableWeakReference((DeferredDisposable) sourcePolicy, stalePoliciesQueue));
 
@@ -221,6 +239,23 @@ public class DefaultPolicyManager implements PolicyManager, Lifecycle {
     }
   }
 
+  private SourcePolicy resolveSourcePolicy(Component source, PolicyPointcutParameters sourcePointcutParameters,
+                                           ReactiveProcessor flowExecutionProcessor) {
+    final ComponentIdentifier sourceIdentifier = source.getLocation().getComponentIdentifier().getIdentifier();
+
+    return sourcePolicyInnerCache
+        .get(new Pair<>(source.getLocation().getRootContainerName(),
+                        policyProvider.findSourceParameterizedPolicies(sourcePointcutParameters)),
+             innerKey -> innerKey.getSecond().isEmpty()
+                 ? new NoSourcePolicy(flowExecutionProcessor)
+                 : compositePolicyFactory.createSourcePolicy(innerKey.getSecond(), flowExecutionProcessor,
+                                                             lookupSourceParametersTransformer(sourceIdentifier),
+                                                             sourcePolicyProcessorFactory,
+                                                             exception -> new MessagingExceptionResolver(source)
+                                                                 .resolve(exception, errorTypeLocator,
+                                                                          exceptionContextProviders)));
+  }
+
   @Override
   public PolicyPointcutParameters addSourcePointcutParametersIntoEvent(Component source, TypedValue<?> attributes,
                                                                        InternalEvent event) {
@@ -237,12 +272,45 @@ public class DefaultPolicyManager implements PolicyManager, Lifecycle {
       return NO_POLICY_OPERATION;
     }
 
+    final String operationLocation = operation.getLocation().getLocation();
+
+    final SourcePolicyContext sourcePolicyContext = SourcePolicyContext.from(event);
+    final PolicyPointcutParameters sourcePointcutParameters =
+        sourcePolicyContext != null ? sourcePolicyContext.getPointcutParameters() : null;
+
+    if (policyMatchingIndex.isIndexable(operation, sourcePointcutParameters)) {
+      final OperationPolicy policy = policyMatchingIndex.getOperationPolicy(operationLocation, sourcePointcutParameters);
+      if (policy != null) {
+        return policy;
+      }
+
+      // Same locking considerations as for the outer cache below apply to the matching index.
+      cacheInvalidateLock.readLock().lock();
+
+      try {
+        if (LOGGER.isDebugEnabled()) {
+          LOGGER.debug("Operation policy - populating matching index for {}", operationLocation);
+        }
+
+        OperationPolicy operationPolicy = policyMatchingIndex
+            .computeOperationPolicyIfAbsent(operationLocation, sourcePointcutParameters,
+                                            () -> resolveOperationPolicy(operation, policyPointcutParametersManager
+                                                .createOperationPointcutParameters(operation, event,
+                                                                                   operationParameters
+                                                                                       .getOperationParameters())));
+
+        trackActivePolicy(operationPolicy);
+
+        return operationPolicy;
+      } finally {
+        cacheInvalidateLock.readLock().unlock();
+      }
+    }
+
     PolicyPointcutParameters operationPointcutParameters =
         policyPointcutParametersManager.createOperationPointcutParameters(operation, event,
                                                                           operationParameters.getOperationParameters());
 
-    final String operationLocation = operation.getLocation().getLocation();
-    final ComponentIdentifier operationIdentifier = operation.getLocation().getComponentIdentifier().getIdentifier();
     final Pair<String, PolicyPointcutParameters> policyKey =
         new Pair<>(operationLocation, operationPointcutParameters);
 
@@ -261,24 +329,9 @@ public class DefaultPolicyManager implements PolicyManager, Lifecycle {
       }
 
       OperationPolicy operationPolicy =
-          operationPolicyOuterCache.get(policyKey, outerKey -> operationPolicyInnerCache
-              .get(new Pair<>(operationLocation, policyProvider.findOperationParameterizedPolicies(outerKey.getSecond())),
-                   innerKey -> innerKey.getSecond().isEmpty()
-                       ? NO_POLICY_OPERATION
-                       : compositePolicyFactory.createOperationPolicy(operation, innerKey.getSecond(),
-                                                                      lookupOperationParametersTransformer(operationIdentifier),
-                                                                      operationPolicyProcessorFactory,
-                                                                      muleContext.getConfiguration().getShutdownTimeout(),
-                                                                      muleContext.getSchedulerService()
-                                                                          .ioScheduler(muleContext.getSchedulerBaseConfig()
-                                                                              .withMaxConcurrentTasks(1)
-                                                                              .withName(operation.getLocation().getLocation()
-                                                                                  + ".policy.flux.")),
-                                                                      featureFlaggingService)));
-
-      if (operationPolicy instanceof DeferredDisposable) {
-        activePolicies.add(new DeferredDisposableWeakReference((DeferredDisposable) operationPolicy, stalePoliciesQueue));
-      }
+          operationPolicyOuterCache.get(policyKey, outerKey -> resolveOperationPolicy(operation, outerKey.getSecond()));
+
+      trackActivePolicy(operationPolicy);
 
       return operationPolicy;
     } finally {
@@ -286,6 +339,31 @@ public class DefaultPolicyManager implements PolicyManager, Lifecycle {
     }
   }
 
+  private OperationPolicy resolveOperationPolicy(Component operation, PolicyPointcutParameters operationPointcutParameters) {
+    final String operationLocation = operation.getLocation().getLocation();
+    final ComponentIdentifier operationIdentifier = operation.getLocation().getComponentIdentifier().getIdentifier();
+
+    return operationPolicyInnerCache
+        .get(new Pair<>(operationLocation, policyProvider.findOperationParameterizedPolicies(operationPointcutParameters)),
+             innerKey -> innerKey.getSecond().isEmpty()
+                 ? NO_POLICY_OPERATION
+                 : compositePolicyFactory.createOperationPolicy(operation, innerKey.getSecond(),
+                                                                lookupOperationParametersTransformer(operationIdentifier),
+                                                                operationPolicyProcessorFactory,
+                                                                muleContext.getConfiguration().getShutdownTimeout(),
+                                                                muleContext.getSchedulerService()
+                                                                    .ioScheduler(muleContext.getSchedulerBaseConfig()
+                                                                        .withMaxConcurrentTasks(1)
+                                                                        .withName(operationLocation + ".policy.flux.")),
+                                                                featureFlaggingService));
+  }
+
+  private void trackActivePolicy(OperationPolicy operationPolicy) {
+    if (operationPolicy instanceof DeferredDisposable) {
+      activePolicies.add(new DeferredDisposableWeakReference((DeferredDisposable) operationPolicy, stalePoliciesQueue));
+    }
+  }
+
   private Optional<OperationPolicyParametersTransformer> lookupOperationParametersTransformer(ComponentIdentifier componentIdentifier) {
     return registry.lookupAllByType(OperationPolicyParametersTransformer.class).stream()
         .filter(policyOperationParametersTransformer -> policyOperationParametersTransformer.supports(componentIdentifier))
@@ -309,6 +387,11 @@ public class DefaultPolicyManager implements PolicyManager, Lifecycle {
 
     policyProvider = registry.lookupByType(PolicyProvider.class).orElse(new NullPolicyProvider());
 
+    policyPointcutParametersManager =
+        new PolicyPointcutParametersManager(registry.lookupAllByType(SourcePolicyPointcutParametersFactory.class),
+                                            registry.lookupAllByType(OperationPolicyPointcutParametersFactory.class));
+    policyMatchingIndex = new PolicyMatchingIndex(policyPointcutParametersManager);
+
     if (muleContext.getArtifactType().equals(APP)) {
       policyProvider.onPoliciesChanged(() -> {
         evictCaches();
@@ -320,10 +403,6 @@ public class DefaultPolicyManager implements PolicyManager, Lifecycle {
       isOperationPoliciesAvailable.set(policyProvider.isOperationPoliciesAvailable());
     }
 
-    policyPointcutParametersManager =
-        new PolicyPointcutParametersManager(registry.lookupAllByType(SourcePolicyPointcutParametersFactory.class),
-                                            registry.lookupAllByType(OperationPolicyPointcutParametersFactory.class));
-
     // Register flow disposal listener
     notificationManager.addListener(new FlowConstructNotificationListener<FlowConstructNotification>() {
 
@@ -347,6 +426,10 @@ public class DefaultPolicyManager implements PolicyManager, Lifecycle {
     // Invalidate from "no policy cache"
     noPolicySourceInstances.invalidate(flowName);
 
+    // Invalidate from the matching index
+    policyMatchingIndex.invalidateSource(flowName);
+    policyMatchingIndex.invalidateOperations(flowName);
+
     // Invalidate from inner "with policy cache"
     sourcePolicyInnerCache.asMap().keySet().stream()
         .filter(pair -> pair.getFirst().equals(flowName))
@@ -434,6 +517,8 @@ public class DefaultPolicyManager implements PolicyManager, Lifecycle {
 
       sourcePolicyOuterCache.invalidateAll();
       operationPolicyOuterCache.invalidateAll();
+
+      policyMatchingIndex.clear();
     } finally {
       cacheInvalidateLock.writeLock().unlock();
     }
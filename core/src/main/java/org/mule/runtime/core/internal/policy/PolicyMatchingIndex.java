@@ -0,0 +1,134 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.policy;
+
+import org.mule.runtime.api.component.Component;
+import org.mule.runtime.api.component.ComponentIdentifier;
+import org.mule.runtime.policy.api.PolicyPointcutParameters;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Index of the policies to apply to each source and operation location, for those components whose pointcut parameters only
+ * carry component information.
+ * <p>
+ * When no pointcut parameters factory contributes data extracted from the event, the pointcuts can only inspect the component
+ * (and, for operations, the source that triggered the flow), so the composite policy to apply is the same for every execution.
+ * For those components this index resolves the policy with a single lookup by location, without building
+ * {@link PolicyPointcutParameters} for the operation or going through the parameters-keyed caches in
+ * {@link DefaultPolicyManager}.
+ * <p>
+ * Entries are populated the first time each location is executed after policies are applied, and the whole index is discarded
+ * when policies change. The entries of a flow are discarded when it is stopped.
+ *
+ * @since 4.9
+ */
+final class PolicyMatchingIndex {
+
+  private static final String NO_SOURCE = "";
+  private static final String LOCATION_SEPARATOR = "/";
+
+  private final PolicyPointcutParametersManager policyPointcutParametersManager;
+
+  private final Map<ComponentIdentifier, Boolean> componentOnlyOperations = new ConcurrentHashMap<>();
+
+  private final Map<String, SourcePolicy> sourcePolicies = new ConcurrentHashMap<>();
+  private final Map<String, Map<String, OperationPolicy>> operationPolicies = new ConcurrentHashMap<>();
+
+  PolicyMatchingIndex(PolicyPointcutParametersManager policyPointcutParametersManager) {
+    this.policyPointcutParametersManager = policyPointcutParametersManager;
+  }
+
+  /**
+   * @param sourceParameters the pointcut parameters of a source event
+   * @return whether the source policy for those parameters may be resolved through this index.
+   */
+  boolean isIndexable(PolicyPointcutParameters sourceParameters) {
+    return sourceParameters instanceof ComponentPolicyPointcutParameters;
+  }
+
+  /**
+   * @param operation        the operation about to be executed
+   * @param sourceParameters the pointcut parameters of the source that triggered the flow, if any
+   * @return whether the operation policy for the given operation and source may be resolved through this index.
+   */
+  boolean isIndexable(Component operation, PolicyPointcutParameters sourceParameters) {
+    if (sourceParameters != null && !isIndexable(sourceParameters)) {
+      return false;
+    }
+
+    final ComponentIdentifier operationIdentifier = operation.getLocation().getComponentIdentifier().getIdentifier();
+    Boolean componentOnly = componentOnlyOperations.get(operationIdentifier);
+    if (componentOnly == null) {
+      componentOnly = componentOnlyOperations
+          .computeIfAbsent(operationIdentifier,
+                           id -> !policyPointcutParametersManager.hasOperationPointcutParametersFactory(id));
+    }
+    return componentOnly;
+  }
+
+  SourcePolicy getSourcePolicy(String rootContainerName) {
+    return sourcePolicies.get(rootContainerName);
+  }
+
+  SourcePolicy computeSourcePolicyIfAbsent(String rootContainerName, Supplier<SourcePolicy> policyResolver) {
+    return sourcePolicies.computeIfAbsent(rootContainerName, k -> policyResolver.get());
+  }
+
+  OperationPolicy getOperationPolicy(String operationLocation, PolicyPointcutParameters sourceParameters) {
+    final Map<String, OperationPolicy> policiesBySource = operationPolicies.get(operationLocation);
+    return policiesBySource != null ? policiesBySource.get(sourceKey(sourceParameters)) : null;
+  }
+
+  OperationPolicy computeOperationPolicyIfAbsent(String operationLocation, PolicyPointcutParameters sourceParameters,
+                                                 Supplier<OperationPolicy> policyResolver) {
+    return operationPolicies.computeIfAbsent(operationLocation, k -> new ConcurrentHashMap<>())
+        .computeIfAbsent(sourceKey(sourceParameters), k -> policyResolver.get());
+  }
+
+  /**
+   * Removes the source policy indexed for the given flow.
+   *
+   * @param flowName the name of the flow that was stopped
+   */
+  void invalidateSource(String flowName) {
+    sourcePolicies.remove(flowName);
+  }
+
+  /**
+   * Removes the operation policies indexed for the operations within the given flow, and the ones indexed for operations of
+   * other flows executed from the source of the given flow.
+   *
+   * @param flowName the name of the flow that was stopped
+   */
+  void invalidateOperations(String flowName) {
+    operationPolicies.keySet().removeIf(operationLocation -> isWithinFlow(operationLocation, flowName));
+    for (Map<String, OperationPolicy> policiesBySource : operationPolicies.values()) {
+      policiesBySource.keySet().removeIf(sourceLocation -> isWithinFlow(sourceLocation, flowName));
+    }
+  }
+
+  /**
+   * Discards all the indexed policies. Must be called whenever the applied policies change.
+   */
+  void clear() {
+    componentOnlyOperations.clear();
+    sourcePolicies.clear();
+    operationPolicies.clear();
+  }
+
+  private static boolean isWithinFlow(String location, String flowName) {
+    return location.startsWith(flowName)
+        && (location.length() == flowName.length() || location.startsWith(LOCATION_SEPARATOR, flowName.length()));
+  }
+
+  private static String sourceKey(PolicyPointcutParameters sourceParameters) {
+    return sourceParameters == null ? NO_SOURCE : sourceParameters.getComponent().getLocation().getLocation();
+  }
+}
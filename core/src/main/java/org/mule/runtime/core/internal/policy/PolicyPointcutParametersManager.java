@@ -58,7 +58,7 @@ public class PolicyPointcutParametersManager {
     }
 
     return found != null ? found.createPolicyPointcutParameters(source, attributes)
-        : new PolicyPointcutParameters(source);
+        : new ComponentPolicyPointcutParameters(source);
   }
 
   /**
@@ -98,6 +98,20 @@ public class PolicyPointcutParametersManager {
     }
   }
 
+  /**
+   * @param operationIdentifier the identifier of an operation component
+   * @return {@code true} if an {@link OperationPolicyPointcutParametersFactory} contributes parameters for the operation,
+   *         {@code false} if its pointcut parameters only carry the component and the source parameters.
+   */
+  public boolean hasOperationPointcutParametersFactory(ComponentIdentifier operationIdentifier) {
+    for (OperationPolicyPointcutParametersFactory factory : operationPointcutFactories) {
+      if (factory.supportsOperationIdentifier(operationIdentifier)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   private void throwMoreThanOneFactoryFoundException(ComponentIdentifier sourceIdentifier, Class factoryClass) {
     throw new MuleRuntimeException(createStaticMessage(format(
                                                               "More than one %s for component %s was found. There should be only one.",
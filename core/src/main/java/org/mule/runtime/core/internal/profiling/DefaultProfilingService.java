@@ -6,11 +6,14 @@
  */
 package org.mule.runtime.core.internal.profiling;
 
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_ARTIFACT_METER_PROVIDER_KEY;
 import static org.mule.runtime.core.internal.processor.strategy.util.ProfilingUtils.getArtifactId;
+import static org.mule.runtime.metrics.api.meter.MeterProperties.MULE_METER_ARTIFACT_ID_ATTRIBUTE;
 
 import static java.util.Optional.empty;
 
 import org.mule.runtime.api.event.EventContext;
+import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.api.profiling.ProfilingDataConsumerDiscoveryStrategy;
 import org.mule.runtime.api.profiling.ProfilingDataProducer;
@@ -21,15 +24,23 @@ import org.mule.runtime.api.profiling.tracing.ExecutionContext;
 import org.mule.runtime.api.profiling.tracing.TracingService;
 import org.mule.runtime.api.profiling.type.ProfilingEventType;
 import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.internal.context.MuleContextWithRegistry;
+import org.mule.runtime.core.internal.profiling.consumer.AggregatingByteBufferAllocationDataConsumer;
+import org.mule.runtime.core.internal.profiling.consumer.AggregatingComponentThreadingDataConsumer;
+import org.mule.runtime.core.internal.profiling.consumer.AggregatingProfilingDataConsumer;
+import org.mule.runtime.core.internal.profiling.consumer.AggregatingTaskSchedulingDataConsumer;
 import org.mule.runtime.core.internal.profiling.discovery.CompositeProfilingDataConsumerDiscoveryStrategy;
 import org.mule.runtime.core.internal.profiling.discovery.DefaultProfilingDataConsumerDiscoveryStrategy;
 import org.mule.runtime.core.internal.profiling.producer.provider.ProfilingDataProducerResolver;
 import org.mule.runtime.core.internal.profiling.threading.JvmThreadSnapshotCollector;
 import org.mule.runtime.feature.internal.config.profiling.ProfilingFeatureFlaggingService;
 import org.mule.runtime.core.internal.profiling.tracing.ThreadLocalTracingService;
+import org.mule.runtime.metrics.api.MeterProvider;
+import org.mule.runtime.metrics.api.meter.Meter;
 
 import java.util.HashSet;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -40,6 +51,8 @@ import javax.inject.Inject;
 import org.mule.runtime.tracer.api.EventTracer;
 import org.mule.runtime.tracer.api.sniffer.SpanSnifferManager;
 import org.mule.runtime.tracer.api.context.getter.DistributedTraceContextGetter;
+
+import com.google.common.collect.ImmutableSet;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -52,6 +65,9 @@ import reactor.core.publisher.Mono;
  */
 public class DefaultProfilingService extends AbstractProfilingService {
 
+  public static final String PROFILING_STATISTICS_METER_NAME = "profiling-statistics";
+  public static final String PROFILING_STATISTICS_METER_DESCRIPTION = "Mule runtime profiling statistics";
+
   @Inject
   private ProfilingFeatureFlaggingService featureFlaggingService;
 
@@ -66,6 +82,11 @@ public class DefaultProfilingService extends AbstractProfilingService {
 
   private ProfilingDataProducerResolver profilingDataProducerResolver;
 
+  private final Set<AggregatingProfilingDataConsumer<?>> aggregatingDataConsumers =
+      ImmutableSet.of(new AggregatingComponentThreadingDataConsumer(),
+                      new AggregatingTaskSchedulingDataConsumer(),
+                      new AggregatingByteBufferAllocationDataConsumer());
+
   private final Map<ProfilingEventType<?>, Map<ProfilingProducerScope, ResettableProfilingDataProducer<?, ?>>> profilingDataProducers =
       new ConcurrentHashMap<>();
 
@@ -93,6 +114,37 @@ public class DefaultProfilingService extends AbstractProfilingService {
     super.initialise();
   }
 
+  @Override
+  public void start() throws MuleException {
+    super.start();
+    trackAggregatedDataUsingMeter();
+  }
+
+  private void trackAggregatedDataUsingMeter() {
+    // TODO W-10933826 Refactor Container / Artifact Profiling Service so to avoid null verifications for muleContext
+    if (!(muleContext instanceof MuleContextWithRegistry)) {
+      return;
+    }
+
+    MeterProvider meterProvider =
+        ((MuleContextWithRegistry) muleContext).getRegistry().lookupObject(MULE_ARTIFACT_METER_PROVIDER_KEY);
+    if (meterProvider != null) {
+      Meter meter = meterProvider.getMeterBuilder(PROFILING_STATISTICS_METER_NAME)
+          .withDescription(PROFILING_STATISTICS_METER_DESCRIPTION)
+          .withMeterAttribute(MULE_METER_ARTIFACT_ID_ATTRIBUTE, getArtifactId(muleContext))
+          .build();
+      aggregatingDataConsumers.forEach(dataConsumer -> dataConsumer.trackUsingMeter(meter));
+    }
+  }
+
+  @Override
+  public Map<String, Object> getAggregatedProfilingData() {
+    Map<String, Object> aggregatedProfilingData = new TreeMap<>();
+    aggregatingDataConsumers
+        .forEach(dataConsumer -> aggregatedProfilingData.put(dataConsumer.getAggregationName(), dataConsumer.getSnapshot()));
+    return aggregatedProfilingData;
+  }
+
   @Override
   protected void onDataConsumersRegistered() {
     profilingDataProducers
@@ -140,7 +192,7 @@ public class DefaultProfilingService extends AbstractProfilingService {
   @Override
   public ProfilingDataConsumerDiscoveryStrategy getDiscoveryStrategy() {
     Set<ProfilingDataConsumerDiscoveryStrategy> discoveryStrategies = new HashSet<>();
-    discoveryStrategies.add(new DefaultProfilingDataConsumerDiscoveryStrategy(this));
+    discoveryStrategies.add(new DefaultProfilingDataConsumerDiscoveryStrategy(this, aggregatingDataConsumers));
     this.profilingDataConsumerDiscoveryStrategies.ifPresent(discoveryStrategies::addAll);
     return new CompositeProfilingDataConsumerDiscoveryStrategy(discoveryStrategies);
   }
@@ -6,11 +6,14 @@
  */
 package org.mule.runtime.core.internal.profiling;
 
+import static java.util.Collections.emptyMap;
+
 import org.mule.runtime.api.profiling.ProfilingDataProducer;
 import org.mule.runtime.api.profiling.ProfilingEventContext;
 import org.mule.runtime.api.profiling.ProfilingService;
 import org.mule.runtime.api.profiling.tracing.ExecutionContext;
 
+import java.util.Map;
 import java.util.function.Function;
 
 import org.mule.runtime.core.api.event.CoreEvent;
@@ -63,4 +66,13 @@ public interface InternalProfilingService extends ProfilingService {
    * @return EventTracer<CoreEvent>
    */
   EventTracer<CoreEvent> getCoreEventTracer();
+
+  /**
+   * @return a snapshot of the data aggregated by the runtime profiling data consumers, keyed by the name of each aggregation.
+   *
+   * @since 4.9.0
+   */
+  default Map<String, Object> getAggregatedProfilingData() {
+    return emptyMap();
+  }
 }
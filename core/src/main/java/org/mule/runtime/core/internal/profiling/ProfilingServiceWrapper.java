@@ -33,6 +33,7 @@ import org.mule.runtime.tracer.api.EventTracer;
 import org.mule.runtime.tracer.api.context.getter.DistributedTraceContextGetter;
 import org.mule.runtime.core.privileged.profiling.PrivilegedProfilingService;
 
+import java.util.Map;
 import java.util.function.Function;
 
 import javax.inject.Inject;
@@ -163,6 +164,11 @@ public class ProfilingServiceWrapper implements InternalProfilingService, Privil
     return coreEventTracer;
   }
 
+  @Override
+  public Map<String, Object> getAggregatedProfilingData() {
+    return getProfilingService().getAggregatedProfilingData();
+  }
+
   private EventTracer<CoreEvent> resolveUpdatableCoreEventTracer() {
     return coreEventTracer;
   }
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.profiling.consumer;
+
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.MEMORY_BYTE_BUFFER_ALLOCATION;
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.MEMORY_BYTE_BUFFER_DEALLOCATION;
+
+import static com.google.common.collect.ImmutableSet.of;
+
+import org.mule.runtime.api.profiling.ProfilingDataConsumer;
+import org.mule.runtime.api.profiling.type.ProfilingEventType;
+import org.mule.runtime.api.profiling.type.context.ByteBufferProviderEventContext;
+import org.mule.runtime.core.internal.profiling.consumer.annotations.RuntimeInternalProfilingDataConsumer;
+import org.mule.runtime.metrics.api.meter.Meter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * A {@link ProfilingDataConsumer} that aggregates, per byte buffer provider, the allocations, deallocations, the bytes that
+ * are currently allocated and the distribution of the allocation sizes.
+ *
+ * @since 4.9.0
+ */
+@RuntimeInternalProfilingDataConsumer
+public class AggregatingByteBufferAllocationDataConsumer implements AggregatingProfilingDataConsumer<ByteBufferProviderEventContext> {
+
+  public static final String BYTE_BUFFER_ALLOCATION_AGGREGATION_NAME = "byteBufferAllocation";
+
+  public static final String ALLOCATIONS_KEY = "allocations";
+  public static final String DEALLOCATIONS_KEY = "deallocations";
+  public static final String ALLOCATED_BYTES_KEY = "allocatedBytes";
+  public static final String ALLOCATION_SIZE_KEY = "allocationSizeBytes";
+
+  private final Map<String, ByteBufferProviderStatistics> statisticsByProvider = new ConcurrentHashMap<>();
+  private final LongAdder totalAllocatedBytes = new LongAdder();
+
+  @Override
+  public void onProfilingEvent(ProfilingEventType<ByteBufferProviderEventContext> profilingEventType,
+                               ByteBufferProviderEventContext profilingEventContext) {
+    ByteBufferProviderStatistics statistics = statisticsByProvider
+        .computeIfAbsent(profilingEventContext.getByteBufferProviderName(), name -> new ByteBufferProviderStatistics());
+    int size = profilingEventContext.size();
+
+    if (profilingEventType.equals(MEMORY_BYTE_BUFFER_ALLOCATION)) {
+      statistics.allocationSize.record(size);
+      statistics.allocatedBytes.add(size);
+      totalAllocatedBytes.add(size);
+    } else if (profilingEventType.equals(MEMORY_BYTE_BUFFER_DEALLOCATION)) {
+      statistics.deallocations.increment();
+      statistics.allocatedBytes.add(-size);
+    }
+  }
+
+  @Override
+  public Set<ProfilingEventType<ByteBufferProviderEventContext>> getProfilingEventTypes() {
+    return of(MEMORY_BYTE_BUFFER_ALLOCATION, MEMORY_BYTE_BUFFER_DEALLOCATION);
+  }
+
+  @Override
+  public Predicate<ByteBufferProviderEventContext> getEventContextFilter() {
+    return byteBufferProviderEventContext -> true;
+  }
+
+  @Override
+  public String getAggregationName() {
+    return BYTE_BUFFER_ALLOCATION_AGGREGATION_NAME;
+  }
+
+  @Override
+  public Map<String, Object> getSnapshot() {
+    Map<String, Object> snapshot = new TreeMap<>();
+    statisticsByProvider.forEach((provider, statistics) -> snapshot.put(provider, statistics.getSnapshot()));
+    return snapshot;
+  }
+
+  @Override
+  public void trackUsingMeter(Meter meter) {
+    meter.counterBuilder("byte-buffer-allocated-bytes")
+        .withValueSupplier(totalAllocatedBytes::sum)
+        .withUnit("By")
+        .withDescription("Bytes allocated by the byte buffer providers").build();
+  }
+
+  private static final class ByteBufferProviderStatistics {
+
+    private final LongAdder deallocations = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+    private final ProfilingHistogram allocationSize = new ProfilingHistogram();
+
+    private Map<String, Object> getSnapshot() {
+      Map<String, Object> snapshot = new LinkedHashMap<>();
+      snapshot.put(ALLOCATIONS_KEY, allocationSize.getCount());
+      snapshot.put(DEALLOCATIONS_KEY, deallocations.sum());
+      snapshot.put(ALLOCATED_BYTES_KEY, allocatedBytes.sum());
+      snapshot.put(ALLOCATION_SIZE_KEY, allocationSize.getSnapshot());
+      return snapshot;
+    }
+  }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.profiling.consumer;
+
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.OPERATION_EXECUTED;
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.OPERATION_THREAD_RELEASE;
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.STARTING_OPERATION_EXECUTION;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+import static com.github.benmanes.caffeine.cache.Caffeine.newBuilder;
+import static com.google.common.collect.ImmutableSet.of;
+
+import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.api.profiling.ProfilingDataConsumer;
+import org.mule.runtime.api.profiling.type.ProfilingEventType;
+import org.mule.runtime.api.profiling.type.context.ComponentThreadingProfilingEventContext;
+import org.mule.runtime.core.internal.profiling.consumer.annotations.RuntimeInternalProfilingDataConsumer;
+import org.mule.runtime.core.internal.profiling.context.DefaultComponentThreadingProfilingEventContext;
+import org.mule.runtime.metrics.api.meter.Meter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * A {@link ProfilingDataConsumer} that aggregates, per component location, the executions, thread releases, thread switches
+ * (executions that finished in a different thread than the one they started in) and execution times of the operations.
+ *
+ * @since 4.9.0
+ */
+@RuntimeInternalProfilingDataConsumer
+public class AggregatingComponentThreadingDataConsumer
+    implements AggregatingProfilingDataConsumer<ComponentThreadingProfilingEventContext> {
+
+  public static final String COMPONENT_THREADING_AGGREGATION_NAME = "componentThreading";
+
+  public static final String EXECUTIONS_KEY = "executions";
+  public static final String THREAD_RELEASES_KEY = "threadReleases";
+  public static final String THREAD_SWITCHES_KEY = "threadSwitches";
+  public static final String EXECUTION_TIME_KEY = "executionTimeMillis";
+
+  private static final String UNKNOWN_LOCATION = "unknown";
+  // Executions whose end is never notified must not make the pending executions grow indefinitely, so the oldest ones are
+  // discarded when there are too many and any of them is discarded if it does not end in a reasonable time.
+  private static final int MAX_PENDING_EXECUTIONS = 10000;
+  private static final long PENDING_EXECUTION_TIMEOUT_MINUTES = 10;
+
+  private final Map<String, ComponentThreadingStatistics> statisticsByLocation = new ConcurrentHashMap<>();
+  private final Map<String, PendingExecution> pendingExecutions = newBuilder()
+      .maximumSize(MAX_PENDING_EXECUTIONS)
+      .expireAfterWrite(PENDING_EXECUTION_TIMEOUT_MINUTES, MINUTES)
+      .executor(Runnable::run)
+      .<String, PendingExecution>build()
+      .asMap();
+  private final LongAdder totalThreadReleases = new LongAdder();
+  private final LongAdder totalThreadSwitches = new LongAdder();
+
+  @Override
+  public void onProfilingEvent(ProfilingEventType<ComponentThreadingProfilingEventContext> profilingEventType,
+                               ComponentThreadingProfilingEventContext profilingEventContext) {
+    String location = profilingEventContext.getLocation().map(ComponentLocation::getLocation).orElse(UNKNOWN_LOCATION);
+    ComponentThreadingStatistics statistics =
+        statisticsByLocation.computeIfAbsent(location, loc -> new ComponentThreadingStatistics());
+
+    if (profilingEventType.equals(STARTING_OPERATION_EXECUTION)) {
+      pendingExecutions.put(getExecutionKey(profilingEventContext, location),
+                            new PendingExecution(profilingEventContext.getTriggerTimestamp(),
+                                                 profilingEventContext.getThreadName()));
+    } else if (profilingEventType.equals(OPERATION_THREAD_RELEASE)) {
+      statistics.threadReleases.increment();
+      totalThreadReleases.increment();
+    } else if (profilingEventType.equals(OPERATION_EXECUTED)) {
+      statistics.executions.increment();
+      PendingExecution pendingExecution = pendingExecutions.remove(getExecutionKey(profilingEventContext, location));
+      if (pendingExecution != null) {
+        statistics.executionTime.record(profilingEventContext.getTriggerTimestamp() - pendingExecution.startTimestamp);
+        if (!pendingExecution.threadName.equals(profilingEventContext.getThreadName())) {
+          statistics.threadSwitches.increment();
+          totalThreadSwitches.increment();
+        }
+      }
+    }
+  }
+
+  private static String getExecutionKey(ComponentThreadingProfilingEventContext profilingEventContext, String location) {
+    // The correlation id is shared by the concurrent executions of a component within scatter-gather or parallel-foreach
+    // routes, while the event context is not.
+    if (profilingEventContext instanceof DefaultComponentThreadingProfilingEventContext) {
+      return ((DefaultComponentThreadingProfilingEventContext) profilingEventContext).getEventContextId() + "@" + location;
+    }
+    return profilingEventContext.getCorrelationId() + "@" + location;
+  }
+
+  @Override
+  public Set<ProfilingEventType<ComponentThreadingProfilingEventContext>> getProfilingEventTypes() {
+    return of(STARTING_OPERATION_EXECUTION, OPERATION_THREAD_RELEASE, OPERATION_EXECUTED);
+  }
+
+  @Override
+  public Predicate<ComponentThreadingProfilingEventContext> getEventContextFilter() {
+    return profilingEventContext -> true;
+  }
+
+  @Override
+  public String getAggregationName() {
+    return COMPONENT_THREADING_AGGREGATION_NAME;
+  }
+
+  @Override
+  public Map<String, Object> getSnapshot() {
+    Map<String, Object> snapshot = new TreeMap<>();
+    statisticsByLocation.forEach((location, statistics) -> snapshot.put(location, statistics.getSnapshot()));
+    return snapshot;
+  }
+
+  @Override
+  public void trackUsingMeter(Meter meter) {
+    meter.counterBuilder("component-thread-releases")
+        .withValueSupplier(totalThreadReleases::sum)
+        .withDescription("Times a component released the thread it was executing on").build();
+    meter.counterBuilder("component-thread-switches")
+        .withValueSupplier(totalThreadSwitches::sum)
+        .withDescription("Component executions that finished in a different thread than they started").build();
+  }
+
+  private static final class ComponentThreadingStatistics {
+
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder threadReleases = new LongAdder();
+    private final LongAdder threadSwitches = new LongAdder();
+    private final ProfilingHistogram executionTime = new ProfilingHistogram();
+
+    private Map<String, Object> getSnapshot() {
+      Map<String, Object> snapshot = new LinkedHashMap<>();
+      snapshot.put(EXECUTIONS_KEY, executions.sum());
+      snapshot.put(THREAD_RELEASES_KEY, threadReleases.sum());
+      snapshot.put(THREAD_SWITCHES_KEY, threadSwitches.sum());
+      snapshot.put(EXECUTION_TIME_KEY, executionTime.getSnapshot());
+      return snapshot;
+    }
+  }
+
+  private static final class PendingExecution {
+
+    private final long startTimestamp;
+    private final String threadName;
+
+    private PendingExecution(long startTimestamp, String threadName) {
+      this.startTimestamp = startTimestamp;
+      this.threadName = threadName;
+    }
+  }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.profiling.consumer;
+
+import org.mule.runtime.api.profiling.ProfilingDataConsumer;
+import org.mule.runtime.api.profiling.ProfilingEventContext;
+import org.mule.runtime.metrics.api.meter.Meter;
+
+import java.util.Map;
+
+/**
+ * A {@link ProfilingDataConsumer} that folds the profiling events into in-memory counters and histograms instead of
+ * serializing each one of them, so that it can be kept enabled with a low overhead.
+ *
+ * @param <T> the {@link ProfilingEventContext} consumed.
+ *
+ * @since 4.9.0
+ */
+public interface AggregatingProfilingDataConsumer<T extends ProfilingEventContext> extends ProfilingDataConsumer<T> {
+
+  /**
+   * @return the name under which the snapshot of this consumer is exposed.
+   */
+  String getAggregationName();
+
+  /**
+   * @return a snapshot of the data aggregated so far.
+   */
+  Map<String, Object> getSnapshot();
+
+  /**
+   * Registers the totals aggregated by this consumer as instruments of the given {@link Meter}.
+   *
+   * @param meter the meter to register the instruments in.
+   */
+  void trackUsingMeter(Meter meter);
+}
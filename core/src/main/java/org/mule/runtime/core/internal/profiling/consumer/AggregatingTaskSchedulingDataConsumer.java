@@ -0,0 +1,176 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.profiling.consumer;
+
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.SCHEDULING_TASK_EXECUTION;
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.STARTING_TASK_EXECUTION;
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.TASK_EXECUTED;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+import static com.github.benmanes.caffeine.cache.Caffeine.newBuilder;
+import static com.google.common.collect.ImmutableSet.of;
+
+import org.mule.runtime.api.profiling.ProfilingDataConsumer;
+import org.mule.runtime.api.profiling.type.ProfilingEventType;
+import org.mule.runtime.api.profiling.type.context.TaskSchedulingProfilingEventContext;
+import org.mule.runtime.core.internal.profiling.consumer.annotations.RuntimeInternalProfilingDataConsumer;
+import org.mule.runtime.metrics.api.meter.Meter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * A {@link ProfilingDataConsumer} that aggregates, per scheduler, the amount of tasks, the time they wait in the queue before
+ * starting and their execution times.
+ * <p>
+ * The scheduler of a task is derived from the name of the thread that executes it, removing the thread index and the details
+ * that the runtime appends to it (for example, {@code [MuleRuntime].uber.03: [app].flow.CPU_LITE @6b8f0e} is accounted for
+ * {@code [MuleRuntime].uber}).
+ *
+ * @since 4.9.0
+ */
+@RuntimeInternalProfilingDataConsumer
+public class AggregatingTaskSchedulingDataConsumer implements AggregatingProfilingDataConsumer<TaskSchedulingProfilingEventContext> {
+
+  public static final String TASK_SCHEDULING_AGGREGATION_NAME = "taskScheduling";
+
+  public static final String TASKS_KEY = "tasks";
+  public static final String QUEUEING_DELAY_KEY = "queueingDelayMillis";
+  public static final String EXECUTION_TIME_KEY = "executionTimeMillis";
+
+  // Tasks whose start or end is never notified must not make the pending tasks grow indefinitely, so the oldest ones are
+  // discarded when there are too many and any of them is discarded if it does not start or end in a reasonable time.
+  private static final int MAX_PENDING_TASKS = 10000;
+  private static final long PENDING_TASK_TIMEOUT_MINUTES = 10;
+
+  private final Map<String, SchedulerStatistics> statisticsByScheduler = new ConcurrentHashMap<>();
+  private final Map<String, Long> scheduledTasks = createPendingTasks();
+  private final Map<String, RunningTask> runningTasks = createPendingTasks();
+  private final LongAdder totalTasks = new LongAdder();
+  private final LongAdder totalQueueingDelay = new LongAdder();
+
+  @Override
+  public void onProfilingEvent(ProfilingEventType<TaskSchedulingProfilingEventContext> profilingEventType,
+                               TaskSchedulingProfilingEventContext profilingEventContext) {
+    String taskId = profilingEventContext.getTaskId();
+    long timestamp = profilingEventContext.getTriggerTimestamp();
+
+    if (profilingEventType.equals(SCHEDULING_TASK_EXECUTION)) {
+      scheduledTasks.put(taskId, timestamp);
+    } else if (profilingEventType.equals(STARTING_TASK_EXECUTION)) {
+      SchedulerStatistics statistics = statisticsByScheduler
+          .computeIfAbsent(getSchedulerName(profilingEventContext.getThreadName()), name -> new SchedulerStatistics());
+      statistics.tasks.increment();
+      totalTasks.increment();
+
+      Long scheduledTimestamp = scheduledTasks.remove(taskId);
+      if (scheduledTimestamp != null) {
+        long queueingDelay = timestamp - scheduledTimestamp;
+        statistics.queueingDelay.record(queueingDelay);
+        totalQueueingDelay.add(queueingDelay);
+      }
+      runningTasks.put(taskId, new RunningTask(timestamp, statistics));
+    } else if (profilingEventType.equals(TASK_EXECUTED)) {
+      RunningTask runningTask = runningTasks.remove(taskId);
+      if (runningTask != null) {
+        runningTask.statistics.executionTime.record(timestamp - runningTask.startTimestamp);
+      }
+    }
+  }
+
+  private static <T> Map<String, T> createPendingTasks() {
+    return newBuilder()
+        .maximumSize(MAX_PENDING_TASKS)
+        .expireAfterWrite(PENDING_TASK_TIMEOUT_MINUTES, MINUTES)
+        .executor(Runnable::run)
+        .<String, T>build()
+        .asMap();
+  }
+
+  static String getSchedulerName(String threadName) {
+    int end = threadName.indexOf(':');
+    if (end == -1) {
+      end = threadName.length();
+    }
+
+    // Remove the index of the thread in its pool.
+    int indexStart = end;
+    while (indexStart > 0 && Character.isDigit(threadName.charAt(indexStart - 1))) {
+      indexStart--;
+    }
+    if (indexStart < end && indexStart > 0 && (threadName.charAt(indexStart - 1) == '.'
+        || threadName.charAt(indexStart - 1) == '-')) {
+      end = indexStart - 1;
+    }
+    return threadName.substring(0, end);
+  }
+
+  @Override
+  public Set<ProfilingEventType<TaskSchedulingProfilingEventContext>> getProfilingEventTypes() {
+    return of(SCHEDULING_TASK_EXECUTION, STARTING_TASK_EXECUTION, TASK_EXECUTED);
+  }
+
+  @Override
+  public Predicate<TaskSchedulingProfilingEventContext> getEventContextFilter() {
+    return taskSchedulingProfilingEventContext -> true;
+  }
+
+  @Override
+  public String getAggregationName() {
+    return TASK_SCHEDULING_AGGREGATION_NAME;
+  }
+
+  @Override
+  public Map<String, Object> getSnapshot() {
+    Map<String, Object> snapshot = new TreeMap<>();
+    statisticsByScheduler.forEach((scheduler, statistics) -> snapshot.put(scheduler, statistics.getSnapshot()));
+    return snapshot;
+  }
+
+  @Override
+  public void trackUsingMeter(Meter meter) {
+    meter.counterBuilder("scheduled-tasks")
+        .withValueSupplier(totalTasks::sum)
+        .withDescription("Tasks started by the schedulers").build();
+    meter.counterBuilder("scheduled-tasks-queueing-time")
+        .withValueSupplier(totalQueueingDelay::sum)
+        .withUnit("ms")
+        .withDescription("Accumulated time that the tasks waited to be started").build();
+  }
+
+  private static final class SchedulerStatistics {
+
+    private final LongAdder tasks = new LongAdder();
+    private final ProfilingHistogram queueingDelay = new ProfilingHistogram();
+    private final ProfilingHistogram executionTime = new ProfilingHistogram();
+
+    private Map<String, Object> getSnapshot() {
+      Map<String, Object> snapshot = new LinkedHashMap<>();
+      snapshot.put(TASKS_KEY, tasks.sum());
+      snapshot.put(QUEUEING_DELAY_KEY, queueingDelay.getSnapshot());
+      snapshot.put(EXECUTION_TIME_KEY, executionTime.getSnapshot());
+      return snapshot;
+    }
+  }
+
+  private static final class RunningTask {
+
+    private final long startTimestamp;
+    private final SchedulerStatistics statistics;
+
+    private RunningTask(long startTimestamp, SchedulerStatistics statistics) {
+      this.startTimestamp = startTimestamp;
+      this.statistics = statistics;
+    }
+  }
+}
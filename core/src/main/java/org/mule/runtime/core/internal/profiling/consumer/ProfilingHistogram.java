@@ -0,0 +1,110 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.profiling.consumer;
+
+import static java.lang.Long.numberOfLeadingZeros;
+import static java.lang.Math.min;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of non negative values, with a bucket per power of two.
+ * <p>
+ * Percentiles are approximated by the upper bound of the bucket they fall into, which is accurate enough to spot the order of
+ * magnitude of a delay or a size, at the cost of a few atomic increments per recorded value.
+ *
+ * @since 4.9.0
+ */
+public final class ProfilingHistogram {
+
+  public static final String COUNT_KEY = "count";
+  public static final String SUM_KEY = "sum";
+  public static final String MAX_KEY = "max";
+  public static final String MEAN_KEY = "mean";
+  public static final String P50_KEY = "p50";
+  public static final String P90_KEY = "p90";
+  public static final String P99_KEY = "p99";
+
+  // Bucket 0 holds zeros, bucket i holds the values in [2^(i-1), 2^i).
+  private static final int BUCKETS = Long.SIZE + 1;
+
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * @param value the value to record. Negative values are recorded as {@code 0}.
+   */
+  public void record(long value) {
+    long recordedValue = value < 0 ? 0 : value;
+    buckets.incrementAndGet(Long.SIZE - numberOfLeadingZeros(recordedValue));
+    count.increment();
+    sum.add(recordedValue);
+
+    long currentMax = max.get();
+    while (recordedValue > currentMax && !max.compareAndSet(currentMax, recordedValue)) {
+      currentMax = max.get();
+    }
+  }
+
+  /**
+   * @return the amount of recorded values.
+   */
+  public long getCount() {
+    return count.sum();
+  }
+
+  /**
+   * @return a snapshot of this histogram with its count, sum, max, mean and approximated percentiles.
+   */
+  public Map<String, Object> getSnapshot() {
+    long[] bucketCounts = new long[BUCKETS];
+    long total = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      bucketCounts[i] = buckets.get(i);
+      total += bucketCounts[i];
+    }
+
+    long maxValue = max.get();
+    long sumValue = sum.sum();
+
+    Map<String, Object> snapshot = new LinkedHashMap<>();
+    snapshot.put(COUNT_KEY, total);
+    snapshot.put(SUM_KEY, sumValue);
+    snapshot.put(MAX_KEY, maxValue);
+    snapshot.put(MEAN_KEY, total == 0 ? 0 : sumValue / total);
+    snapshot.put(P50_KEY, percentile(bucketCounts, total, 0.5, maxValue));
+    snapshot.put(P90_KEY, percentile(bucketCounts, total, 0.9, maxValue));
+    snapshot.put(P99_KEY, percentile(bucketCounts, total, 0.99, maxValue));
+    return snapshot;
+  }
+
+  private static long percentile(long[] bucketCounts, long total, double percentile, long maxValue) {
+    if (total == 0) {
+      return 0;
+    }
+
+    long threshold = (long) Math.ceil(total * percentile);
+    long accumulated = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      accumulated += bucketCounts[i];
+      if (accumulated >= threshold) {
+        return min(maxValue, upperBound(i));
+      }
+    }
+    return maxValue;
+  }
+
+  private static long upperBound(int bucket) {
+    return bucket >= Long.SIZE - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+  }
+}
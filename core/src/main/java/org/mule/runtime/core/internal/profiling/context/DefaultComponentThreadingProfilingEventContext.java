@@ -50,6 +50,16 @@ public class DefaultComponentThreadingProfilingEventContext
     return event.getCorrelationId();
   }
 
+  /**
+   * @return the id of the event context of the execution, that tells apart concurrent executions of the same component for
+   *         the same correlation id (for example, the routes of a scatter-gather or parallel-foreach).
+   *
+   * @since 4.9.0
+   */
+  public String getEventContextId() {
+    return event.getContext().getId();
+  }
+
   @Override
   public String getThreadName() {
     return threadName;
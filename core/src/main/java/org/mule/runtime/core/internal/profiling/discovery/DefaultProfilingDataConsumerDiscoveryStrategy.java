@@ -6,12 +6,13 @@
  */
 package org.mule.runtime.core.internal.profiling.discovery;
 
-import static com.google.common.collect.ImmutableSet.of;
+import static java.util.Collections.emptySet;
 
 import org.mule.runtime.api.profiling.ProfilingDataConsumerDiscoveryStrategy;
 import org.mule.runtime.api.profiling.ProfilingDataConsumer;
 import org.mule.runtime.api.profiling.ProfilingService;
 import org.mule.runtime.core.internal.profiling.InternalProfilingService;
+import org.mule.runtime.core.internal.profiling.consumer.AggregatingProfilingDataConsumer;
 import org.mule.runtime.core.internal.profiling.consumer.LoggerByteBufferAllocationProfilingDataConsumer;
 import org.mule.runtime.core.internal.profiling.consumer.ComponentProcessingStrategyDataConsumer;
 import org.mule.runtime.core.internal.profiling.consumer.LoggerComponentThreadingDataConsumer;
@@ -20,6 +21,8 @@ import org.mule.runtime.core.internal.profiling.consumer.TransactionLoggerDataCo
 
 import java.util.Set;
 
+import com.google.common.collect.ImmutableSet;
+
 /**
  * Simple {@link ProfilingDataConsumerDiscoveryStrategy} that programmatically generates the data consumers.
  *
@@ -28,18 +31,35 @@ import java.util.Set;
 public class DefaultProfilingDataConsumerDiscoveryStrategy implements ProfilingDataConsumerDiscoveryStrategy {
 
   private final InternalProfilingService profilingService;
+  private final Set<AggregatingProfilingDataConsumer<?>> aggregatingDataConsumers;
 
   public DefaultProfilingDataConsumerDiscoveryStrategy(InternalProfilingService profilingService) {
+    this(profilingService, emptySet());
+  }
+
+  /**
+   * @param profilingService         the profiling service the consumers are discovered for.
+   * @param aggregatingDataConsumers the {@link AggregatingProfilingDataConsumer}s owned by the profiling service, that are
+   *                                 discovered along with the default consumers.
+   *
+   * @since 4.9.0
+   */
+  public DefaultProfilingDataConsumerDiscoveryStrategy(InternalProfilingService profilingService,
+                                                       Set<AggregatingProfilingDataConsumer<?>> aggregatingDataConsumers) {
     this.profilingService = profilingService;
+    this.aggregatingDataConsumers = aggregatingDataConsumers;
   }
 
   @Override
   public Set<ProfilingDataConsumer<?>> discover() {
-    return of(new LoggerByteBufferAllocationProfilingDataConsumer(),
-              new ComponentProcessingStrategyDataConsumer(profilingService),
-              new LoggerComponentThreadingDataConsumer(),
-              new TransactionLoggerDataConsumer(),
-              new TaskSchedulingLoggerDataConsumer());
+    return ImmutableSet.<ProfilingDataConsumer<?>>builder()
+        .add(new LoggerByteBufferAllocationProfilingDataConsumer(),
+             new ComponentProcessingStrategyDataConsumer(profilingService),
+             new LoggerComponentThreadingDataConsumer(),
+             new TransactionLoggerDataConsumer(),
+             new TaskSchedulingLoggerDataConsumer())
+        .addAll(aggregatingDataConsumers)
+        .build();
   }
 
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.profiling.startup;
+
+import static java.lang.System.nanoTime;
+import static java.util.Collections.unmodifiableList;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A phase of the startup of an artifact, with the time it took and the phases nested in it.
+ * <p>
+ * A phase is open from its creation until it is {@link #close() closed}, and it has to be closed by the same thread that opened
+ * it.
+ *
+ * @since 4.9.0
+ */
+public class StartupPhase implements AutoCloseable {
+
+  static final StartupPhase NO_OP = new StartupPhase();
+
+  private final String name;
+  private final StartupPhase previous;
+  private final long startNanos;
+  private final long startAllocatedBytes;
+  private final List<StartupPhase> children = new CopyOnWriteArrayList<>();
+
+  private volatile long durationNanos = -1;
+  private volatile long allocatedBytes = -1;
+
+  private StartupPhase() {
+    this.name = null;
+    this.previous = null;
+    this.startNanos = 0;
+    this.startAllocatedBytes = -1;
+  }
+
+  StartupPhase(String name, StartupPhase previous) {
+    this.name = name;
+    this.previous = previous;
+    this.startAllocatedBytes = StartupTracer.currentThreadAllocatedBytes();
+    this.startNanos = nanoTime();
+  }
+
+  StartupPhase newChild(String childName, StartupPhase previous) {
+    StartupPhase child = new StartupPhase(childName, previous);
+    children.add(child);
+    return child;
+  }
+
+  /**
+   * @return the name of this phase.
+   */
+  public String getName() {
+    return name;
+  }
+
+  long getStartNanos() {
+    return startNanos;
+  }
+
+  /**
+   * @return the time this phase took in nanoseconds, or the time elapsed since it was opened if it is still open.
+   */
+  public long getDurationNanos() {
+    long duration = durationNanos;
+    return duration < 0 ? nanoTime() - startNanos : duration;
+  }
+
+  /**
+   * @return the bytes allocated by the thread that ran this phase, or {@code -1} if not available or still open.
+   */
+  public long getAllocatedBytes() {
+    return allocatedBytes;
+  }
+
+  /**
+   * @return whether this phase has been closed.
+   */
+  public boolean isClosed() {
+    return durationNanos >= 0;
+  }
+
+  /**
+   * @return the phases nested in this one, in the order they were opened.
+   */
+  public List<StartupPhase> getChildren() {
+    return unmodifiableList(children);
+  }
+
+  /**
+   * Closes this phase, making the phase that was current when it was opened the current one again.
+   */
+  @Override
+  public void close() {
+    if (this == NO_OP || isClosed()) {
+      return;
+    }
+
+    durationNanos = nanoTime() - startNanos;
+    if (startAllocatedBytes >= 0) {
+      allocatedBytes = StartupTracer.currentThreadAllocatedBytes() - startAllocatedBytes;
+    }
+    StartupTracer.setCurrentPhase(previous);
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.profiling.startup;
+
+import static java.lang.Math.max;
+import static java.lang.System.currentTimeMillis;
+import static java.lang.System.nanoTime;
+import static java.util.Collections.unmodifiableList;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+/**
+ * The {@link StartupPhase phases} of the startup of an artifact, from the creation of the artifact until it is started.
+ * <p>
+ * The trace can be reported as JSON, or as folded stacks that can be rendered as a flame graph, where each line is the path of a
+ * phase followed by the microseconds spent in that phase and not in its nested phases.
+ *
+ * @since 4.9.0
+ */
+public class StartupTrace {
+
+  private final String artifactName;
+  private final long startTimeMillis;
+  private final long startNanos;
+  private final List<StartupPhase> phases = new CopyOnWriteArrayList<>();
+
+  StartupTrace(String artifactName) {
+    this.artifactName = artifactName;
+    this.startTimeMillis = currentTimeMillis();
+    this.startNanos = nanoTime();
+  }
+
+  StartupPhase newPhase(String name, StartupPhase previous) {
+    StartupPhase phase = new StartupPhase(name, previous);
+    phases.add(phase);
+    return phase;
+  }
+
+  /**
+   * @return the name of the traced artifact.
+   */
+  public String getArtifactName() {
+    return artifactName;
+  }
+
+  /**
+   * @return the time the trace started, in milliseconds since the epoch.
+   */
+  public long getStartTimeMillis() {
+    return startTimeMillis;
+  }
+
+  /**
+   * @return the time from the start of the trace until the end of its last phase, in nanoseconds.
+   */
+  public long getDurationNanos() {
+    long end = startNanos;
+    for (StartupPhase phase : phases) {
+      end = max(end, phase.getStartNanos() + phase.getDurationNanos());
+    }
+    return end - startNanos;
+  }
+
+  /**
+   * @return the top level phases of the trace, in the order they were opened.
+   */
+  public List<StartupPhase> getPhases() {
+    return unmodifiableList(phases);
+  }
+
+  /**
+   * @return the trace in JSON format.
+   */
+  public String toJson() {
+    return new GsonBuilder().setPrettyPrinting().create().toJson(toJsonObject());
+  }
+
+  /**
+   * @return the trace as a JSON object.
+   */
+  public JsonObject toJsonObject() {
+    JsonObject trace = new JsonObject();
+    trace.addProperty("artifact", artifactName);
+    trace.addProperty("startTime", startTimeMillis);
+    trace.addProperty("durationMillis", NANOSECONDS.toMillis(getDurationNanos()));
+    trace.add("phases", toJson(phases));
+    return trace;
+  }
+
+  private JsonArray toJson(List<StartupPhase> phases) {
+    JsonArray phasesJson = new JsonArray();
+    for (StartupPhase phase : phases) {
+      JsonObject phaseJson = new JsonObject();
+      phaseJson.addProperty("name", phase.getName());
+      phaseJson.addProperty("startOffsetMillis", NANOSECONDS.toMillis(phase.getStartNanos() - startNanos));
+      phaseJson.addProperty("durationMillis", NANOSECONDS.toMillis(phase.getDurationNanos()));
+      if (phase.getAllocatedBytes() >= 0) {
+        phaseJson.addProperty("allocatedBytes", phase.getAllocatedBytes());
+      }
+      if (!phase.isClosed()) {
+        phaseJson.addProperty("running", true);
+      }
+      if (!phase.getChildren().isEmpty()) {
+        phaseJson.add("phases", toJson(phase.getChildren()));
+      }
+      phasesJson.add(phaseJson);
+    }
+    return phasesJson;
+  }
+
+  /**
+   * @return the trace as folded stacks, one line for each phase.
+   */
+  public String toFoldedStacks() {
+    StringBuilder folded = new StringBuilder();
+    for (StartupPhase phase : phases) {
+      appendFolded(phase, artifactName, folded);
+    }
+    return folded.toString();
+  }
+
+  private void appendFolded(StartupPhase phase, String parentPath, StringBuilder folded) {
+    String path = parentPath + ";" + phase.getName();
+    long selfNanos = phase.getDurationNanos();
+    for (StartupPhase child : phase.getChildren()) {
+      selfNanos -= child.getDurationNanos();
+      appendFolded(child, path, folded);
+    }
+    folded.append(path).append(' ').append(NANOSECONDS.toMicros(max(selfNanos, 0))).append('\n');
+  }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.profiling.startup;
+
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+
+import static java.lang.Boolean.getBoolean;
+import static java.lang.management.ManagementFactory.getThreadMXBean;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.createDirectories;
+import static java.nio.file.Files.write;
+import static java.util.Optional.ofNullable;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+
+/**
+ * Records the {@link StartupTrace} of each artifact, so it can be known where the time to deploy an artifact goes.
+ * <p>
+ * The deployer {@link #startTrace(String) starts} the trace of an artifact and opens its top level phases with
+ * {@link #phase(String, String)}. Any other component opens nested phases with {@link #phase(String)}, which are nested in the
+ * phase currently open in the same thread, if any. When there is no trace in progress, phases are no-ops, so they can be opened
+ * regardless of whether tracing is enabled.
+ * <p>
+ * The last trace of each artifact is kept until the artifact is traced again.
+ *
+ * @since 4.9.0
+ */
+public final class StartupTracer {
+
+  /**
+   * When {@code true}, the startup of the deployed artifacts is traced and a report is written to their working directory.
+   */
+  public static final String STARTUP_TRACE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "startup.trace";
+
+  public static final String STARTUP_TRACE_JSON_FILE_NAME = "startup-trace.json";
+  public static final String STARTUP_TRACE_FOLDED_FILE_NAME = "startup-trace.folded";
+
+  private static final Logger LOGGER = getLogger(StartupTracer.class);
+
+  private static final ThreadLocal<StartupPhase> CURRENT_PHASE = new ThreadLocal<>();
+  private static final Map<String, StartupTrace> TRACES = new ConcurrentHashMap<>();
+
+  private static final com.sun.management.ThreadMXBean ALLOCATION_MX_BEAN = getAllocationMXBean();
+
+  private StartupTracer() {}
+
+  /**
+   * @return whether the startup of the artifacts is traced.
+   */
+  public static boolean isEnabled() {
+    return getBoolean(STARTUP_TRACE_PROPERTY);
+  }
+
+  /**
+   * Starts a new trace for the given artifact, replacing the previous one, if tracing is {@link #isEnabled() enabled}.
+   *
+   * @param artifactName the name of the artifact.
+   */
+  public static void startTrace(String artifactName) {
+    if (isEnabled()) {
+      TRACES.put(artifactName, new StartupTrace(artifactName));
+    }
+  }
+
+  /**
+   * Opens a top level phase in the trace of the given artifact, which becomes the current phase of this thread until it is
+   * closed.
+   * <p>
+   * If the trace of the artifact was not {@link #startTrace(String) started}, it is started now.
+   *
+   * @param artifactName the name of the artifact.
+   * @param phaseName    the name of the phase.
+   * @return the opened phase, to be closed by this thread when it finishes.
+   */
+  public static StartupPhase phase(String artifactName, String phaseName) {
+    if (!isEnabled()) {
+      return StartupPhase.NO_OP;
+    }
+
+    StartupPhase phase = TRACES.computeIfAbsent(artifactName, StartupTrace::new).newPhase(phaseName, CURRENT_PHASE.get());
+    CURRENT_PHASE.set(phase);
+    return phase;
+  }
+
+  /**
+   * Opens a phase nested in the current phase of this thread, which becomes the current phase until it is closed.
+   *
+   * @param phaseName the name of the phase.
+   * @return the opened phase, to be closed by this thread when it finishes.
+   */
+  public static StartupPhase phase(String phaseName) {
+    StartupPhase current = CURRENT_PHASE.get();
+    if (current == null) {
+      return StartupPhase.NO_OP;
+    }
+
+    StartupPhase phase = current.newChild(phaseName, current);
+    CURRENT_PHASE.set(phase);
+    return phase;
+  }
+
+  /**
+   * @param artifactName the name of the artifact.
+   * @return the last trace of the given artifact, if any.
+   */
+  public static Optional<StartupTrace> getTrace(String artifactName) {
+    return ofNullable(TRACES.get(artifactName));
+  }
+
+  /**
+   * @return the last trace of each traced artifact.
+   */
+  public static Collection<StartupTrace> getTraces() {
+    return new ArrayList<>(TRACES.values());
+  }
+
+  /**
+   * Discards the trace of the given artifact.
+   *
+   * @param artifactName the name of the artifact.
+   */
+  public static void removeTrace(String artifactName) {
+    TRACES.remove(artifactName);
+  }
+
+  /**
+   * Writes the trace of the given artifact, if any, in JSON format and as folded stacks to the given folder.
+   *
+   * @param artifactName the name of the artifact.
+   * @param folder       the folder to write the report to.
+   */
+  public static void writeReport(String artifactName, File folder) {
+    StartupTrace trace = TRACES.get(artifactName);
+    if (trace == null) {
+      return;
+    }
+
+    try {
+      createDirectories(folder.toPath());
+      write(new File(folder, STARTUP_TRACE_JSON_FILE_NAME).toPath(), trace.toJson().getBytes(UTF_8));
+      write(new File(folder, STARTUP_TRACE_FOLDED_FILE_NAME).toPath(), trace.toFoldedStacks().getBytes(UTF_8));
+    } catch (IOException e) {
+      LOGGER.warn("Could not write the startup trace of artifact '" + artifactName + "' to '" + folder + "'", e);
+    }
+  }
+
+  static void setCurrentPhase(StartupPhase phase) {
+    if (phase == null) {
+      CURRENT_PHASE.remove();
+    } else {
+      CURRENT_PHASE.set(phase);
+    }
+  }
+
+  static long currentThreadAllocatedBytes() {
+    return ALLOCATION_MX_BEAN == null ? -1 : ALLOCATION_MX_BEAN.getCurrentThreadAllocatedBytes();
+  }
+
+  private static com.sun.management.ThreadMXBean getAllocationMXBean() {
+    ThreadMXBean threadMXBean = getThreadMXBean();
+    if (threadMXBean instanceof com.sun.management.ThreadMXBean
+        && ((com.sun.management.ThreadMXBean) threadMXBean).isThreadAllocatedMemorySupported()
+        && ((com.sun.management.ThreadMXBean) threadMXBean).isThreadAllocatedMemoryEnabled()) {
+      return (com.sun.management.ThreadMXBean) threadMXBean;
+    }
+    return null;
+  }
+}
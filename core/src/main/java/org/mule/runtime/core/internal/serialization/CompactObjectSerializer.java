@@ -0,0 +1,56 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.serialization;
+
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+
+import org.mule.runtime.api.serialization.ObjectSerializer;
+import org.mule.runtime.api.serialization.SerializationProtocol;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.context.MuleContextAware;
+
+/**
+ * Serializes objects using the {@link CompactSerializationProtocol}. It is able to read data written by the
+ * {@link JavaObjectSerializer}, so it can replace it for artifacts with already persisted data.
+ * <p>
+ * It may be set as the {@code defaultObjectSerializer} of the {@link org.mule.runtime.core.api.config.MuleConfiguration} or
+ * enabled for all artifacts with the {@link #COMPACT_SERIALIZATION_PROPERTY} system property.
+ *
+ * @since 4.9.0
+ */
+public class CompactObjectSerializer implements ObjectSerializer, MuleContextAware {
+
+  /**
+   * When {@code true}, this serializer is used by default instead of the {@link JavaObjectSerializer}.
+   */
+  public static final String COMPACT_SERIALIZATION_PROPERTY = SYSTEM_PROPERTY_PREFIX + "serialization.compact";
+
+  private volatile CompactSerializationProtocol compactSerializationProtocol = new CompactSerializationProtocol();
+
+  /**
+   * @return a new {@link CompactObjectSerializer} if enabled through {@link #COMPACT_SERIALIZATION_PROPERTY}, a new
+   *         {@link JavaObjectSerializer} otherwise.
+   */
+  public static ObjectSerializer createDefaultObjectSerializer() {
+    return Boolean.getBoolean(COMPACT_SERIALIZATION_PROPERTY) ? new CompactObjectSerializer() : new JavaObjectSerializer();
+  }
+
+  @Override
+  public SerializationProtocol getInternalProtocol() {
+    return compactSerializationProtocol;
+  }
+
+  @Override
+  public SerializationProtocol getExternalProtocol() {
+    return compactSerializationProtocol;
+  }
+
+  @Override
+  public void setMuleContext(MuleContext context) {
+    compactSerializationProtocol.setMuleContext(context);
+  }
+}
@@ -0,0 +1,691 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.serialization;
+
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.api.metadata.MediaType.parse;
+import static org.mule.runtime.core.api.util.ClassUtils.loadClass;
+import static org.mule.runtime.core.api.util.IOUtils.toByteArray;
+
+import static java.lang.Boolean.FALSE;
+import static java.lang.Boolean.TRUE;
+import static java.lang.String.format;
+import static java.lang.ThreadLocal.withInitial;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.copyOf;
+import static java.util.Collections.newSetFromMap;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+
+import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.api.message.ItemSequenceInfo;
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.api.serialization.SerializationException;
+import org.mule.runtime.api.serialization.SerializationProtocol;
+import org.mule.runtime.api.streaming.bytes.CursorStream;
+import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.internal.event.DefaultEventBuilder.InternalEventImplementation;
+import org.mule.runtime.core.internal.event.DefaultEventContext;
+import org.mule.runtime.core.internal.event.InternalEvent;
+import org.mule.runtime.core.internal.message.DefaultMessageBuilder.MessageImplementation;
+import org.mule.runtime.core.internal.streaming.object.Bucket;
+import org.mule.runtime.core.privileged.metadata.SimpleDataType;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.Set;
+
+/**
+ * Implementation of {@link SerializationProtocol} that writes a compact binary representation of the objects commonly stored in
+ * object stores and queues.
+ * <p>
+ * Each value is preceded by a single byte tag that identifies its registered type, so no class names or stream metadata are
+ * written for primitive wrappers, {@link String Strings}, byte arrays, the common {@link Collection} and {@link Map}
+ * implementations, {@link TypedValue}, simple {@link DataType DataTypes}, {@link Message}, {@link Bucket} and
+ * {@link CoreEvent}. Any other {@link Serializable} value is embedded as a block written with Java serialization.
+ * <p>
+ * Of a {@link CoreEvent}, the id, server id, correlation id and originating location of its context are written along with its
+ * message, variables and item sequence info. Its context is recreated on deserialization, so its received time and flow call
+ * stack are not kept. Events with an error, a security context, parameters or logging variables, or whose context is not a
+ * root one, are written with Java serialization instead.
+ * <p>
+ * Values that contain themselves, such as a list added to itself, are written with Java serialization as a whole, since it
+ * keeps back-references to the values already written.
+ * <p>
+ * Serialized data starts with a format marker. Data without it is assumed to have been written by
+ * {@link JavaExternalSerializerProtocol} and is read with Java serialization, so this protocol can read data persisted before it
+ * was enabled.
+ *
+ * @since 4.9.0
+ */
+public class CompactSerializationProtocol extends AbstractSerializationProtocol {
+
+  /**
+   * Java serialization streams start with {@code 0xACED}, so the first byte of this marker is enough to tell both formats apart.
+   */
+  private static final byte[] FORMAT_MARKER = {(byte) 0xC0, 'M', 1};
+
+  private static final int INITIAL_BUFFER_SIZE = 256;
+  private static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
+
+  private static final int NULL = 0;
+  private static final int BOOLEAN_TRUE = 1;
+  private static final int BOOLEAN_FALSE = 2;
+  private static final int BYTE = 3;
+  private static final int SHORT = 4;
+  private static final int INT = 5;
+  private static final int LONG = 6;
+  private static final int FLOAT = 7;
+  private static final int DOUBLE = 8;
+  private static final int CHAR = 9;
+  private static final int STRING = 10;
+  private static final int BYTE_ARRAY = 11;
+  private static final int ARRAY_LIST = 12;
+  private static final int LINKED_LIST = 13;
+  private static final int HASH_SET = 14;
+  private static final int LINKED_HASH_SET = 15;
+  private static final int HASH_MAP = 16;
+  private static final int LINKED_HASH_MAP = 17;
+  private static final int TYPED_VALUE = 18;
+  private static final int DATA_TYPE = 19;
+  private static final int MESSAGE = 20;
+  private static final int BUCKET = 21;
+  private static final int JAVA_SERIALIZED = 22;
+  private static final int EVENT = 23;
+
+  private static final Map<Class<?>, Integer> REGISTERED_TYPES = new IdentityHashMap<>();
+
+  static {
+    REGISTERED_TYPES.put(Byte.class, BYTE);
+    REGISTERED_TYPES.put(Short.class, SHORT);
+    REGISTERED_TYPES.put(Integer.class, INT);
+    REGISTERED_TYPES.put(Long.class, LONG);
+    REGISTERED_TYPES.put(Float.class, FLOAT);
+    REGISTERED_TYPES.put(Double.class, DOUBLE);
+    REGISTERED_TYPES.put(Character.class, CHAR);
+    REGISTERED_TYPES.put(String.class, STRING);
+    REGISTERED_TYPES.put(byte[].class, BYTE_ARRAY);
+    REGISTERED_TYPES.put(ArrayList.class, ARRAY_LIST);
+    REGISTERED_TYPES.put(LinkedList.class, LINKED_LIST);
+    REGISTERED_TYPES.put(HashSet.class, HASH_SET);
+    REGISTERED_TYPES.put(LinkedHashSet.class, LINKED_HASH_SET);
+    REGISTERED_TYPES.put(HashMap.class, HASH_MAP);
+    REGISTERED_TYPES.put(LinkedHashMap.class, LINKED_HASH_MAP);
+    REGISTERED_TYPES.put(TypedValue.class, TYPED_VALUE);
+    REGISTERED_TYPES.put(SimpleDataType.class, DATA_TYPE);
+    REGISTERED_TYPES.put(MessageImplementation.class, MESSAGE);
+    REGISTERED_TYPES.put(Bucket.class, BUCKET);
+    REGISTERED_TYPES.put(InternalEventImplementation.class, EVENT);
+  }
+
+  private static final Map<String, Class<?>> PRIMITIVE_TYPES = new HashMap<>();
+
+  static {
+    for (Class<?> primitiveType : new Class<?>[] {boolean.class, byte.class, short.class, int.class, long.class, float.class,
+        double.class, char.class, void.class}) {
+      PRIMITIVE_TYPES.put(primitiveType.getName(), primitiveType);
+    }
+  }
+
+  private final ThreadLocal<Output> outputBuffer = withInitial(() -> new Output(INITIAL_BUFFER_SIZE));
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected byte[] doSerialize(Object object) throws Exception {
+    if (object instanceof CursorStreamProvider) {
+      try (CursorStream cursor = ((CursorStreamProvider) object).openCursor()) {
+        object = toByteArray(cursor);
+      }
+    }
+
+    Output output = outputBuffer.get();
+    if (output.inUse) {
+      // a nested serialization from within a Java serialized block, do not clobber the outer buffer
+      output = new Output(INITIAL_BUFFER_SIZE);
+    }
+
+    output.inUse = true;
+    try {
+      output.writeBytes(FORMAT_MARKER, 0, FORMAT_MARKER.length);
+      try {
+        writeValue(output, object);
+      } catch (SelfReferenceException e) {
+        output.rewind(FORMAT_MARKER.length);
+        writeJavaSerialized(output, object);
+      }
+      return output.toByteArray();
+    } finally {
+      output.reset();
+      if (output.buffer.length > MAX_RETAINED_BUFFER_SIZE) {
+        outputBuffer.remove();
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected <T> T doDeserialize(InputStream inputStream, ClassLoader classLoader) throws Exception {
+    InputStream in = inputStream.markSupported() ? inputStream : new BufferedInputStream(inputStream);
+    in.mark(FORMAT_MARKER.length);
+    if (!hasFormatMarker(in)) {
+      in.reset();
+      return (T) SerializationUtils.deserialize(in, classLoader, muleContext);
+    }
+
+    return (T) readValue(new DataInputStream(in), classLoader);
+  }
+
+  @Override
+  protected <T> T postInitialize(T object) {
+    // does nothing since each value is initialized as it is read
+    return object;
+  }
+
+  private boolean hasFormatMarker(InputStream in) throws IOException {
+    for (byte b : FORMAT_MARKER) {
+      if (in.read() != (b & 0xFF)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void writeValue(Output out, Object value) {
+    if (value == null) {
+      out.writeByte(NULL);
+      return;
+    }
+    if (value instanceof Boolean) {
+      out.writeByte((Boolean) value ? BOOLEAN_TRUE : BOOLEAN_FALSE);
+      return;
+    }
+
+    Integer tag = REGISTERED_TYPES.get(value.getClass());
+    if (tag == null || !canWrite(tag, value)) {
+      writeJavaSerialized(out, value);
+      return;
+    }
+
+    out.writeByte(tag);
+    switch (tag) {
+      case BYTE:
+        out.writeByte((Byte) value);
+        break;
+      case SHORT:
+        out.writeShort((Short) value);
+        break;
+      case INT:
+        out.writeVarLong((Integer) value);
+        break;
+      case LONG:
+        out.writeVarLong((Long) value);
+        break;
+      case FLOAT:
+        out.writeInt(Float.floatToIntBits((Float) value));
+        break;
+      case DOUBLE:
+        out.writeLong(Double.doubleToLongBits((Double) value));
+        break;
+      case CHAR:
+        out.writeShort((Character) value);
+        break;
+      case STRING:
+        writeString(out, (String) value);
+        break;
+      case BYTE_ARRAY:
+        byte[] bytes = (byte[]) value;
+        out.writeLength(bytes.length);
+        out.writeBytes(bytes, 0, bytes.length);
+        break;
+      case ARRAY_LIST:
+      case LINKED_LIST:
+      case HASH_SET:
+      case LINKED_HASH_SET:
+        Collection<?> collection = (Collection<?>) value;
+        out.enter(collection);
+        out.writeLength(collection.size());
+        for (Object item : collection) {
+          writeValue(out, item);
+        }
+        out.exit(collection);
+        break;
+      case HASH_MAP:
+      case LINKED_HASH_MAP:
+        Map<?, ?> map = (Map<?, ?>) value;
+        out.enter(map);
+        out.writeLength(map.size());
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+          writeValue(out, entry.getKey());
+          writeValue(out, entry.getValue());
+        }
+        out.exit(map);
+        break;
+      case TYPED_VALUE:
+        writeTypedValue(out, (TypedValue<?>) value);
+        break;
+      case DATA_TYPE:
+        writeDataType(out, (DataType) value);
+        break;
+      case MESSAGE:
+        Message message = (Message) value;
+        writeTypedValue(out, message.getPayload());
+        writeTypedValue(out, message.getAttributes());
+        break;
+      case BUCKET:
+        Bucket<?> bucket = (Bucket<?>) value;
+        out.enter(bucket);
+        out.writeLength(bucket.getIndex());
+        out.writeLength(bucket.getCapacity());
+        out.writeLength(bucket.size());
+        for (int i = 0; i < bucket.size(); ++i) {
+          writeValue(out, bucket.get(i).orElse(null));
+        }
+        out.exit(bucket);
+        break;
+      case EVENT:
+        writeEvent(out, (InternalEvent) value);
+        break;
+      default:
+        throw new IllegalStateException("Unexpected tag " + tag);
+    }
+  }
+
+  /**
+   * Types that can't always be written in the compact format are written with Java serialization instead, so that their custom
+   * serialization logic is preserved.
+   */
+  private boolean canWrite(int tag, Object value) {
+    switch (tag) {
+      case MESSAGE:
+        // non serializable payloads are transformed by the message on its own serialization
+        return isSerializable(((Message) value).getPayload()) && isSerializable(((Message) value).getAttributes());
+      case EVENT:
+        InternalEvent event = (InternalEvent) value;
+        return event.getContext() instanceof DefaultEventContext
+            && !event.getError().isPresent()
+            && event.getSecurityContext() == null
+            && event.getParameters().isEmpty()
+            && event.getLoggingVariables().map(Map::isEmpty).orElse(true);
+      default:
+        return true;
+    }
+  }
+
+  private boolean isSerializable(TypedValue<?> typedValue) {
+    return typedValue.getValue() == null || typedValue.getValue() instanceof Serializable;
+  }
+
+  private void writeTypedValue(Output out, TypedValue<?> typedValue) {
+    writeValue(out, typedValue.getValue());
+    writeValue(out, typedValue.getDataType());
+    OptionalLong length = typedValue.getByteLength();
+    out.writeVarLong(length.isPresent() ? length.getAsLong() : -1);
+  }
+
+  private void writeEvent(Output out, InternalEvent event) {
+    DefaultEventContext context = (DefaultEventContext) event.getContext();
+    writeString(out, context.getId());
+    writeValue(out, context.getServerId());
+    writeValue(out, context.getCorrelationId());
+    writeValue(out, context.getOriginatingLocation());
+    writeValue(out, event.getMessage());
+
+    Map<String, TypedValue<?>> variables = event.getVariables();
+    out.writeLength(variables.size());
+    for (Map.Entry<String, TypedValue<?>> variable : variables.entrySet()) {
+      writeString(out, variable.getKey());
+      writeTypedValue(out, variable.getValue());
+    }
+
+    writeValue(out, event.getLegacyCorrelationId());
+    Optional<ItemSequenceInfo> itemSequenceInfo = event.getItemSequenceInfo();
+    if (itemSequenceInfo.isPresent()) {
+      out.writeVarLong(itemSequenceInfo.get().getPosition());
+      OptionalInt sequenceSize = itemSequenceInfo.get().getSequenceSize();
+      out.writeVarLong(sequenceSize.isPresent() ? sequenceSize.getAsInt() : -1);
+    } else {
+      out.writeVarLong(-1);
+    }
+    writeValue(out, event.isNotificationsEnabled());
+  }
+
+  private void writeDataType(Output out, DataType dataType) {
+    writeString(out, dataType.getType().getName());
+    writeString(out, dataType.getMediaType().toRfcString());
+  }
+
+  private void writeString(Output out, String value) {
+    byte[] bytes = value.getBytes(UTF_8);
+    out.writeLength(bytes.length);
+    out.writeBytes(bytes, 0, bytes.length);
+  }
+
+  private void writeJavaSerialized(Output out, Object value) {
+    if (!(value instanceof Serializable)) {
+      throw new SerializationException(format("Was expecting a Serializable type. %s was found instead",
+                                              value.getClass().getName()));
+    }
+
+    byte[] bytes = org.apache.commons.lang3.SerializationUtils.serialize((Serializable) value);
+    out.writeByte(JAVA_SERIALIZED);
+    out.writeLength(bytes.length);
+    out.writeBytes(bytes, 0, bytes.length);
+  }
+
+  private Object readValue(DataInput in, ClassLoader classLoader) throws Exception {
+    int tag = in.readUnsignedByte();
+    switch (tag) {
+      case NULL:
+        return null;
+      case BOOLEAN_TRUE:
+        return TRUE;
+      case BOOLEAN_FALSE:
+        return FALSE;
+      case BYTE:
+        return in.readByte();
+      case SHORT:
+        return in.readShort();
+      case INT:
+        return (int) readVarLong(in);
+      case LONG:
+        return readVarLong(in);
+      case FLOAT:
+        return in.readFloat();
+      case DOUBLE:
+        return in.readDouble();
+      case CHAR:
+        return in.readChar();
+      case STRING:
+        return readString(in);
+      case BYTE_ARRAY:
+        return readBytes(in);
+      case ARRAY_LIST:
+        int size = readLength(in);
+        return readItems(in, classLoader, new ArrayList<>(size), size);
+      case LINKED_LIST:
+        return readItems(in, classLoader, new LinkedList<>(), readLength(in));
+      case HASH_SET:
+        size = readLength(in);
+        return readItems(in, classLoader, new HashSet<>(capacityFor(size)), size);
+      case LINKED_HASH_SET:
+        size = readLength(in);
+        return readItems(in, classLoader, new LinkedHashSet<>(capacityFor(size)), size);
+      case HASH_MAP:
+        size = readLength(in);
+        return readEntries(in, classLoader, new HashMap<>(capacityFor(size)), size);
+      case LINKED_HASH_MAP:
+        size = readLength(in);
+        return readEntries(in, classLoader, new LinkedHashMap<>(capacityFor(size)), size);
+      case TYPED_VALUE:
+        return readTypedValue(in, classLoader);
+      case DATA_TYPE:
+        return readDataType(in, classLoader);
+      case MESSAGE:
+        return super.postInitialize(Message.builder()
+            .payload(readTypedValue(in, classLoader))
+            .attributes(readTypedValue(in, classLoader))
+            .build());
+      case BUCKET:
+        Bucket<Object> bucket = new Bucket<>(readLength(in), readLength(in));
+        size = readLength(in);
+        for (int i = 0; i < size; ++i) {
+          bucket.add(readValue(in, classLoader));
+        }
+        return bucket;
+      case JAVA_SERIALIZED:
+        return SerializationUtils.deserialize(new ByteArrayInputStream(readBytes(in)), classLoader, muleContext);
+      case EVENT:
+        return readEvent(in, classLoader);
+      default:
+        throw new SerializationException(createStaticMessage(format("Unknown type tag %d in serialized data", tag)));
+    }
+  }
+
+  private Collection<Object> readItems(DataInput in, ClassLoader classLoader, Collection<Object> collection, int size)
+      throws Exception {
+    for (int i = 0; i < size; ++i) {
+      collection.add(readValue(in, classLoader));
+    }
+    return collection;
+  }
+
+  private Map<Object, Object> readEntries(DataInput in, ClassLoader classLoader, Map<Object, Object> map, int size)
+      throws Exception {
+    for (int i = 0; i < size; ++i) {
+      Object key = readValue(in, classLoader);
+      map.put(key, readValue(in, classLoader));
+    }
+    return map;
+  }
+
+  private TypedValue<Object> readTypedValue(DataInput in, ClassLoader classLoader) throws Exception {
+    Object value = readValue(in, classLoader);
+    DataType dataType = (DataType) readValue(in, classLoader);
+    long length = readVarLong(in);
+    return new TypedValue<>(value, dataType, length < 0 ? OptionalLong.empty() : OptionalLong.of(length));
+  }
+
+  private CoreEvent readEvent(DataInput in, ClassLoader classLoader) throws Exception {
+    String id = readString(in);
+    String serverId = (String) readValue(in, classLoader);
+    String correlationId = (String) readValue(in, classLoader);
+    ComponentLocation location = (ComponentLocation) readValue(in, classLoader);
+    DefaultEventContext context = new DefaultEventContext(id, serverId, location, correlationId, empty());
+    InternalEvent.Builder builder = InternalEvent.builder(context);
+    builder.message((Message) readValue(in, classLoader));
+
+    int size = readLength(in);
+    Map<String, TypedValue<?>> variables = new LinkedHashMap<>(capacityFor(size));
+    for (int i = 0; i < size; ++i) {
+      String name = readString(in);
+      variables.put(name, readTypedValue(in, classLoader));
+    }
+    builder.variables(variables);
+
+    String legacyCorrelationId = (String) readValue(in, classLoader);
+    if (legacyCorrelationId != null) {
+      builder.correlationId(legacyCorrelationId);
+    }
+    long position = readVarLong(in);
+    if (position >= 0) {
+      long sequenceSize = readVarLong(in);
+      builder.itemSequenceInfo(of(sequenceSize < 0
+          ? ItemSequenceInfo.of((int) position)
+          : ItemSequenceInfo.of((int) position, (int) sequenceSize)));
+    }
+    if (!((Boolean) readValue(in, classLoader))) {
+      builder.disableNotifications();
+    }
+    return builder.build();
+  }
+
+  private DataType readDataType(DataInput in, ClassLoader classLoader) throws Exception {
+    Class<?> type = resolveType(readString(in), classLoader);
+    return DataType.builder().type(type).mediaType(parse(readString(in))).build();
+  }
+
+  private Class<?> resolveType(String name, ClassLoader classLoader) throws ClassNotFoundException {
+    Class<?> primitiveType = PRIMITIVE_TYPES.get(name);
+    if (primitiveType != null) {
+      return primitiveType;
+    } else if (name.startsWith("[")) {
+      return Class.forName(name, false, classLoader);
+    } else {
+      return loadClass(name, classLoader);
+    }
+  }
+
+  private String readString(DataInput in) throws IOException {
+    return new String(readBytes(in), UTF_8);
+  }
+
+  private byte[] readBytes(DataInput in) throws IOException {
+    byte[] bytes = new byte[readLength(in)];
+    in.readFully(bytes);
+    return bytes;
+  }
+
+  private int readLength(DataInput in) throws IOException {
+    long length = readVarLong(in);
+    if (length < 0 || length > Integer.MAX_VALUE) {
+      throw new SerializationException(createStaticMessage(format("Invalid length %d in serialized data", length)));
+    }
+    return (int) length;
+  }
+
+  private static int capacityFor(int size) {
+    return (int) (size / 0.75f) + 1;
+  }
+
+  /**
+   * Reads a zig-zag encoded variable length long, as written by {@link Output#writeVarLong(long)}.
+   */
+  private static long readVarLong(DataInput in) throws IOException {
+    long value = 0;
+    int shift = 0;
+    int b;
+    do {
+      if (shift > 63) {
+        throw new SerializationException(createStaticMessage("Malformed variable length number in serialized data"));
+      }
+      b = in.readUnsignedByte();
+      value |= (long) (b & 0x7F) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0);
+
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  /**
+   * Thrown when a value being written contains itself, so that it is written with Java serialization instead.
+   */
+  private static final class SelfReferenceException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private SelfReferenceException() {
+      super(null, null, false, false);
+    }
+  }
+
+  /**
+   * A growable byte buffer, reused across serializations done in the same thread to avoid allocating a new one for each value.
+   */
+  private static final class Output {
+
+    private byte[] buffer;
+    private int position;
+    private boolean inUse;
+    // the containers being written, to detect the ones that contain themselves
+    private final Set<Object> containers = newSetFromMap(new IdentityHashMap<>());
+
+    private Output(int initialSize) {
+      buffer = new byte[initialSize];
+    }
+
+    private void ensureCapacity(int required) {
+      if (position + required > buffer.length) {
+        buffer = copyOf(buffer, Math.max(buffer.length * 2, position + required));
+      }
+    }
+
+    private void writeByte(int value) {
+      ensureCapacity(1);
+      buffer[position++] = (byte) value;
+    }
+
+    private void writeShort(int value) {
+      ensureCapacity(2);
+      buffer[position++] = (byte) (value >>> 8);
+      buffer[position++] = (byte) value;
+    }
+
+    private void writeInt(int value) {
+      ensureCapacity(4);
+      buffer[position++] = (byte) (value >>> 24);
+      buffer[position++] = (byte) (value >>> 16);
+      buffer[position++] = (byte) (value >>> 8);
+      buffer[position++] = (byte) value;
+    }
+
+    private void writeLong(long value) {
+      writeInt((int) (value >>> 32));
+      writeInt((int) value);
+    }
+
+    /**
+     * Writes the given value zig-zag encoded in groups of 7 bits, so that small positive and negative values take a single byte.
+     */
+    private void writeVarLong(long value) {
+      long zigZag = (value << 1) ^ (value >> 63);
+      ensureCapacity(10);
+      while ((zigZag & ~0x7FL) != 0) {
+        buffer[position++] = (byte) ((zigZag & 0x7F) | 0x80);
+        zigZag >>>= 7;
+      }
+      buffer[position++] = (byte) zigZag;
+    }
+
+    private void writeLength(int length) {
+      writeVarLong(length);
+    }
+
+    private void writeBytes(byte[] bytes, int offset, int length) {
+      ensureCapacity(length);
+      System.arraycopy(bytes, offset, buffer, position, length);
+      position += length;
+    }
+
+    private void enter(Object container) {
+      if (!containers.add(container)) {
+        throw new SelfReferenceException();
+      }
+    }
+
+    private void exit(Object container) {
+      containers.remove(container);
+    }
+
+    private byte[] toByteArray() {
+      return copyOf(buffer, position);
+    }
+
+    private void rewind(int position) {
+      this.position = position;
+      containers.clear();
+    }
+
+    private void reset() {
+      rewind(0);
+      inUse = false;
+    }
+  }
+}
@@ -0,0 +1,488 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.store;
+
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.core.internal.util.store.MuleObjectStoreManager.UNBOUNDED;
+
+import static java.lang.Integer.numberOfLeadingZeros;
+import static java.lang.Math.max;
+import static java.nio.ByteBuffer.allocateDirect;
+import static java.util.Arrays.copyOf;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.serialization.SerializationProtocol;
+import org.mule.runtime.api.store.ObjectAlreadyExistsException;
+import org.mule.runtime.api.store.ObjectDoesNotExistException;
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.api.store.PartitionableExpirableObjectStore;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.component.InternalComponent;
+import org.mule.runtime.core.api.context.MuleContextAware;
+import org.mule.runtime.core.internal.serialization.JavaExternalSerializerProtocol;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+
+/**
+ * Non persistent {@link PartitionableExpirableObjectStore} that keeps the values serialized outside of the Java heap, in direct
+ * memory slabs, so that large transient stores (caches, idempotency stores) do not inflate the heap nor the GC pauses.
+ * <p>
+ * Only the keys and a small fixed-size index entry per key are kept on the heap. The index entries are also linked in insertion
+ * order, so that removing a key, expiring an entry by TTL and evicting an entry to honor {@code maxEntries} are all O(1) per
+ * affected entry, instead of requiring a scan of the partition.
+ * <p>
+ * Values are serialized with the internal protocol of the {@link MuleContext#getObjectSerializer() object serializer}, and
+ * stored in fixed-size blocks (power of two sizes, from 64 bytes up to 1MB) carved from slabs of at least 64KB. Freed blocks
+ * are reused by later values of the same size class, and a slab is released once all its blocks are free, keeping at most one
+ * empty slab per size class. Values bigger than the largest block get a dedicated buffer.
+ * <p>
+ * This store is used instead of {@link PartitionedInMemoryObjectStore} as the default in memory store when the
+ * {@link #OFF_HEAP_IN_MEMORY_OBJECT_STORE_PROPERTY} system property is set.
+ *
+ * @since 4.9.0
+ */
+public class OffHeapPartitionedInMemoryObjectStore<T extends Serializable> extends AbstractPartitionableObjectStore<T>
+    implements PartitionableExpirableObjectStore<T>, InternalComponent, MuleContextAware {
+
+  /**
+   * When {@code true}, the default in memory object store keeps its values off the Java heap.
+   */
+  public static final String OFF_HEAP_IN_MEMORY_OBJECT_STORE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "objectStore.inMemory.offHeap";
+
+  private static final Logger LOGGER = getLogger(OffHeapPartitionedInMemoryObjectStore.class);
+
+  private static final int MIN_BLOCK_SIZE = 64;
+  private static final int MAX_BLOCK_SIZE = 1 << 20;
+  private static final int SLAB_SIZE = 1 << 16;
+
+  private static final int MIN_BLOCK_SHIFT = 6;
+  private static final int SIZE_CLASSES = 15;
+
+  private final ConcurrentMap<String, Partition> partitions = new ConcurrentHashMap<>();
+  private final SerializationProtocol fallbackProtocol = new JavaExternalSerializerProtocol();
+
+  private MuleContext muleContext;
+
+  @Override
+  @Inject
+  public void setMuleContext(MuleContext context) {
+    this.muleContext = context;
+  }
+
+  @Override
+  public boolean isPersistent() {
+    return false;
+  }
+
+  @Override
+  protected boolean doContains(String key, String partitionName) throws ObjectStoreException {
+    Partition partition = partitions.get(partitionName);
+    if (partition == null) {
+      return false;
+    }
+    synchronized (partition) {
+      return partition.index.containsKey(key);
+    }
+  }
+
+  @Override
+  protected void doStore(String key, T value, String partitionName) throws ObjectStoreException {
+    byte[] serialized = serialize(value);
+    Partition partition = getPartition(partitionName);
+    synchronized (partition) {
+      if (partition.index.containsKey(key)) {
+        throw new ObjectAlreadyExistsException();
+      }
+      Entry entry = partition.memory.allocate(key, serialized.length, getCurrentNanoTime());
+      partition.memory.write(entry, serialized);
+      partition.index.put(key, entry);
+      partition.link(entry);
+    }
+  }
+
+  @Override
+  protected T doRetrieve(String key, String partitionName) throws ObjectStoreException {
+    byte[] serialized;
+    Partition partition = getPartition(partitionName);
+    synchronized (partition) {
+      Entry entry = partition.index.get(key);
+      if (entry == null) {
+        throw new ObjectDoesNotExistException();
+      }
+      serialized = partition.memory.read(entry);
+    }
+    return deserialize(serialized);
+  }
+
+  @Override
+  protected T doRemove(String key, String partitionName) throws ObjectStoreException {
+    byte[] serialized;
+    Partition partition = getPartition(partitionName);
+    synchronized (partition) {
+      Entry entry = partition.index.get(key);
+      if (entry == null) {
+        throw new ObjectDoesNotExistException();
+      }
+      serialized = partition.memory.read(entry);
+      partition.remove(entry);
+    }
+    return deserialize(serialized);
+  }
+
+  @Override
+  public List<String> allKeys(String partitionName) throws ObjectStoreException {
+    Partition partition = getPartition(partitionName);
+    synchronized (partition) {
+      return new ArrayList<>(partition.index.keySet());
+    }
+  }
+
+  @Override
+  public Map<String, T> retrieveAll(String partitionName) throws ObjectStoreException {
+    Map<String, byte[]> serializedValues = new LinkedHashMap<>();
+    Partition partition = getPartition(partitionName);
+    synchronized (partition) {
+      for (Entry entry = partition.head; entry != null; entry = entry.next) {
+        serializedValues.put(entry.key, partition.memory.read(entry));
+      }
+    }
+
+    Map<String, T> values = new LinkedHashMap<>();
+    for (Map.Entry<String, byte[]> serializedValue : serializedValues.entrySet()) {
+      values.put(serializedValue.getKey(), deserialize(serializedValue.getValue()));
+    }
+    return values;
+  }
+
+  @Override
+  public void clear(String partitionName) throws ObjectStoreException {
+    Partition partition = getPartition(partitionName);
+    synchronized (partition) {
+      partition.clear();
+    }
+  }
+
+  @Override
+  public List<String> allPartitions() throws ObjectStoreException {
+    return new ArrayList<>(partitions.keySet());
+  }
+
+  private Partition getPartition(String partitionName) {
+    return partitions.computeIfAbsent(partitionName, name -> new Partition());
+  }
+
+  @Override
+  public void open(String partitionName) throws ObjectStoreException {
+    // Nothing to do
+  }
+
+  @Override
+  public void close(String partitionName) throws ObjectStoreException {
+    disposePartition(partitionName);
+  }
+
+  @Override
+  public void expire(long entryTTL, int maxEntries) throws ObjectStoreException {
+    expire(entryTTL, maxEntries, DEFAULT_PARTITION_NAME);
+  }
+
+  @Override
+  public void expire(long entryTTL, int maxEntries, String partitionName) throws ObjectStoreException {
+    Partition partition = partitions.get(partitionName);
+    if (partition == null) {
+      return;
+    }
+
+    final long now = getCurrentNanoTime();
+    int evictedEntries = 0;
+    int expiredEntries = 0;
+    synchronized (partition) {
+      if (maxEntries > UNBOUNDED) {
+        while (partition.index.size() > maxEntries) {
+          partition.remove(partition.head);
+          evictedEntries++;
+        }
+      }
+
+      if (entryTTL != UNBOUNDED) {
+        while (partition.head != null && NANOSECONDS.toMillis(now - partition.head.time) >= entryTTL) {
+          partition.remove(partition.head);
+          expiredEntries++;
+        }
+      }
+    }
+
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Expired {} excess entries and {} old entries from partition '{}'", evictedEntries, expiredEntries,
+                   partitionName);
+    }
+  }
+
+  @Override
+  public void disposePartition(String partitionName) throws ObjectStoreException {
+    Partition partition = partitions.remove(partitionName);
+    if (partition != null) {
+      synchronized (partition) {
+        partition.clear();
+      }
+    }
+  }
+
+  protected long getCurrentNanoTime() {
+    return System.nanoTime();
+  }
+
+  @Override
+  public boolean shouldAlwaysExpire() {
+    return true;
+  }
+
+  private byte[] serialize(T value) throws ObjectStoreException {
+    try {
+      return getSerializationProtocol().serialize(value);
+    } catch (Exception e) {
+      throw new ObjectStoreException(e);
+    }
+  }
+
+  private T deserialize(byte[] serialized) throws ObjectStoreException {
+    try {
+      ClassLoader classLoader =
+          muleContext != null ? muleContext.getExecutionClassLoader() : OffHeapPartitionedInMemoryObjectStore.class
+              .getClassLoader();
+      return getSerializationProtocol().deserialize(serialized, classLoader);
+    } catch (Exception e) {
+      throw new ObjectStoreException(e);
+    }
+  }
+
+  private SerializationProtocol getSerializationProtocol() {
+    return muleContext != null ? muleContext.getObjectSerializer().getInternalProtocol() : fallbackProtocol;
+  }
+
+  /**
+   * The index of a partition, along with the insertion ordered list of its entries and the direct memory holding its values.
+   * <p>
+   * Instances are guarded by their own monitor.
+   */
+  private static final class Partition {
+
+    private final Map<String, Entry> index = new HashMap<>();
+    private OffHeapMemory memory = new OffHeapMemory();
+    private Entry head;
+    private Entry tail;
+
+    private void link(Entry entry) {
+      entry.previous = tail;
+      if (tail == null) {
+        head = entry;
+      } else {
+        tail.next = entry;
+      }
+      tail = entry;
+    }
+
+    private void remove(Entry entry) {
+      index.remove(entry.key);
+      if (entry.previous == null) {
+        head = entry.next;
+      } else {
+        entry.previous.next = entry.next;
+      }
+      if (entry.next == null) {
+        tail = entry.previous;
+      } else {
+        entry.next.previous = entry.previous;
+      }
+      entry.previous = null;
+      entry.next = null;
+      memory.free(entry);
+    }
+
+    private void clear() {
+      index.clear();
+      head = null;
+      tail = null;
+      // the slabs are released along with the buffers referencing them
+      memory = new OffHeapMemory();
+    }
+  }
+
+  /**
+   * Index entry of a value stored in direct memory.
+   */
+  private static final class Entry {
+
+    private final String key;
+    private final long time;
+    private final int length;
+    // null for the values with a dedicated buffer
+    private final Slab slab;
+    private final ByteBuffer buffer;
+    private final int offset;
+
+    private Entry previous;
+    private Entry next;
+
+    private Entry(String key, long time, int length, Slab slab, ByteBuffer buffer, int offset) {
+      this.key = key;
+      this.time = time;
+      this.length = length;
+      this.slab = slab;
+      this.buffer = buffer;
+      this.offset = offset;
+    }
+  }
+
+  /**
+   * Slab allocator of direct memory. Each slab is split in blocks of a single size class, and the slabs with free blocks are kept
+   * per size class for reuse.
+   */
+  private static final class OffHeapMemory {
+
+    private final SizeClass[] sizeClasses = new SizeClass[SIZE_CLASSES];
+
+    private Entry allocate(String key, int length, long time) {
+      if (length > MAX_BLOCK_SIZE) {
+        return new Entry(key, time, length, null, allocateDirect(length), 0);
+      }
+
+      int sizeClass = sizeClass(length);
+      if (sizeClasses[sizeClass] == null) {
+        sizeClasses[sizeClass] = new SizeClass(MIN_BLOCK_SIZE << sizeClass);
+      }
+      Slab slab = sizeClasses[sizeClass].availableSlab();
+      return new Entry(key, time, length, slab, slab.buffer, slab.allocate());
+    }
+
+    private void write(Entry entry, byte[] serialized) {
+      entry.buffer.put(entry.offset, serialized);
+    }
+
+    private byte[] read(Entry entry) {
+      byte[] serialized = new byte[entry.length];
+      entry.buffer.get(entry.offset, serialized);
+      return serialized;
+    }
+
+    private void free(Entry entry) {
+      // dedicated buffers are released along with the entry
+      if (entry.slab != null) {
+        entry.slab.sizeClass.free(entry.slab, entry.offset);
+      }
+    }
+
+    private static int sizeClass(int length) {
+      if (length <= MIN_BLOCK_SIZE) {
+        return 0;
+      }
+      // ceil(log2(length)) - MIN_BLOCK_SHIFT
+      return (32 - numberOfLeadingZeros(length - 1)) - MIN_BLOCK_SHIFT;
+    }
+  }
+
+  /**
+   * The slabs of a size class that have free blocks.
+   */
+  private static final class SizeClass {
+
+    private final int blockSize;
+    private Slab[] available = new Slab[4];
+    private int size;
+
+    private SizeClass(int blockSize) {
+      this.blockSize = blockSize;
+    }
+
+    private Slab availableSlab() {
+      if (size == 0) {
+        add(new Slab(this, max(SLAB_SIZE, blockSize), blockSize));
+      }
+      Slab slab = available[size - 1];
+      if (slab.freeCount == 1) {
+        // about to become full
+        remove(slab);
+      }
+      return slab;
+    }
+
+    private void free(Slab slab, int offset) {
+      if (slab.freeCount == 0) {
+        add(slab);
+      }
+      slab.free(offset);
+      if (slab.isEmpty() && size > 1) {
+        // the buffer is released along with the slab
+        remove(slab);
+      }
+    }
+
+    private void add(Slab slab) {
+      if (size == available.length) {
+        available = copyOf(available, size * 2);
+      }
+      slab.availableIndex = size;
+      available[size++] = slab;
+    }
+
+    private void remove(Slab slab) {
+      Slab last = available[--size];
+      available[slab.availableIndex] = last;
+      last.availableIndex = slab.availableIndex;
+      available[size] = null;
+      slab.availableIndex = -1;
+    }
+  }
+
+  /**
+   * A direct memory buffer split in blocks of a single size, along with the stack of its free blocks.
+   */
+  private static final class Slab {
+
+    private final SizeClass sizeClass;
+    private final ByteBuffer buffer;
+    private final int[] freeOffsets;
+    private int freeCount;
+    private int availableIndex = -1;
+
+    private Slab(SizeClass sizeClass, int slabSize, int blockSize) {
+      this.sizeClass = sizeClass;
+      this.buffer = allocateDirect(slabSize);
+      this.freeOffsets = new int[slabSize / blockSize];
+      // lower offsets on top of the stack
+      for (int offset = slabSize - blockSize; offset >= 0; offset -= blockSize) {
+        freeOffsets[freeCount++] = offset;
+      }
+    }
+
+    private boolean isEmpty() {
+      return freeCount == freeOffsets.length;
+    }
+
+    private int allocate() {
+      return freeOffsets[--freeCount];
+    }
+
+    private void free(int offset) {
+      freeOffsets[freeCount++] = offset;
+    }
+  }
+}
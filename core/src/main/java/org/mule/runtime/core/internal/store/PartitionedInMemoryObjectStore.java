@@ -180,11 +180,15 @@ public class PartitionedInMemoryObjectStore<T extends Serializable> extends Abst
       return;
     }
 
-    int currentSize = store.size();
+    // the size of the partition is the same as the size of its expiry queue, which is not a constant time operation
+    int currentSize = partition.size();
     int excess = (currentSize - maxEntries);
     if (excess > 0) {
       while (currentSize > maxEntries) {
-        ExpiryEntry toRemove = store.remove();
+        ExpiryEntry toRemove = store.poll();
+        if (toRemove == null) {
+          break;
+        }
         partition.remove(toRemove.getKey());
         currentSize--;
       }
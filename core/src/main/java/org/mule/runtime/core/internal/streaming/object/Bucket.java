@@ -69,6 +69,22 @@ public class Bucket<T> implements Serializable {
     return index;
   }
 
+  /**
+   * @return {@code this} bucket's capacity
+   * @since 4.9.0
+   */
+  public int getCapacity() {
+    return capacity;
+  }
+
+  /**
+   * @return the amount of items added to {@code this} bucket
+   * @since 4.9.0
+   */
+  public int size() {
+    return items.size();
+  }
+
   /**
    * Adds the given {@code item} if the bucket still has capacity.
    *
@@ -0,0 +1,674 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util;
+
+import static java.lang.Integer.bitCount;
+import static java.lang.System.arraycopy;
+import static java.util.Locale.ROOT;
+import static java.util.Objects.requireNonNull;
+
+import org.mule.runtime.core.api.util.CaseInsensitiveHashMap;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * A {@link CaseInsensitiveHashMap} backed by a persistent hash array mapped trie.
+ * <p>
+ * Every modification creates a new version of the trie that shares all the untouched branches with the previous one, so
+ * {@link #copy()} and {@link #toImmutableCaseInsensitiveMap()} are constant time operations and {@link #put(String, Object)} or
+ * {@link #remove(Object)} on a copy only replace the path to the modified entry (at most 7 levels deep) instead of copying the
+ * whole map. This makes it suitable for event variables, which are copied every time an event is derived and then modified
+ * just by a few entries.
+ * <p>
+ * As with {@link CaseInsensitiveHashMap}, keys are matched ignoring their case while the case of the first key used for an
+ * entry is preserved. Iterating over this map or its views is done over the version of the trie existing when the iteration
+ * started, so modifying the map while iterating it does not fail. Setting the value of an entry obtained from
+ * {@link #entrySet()} puts it in the map.
+ * <p>
+ * Instances obtained through {@link #toImmutableCaseInsensitiveMap()} or {@link #emptyPersistentCaseInsensitiveMap()} reject
+ * modifications. This implementation is not thread-safe, but the immutable instances may be freely shared across threads.
+ *
+ * @param <V> the type of the values
+ * @since 4.9.0
+ */
+public final class PersistentCaseInsensitiveHashMap<V> extends CaseInsensitiveHashMap<String, V> {
+
+  private static final long serialVersionUID = 6171437125620227340L;
+
+  private static final int BITS_PER_LEVEL = 5;
+  private static final int LEVEL_MASK = (1 << BITS_PER_LEVEL) - 1;
+  // 7 bitmap levels consume the 32 bits of the hash, plus one level for collisions and one spare slot.
+  private static final int MAX_DEPTH = 9;
+
+  private static final BitmapNode EMPTY_NODE = new BitmapNode(0, new Object[0]);
+
+  @SuppressWarnings("rawtypes")
+  private static final PersistentCaseInsensitiveHashMap EMPTY = new PersistentCaseInsensitiveHashMap<>(EMPTY_NODE, 0, false);
+
+  /**
+   * @param <V> the type of the values
+   * @return an empty immutable instance
+   */
+  @SuppressWarnings("unchecked")
+  public static <V> PersistentCaseInsensitiveHashMap<V> emptyPersistentCaseInsensitiveMap() {
+    return EMPTY;
+  }
+
+  /**
+   * Creates a mutable instance with the entries of the given {@code map}.
+   * <p>
+   * If {@code map} is already a {@link PersistentCaseInsensitiveHashMap}, this is a constant time operation that shares the
+   * structure of {@code map}. Otherwise, its entries are copied.
+   *
+   * @param map the map to copy
+   * @param <V> the type of the values
+   * @return a new mutable instance
+   */
+  @SuppressWarnings("unchecked")
+  public static <V> PersistentCaseInsensitiveHashMap<V> copyOf(Map<String, ? extends V> map) {
+    if (map instanceof PersistentCaseInsensitiveHashMap) {
+      return ((PersistentCaseInsensitiveHashMap<V>) map).copy();
+    }
+
+    PersistentCaseInsensitiveHashMap<V> copy = new PersistentCaseInsensitiveHashMap<>();
+    copy.putAll(map);
+    return copy;
+  }
+
+  private transient BitmapNode root;
+  private transient int size;
+  private transient final boolean mutable;
+
+  /**
+   * Creates a new empty mutable instance.
+   */
+  public PersistentCaseInsensitiveHashMap() {
+    this(EMPTY_NODE, 0, true);
+  }
+
+  private PersistentCaseInsensitiveHashMap(BitmapNode root, int size, boolean mutable) {
+    // the entries are kept in the trie, the delegate of the superclass is left empty
+    super();
+    this.root = root;
+    this.size = size;
+    this.mutable = mutable;
+  }
+
+  @Override
+  public PersistentCaseInsensitiveHashMap<V> copy() {
+    return new PersistentCaseInsensitiveHashMap<>(root, size, true);
+  }
+
+  @Override
+  public Object clone() {
+    return copy();
+  }
+
+  @Override
+  public CaseInsensitiveHashMap<String, V> toImmutableCaseInsensitiveMap() {
+    if (!mutable) {
+      return this;
+    }
+    return size == 0 ? emptyPersistentCaseInsensitiveMap() : new PersistentCaseInsensitiveHashMap<>(root, size, false);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return findEntry(key) != null;
+  }
+
+  @Override
+  public boolean containsValue(Object value) {
+    for (V v : values()) {
+      if (Objects.equals(v, value)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public V get(Object key) {
+    TrieEntry<V> entry = findEntry(key);
+    return entry == null ? null : entry.value;
+  }
+
+  @Override
+  public V put(String key, V value) {
+    checkMutable();
+    requireNonNull(key, "key cannot be null");
+
+    String foldedKey = key.toLowerCase(ROOT);
+    int hash = hash(foldedKey);
+    TrieEntry<V> current = find(root, hash, foldedKey);
+
+    if (current != null) {
+      if (current.value == value) {
+        return value;
+      }
+      root = (BitmapNode) put(root, new TrieEntry<>(current.key, foldedKey, hash, value), 0);
+      return current.value;
+    }
+
+    root = (BitmapNode) put(root, new TrieEntry<>(key, foldedKey, hash, value), 0);
+    size++;
+    return null;
+  }
+
+  @Override
+  public V remove(Object key) {
+    checkMutable();
+    if (!(key instanceof String)) {
+      return null;
+    }
+
+    String foldedKey = ((String) key).toLowerCase(ROOT);
+    int hash = hash(foldedKey);
+    TrieEntry<V> current = find(root, hash, foldedKey);
+    if (current == null) {
+      return null;
+    }
+
+    Object newRoot = remove(root, hash, foldedKey, 0);
+    if (newRoot == null) {
+      root = EMPTY_NODE;
+    } else if (newRoot instanceof BitmapNode) {
+      root = (BitmapNode) newRoot;
+    } else {
+      // the root is always kept as a bitmap node, even if a single entry (or collision) remains
+      root = new BitmapNode(bitFor(hashOf(newRoot), 0), new Object[] {newRoot});
+    }
+    size--;
+    return current.value;
+  }
+
+  @Override
+  public void putAll(Map<? extends String, ? extends V> values) {
+    for (Entry<? extends String, ? extends V> entry : values.entrySet()) {
+      put(entry.getKey(), entry.getValue());
+    }
+  }
+
+  @Override
+  public void clear() {
+    checkMutable();
+    root = EMPTY_NODE;
+    size = 0;
+  }
+
+  @Override
+  public void forEach(BiConsumer<? super String, ? super V> action) {
+    requireNonNull(action);
+    forEach(root, action);
+  }
+
+  @Override
+  public Set<String> keySet() {
+    return new AbstractSet<String>() {
+
+      @Override
+      public Iterator<String> iterator() {
+        return new TrieIterator<String>(root) {
+
+          @Override
+          protected String map(TrieEntry<V> entry) {
+            return entry.key;
+          }
+        };
+      }
+
+      @Override
+      public boolean contains(Object o) {
+        return containsKey(o);
+      }
+
+      @Override
+      public boolean remove(Object o) {
+        return PersistentCaseInsensitiveHashMap.this.remove(o) != null;
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+    };
+  }
+
+  @Override
+  public Collection<V> values() {
+    return new AbstractCollection<V>() {
+
+      @Override
+      public Iterator<V> iterator() {
+        return new TrieIterator<V>(root) {
+
+          @Override
+          protected V map(TrieEntry<V> entry) {
+            return entry.value;
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+    };
+  }
+
+  @Override
+  public Set<Entry<String, V>> entrySet() {
+    return new AbstractSet<Entry<String, V>>() {
+
+      @Override
+      public Iterator<Entry<String, V>> iterator() {
+        return new TrieIterator<Entry<String, V>>(root) {
+
+          @Override
+          protected Entry<String, V> map(TrieEntry<V> entry) {
+            return mutable ? new WriteThroughEntry(entry.key, entry.value) : entry;
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+    };
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder("{");
+    forEach((k, v) -> {
+      if (builder.length() > 1) {
+        builder.append(", ");
+      }
+      builder.append(k).append('=').append(v == this ? "(this Map)" : v);
+    });
+    return builder.append('}').toString();
+  }
+
+  private void checkMutable() {
+    if (!mutable) {
+      throw new UnsupportedOperationException("This map is immutable");
+    }
+  }
+
+  private TrieEntry<V> findEntry(Object key) {
+    if (!(key instanceof String)) {
+      return null;
+    }
+    String foldedKey = ((String) key).toLowerCase(ROOT);
+    return find(root, hash(foldedKey), foldedKey);
+  }
+
+  /**
+   * Serializes this map as a plain {@link CaseInsensitiveHashMap}, since the trie nodes are meant to be shared in memory only.
+   */
+  private Object writeReplace() {
+    CaseInsensitiveHashMap<String, V> replacement = new CaseInsensitiveHashMap<>(this);
+    return mutable ? replacement : replacement.toImmutableCaseInsensitiveMap();
+  }
+
+  private static int hash(String foldedKey) {
+    int h = foldedKey.hashCode();
+    return h ^ (h >>> 16);
+  }
+
+  private static int bitFor(int hash, int shift) {
+    return 1 << ((hash >>> shift) & LEVEL_MASK);
+  }
+
+  private static int hashOf(Object node) {
+    return node instanceof TrieEntry ? ((TrieEntry<?>) node).hash : ((CollisionNode) node).hash;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <V> TrieEntry<V> find(BitmapNode root, int hash, String foldedKey) {
+    Object node = root;
+    int shift = 0;
+    while (true) {
+      if (node instanceof BitmapNode) {
+        BitmapNode bitmapNode = (BitmapNode) node;
+        int bit = bitFor(hash, shift);
+        if ((bitmapNode.bitmap & bit) == 0) {
+          return null;
+        }
+        node = bitmapNode.slots[bitmapNode.index(bit)];
+        shift += BITS_PER_LEVEL;
+      } else if (node instanceof TrieEntry) {
+        TrieEntry<V> entry = (TrieEntry<V>) node;
+        return entry.hash == hash && entry.foldedKey.equals(foldedKey) ? entry : null;
+      } else {
+        CollisionNode collisionNode = (CollisionNode) node;
+        if (collisionNode.hash != hash) {
+          return null;
+        }
+        for (Object slot : collisionNode.entries) {
+          TrieEntry<V> entry = (TrieEntry<V>) slot;
+          if (entry.foldedKey.equals(foldedKey)) {
+            return entry;
+          }
+        }
+        return null;
+      }
+    }
+  }
+
+  /**
+   * @return a copy of {@code node} with the given {@code entry} added or replacing the one with the same key.
+   */
+  private static Object put(Object node, TrieEntry<?> entry, int shift) {
+    if (node instanceof BitmapNode) {
+      BitmapNode bitmapNode = (BitmapNode) node;
+      int bit = bitFor(entry.hash, shift);
+      int index = bitmapNode.index(bit);
+
+      if ((bitmapNode.bitmap & bit) == 0) {
+        Object[] slots = new Object[bitmapNode.slots.length + 1];
+        arraycopy(bitmapNode.slots, 0, slots, 0, index);
+        slots[index] = entry;
+        arraycopy(bitmapNode.slots, index, slots, index + 1, bitmapNode.slots.length - index);
+        return new BitmapNode(bitmapNode.bitmap | bit, slots);
+      }
+
+      Object[] slots = bitmapNode.slots.clone();
+      slots[index] = put(slots[index], entry, shift + BITS_PER_LEVEL);
+      return new BitmapNode(bitmapNode.bitmap, slots);
+    } else if (node instanceof TrieEntry) {
+      TrieEntry<?> current = (TrieEntry<?>) node;
+      if (current.hash == entry.hash && current.foldedKey.equals(entry.foldedKey)) {
+        return entry;
+      }
+      return merge(current, entry, shift);
+    } else {
+      CollisionNode collisionNode = (CollisionNode) node;
+      if (collisionNode.hash != entry.hash) {
+        return merge(collisionNode, entry, shift);
+      }
+
+      Object[] entries = collisionNode.entries;
+      for (int i = 0; i < entries.length; ++i) {
+        if (((TrieEntry<?>) entries[i]).foldedKey.equals(entry.foldedKey)) {
+          Object[] newEntries = entries.clone();
+          newEntries[i] = entry;
+          return new CollisionNode(collisionNode.hash, newEntries);
+        }
+      }
+      Object[] newEntries = new Object[entries.length + 1];
+      arraycopy(entries, 0, newEntries, 0, entries.length);
+      newEntries[entries.length] = entry;
+      return new CollisionNode(collisionNode.hash, newEntries);
+    }
+  }
+
+  /**
+   * @return a node containing both {@code current} (an entry or a collision node) and {@code entry}, which has a different key.
+   */
+  private static Object merge(Object current, TrieEntry<?> entry, int shift) {
+    int currentHash = hashOf(current);
+    if (currentHash == entry.hash) {
+      return new CollisionNode(currentHash, new Object[] {current, entry});
+    }
+
+    // Since the hashes differ, they are guaranteed to be told apart before running out of bits
+    int currentBit = bitFor(currentHash, shift);
+    int entryBit = bitFor(entry.hash, shift);
+    if (currentBit == entryBit) {
+      return new BitmapNode(currentBit, new Object[] {merge(current, entry, shift + BITS_PER_LEVEL)});
+    }
+
+    return new BitmapNode(currentBit | entryBit,
+                          Integer.compareUnsigned(currentBit, entryBit) < 0
+                              ? new Object[] {current, entry}
+                              : new Object[] {entry, current});
+  }
+
+  /**
+   * Removes the entry for the given key, which is known to be present.
+   *
+   * @return the resulting node, or a single entry or collision node to be inlined in the parent, or {@code null} if it is empty.
+   */
+  private static Object remove(Object node, int hash, String foldedKey, int shift) {
+    if (node instanceof BitmapNode) {
+      BitmapNode bitmapNode = (BitmapNode) node;
+      int bit = bitFor(hash, shift);
+      int index = bitmapNode.index(bit);
+      Object child = remove(bitmapNode.slots[index], hash, foldedKey, shift + BITS_PER_LEVEL);
+
+      if (child == null) {
+        if (bitmapNode.slots.length == 1) {
+          return null;
+        }
+
+        Object[] slots = new Object[bitmapNode.slots.length - 1];
+        arraycopy(bitmapNode.slots, 0, slots, 0, index);
+        arraycopy(bitmapNode.slots, index + 1, slots, index, slots.length - index);
+        if (slots.length == 1 && !(slots[0] instanceof BitmapNode)) {
+          return slots[0];
+        }
+        return new BitmapNode(bitmapNode.bitmap ^ bit, slots);
+      }
+
+      if (bitmapNode.slots.length == 1 && !(child instanceof BitmapNode)) {
+        return child;
+      }
+      Object[] slots = bitmapNode.slots.clone();
+      slots[index] = child;
+      return new BitmapNode(bitmapNode.bitmap, slots);
+    } else if (node instanceof TrieEntry) {
+      return null;
+    } else {
+      Object[] entries = ((CollisionNode) node).entries;
+      if (entries.length == 2) {
+        return ((TrieEntry<?>) entries[0]).foldedKey.equals(foldedKey) ? entries[1] : entries[0];
+      }
+
+      Object[] newEntries = new Object[entries.length - 1];
+      int j = 0;
+      for (Object entry : entries) {
+        if (!((TrieEntry<?>) entry).foldedKey.equals(foldedKey)) {
+          newEntries[j++] = entry;
+        }
+      }
+      return new CollisionNode(hash, newEntries);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <V> void forEach(Object node, BiConsumer<? super String, ? super V> action) {
+    Object[] slots = node instanceof BitmapNode ? ((BitmapNode) node).slots : ((CollisionNode) node).entries;
+    for (Object slot : slots) {
+      if (slot instanceof TrieEntry) {
+        TrieEntry<V> entry = (TrieEntry<V>) slot;
+        action.accept(entry.key, entry.value);
+      } else {
+        forEach(slot, action);
+      }
+    }
+  }
+
+  private static final class BitmapNode {
+
+    private final int bitmap;
+    private final Object[] slots;
+
+    private BitmapNode(int bitmap, Object[] slots) {
+      this.bitmap = bitmap;
+      this.slots = slots;
+    }
+
+    private int index(int bit) {
+      return bitCount(bitmap & (bit - 1));
+    }
+  }
+
+  private static final class CollisionNode {
+
+    private final int hash;
+    private final Object[] entries;
+
+    private CollisionNode(int hash, Object[] entries) {
+      this.hash = hash;
+      this.entries = entries;
+    }
+  }
+
+  private static final class TrieEntry<V> implements Entry<String, V> {
+
+    private final String key;
+    private final String foldedKey;
+    private final int hash;
+    private final V value;
+
+    private TrieEntry(String key, String foldedKey, int hash, V value) {
+      this.key = key;
+      this.foldedKey = foldedKey;
+      this.hash = hash;
+      this.value = value;
+    }
+
+    @Override
+    public String getKey() {
+      return key;
+    }
+
+    @Override
+    public V getValue() {
+      return value;
+    }
+
+    @Override
+    public V setValue(V value) {
+      throw new UnsupportedOperationException("This map is immutable");
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof Entry)) {
+        return false;
+      }
+      Entry<?, ?> other = (Entry<?, ?>) obj;
+      return key.equals(other.getKey()) && Objects.equals(value, other.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+      return key.hashCode() ^ Objects.hashCode(value);
+    }
+
+    @Override
+    public String toString() {
+      return key + "=" + value;
+    }
+  }
+
+  /**
+   * Entry of a mutable map, since the entries in the trie are shared with other versions of the map and cannot be modified.
+   */
+  private final class WriteThroughEntry extends SimpleEntry<String, V> {
+
+    private static final long serialVersionUID = -3386416474547414307L;
+
+    private WriteThroughEntry(String key, V value) {
+      super(key, value);
+    }
+
+    @Override
+    public V setValue(V value) {
+      put(getKey(), value);
+      return super.setValue(value);
+    }
+  }
+
+  /**
+   * Depth-first iterator over the entries of a version of the trie. Removing through it removes the last returned key from the
+   * map, without affecting the version being iterated.
+   */
+  private abstract class TrieIterator<T> implements Iterator<T> {
+
+    private final Object[][] stack = new Object[MAX_DEPTH][];
+    private final int[] positions = new int[MAX_DEPTH];
+    private int depth;
+    private TrieEntry<V> next;
+    private TrieEntry<V> last;
+
+    private TrieIterator(BitmapNode root) {
+      stack[0] = root.slots;
+      advance();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void advance() {
+      next = null;
+      while (depth >= 0) {
+        Object[] slots = stack[depth];
+        if (positions[depth] == slots.length) {
+          depth--;
+          continue;
+        }
+
+        Object slot = slots[positions[depth]++];
+        if (slot instanceof TrieEntry) {
+          next = (TrieEntry<V>) slot;
+          return;
+        }
+
+        depth++;
+        stack[depth] = slot instanceof BitmapNode ? ((BitmapNode) slot).slots : ((CollisionNode) slot).entries;
+        positions[depth] = 0;
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next != null;
+    }
+
+    @Override
+    public T next() {
+      if (next == null) {
+        throw new NoSuchElementException();
+      }
+      last = next;
+      advance();
+      return map(last);
+    }
+
+    @Override
+    public void remove() {
+      if (last == null) {
+        throw new IllegalStateException();
+      }
+      PersistentCaseInsensitiveHashMap.this.remove(last.key);
+      last = null;
+    }
+
+    protected abstract T map(TrieEntry<V> entry);
+  }
+}
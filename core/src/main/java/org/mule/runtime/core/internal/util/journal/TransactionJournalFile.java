@@ -6,22 +6,36 @@
  */
 package org.mule.runtime.core.internal.util.journal;
 
+import static java.nio.ByteBuffer.allocate;
+import static java.nio.ByteBuffer.wrap;
+import static java.nio.channels.Channels.newInputStream;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
 import static org.slf4j.LoggerFactory.getLogger;
 
 import org.mule.runtime.api.exception.MuleRuntimeException;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
 
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
@@ -31,6 +45,16 @@ import org.slf4j.Logger;
 
 /**
  * Manages a transaction journal file.
+ * <p>
+ * The file starts with a header holding a checkpoint: the position of the first entry of the oldest transaction that was pending
+ * when it was last updated. Every entry before the checkpoint belongs to a completed transaction, so loading the journal only
+ * replays the entries from the checkpoint onwards.
+ * <p>
+ * Each entry is written with its length and a checksum, so an entry that was not completely written (for instance, because the
+ * process was killed) is detected when loading the journal. Such an entry and anything after it are discarded, and new entries
+ * are appended in its place.
+ * <p>
+ * Files written by previous versions, without header nor checksums, are loaded and rewritten in the current format.
  *
  * @param <T> type of the transaction identifier
  * @param <K> type of the journal entry
@@ -43,6 +67,19 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
    */
   private static final int MINIMUM_ENTRIES_TO_CLEAR_FILE = 10000;
 
+  static final int MAGIC = 0x4D4A524E;
+  static final int FORMAT_VERSION = 1;
+  /**
+   * Magic number, format version and checkpoint position.
+   */
+  static final int HEADER_SIZE = 16;
+  /**
+   * Length and checksum of the serialized entry.
+   */
+  static final int ENTRY_HEADER_SIZE = 8;
+
+  private static final int CHECKPOINT_POSITION = 8;
+
   private static final Logger LOGGER = getLogger(TransactionJournalFile.class);
 
   private final File journalFile;
@@ -50,9 +87,19 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
   private final Long clearFileMinimumSizeInBytes;
 
   private final Multimap<T, K> entries = LinkedHashMultimap.create();
+  /**
+   * Position in the file of the first entry of each pending transaction, in the order the transactions were started.
+   */
+  private final Map<T, Long> firstEntryPositions = new LinkedHashMap<>();
+
+  private final SerializationBuffer serializationBuffer = new SerializationBuffer();
+  private final DataOutputStream serializationOutputStream = new DataOutputStream(serializationBuffer);
+  private final ByteBuffer entryHeader = allocate(ENTRY_HEADER_SIZE);
 
   private boolean doClear;
-  private DataOutputStream logFileOutputStream;
+  private FileChannel logFileChannel;
+  private long writePosition;
+  private long checkpoint;
   private int journalOperations = 0;
 
   /**
@@ -68,13 +115,13 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
     this.clearFileMinimumSizeInBytes = clearFileMinimumSizeInBytes;
     if (journalFile.exists()) {
       doClear = true;
+      openLogFileChannel();
       loadAllEntries(transactionCompletePredicate);
     } else {
       // skip the clear call done for the recovery, since there's nothing to recover
       doClear = false;
+      openLogFileChannel();
     }
-
-    createLogOutputStream();
   }
 
   /**
@@ -84,7 +131,8 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
    */
   public synchronized void logOperation(K journalEntry) {
     entries.put(journalEntry.getTxId(), journalEntry);
-    journalEntrySerializer.serialize(journalEntry, logFileOutputStream);
+    long position = append(journalEntry);
+    firstEntryPositions.putIfAbsent(journalEntry.getTxId(), position);
     journalOperations++;
   }
 
@@ -98,9 +146,11 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
   public synchronized void clearEntriesForTransaction(T txId) {
     doClearEntriesForTransaction(txId);
     clearFileIfNeeded();
+    updateCheckpoint();
   }
 
   protected void doClearEntriesForTransaction(T txId) {
+    firstEntryPositions.remove(txId);
     Collection<K> entries = this.entries.removeAll(txId);
     if (LOGGER.isDebugEnabled()) {
       LOGGER.debug("Evicted from tx log file " + entries.size() + " entries from txid " + txId);
@@ -128,7 +178,7 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
    */
   public synchronized void close() {
     try {
-      logFileOutputStream.close();
+      logFileChannel.close();
     } catch (IOException e) {
       LOGGER.warn(e.getMessage());
       if (LOGGER.isDebugEnabled()) {
@@ -167,36 +217,186 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
       if (journalFile.exists()) {
         close();
         entries.clear();
+        firstEntryPositions.clear();
         FileUtils.deleteQuietly(journalFile);
       }
-      createLogOutputStream();
+      openLogFileChannel();
     } else {
       // after skipping the recovery, do clear normally
       doClear = true;
     }
   }
 
-  private void createLogOutputStream() {
-    if (!journalFile.exists()) {
+  private void openLogFileChannel() {
+    try {
+      this.logFileChannel = FileChannel.open(journalFile.toPath(), CREATE, READ, WRITE);
+      this.writePosition = logFileChannel.size();
+      this.checkpoint = HEADER_SIZE;
+    } catch (IOException e) {
+      throw new MuleRuntimeException(e);
+    }
+  }
+
+  /**
+   * Writes the given entry at the end of the file, along with its length and checksum.
+   *
+   * @return the position of the entry in the file
+   */
+  private long append(K journalEntry) {
+    try {
+      if (writePosition == 0) {
+        writeHeader();
+      }
+
+      serializationBuffer.reset();
+      journalEntrySerializer.serialize(journalEntry, serializationOutputStream);
+      serializationOutputStream.flush();
+
+      int length = serializationBuffer.size();
+      entryHeader.clear();
+      entryHeader.putInt(length).putInt(checksum(serializationBuffer.getBuffer(), length)).flip();
+      ByteBuffer[] buffers = new ByteBuffer[] {entryHeader, wrap(serializationBuffer.getBuffer(), 0, length)};
+
+      long position = writePosition;
+      logFileChannel.position(position);
+      while (buffers[1].hasRemaining()) {
+        logFileChannel.write(buffers);
+      }
+      writePosition = position + ENTRY_HEADER_SIZE + length;
+      return position;
+    } catch (IOException e) {
+      throw new MuleRuntimeException(e);
+    }
+  }
+
+  private void writeHeader() throws IOException {
+    ByteBuffer header = allocate(HEADER_SIZE);
+    header.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(HEADER_SIZE).flip();
+    writeFully(header, 0);
+    writePosition = HEADER_SIZE;
+    checkpoint = HEADER_SIZE;
+  }
+
+  /**
+   * Moves the checkpoint to the first entry of the oldest pending transaction, or to the end of the file if there are none.
+   */
+  private void updateCheckpoint() {
+    if (writePosition < HEADER_SIZE) {
+      return;
+    }
+    long newCheckpoint = firstEntryPositions.isEmpty() ? writePosition : firstEntryPositions.values().iterator().next();
+    if (newCheckpoint != checkpoint) {
       try {
-        journalFile.createNewFile();
+        ByteBuffer checkpointBuffer = allocate(Long.BYTES);
+        checkpointBuffer.putLong(newCheckpoint).flip();
+        writeFully(checkpointBuffer, CHECKPOINT_POSITION);
+        checkpoint = newCheckpoint;
       } catch (IOException e) {
         throw new MuleRuntimeException(e);
       }
     }
-    try {
-      this.logFileOutputStream = new DataOutputStream(new FileOutputStream(journalFile, true));
-    } catch (FileNotFoundException e) {
-      throw new MuleRuntimeException(e);
+  }
+
+  private void writeFully(ByteBuffer buffer, long position) throws IOException {
+    while (buffer.hasRemaining()) {
+      position += logFileChannel.write(buffer, position);
     }
   }
 
+  private static int checksum(byte[] bytes, int length) {
+    CRC32C crc = new CRC32C();
+    crc.update(bytes, 0, length);
+    return (int) crc.getValue();
+  }
+
   /**
    * This will NOT load transactions that are already complete, according to the given {@code transactionCompletePredicate}.
    * 
    * @param transactionCompletePredicate a callback to determine if a transaction is complete.
    */
   private void loadAllEntries(TransactionCompletePredicate<T> transactionCompletePredicate) {
+    if (writePosition == 0) {
+      return;
+    }
+
+    try {
+      ByteBuffer header = allocate(HEADER_SIZE);
+      if (writePosition >= HEADER_SIZE) {
+        logFileChannel.read(header, 0);
+      }
+      if (header.position() == HEADER_SIZE && header.getInt(0) == MAGIC && header.getInt(4) == FORMAT_VERSION) {
+        long storedCheckpoint = header.getLong(CHECKPOINT_POSITION);
+        checkpoint = storedCheckpoint >= HEADER_SIZE && storedCheckpoint <= writePosition ? storedCheckpoint : HEADER_SIZE;
+        loadEntriesFromCheckpoint(transactionCompletePredicate);
+      } else {
+        loadLegacyEntries(transactionCompletePredicate);
+        rewrite();
+      }
+    } catch (IOException e) {
+      throw new MuleRuntimeException(e);
+    }
+
+    clearFileIfNeeded();
+    updateCheckpoint();
+  }
+
+  private void loadEntriesFromCheckpoint(TransactionCompletePredicate<T> transactionCompletePredicate) throws IOException {
+    long position = checkpoint;
+    logFileChannel.position(position);
+    // not closed, since that would close the channel
+    DataInputStream dataInputStream = new DataInputStream(new BufferedInputStream(newInputStream(logFileChannel)));
+
+    while (position + ENTRY_HEADER_SIZE <= writePosition) {
+      int length = dataInputStream.readInt();
+      int checksum = dataInputStream.readInt();
+      if (length < 0 || length > writePosition - position - ENTRY_HEADER_SIZE) {
+        break;
+      }
+      byte[] serialized = new byte[length];
+      dataInputStream.readFully(serialized);
+      if (checksum(serialized, length) != checksum) {
+        break;
+      }
+
+      try {
+        K journalEntry = journalEntrySerializer.deserialize(new DataInputStream(new ByteArrayInputStream(serialized)));
+        if (journalEntry == null) {
+          return;
+        }
+        loadEntry(journalEntry, position, transactionCompletePredicate);
+      } catch (Exception e) {
+        LOGGER.warn("Exception reading transaction content: " + e.getMessage());
+        if (LOGGER.isDebugEnabled()) {
+          LOGGER.debug("Error reading transaction journal file", e);
+        }
+        return;
+      }
+      position += ENTRY_HEADER_SIZE + length;
+    }
+
+    if (position < writePosition) {
+      LOGGER.warn("Discarding incomplete entry at the end of transaction journal file {}. This is normal if the mule server was"
+          + " shutdown due to a failure", journalFile.getAbsolutePath());
+      logFileChannel.truncate(position);
+      writePosition = position;
+    }
+  }
+
+  private void loadEntry(K journalEntry, long position, TransactionCompletePredicate<T> transactionCompletePredicate) {
+    this.entries.put(journalEntry.getTxId(), journalEntry);
+    firstEntryPositions.putIfAbsent(journalEntry.getTxId(), position);
+    journalOperations++;
+
+    if (transactionCompletePredicate.isTransactionComplete(journalEntry)) {
+      journalOperations -= this.entries.get(journalEntry.getTxId()).size();
+      doClearEntriesForTransaction(journalEntry.getTxId());
+    }
+  }
+
+  /**
+   * Loads a file written by a previous version, without header nor checksums.
+   */
+  private void loadLegacyEntries(TransactionCompletePredicate<T> transactionCompletePredicate) {
     DataInputStream dataInputStream = null;
     try {
       dataInputStream = new DataInputStream(new BufferedInputStream(new FileInputStream(journalFile)));
@@ -205,13 +405,7 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
         try {
           K journalEntry = journalEntrySerializer.deserialize(dataInputStream);
           if (journalEntry != null) {
-            this.entries.put(journalEntry.getTxId(), journalEntry);
-            journalOperations++;
-
-            if (transactionCompletePredicate.isTransactionComplete(journalEntry)) {
-              journalOperations -= this.entries.get(journalEntry.getTxId()).size();
-              doClearEntriesForTransaction(journalEntry.getTxId());
-            }
+            loadEntry(journalEntry, HEADER_SIZE, transactionCompletePredicate);
           } else {
             logEntryCreationFailed = true;
           }
@@ -227,7 +421,6 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
           logEntryCreationFailed = true;
         }
       }
-      clearFileIfNeeded();
     } catch (FileNotFoundException e) {
       throw new RuntimeException(e);
     } finally {
@@ -241,6 +434,22 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
     }
   }
 
+  /**
+   * Replaces the content of the file with the pending entries, in the current format.
+   */
+  private void rewrite() {
+    List<K> pendingEntries = new ArrayList<>(entries.values());
+    close();
+    FileUtils.deleteQuietly(journalFile);
+    openLogFileChannel();
+
+    firstEntryPositions.clear();
+    for (K journalEntry : pendingEntries) {
+      firstEntryPositions.putIfAbsent(journalEntry.getTxId(), append(journalEntry));
+    }
+    journalOperations = pendingEntries.size();
+  }
+
   /**
    * @return the number different transaction identifier held by the journal.
    */
@@ -262,5 +471,14 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
   public long fileLength() {
     return journalFile.length();
   }
-}
 
+  /**
+   * Gives access to the buffer where journal entries are serialized, to avoid copying them.
+   */
+  private static final class SerializationBuffer extends ByteArrayOutputStream {
+
+    private byte[] getBuffer() {
+      return buf;
+    }
+  }
+}
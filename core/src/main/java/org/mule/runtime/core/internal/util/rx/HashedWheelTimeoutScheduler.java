@@ -0,0 +1,467 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.rx;
+
+import static org.mule.runtime.api.scheduler.SchedulerConfig.config;
+
+import static java.lang.Math.max;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.atomic.AtomicIntegerFieldUpdater.newUpdater;
+
+import static org.slf4j.LoggerFactory.getLogger;
+import static reactor.core.Exceptions.failWithRejected;
+
+import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.api.lifecycle.Initialisable;
+import org.mule.runtime.api.lifecycle.InitialisationException;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.scheduler.SchedulerService;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+
+import reactor.core.Disposables;
+
+/**
+ * A {@link reactor.core.scheduler.Scheduler} optimized for timeouts, that are scheduled often and rarely fire because they are
+ * cancelled before, such as the timeouts of each route of a scatter-gather.
+ * <p>
+ * Delayed tasks are kept in a hashed timing wheel: scheduling and cancelling a task are O(1) operations that do not involve any
+ * thread pool, and a single periodic task on a {@code cpuLight} scheduler advances the wheel. The tasks that expired are handed
+ * off to another {@code cpuLight} scheduler, so a slow task does not delay the ones that expire after it. This trades precision
+ * for throughput: tasks run up to one tick after their delay elapses.
+ * <p>
+ * A single instance is registered in the registry to be shared by all the components of an artifact.
+ *
+ * @since 4.9.0
+ */
+public class HashedWheelTimeoutScheduler implements reactor.core.scheduler.Scheduler, Initialisable, Disposable {
+
+  private static final Logger LOGGER = getLogger(HashedWheelTimeoutScheduler.class);
+
+  private static final long DEFAULT_TICK_MILLIS = 10;
+  private static final int DEFAULT_TICKS_PER_WHEEL = 512;
+
+  @Inject
+  private SchedulerService schedulerService;
+
+  private final String name;
+  private final long tickNanos;
+  private final WheelBucket[] wheel;
+  private final int mask;
+
+  private final Queue<WheelTimeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+  private final Queue<WheelTimeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean started = new AtomicBoolean();
+
+  private volatile Scheduler tickScheduler;
+  private volatile Scheduler taskScheduler;
+  private volatile boolean disposed;
+  private final long startTime = nanoTime();
+  private long tick;
+
+  public HashedWheelTimeoutScheduler() {
+    this(null, "timeoutScheduler");
+  }
+
+  /**
+   * @param schedulerService the service to get the {@code cpuLight} schedulers that advance the wheel and run the tasks from.
+   * @param name             the name of the {@code cpuLight} schedulers to create.
+   */
+  public HashedWheelTimeoutScheduler(SchedulerService schedulerService, String name) {
+    this(schedulerService, name, DEFAULT_TICK_MILLIS, MILLISECONDS, DEFAULT_TICKS_PER_WHEEL);
+  }
+
+  /**
+   * @param schedulerService the service to get the {@code cpuLight} schedulers that advance the wheel and run the tasks from.
+   * @param name             the name of the {@code cpuLight} schedulers to create.
+   * @param tickDuration     the duration of each tick of the wheel, which is the precision of the scheduled tasks.
+   * @param unit             the unit of {@code tickDuration}.
+   * @param ticksPerWheel    the number of buckets of the wheel, rounded up to the next power of 2.
+   */
+  public HashedWheelTimeoutScheduler(SchedulerService schedulerService, String name, long tickDuration, TimeUnit unit,
+                                     int ticksPerWheel) {
+    if (tickDuration <= 0) {
+      throw new IllegalArgumentException("tickDuration must be greater than zero");
+    }
+    if (ticksPerWheel <= 0 || ticksPerWheel > 1 << 30) {
+      throw new IllegalArgumentException("ticksPerWheel must be between 1 and 2^30");
+    }
+    this.schedulerService = schedulerService;
+    this.name = name;
+    this.tickNanos = unit.toNanos(tickDuration);
+
+    int wheelSize = Integer.highestOneBit(ticksPerWheel - 1) << 1;
+    wheelSize = max(wheelSize, 1);
+    this.wheel = new WheelBucket[wheelSize];
+    for (int i = 0; i < wheelSize; ++i) {
+      wheel[i] = new WheelBucket();
+    }
+    this.mask = wheelSize - 1;
+  }
+
+  @Override
+  public void initialise() throws InitialisationException {
+    if (tickScheduler == null) {
+      tickScheduler = schedulerService.cpuLightScheduler(config().withName(name).withMaxConcurrentTasks(1));
+    }
+    if (taskScheduler == null) {
+      taskScheduler = schedulerService.cpuLightScheduler(config().withName(name + ".tasks"));
+    }
+  }
+
+  @Override
+  public reactor.core.Disposable schedule(Runnable task) {
+    checkNotDisposed();
+    Future<?> future = getTaskScheduler().submit(task);
+    return () -> future.cancel(false);
+  }
+
+  @Override
+  public reactor.core.Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+    checkNotDisposed();
+    startIfNeeded();
+
+    long delayNanos = unit.toNanos(delay);
+    long deadline = nanoTime() + delayNanos - startTime;
+    if (delayNanos > 0 && deadline < 0) {
+      // guard against overflows for very long delays
+      deadline = Long.MAX_VALUE;
+    }
+
+    WheelTimeout timeout = new WheelTimeout(task, deadline);
+    pendingTimeouts.add(timeout);
+    return timeout;
+  }
+
+  @Override
+  public Worker createWorker() {
+    return new WheelWorker();
+  }
+
+  @Override
+  public boolean isDisposed() {
+    return disposed;
+  }
+
+  @Override
+  public void dispose() {
+    disposed = true;
+    if (tickScheduler != null) {
+      tickScheduler.stop();
+    }
+    if (taskScheduler != null) {
+      taskScheduler.stop();
+    }
+    pendingTimeouts.clear();
+    cancelledTimeouts.clear();
+  }
+
+  private Scheduler getTickScheduler() {
+    if (tickScheduler == null) {
+      throw new IllegalStateException("Scheduler '" + name + "' has not been initialised");
+    }
+    return tickScheduler;
+  }
+
+  private Scheduler getTaskScheduler() {
+    if (taskScheduler == null) {
+      throw new IllegalStateException("Scheduler '" + name + "' has not been initialised");
+    }
+    return taskScheduler;
+  }
+
+  private void checkNotDisposed() {
+    if (disposed) {
+      throw failWithRejected();
+    }
+  }
+
+  private void startIfNeeded() {
+    if (!started.get() && started.compareAndSet(false, true)) {
+      // no need to go through the ticks elapsed since this scheduler was created
+      tick = (nanoTime() - startTime) / tickNanos;
+      getTickScheduler().scheduleWithFixedDelay(this::onTick, tickNanos, tickNanos, NANOSECONDS);
+    }
+  }
+
+  /**
+   * Advances the wheel up to the current time, expiring the due timeouts. Only called from the tick scheduler, which has a max
+   * concurrency of 1, so no synchronization on the wheel buckets is needed.
+   */
+  private void onTick() {
+    long now = nanoTime() - startTime;
+    while (!disposed && (tick + 1) * tickNanos <= now) {
+      removeCancelledTimeouts();
+      transferPendingTimeouts();
+      wheel[(int) (tick & mask)].expireTimeouts((tick + 1) * tickNanos);
+      tick++;
+    }
+  }
+
+  private void transferPendingTimeouts() {
+    WheelTimeout timeout;
+    while ((timeout = pendingTimeouts.poll()) != null) {
+      if (timeout.isDisposed()) {
+        continue;
+      }
+
+      long calculated = timeout.deadline / tickNanos;
+      timeout.remainingRounds = (calculated - tick) / wheel.length;
+      // ensure timeouts already due are run on the current tick
+      long ticks = max(calculated, tick);
+      wheel[(int) (ticks & mask)].add(timeout);
+    }
+  }
+
+  private void removeCancelledTimeouts() {
+    WheelTimeout timeout;
+    while ((timeout = cancelledTimeouts.poll()) != null) {
+      if (timeout.bucket != null) {
+        timeout.bucket.remove(timeout);
+      }
+    }
+  }
+
+  private static final int ST_PENDING = 0;
+  private static final int ST_CANCELLED = 1;
+  private static final int ST_EXPIRED = 2;
+
+  private static final AtomicIntegerFieldUpdater<WheelTimeout> STATE_UPDATER = newUpdater(WheelTimeout.class, "state");
+
+  private final class WheelTimeout implements reactor.core.Disposable {
+
+    private final Runnable task;
+    private final long deadline;
+    volatile int state = ST_PENDING;
+
+    // only accessed from the tick thread
+    private long remainingRounds;
+    private WheelBucket bucket;
+    private WheelTimeout next;
+    private WheelTimeout prev;
+
+    private WheelTimeout(Runnable task, long deadline) {
+      this.task = task;
+      this.deadline = deadline;
+    }
+
+    @Override
+    public void dispose() {
+      if (STATE_UPDATER.compareAndSet(this, ST_PENDING, ST_CANCELLED)) {
+        cancelledTimeouts.add(this);
+      }
+    }
+
+    @Override
+    public boolean isDisposed() {
+      return state != ST_PENDING;
+    }
+
+    private void expire() {
+      if (!STATE_UPDATER.compareAndSet(this, ST_PENDING, ST_EXPIRED)) {
+        return;
+      }
+
+      try {
+        getTaskScheduler().execute(this::runTask);
+      } catch (RejectedExecutionException e) {
+        // the task must not be lost, since whatever is waiting for the timeout would never complete
+        LOGGER.debug("Scheduler '{}' rejected a timeout task, running it on the tick thread", name, e);
+        runTask();
+      }
+    }
+
+    private void runTask() {
+      try {
+        task.run();
+      } catch (Throwable t) {
+        LOGGER.warn("Exception running timeout task on scheduler '{}'", name, t);
+      }
+    }
+  }
+
+  /**
+   * Doubly linked list of the timeouts in a slot of the wheel.
+   */
+  private static final class WheelBucket {
+
+    private WheelTimeout head;
+    private WheelTimeout tail;
+
+    private void add(WheelTimeout timeout) {
+      timeout.bucket = this;
+      if (head == null) {
+        head = tail = timeout;
+      } else {
+        tail.next = timeout;
+        timeout.prev = tail;
+        tail = timeout;
+      }
+    }
+
+    private void expireTimeouts(long tickDeadline) {
+      WheelTimeout timeout = head;
+      while (timeout != null) {
+        WheelTimeout next = timeout.next;
+        if (timeout.isDisposed()) {
+          remove(timeout);
+        } else if (timeout.remainingRounds <= 0 && timeout.deadline <= tickDeadline) {
+          remove(timeout);
+          timeout.expire();
+        } else {
+          timeout.remainingRounds--;
+        }
+        timeout = next;
+      }
+    }
+
+    private void remove(WheelTimeout timeout) {
+      if (timeout.bucket != this) {
+        return;
+      }
+
+      if (timeout.prev != null) {
+        timeout.prev.next = timeout.next;
+      }
+      if (timeout.next != null) {
+        timeout.next.prev = timeout.prev;
+      }
+      if (timeout == head) {
+        head = timeout.next;
+      }
+      if (timeout == tail) {
+        tail = timeout.prev;
+      }
+
+      timeout.prev = null;
+      timeout.next = null;
+      timeout.bucket = null;
+    }
+  }
+
+  /**
+   * A {@link Worker} that runs its tasks one at a time and in the order they are due, as Reactor expects. Tasks are queued and a
+   * single drain loop at a time runs them on the task scheduler, while the delayed ones are only queued when they expire.
+   */
+  private final class WheelWorker implements Worker {
+
+    private final reactor.core.Disposable.Composite tasks = Disposables.composite();
+    private final Queue<WorkerTask> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger wip = new AtomicInteger();
+
+    @Override
+    public reactor.core.Disposable schedule(Runnable task) {
+      return schedule(task, 0, NANOSECONDS);
+    }
+
+    @Override
+    public reactor.core.Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+      checkNotDisposed();
+      WorkerTask workerTask = new WorkerTask(task);
+      if (!tasks.add(workerTask)) {
+        throw failWithRejected();
+      }
+
+      if (delay <= 0) {
+        enqueue(workerTask);
+      } else {
+        workerTask.scheduled.update(HashedWheelTimeoutScheduler.this.schedule(() -> enqueue(workerTask), delay, unit));
+      }
+      return workerTask;
+    }
+
+    private void enqueue(WorkerTask workerTask) {
+      queue.add(workerTask);
+      if (wip.getAndIncrement() != 0) {
+        // a drain loop is already running and will pick up this task
+        return;
+      }
+
+      try {
+        getTaskScheduler().execute(this::drain);
+      } catch (RejectedExecutionException e) {
+        // the task must not be lost, since whatever is waiting for it would never complete
+        LOGGER.debug("Scheduler '{}' rejected a worker task, running it on the calling thread", name, e);
+        drain();
+      }
+    }
+
+    private void drain() {
+      int missed = 1;
+      do {
+        WorkerTask workerTask;
+        while ((workerTask = queue.poll()) != null) {
+          workerTask.run();
+        }
+        missed = wip.addAndGet(-missed);
+      } while (missed != 0);
+    }
+
+    @Override
+    public void dispose() {
+      tasks.dispose();
+      queue.clear();
+    }
+
+    @Override
+    public boolean isDisposed() {
+      return tasks.isDisposed();
+    }
+
+    private final class WorkerTask implements Runnable, reactor.core.Disposable {
+
+      private final Runnable task;
+      private final reactor.core.Disposable.Swap scheduled = Disposables.swap();
+      private volatile boolean disposed;
+
+      private WorkerTask(Runnable task) {
+        this.task = task;
+      }
+
+      @Override
+      public void run() {
+        if (disposed || WheelWorker.this.isDisposed()) {
+          return;
+        }
+
+        try {
+          task.run();
+        } catch (Throwable t) {
+          LOGGER.warn("Exception running worker task on scheduler '{}'", name, t);
+        } finally {
+          disposed = true;
+          tasks.remove(this);
+        }
+      }
+
+      @Override
+      public void dispose() {
+        disposed = true;
+        tasks.remove(this);
+        scheduled.dispose();
+      }
+
+      @Override
+      public boolean isDisposed() {
+        return disposed;
+      }
+    }
+  }
+}
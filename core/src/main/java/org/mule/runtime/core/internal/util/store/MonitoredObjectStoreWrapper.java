@@ -6,11 +6,19 @@
  */
 package org.mule.runtime.core.internal.util.store;
 
+import static java.lang.Integer.getInteger;
+import static java.lang.Long.getLong;
+import static java.lang.Math.min;
 import static java.lang.System.currentTimeMillis;
+import static java.lang.System.nanoTime;
+import static java.util.Collections.sort;
 import static java.util.Comparator.comparing;
+import static java.util.Comparator.reverseOrder;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static java.util.stream.Collectors.toMap;
 import static org.mule.runtime.api.store.ObjectStoreManager.BASE_PERSISTENT_OBJECT_STORE_KEY;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.core.api.config.i18n.CoreMessages.propertyHasInvalidValue;
 
 import org.mule.runtime.api.exception.DefaultMuleException;
@@ -32,22 +40,72 @@ import org.mule.runtime.core.internal.context.MuleContextWithRegistry;
 import org.mule.runtime.core.internal.store.DeserializationPostInitialisable;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * The MonitoredObjectStoreWrapper wraps an ObjectStore which does not support direct expiry and adds this behavior
+ * <p>
+ * For non persistent stores, the keys of the entries are kept in an index sorted by the time they were stored, so that each
+ * expiration run only visits the entries to expire, up to {@link #MAX_EXPIRATIONS_PER_RUN_PROPERTY} of them. The index is only
+ * kept while this instance is the one expiring entries (the primary polling instance). It is built with a scan of all the entries
+ * of the base store on the first expiration run, and rebuilt every {@link #FULL_SCAN_INTERVAL_PROPERTY} to include the entries
+ * stored or removed by other instances sharing the same base store.
+ * <p>
+ * Persistent stores are expected to hold more entries than would fit in memory, so their entries are not indexed. Instead, their
+ * keys are swept in pages of up to {@link #SWEEP_PAGE_SIZE_PROPERTY} entries per expiration run, taking the keys from the base
+ * store only when a sweep starts. Only the oldest entries in excess of the maximum, up to the expirations allowed in a run, are
+ * kept in memory until the sweep completes.
+ * <p>
+ * Entries found expired when retrieved are removed right away, without waiting for the next expiration run.
  */
 public class MonitoredObjectStoreWrapper<T extends Serializable> extends TemplateObjectStore<T>
     implements Runnable, MuleContextAware, Initialisable, Disposable {
 
   private static Logger LOGGER = LoggerFactory.getLogger(MonitoredObjectStoreWrapper.class);
 
+  /**
+   * The maximum number of entries removed from the store on each expiration run. The remaining ones are removed on the following
+   * runs.
+   *
+   * @since 4.9.0
+   */
+  public static final String MAX_EXPIRATIONS_PER_RUN_PROPERTY = SYSTEM_PROPERTY_PREFIX + "objectStore.maxExpirationsPerRun";
+
+  private static final int DEFAULT_MAX_EXPIRATIONS_PER_RUN = 10000;
+
+  /**
+   * The interval, in milliseconds, between the scans of all the entries of a non persistent base store to update the index used
+   * to expire them. Only entries stored by other instances sharing the base store depend on these scans to be expired.
+   *
+   * @since 4.9.0
+   */
+  public static final String FULL_SCAN_INTERVAL_PROPERTY = SYSTEM_PROPERTY_PREFIX + "objectStore.fullScanInterval";
+
+  private static final long DEFAULT_FULL_SCAN_INTERVAL = 300000;
+
+  /**
+   * The maximum number of entries of a persistent base store retrieved on each expiration run. Sweeping through all the entries
+   * takes as many runs as needed.
+   *
+   * @since 4.9.0
+   */
+  public static final String SWEEP_PAGE_SIZE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "objectStore.sweepPageSize";
+
+  private static final int DEFAULT_SWEEP_PAGE_SIZE = 10000;
+
   protected MuleContext context;
   private Scheduler scheduler;
   private ScheduledFuture<?> scheduledTask;
@@ -76,6 +134,26 @@ public class MonitoredObjectStoreWrapper<T extends Serializable> extends Templat
    */
   protected String name = null;
 
+  private final int maxExpirationsPerRun = getInteger(MAX_EXPIRATIONS_PER_RUN_PROPERTY, DEFAULT_MAX_EXPIRATIONS_PER_RUN);
+  private final long fullScanInterval = getLong(FULL_SCAN_INTERVAL_PROPERTY, DEFAULT_FULL_SCAN_INTERVAL);
+  private final int sweepPageSize = getInteger(SWEEP_PAGE_SIZE_PROPERTY, DEFAULT_SWEEP_PAGE_SIZE);
+
+  // only populated while indexed, that is, while this instance is expiring the entries of a non persistent store
+  private final ConcurrentMap<String, Long> timestamps = new ConcurrentHashMap<>();
+  private final ConcurrentSkipListSet<ExpiryEntry> expiryIndex = new ConcurrentSkipListSet<>();
+  private volatile boolean indexed = false;
+  private long lastFullScan;
+
+  // the sweep in progress over the entries of a persistent store, which may span several expiration runs
+  private List<String> sweepKeys;
+  private int sweepPosition;
+  private int sweepExcess;
+  private int sweepOldestCapacity;
+  private PriorityQueue<Pair<String, Long>> sweepOldest;
+
+  private final AtomicLong expiredEntries = new AtomicLong();
+  private volatile long lastExpirationDurationNanos;
+
   public MonitoredObjectStoreWrapper(ObjectStore<StoredObject<T>> baseStore, ObjectStoreSettings settings) {
     this.baseStore = baseStore;
     maxEntries = settings.getMaxEntries().orElse(null);
@@ -85,6 +163,11 @@ public class MonitoredObjectStoreWrapper<T extends Serializable> extends Templat
 
   @Override
   protected boolean doContains(String key) throws ObjectStoreException {
+    Long timestamp = timestamps.get(key);
+    if (timestamp != null && isExpired(timestamp, currentTimeMillis())) {
+      expiryRemove(key);
+      return false;
+    }
     return getStore().contains(key);
   }
 
@@ -92,11 +175,20 @@ public class MonitoredObjectStoreWrapper<T extends Serializable> extends Templat
   protected void doStore(String key, T value) throws ObjectStoreException {
     Long time = Long.valueOf(System.currentTimeMillis());
     getStore().store(key, new StoredObject<>(value, time, key));
+    if (indexed) {
+      index(key, time);
+    }
   }
 
   @Override
   protected T doRetrieve(String key) throws ObjectStoreException {
-    return getStore().retrieve(key).getItem();
+    StoredObject<T> object = getStore().retrieve(key);
+    if (isExpired(object.getTimestamp(), currentTimeMillis())) {
+      LOGGER.trace("Expiring entry '{}' from {} on retrieval due to TTL...", key, getStore());
+      expiryRemove(key);
+      throw new ObjectDoesNotExistException();
+    }
+    return object.getItem();
   }
 
   @Override
@@ -107,10 +199,13 @@ public class MonitoredObjectStoreWrapper<T extends Serializable> extends Templat
   @Override
   public void clear() throws ObjectStoreException {
     this.getStore().clear();
+    timestamps.clear();
+    expiryIndex.clear();
   }
 
   @Override
   protected T doRemove(String key) throws ObjectStoreException {
+    unindex(key);
     StoredObject<T> object = getStore().remove(key);
     if (object == null) {
       return null;
@@ -152,51 +247,204 @@ public class MonitoredObjectStoreWrapper<T extends Serializable> extends Templat
   public void run() {
     if (context.isPrimaryPollingInstance()) {
       expire();
+    } else {
+      if (indexed) {
+        // another instance expires the entries now, so the index would only grow
+        dropIndex();
+      }
+      // the sweep is started over if this instance expires the entries again
+      endSweep();
     }
   }
 
   public void expire() {
+    final long start = nanoTime();
+    int expired = 0;
     try {
       LOGGER.debug("Starting expiry on {}...", getStore());
 
-      final long now = currentTimeMillis();
-      List<String> keys = allKeys();
-      int excess = maxEntries != null ? (keys.size() - maxEntries) : 0;
+      if (getStore().isPersistent()) {
+        expired = expireStoredEntries();
+        return;
+      }
 
-      PriorityQueue<Pair<String, Long>> sortedMaxEntries = null;
+      final long now = currentTimeMillis();
+      if (!indexed || now - lastFullScan >= fullScanInterval) {
+        indexStoredEntries();
+        lastFullScan = now;
+      }
 
-      if (excess > 0) {
-        LOGGER.trace("Will expire {} entries from {}", excess, getStore());
-        sortedMaxEntries = new PriorityQueue<>(excess, comparing(Pair::getSecond));
+      while (expired < maxExpirationsPerRun && !expiryIndex.isEmpty()) {
+        ExpiryEntry oldest = expiryIndex.first();
+        if (entryTtl != null && isExpired(oldest.timestamp, now)) {
+          LOGGER.trace("Expiring entry '{}' from {} due to TTL...", oldest.key, getStore());
+        } else if (maxEntries != null && timestamps.size() > maxEntries) {
+          LOGGER.trace("Expiring entry '{}' from {} due to size excess...", oldest.key, getStore());
+        } else {
+          break;
+        }
+        // removes the entry from the index even if it is no longer in the store
+        expiryIndex.remove(oldest);
+        timestamps.remove(oldest.key, oldest.timestamp);
+        expiryRemove(oldest.key);
+        expired++;
       }
+    } catch (Exception e) {
+      LOGGER.warn("Running expiry on " + getStore() + " threw " + e.getClass().getName() + ":" + e.getMessage(), e);
+    } finally {
+      expiredEntries.addAndGet(expired);
+      lastExpirationDurationNanos = nanoTime() - start;
+      LOGGER.debug("Expired {} entries from {} in {} ms", expired, getStore(),
+                   NANOSECONDS.toMillis(lastExpirationDurationNanos));
+    }
+  }
 
-      for (String key : keys) {
-        StoredObject<T> obj = expiryRetrieve(key);
-        if (obj == null) {
-          excess--;
-          continue;
+  /**
+   * Goes through the next page of the entries of the base store, removing the expired ones, up to {@link #maxExpirationsPerRun}.
+   * Once all the entries have been visited, the oldest ones in excess of {@link #maxEntries} are removed too.
+   *
+   * @return the number of removed entries.
+   */
+  private int expireStoredEntries() throws ObjectStoreException {
+    final long now = currentTimeMillis();
+    if (sweepKeys == null) {
+      startSweep();
+    }
+
+    int expired = 0;
+    final int pageEnd = min(sweepPosition + sweepPageSize, sweepKeys.size());
+    while (sweepPosition < pageEnd && expired < maxExpirationsPerRun) {
+      String key = sweepKeys.get(sweepPosition++);
+      StoredObject<T> obj = expiryRetrieve(key);
+      if (obj == null) {
+        sweepExcess--;
+      } else if (isExpired(obj.getTimestamp(), now)) {
+        LOGGER.trace("Expiring entry '{}' from {} due to TTL...", key, getStore());
+        expiryRemove(key);
+        sweepExcess--;
+        expired++;
+      } else if (sweepOldest != null) {
+        sweepOldest.offer(new Pair<>(key, obj.getTimestamp()));
+        if (sweepOldest.size() > sweepOldestCapacity) {
+          // the newest one is at the head
+          sweepOldest.poll();
         }
+      }
+    }
+
+    if (sweepPosition < sweepKeys.size()) {
+      return expired;
+    }
 
-        if (entryTtl != null && now - obj.getTimestamp() >= entryTtl) {
-          LOGGER.trace("Expiring entry '{}' from {} due to TTL...", key, getStore());
-          expiryRemove(key);
-        } else if (maxEntries != null && excess > 0) {
-          sortedMaxEntries.offer(new Pair<>(obj.getKey(), obj.getTimestamp()));
+    if (sweepOldest != null) {
+      List<Pair<String, Long>> oldest = new ArrayList<>(sweepOldest);
+      oldest.sort(comparing(Pair::getSecond));
+      for (Pair<String, Long> entry : oldest) {
+        if (sweepExcess <= 0 || expired >= maxExpirationsPerRun) {
+          break;
         }
+        LOGGER.trace("Expiring entry '{}' from {} due to size excess...", entry.getFirst(), getStore());
+        sweepExcess--;
+        expiryRemove(entry.getFirst());
+        expired++;
+      }
+    }
+    endSweep();
+    return expired;
+  }
+
+  private void startSweep() throws ObjectStoreException {
+    sweepKeys = allKeys();
+    sweepPosition = 0;
+    sweepExcess = maxEntries != null ? (sweepKeys.size() - maxEntries) : 0;
+    if (sweepExcess > 0) {
+      LOGGER.trace("Will expire {} entries from {}", sweepExcess, getStore());
+      // no more than the entries that can be removed in a run are kept
+      sweepOldestCapacity = min(sweepExcess, maxExpirationsPerRun);
+      sweepOldest = new PriorityQueue<>(sweepOldestCapacity + 1, comparing(Pair::getSecond, reverseOrder()));
+    }
+  }
+
+  private void endSweep() {
+    sweepKeys = null;
+    sweepOldest = null;
+  }
+
+  /**
+   * Updates the expiry index with the entries in the base store, adding the ones not yet indexed and dropping the ones no longer
+   * in the store. The entries are only retrieved to get their timestamp, which is the only data kept for them.
+   */
+  private void indexStoredEntries() throws ObjectStoreException {
+    // entries stored from now on are indexed when stored, so they are not missed by this scan
+    indexed = true;
+    final long scanStart = currentTimeMillis();
+
+    List<String> keys = getStore().allKeys();
+    Set<String> storedKeys = new HashSet<>(keys);
+    timestamps.forEach((key, timestamp) -> {
+      if (timestamp < scanStart && !storedKeys.contains(key)) {
+        unindex(key);
       }
+    });
 
-      if (sortedMaxEntries != null) {
-        Pair<String, Long> obj = sortedMaxEntries.poll();
-        while (obj != null && excess > 0) {
-          LOGGER.trace("Expiring entry '{}' from {} due to size excess...", obj.getFirst(), getStore());
-          excess--;
-          expiryRemove(obj.getFirst());
-          obj = sortedMaxEntries.poll();
+    List<ExpiryEntry> storedEntries = new ArrayList<>();
+    for (String key : keys) {
+      if (!timestamps.containsKey(key)) {
+        StoredObject<T> obj = expiryRetrieve(key);
+        if (obj != null) {
+          storedEntries.add(new ExpiryEntry(key, obj.getTimestamp()));
         }
       }
-    } catch (Exception e) {
-      LOGGER.warn("Running expiry on " + getStore() + " threw " + e.getClass().getName() + ":" + e.getMessage(), e);
     }
+    sort(storedEntries);
+    for (ExpiryEntry entry : storedEntries) {
+      // entries stored while scanning are already indexed with their latest timestamp
+      if (timestamps.putIfAbsent(entry.key, entry.timestamp) == null) {
+        expiryIndex.add(entry);
+      }
+    }
+  }
+
+
+  private void index(String key, long timestamp) {
+    Long previous = timestamps.put(key, timestamp);
+    if (previous != null) {
+      expiryIndex.remove(new ExpiryEntry(key, previous));
+    }
+    expiryIndex.add(new ExpiryEntry(key, timestamp));
+  }
+
+  private void dropIndex() {
+    indexed = false;
+    timestamps.clear();
+    expiryIndex.clear();
+  }
+
+  private void unindex(String key) {
+    Long timestamp = timestamps.remove(key);
+    if (timestamp != null) {
+      expiryIndex.remove(new ExpiryEntry(key, timestamp));
+    }
+  }
+
+  private boolean isExpired(long timestamp, long now) {
+    return entryTtl != null && now - timestamp >= entryTtl;
+  }
+
+  /**
+   * @return the number of entries removed by the expiration runs since this store was created.
+   * @since 4.9.0
+   */
+  public long getExpiredEntries() {
+    return expiredEntries.get();
+  }
+
+  /**
+   * @return how long the last expiration run took, in nanoseconds.
+   * @since 4.9.0
+   */
+  public long getLastExpirationDuration() {
+    return lastExpirationDurationNanos;
   }
 
   private StoredObject<T> expiryRetrieve(String key) throws ObjectStoreException {
@@ -245,6 +493,37 @@ public class MonitoredObjectStoreWrapper<T extends Serializable> extends Templat
     }
   }
 
+  private static final class ExpiryEntry implements Comparable<ExpiryEntry> {
+
+    private final String key;
+    private final long timestamp;
+
+    private ExpiryEntry(String key, long timestamp) {
+      this.key = key;
+      this.timestamp = timestamp;
+    }
+
+    @Override
+    public int compareTo(ExpiryEntry other) {
+      int result = Long.compare(timestamp, other.timestamp);
+      return result != 0 ? result : key.compareTo(other.key);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof ExpiryEntry)) {
+        return false;
+      }
+      ExpiryEntry other = (ExpiryEntry) obj;
+      return timestamp == other.timestamp && key.equals(other.key);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * key.hashCode() + Long.hashCode(timestamp);
+    }
+  }
+
   public static class StoredObject<T> implements Serializable, DeserializationPostInitialisable {
 
     private static final long serialVersionUID = 8656763235928199259L;
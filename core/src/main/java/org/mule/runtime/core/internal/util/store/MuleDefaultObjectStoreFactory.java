@@ -6,7 +6,10 @@
  */
 package org.mule.runtime.core.internal.util.store;
 
+import static org.mule.runtime.core.internal.store.OffHeapPartitionedInMemoryObjectStore.OFF_HEAP_IN_MEMORY_OBJECT_STORE_PROPERTY;
+
 import org.mule.runtime.api.store.ObjectStore;
+import org.mule.runtime.core.internal.store.OffHeapPartitionedInMemoryObjectStore;
 import org.mule.runtime.core.internal.store.PartitionedInMemoryObjectStore;
 import org.mule.runtime.core.internal.store.PartitionedPersistentObjectStore;
 
@@ -16,6 +19,9 @@ public class MuleDefaultObjectStoreFactory implements DefaultObjectStoreFactory
 
   @Override
   public ObjectStore<Serializable> createDefaultInMemoryObjectStore() {
+    if (Boolean.getBoolean(OFF_HEAP_IN_MEMORY_OBJECT_STORE_PROPERTY)) {
+      return new OffHeapPartitionedInMemoryObjectStore<>();
+    }
     return new PartitionedInMemoryObjectStore<>();
   }
 
@@ -8,6 +8,7 @@ package org.mule.runtime.core.internal.util.store;
 
 import static java.lang.String.format;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
 import static org.slf4j.LoggerFactory.getLogger;
@@ -28,7 +29,10 @@ import org.mule.runtime.api.store.PartitionableObjectStore;
 import org.mule.runtime.core.api.MuleContext;
 
 import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -300,6 +304,26 @@ public class MuleObjectStoreManager implements ObjectStoreManager, Initialisable
 
   }
 
+  /**
+   * @return the statistics of the expiration runs of the stores whose entries are expired by a
+   *         {@link MonitoredObjectStoreWrapper}, by the name of the store.
+   * @since 4.9.0
+   */
+  public Map<String, Map<String, Object>> getExpirationStatistics() {
+    Map<String, Map<String, Object>> statistics = new TreeMap<>();
+    stores.forEach((name, store) -> {
+      if (store instanceof MonitoredObjectStoreWrapper) {
+        MonitoredObjectStoreWrapper<?> monitoredStore = (MonitoredObjectStoreWrapper<?>) store;
+        Map<String, Object> storeStatistics = new LinkedHashMap<>();
+        storeStatistics.put("expiredEntries", monitoredStore.getExpiredEntries());
+        storeStatistics.put("lastExpirationDurationMillis",
+                            NANOSECONDS.toMillis(monitoredStore.getLastExpirationDuration()));
+        statistics.put(name, storeStatistics);
+      }
+    });
+    return statistics;
+  }
+
   int getMonitorsCount() {
     return expirationSchedulers.size();
   }
@@ -0,0 +1,576 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.artifact.activation.internal.maven;
+
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.api.util.xmlsecurity.XMLSecureFactories.createDefault;
+
+import static java.lang.Math.min;
+import static java.lang.System.currentTimeMillis;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.createDirectories;
+import static java.nio.file.Files.createTempFile;
+import static java.nio.file.Files.deleteIfExists;
+import static java.nio.file.Files.getLastModifiedTime;
+import static java.nio.file.Files.list;
+import static java.nio.file.Files.move;
+import static java.nio.file.Files.newInputStream;
+import static java.nio.file.Files.newOutputStream;
+import static java.nio.file.Files.readAllBytes;
+import static java.nio.file.Files.setLastModifiedTime;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.attribute.FileTime.fromMillis;
+import static java.util.Collections.emptyList;
+import static java.util.Comparator.comparing;
+import static java.util.Comparator.reverseOrder;
+import static java.util.regex.Pattern.compile;
+import static java.util.stream.Collectors.toList;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.maven.client.api.model.MavenConfiguration;
+import org.mule.maven.client.api.model.RemoteRepository;
+import org.mule.maven.pom.parser.api.model.BundleDependency;
+import org.mule.maven.pom.parser.api.model.BundleDescriptor;
+import org.mule.maven.pom.parser.api.model.BundleScope;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+/**
+ * Stores the dependencies resolved for a deployable in a file, and reuses them on the following resolutions for the same
+ * deployable instead of resolving them again with Maven.
+ * <p>
+ * The stored dependencies are only used if they were resolved for the same contents of the POM and its local parents, with the
+ * same options, repositories and settings, and if none of the resolved files have been modified since. Results that include
+ * {@code SNAPSHOT} versions are not stored, since those may change in the repository without any change in the POM. Neither are
+ * the results of POMs with dependency version ranges, or with {@code SNAPSHOT} parents or imported BOMs from a repository, for
+ * the same reason.
+ * <p>
+ * Only the most recently used results of each POM are kept.
+ *
+ * @since 4.9.0
+ */
+public class DeployableDependenciesCache {
+
+  /**
+   * When {@code true}, the dependencies resolved for each deployable are stored and reused by the following deployments of the
+   * same deployable.
+   */
+  public static final String DEPENDENCIES_CACHE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "deployment.dependenciesCache";
+
+  private static final Logger LOGGER = getLogger(DeployableDependenciesCache.class);
+
+  private static final int MAGIC = 0x4D444550;
+  private static final int FORMAT_VERSION = 1;
+  private static final String CACHE_FILE_EXTENSION = ".dependencies";
+  private static final String SNAPSHOT = "SNAPSHOT";
+  private static final int MAX_CACHE_FILES_PER_POM = 4;
+  private static final Pattern PLACEHOLDER_PATTERN = compile("\\$\\{([^}]*)\\}");
+
+  private final File cacheFolder;
+
+  public DeployableDependenciesCache(File cacheFolder) {
+    this.cacheFolder = cacheFolder;
+  }
+
+  /**
+   * Obtains the dependencies of the deployable with the given POM, resolving them with {@code resolver} only if they are not
+   * stored or are outdated.
+   *
+   * @param pomFile                 the POM of the deployable.
+   * @param includeTestDependencies whether test dependencies are resolved.
+   * @param mavenConfiguration      the configuration of the Maven client that resolves the dependencies.
+   * @param resolver                resolves the dependencies when they are not stored.
+   * @return the dependencies of the deployable.
+   */
+  public List<BundleDependency> get(File pomFile, boolean includeTestDependencies, MavenConfiguration mavenConfiguration,
+                                    Supplier<List<BundleDependency>> resolver) {
+    String pomPrefix;
+    byte[] key;
+    try {
+      List<File> poms = new ArrayList<>();
+      if (!collectPoms(pomFile, poms)) {
+        LOGGER.debug("Dependencies of '{}' are not cached since they depend on version ranges or SNAPSHOT POMs", pomFile);
+        return resolver.get();
+      }
+      pomPrefix = toHex(sha256(pomFile.getAbsolutePath().getBytes(UTF_8))).substring(0, 16) + "-";
+      key = key(poms, includeTestDependencies, mavenConfiguration);
+    } catch (Exception e) {
+      LOGGER.warn("Could not calculate the dependencies cache key of '" + pomFile + "'", e);
+      return resolver.get();
+    }
+
+    Path cacheFile = cacheFolder.toPath().resolve(pomPrefix + toHex(key) + CACHE_FILE_EXTENSION);
+    List<BundleDependency> cached = load(cacheFile);
+    if (cached != null) {
+      LOGGER.debug("Loaded dependencies of '{}' from '{}'", pomFile, cacheFile);
+      touch(cacheFile);
+      return cached;
+    }
+
+    List<BundleDependency> dependencies = resolver.get();
+    if (store(cacheFile, dependencies)) {
+      deleteLeastRecentlyUsed(pomPrefix);
+    }
+    return dependencies;
+  }
+
+  private List<BundleDependency> load(Path cacheFile) {
+    if (!cacheFile.toFile().exists()) {
+      return null;
+    }
+
+    try (DataInputStream input = new DataInputStream(newInputStream(cacheFile))) {
+      if (input.readInt() != MAGIC || input.readInt() != FORMAT_VERSION) {
+        return null;
+      }
+
+      int count = input.readInt();
+      List<BundleDependency> read = new ArrayList<>(count);
+      for (int i = 0; i < count; ++i) {
+        BundleDependency dependency = readDependency(input, read);
+        if (dependency == null) {
+          LOGGER.debug("Dependencies cache '{}' is outdated", cacheFile);
+          return null;
+        }
+        read.add(dependency);
+      }
+
+      int rootsCount = input.readInt();
+      List<BundleDependency> dependencies = new ArrayList<>(rootsCount);
+      for (int i = 0; i < rootsCount; ++i) {
+        dependencies.add(read.get(input.readInt()));
+      }
+      return dependencies;
+    } catch (Exception e) {
+      LOGGER.warn("Could not load dependencies cache '" + cacheFile + "', the dependencies will be resolved", e);
+      return null;
+    }
+  }
+
+  /**
+   * @return the dependency, or {@code null} if its file was modified after it was stored.
+   */
+  private BundleDependency readDependency(DataInputStream input, List<BundleDependency> read) throws IOException {
+    BundleDescriptor.Builder descriptorBuilder = new BundleDescriptor.Builder()
+        .setGroupId(input.readUTF())
+        .setArtifactId(input.readUTF())
+        .setVersion(input.readUTF())
+        .setBaseVersion(input.readUTF())
+        .setType(input.readUTF());
+    String classifier = readNullable(input);
+    if (classifier != null) {
+      descriptorBuilder.setClassifier(classifier);
+    }
+
+    BundleDependency.Builder builder = new BundleDependency.Builder().setDescriptor(descriptorBuilder.build());
+    String scope = readNullable(input);
+    if (scope != null) {
+      builder.setScope(BundleScope.valueOf(scope));
+    }
+
+    String bundleUri = readNullable(input);
+    long length = input.readLong();
+    long lastModified = input.readLong();
+    if (bundleUri != null) {
+      URI uri = URI.create(bundleUri);
+      if ("file".equals(uri.getScheme())) {
+        File bundleFile = new File(uri);
+        if (bundleFile.length() != length || bundleFile.lastModified() != lastModified) {
+          return null;
+        }
+      }
+      builder.setBundleUri(uri);
+    }
+
+    int transitiveCount = input.readInt();
+    for (int i = 0; i < transitiveCount; ++i) {
+      builder.addTransitiveDependency(read.get(input.readInt()));
+    }
+    return builder.build();
+  }
+
+  /**
+   * @return whether the dependencies were stored.
+   */
+  private boolean store(Path cacheFile, List<BundleDependency> dependencies) {
+    // dependencies are written after their transitive dependencies, so they can be referenced by index when read
+    Map<BundleDependency, Integer> indexes = new IdentityHashMap<>();
+    List<BundleDependency> sorted = new ArrayList<>();
+    for (BundleDependency dependency : dependencies) {
+      if (!sort(dependency, indexes, sorted)) {
+        LOGGER.debug("Dependencies of '{}' are not cached since they include SNAPSHOT versions", cacheFile);
+        return false;
+      }
+    }
+
+    Path tempFile = null;
+    try {
+      createDirectories(cacheFolder.toPath());
+      // a unique temporary file, since the same deployable may be resolved concurrently
+      tempFile = createTempFile(cacheFolder.toPath(), cacheFile.getFileName().toString(), ".tmp");
+      try (DataOutputStream output = new DataOutputStream(newOutputStream(tempFile))) {
+        output.writeInt(MAGIC);
+        output.writeInt(FORMAT_VERSION);
+        output.writeInt(sorted.size());
+        for (BundleDependency dependency : sorted) {
+          writeDependency(output, dependency, indexes);
+        }
+
+        output.writeInt(dependencies.size());
+        for (BundleDependency dependency : dependencies) {
+          output.writeInt(indexes.get(dependency));
+        }
+      }
+
+      move(tempFile, cacheFile, REPLACE_EXISTING, ATOMIC_MOVE);
+      return true;
+    } catch (Exception e) {
+      LOGGER.warn("Could not write dependencies cache '" + cacheFile + "'", e);
+      if (tempFile != null) {
+        try {
+          deleteIfExists(tempFile);
+        } catch (IOException deleteException) {
+          e.addSuppressed(deleteException);
+        }
+      }
+      return false;
+    }
+  }
+
+  private void touch(Path cacheFile) {
+    try {
+      setLastModifiedTime(cacheFile, fromMillis(currentTimeMillis()));
+    } catch (IOException e) {
+      LOGGER.debug("Could not update the modification time of dependencies cache '{}'", cacheFile, e);
+    }
+  }
+
+  /**
+   * Deletes the least recently used cache files of a POM, so that at most {@link #MAX_CACHE_FILES_PER_POM} are kept.
+   */
+  private void deleteLeastRecentlyUsed(String pomPrefix) {
+    List<Path> pomCacheFiles;
+    try (Stream<Path> files = list(cacheFolder.toPath())) {
+      pomCacheFiles = files
+          .filter(file -> file.getFileName().toString().startsWith(pomPrefix)
+              && file.getFileName().toString().endsWith(CACHE_FILE_EXTENSION))
+          .sorted(comparing(DeployableDependenciesCache::lastModified, reverseOrder()))
+          .collect(toList());
+    } catch (IOException | UncheckedIOException e) {
+      LOGGER.debug("Could not list dependencies cache folder '{}'", cacheFolder, e);
+      return;
+    }
+
+    for (Path staleFile : pomCacheFiles.subList(min(MAX_CACHE_FILES_PER_POM, pomCacheFiles.size()),
+                                                pomCacheFiles.size())) {
+      try {
+        deleteIfExists(staleFile);
+      } catch (IOException e) {
+        LOGGER.debug("Could not delete dependencies cache '{}'", staleFile, e);
+      }
+    }
+  }
+
+  private static FileTime lastModified(Path file) {
+    try {
+      return getLastModifiedTime(file);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * @return {@code false} if the dependency or any of its transitive dependencies has a {@code SNAPSHOT} version.
+   */
+  private boolean sort(BundleDependency dependency, Map<BundleDependency, Integer> indexes, List<BundleDependency> sorted) {
+    if (indexes.containsKey(dependency)) {
+      return true;
+    }
+    // timestamped SNAPSHOT versions are only recognizable by their base version
+    BundleDescriptor descriptor = dependency.getDescriptor();
+    if (descriptor.getVersion().endsWith(SNAPSHOT) || descriptor.getBaseVersion().endsWith(SNAPSHOT)) {
+      return false;
+    }
+
+    for (BundleDependency transitiveDependency : transitiveDependencies(dependency)) {
+      if (!sort(transitiveDependency, indexes, sorted)) {
+        return false;
+      }
+    }
+    indexes.put(dependency, sorted.size());
+    sorted.add(dependency);
+    return true;
+  }
+
+  private void writeDependency(DataOutputStream output, BundleDependency dependency, Map<BundleDependency, Integer> indexes)
+      throws IOException {
+    BundleDescriptor descriptor = dependency.getDescriptor();
+    output.writeUTF(descriptor.getGroupId());
+    output.writeUTF(descriptor.getArtifactId());
+    output.writeUTF(descriptor.getVersion());
+    output.writeUTF(descriptor.getBaseVersion());
+    output.writeUTF(descriptor.getType());
+    writeNullable(output, descriptor.getClassifier().orElse(null));
+    writeNullable(output, dependency.getScope() == null ? null : dependency.getScope().name());
+
+    URI bundleUri = dependency.getBundleUri();
+    writeNullable(output, bundleUri == null ? null : bundleUri.toString());
+    if (bundleUri != null && "file".equals(bundleUri.getScheme())) {
+      File bundleFile = new File(bundleUri);
+      output.writeLong(bundleFile.length());
+      output.writeLong(bundleFile.lastModified());
+    } else {
+      output.writeLong(0);
+      output.writeLong(0);
+    }
+
+    List<BundleDependency> transitiveDependencies = transitiveDependencies(dependency);
+    output.writeInt(transitiveDependencies.size());
+    for (BundleDependency transitiveDependency : transitiveDependencies) {
+      output.writeInt(indexes.get(transitiveDependency));
+    }
+  }
+
+  private List<BundleDependency> transitiveDependencies(BundleDependency dependency) {
+    return dependency.getTransitiveDependencies() == null ? emptyList() : dependency.getTransitiveDependencies();
+  }
+
+  /**
+   * Adds the POM and its parents that are in the file system to {@code poms}.
+   *
+   * @return {@code false} if the dependencies of the POM may change without any change in the POMs in the file system, because
+   *         they have version ranges or depend on {@code SNAPSHOT} parents or BOMs from a repository.
+   */
+  private boolean collectPoms(File pomFile, List<File> poms) throws Exception {
+    List<Element> projects = new ArrayList<>();
+    File currentPom = pomFile;
+    Element parent = null;
+    while (currentPom != null && !poms.contains(currentPom)) {
+      Element project = parse(currentPom);
+      poms.add(currentPom);
+      projects.add(project);
+      parent = child(project, "parent");
+      currentPom = parent == null ? null : localParent(currentPom, parent);
+    }
+
+    Map<String, String> properties = new HashMap<>();
+    for (int i = projects.size() - 1; i >= 0; --i) {
+      Element project = projects.get(i);
+      Element version = child(project, "version");
+      if (version != null) {
+        properties.put("project.version", version.getTextContent().trim());
+      }
+      Element projectProperties = child(project, "properties");
+      if (projectProperties != null) {
+        for (Element property : children(projectProperties)) {
+          properties.put(property.getTagName(), property.getTextContent().trim());
+        }
+      }
+    }
+
+    if (parent != null && currentPom == null && !isFixedVersion(childText(parent, "version"), properties)) {
+      return false;
+    }
+    for (Element project : projects) {
+      NodeList versions = project.getElementsByTagName("version");
+      for (int i = 0; i < versions.getLength(); ++i) {
+        Node version = versions.item(i);
+        if ("dependency".equals(version.getParentNode().getNodeName())
+            && !isFixedVersion(version.getTextContent().trim(), properties)) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  private static Element parse(File pomFile) throws Exception {
+    return createDefault().getDocumentBuilderFactory().newDocumentBuilder().parse(pomFile).getDocumentElement();
+  }
+
+  /**
+   * @return the POM of the parent if it is in the file system, as Maven looks for it, or {@code null} otherwise.
+   */
+  private static File localParent(File pomFile, Element parent) throws Exception {
+    String relativePath = childText(parent, "relativePath");
+    if (relativePath == null) {
+      relativePath = "../pom.xml";
+    }
+    if (relativePath.isEmpty()) {
+      return null;
+    }
+
+    File parentPom = new File(pomFile.getAbsoluteFile().getParentFile(), relativePath);
+    if (parentPom.isDirectory()) {
+      parentPom = new File(parentPom, "pom.xml");
+    }
+    if (!parentPom.isFile()) {
+      return null;
+    }
+    String artifactId = childText(parent, "artifactId");
+    return artifactId != null && artifactId.equals(childText(parse(parentPom), "artifactId")) ? parentPom : null;
+  }
+
+  /**
+   * @return {@code true} if the version is neither a range nor a {@code SNAPSHOT} and does not depend on unknown properties.
+   */
+  private static boolean isFixedVersion(String version, Map<String, String> properties) {
+    if (version == null) {
+      // managed by a parent or BOM, which are checked on their own
+      return true;
+    }
+
+    Matcher placeholder = PLACEHOLDER_PATTERN.matcher(version);
+    StringBuffer resolved = new StringBuffer();
+    while (placeholder.find()) {
+      String value = properties.get(placeholder.group(1));
+      if (value == null || value.contains("${")) {
+        return false;
+      }
+      placeholder.appendReplacement(resolved, Matcher.quoteReplacement(value));
+    }
+    placeholder.appendTail(resolved);
+
+    String resolvedVersion = resolved.toString();
+    return !resolvedVersion.startsWith("[") && !resolvedVersion.startsWith("(") && !resolvedVersion.endsWith(SNAPSHOT);
+  }
+
+  private static Element child(Element element, String tagName) {
+    for (Element child : children(element)) {
+      if (child.getTagName().equals(tagName)) {
+        return child;
+      }
+    }
+    return null;
+  }
+
+  private static String childText(Element element, String tagName) {
+    Element child = child(element, tagName);
+    return child == null ? null : child.getTextContent().trim();
+  }
+
+  private static List<Element> children(Element element) {
+    List<Element> children = new ArrayList<>();
+    NodeList childNodes = element.getChildNodes();
+    for (int i = 0; i < childNodes.getLength(); ++i) {
+      if (childNodes.item(i) instanceof Element) {
+        children.add((Element) childNodes.item(i));
+      }
+    }
+    return children;
+  }
+
+  /**
+   * Calculates a checksum of everything that the resolved dependencies depend on, other than the resolved files themselves.
+   */
+  private byte[] key(List<File> poms, boolean includeTestDependencies, MavenConfiguration mavenConfiguration)
+      throws Exception {
+    MessageDigest digest = MessageDigest.getInstance("SHA-256");
+
+    update(digest, Boolean.toString(includeTestDependencies));
+    File localRepository = mavenConfiguration.getLocalMavenRepositoryLocation();
+    update(digest, localRepository == null ? null : localRepository.getAbsolutePath());
+    for (RemoteRepository remoteRepository : mavenConfiguration.getMavenRemoteRepositories()) {
+      update(digest, remoteRepository.getId());
+      update(digest, String.valueOf(remoteRepository.getUrl()));
+    }
+    for (String activeProfile : mavenConfiguration.getActiveProfiles().orElse(emptyList())) {
+      update(digest, activeProfile);
+    }
+    for (String inactiveProfile : mavenConfiguration.getInactiveProfiles().orElse(emptyList())) {
+      update(digest, inactiveProfile);
+    }
+    Optional<Properties> userProperties = mavenConfiguration.getUserProperties();
+    if (userProperties.isPresent()) {
+      userProperties.get().stringPropertyNames().stream().sorted().forEach(name -> {
+        update(digest, name);
+        update(digest, userProperties.get().getProperty(name));
+      });
+    }
+    // mirrors, proxies and repositories in the settings also determine what is resolved
+    updateWithFile(digest, mavenConfiguration.getGlobalSettingsLocation());
+    updateWithFile(digest, mavenConfiguration.getUserSettingsLocation());
+
+    for (File pom : poms) {
+      update(digest, pom.getAbsolutePath());
+      digest.update(readAllBytes(pom.toPath()));
+    }
+
+    return digest.digest();
+  }
+
+  private void updateWithFile(MessageDigest digest, Optional<File> file) throws IOException {
+    if (file.isPresent() && file.get().isFile()) {
+      update(digest, file.get().getAbsolutePath());
+      digest.update(readAllBytes(file.get().toPath()));
+    } else {
+      update(digest, null);
+    }
+  }
+
+  private static byte[] sha256(byte[] bytes) throws NoSuchAlgorithmException {
+    return MessageDigest.getInstance("SHA-256").digest(bytes);
+  }
+
+  private void update(MessageDigest digest, String value) {
+    if (value == null) {
+      digest.update((byte) 0);
+    } else {
+      byte[] bytes = value.getBytes(UTF_8);
+      digest.update((byte) 1);
+      digest.update(new byte[] {(byte) (bytes.length >>> 24), (byte) (bytes.length >>> 16), (byte) (bytes.length >>> 8),
+          (byte) bytes.length});
+      digest.update(bytes);
+    }
+  }
+
+  private static String readNullable(DataInputStream input) throws IOException {
+    return input.readBoolean() ? input.readUTF() : null;
+  }
+
+  private static void writeNullable(DataOutputStream output, String value) throws IOException {
+    output.writeBoolean(value != null);
+    if (value != null) {
+      output.writeUTF(value);
+    }
+  }
+
+  private static String toHex(byte[] bytes) {
+    StringBuilder hex = new StringBuilder(bytes.length * 2);
+    for (byte b : bytes) {
+      hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+    }
+    return hex.toString();
+  }
+}
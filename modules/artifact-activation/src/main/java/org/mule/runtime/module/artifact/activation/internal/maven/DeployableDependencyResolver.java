@@ -6,6 +6,10 @@
  */
 package org.mule.runtime.module.artifact.activation.internal.maven;
 
+import static org.mule.runtime.container.api.MuleFoldersUtil.getExecutionFolder;
+import static org.mule.runtime.module.artifact.activation.internal.maven.DeployableDependenciesCache.DEPENDENCIES_CACHE_PROPERTY;
+
+import static java.lang.Boolean.getBoolean;
 import static java.util.Optional.empty;
 import static java.util.stream.Collectors.toList;
 
@@ -21,6 +25,7 @@ import java.util.Optional;
 public class DeployableDependencyResolver {
 
   private static final String MULE_DOMAIN_CLASSIFIER = "mule-domain";
+  private static final String DEPENDENCIES_CACHE_FOLDER = "dependencies-cache";
 
   private final MavenClient muleMavenPluginClient;
 
@@ -30,6 +35,9 @@ public class DeployableDependencyResolver {
 
   /**
    * Resolve the deployable dependencies, excluding mule domains.
+   * <p>
+   * If {@link DeployableDependenciesCache#DEPENDENCIES_CACHE_PROPERTY} is set, the dependencies resolved on a previous call for
+   * the same POM are reused, unless a {@link MavenReactorResolver} is provided.
    *
    * @param pomFile                 pom file
    * @param includeTestDependencies true if the test dependencies must be included, false otherwise.
@@ -37,7 +45,17 @@ public class DeployableDependencyResolver {
    */
   public List<BundleDependency> resolveDeployableDependencies(File pomFile, boolean includeTestDependencies,
                                                               Optional<MavenReactorResolver> mavenReactorResolver) {
+    if (!getBoolean(DEPENDENCIES_CACHE_PROPERTY) || mavenReactorResolver.isPresent()) {
+      return doResolveDeployableDependencies(pomFile, includeTestDependencies, mavenReactorResolver);
+    }
+
+    return new DeployableDependenciesCache(new File(getExecutionFolder(), DEPENDENCIES_CACHE_FOLDER))
+        .get(pomFile, includeTestDependencies, muleMavenPluginClient.getMavenConfiguration(),
+             () -> doResolveDeployableDependencies(pomFile, includeTestDependencies, mavenReactorResolver));
+  }
 
+  private List<BundleDependency> doResolveDeployableDependencies(File pomFile, boolean includeTestDependencies,
+                                                                 Optional<MavenReactorResolver> mavenReactorResolver) {
     return muleMavenPluginClient
         .resolveArtifactDependencies(pomFile, includeTestDependencies, true, empty(), mavenReactorResolver, empty())
         .stream()
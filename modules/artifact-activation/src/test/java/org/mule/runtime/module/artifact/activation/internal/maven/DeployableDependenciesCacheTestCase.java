@@ -0,0 +1,204 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.artifact.activation.internal.maven;
+
+import static org.mule.maven.client.api.model.MavenConfiguration.newMavenConfigurationBuilder;
+import static org.mule.maven.pom.parser.api.model.BundleScope.COMPILE;
+import static org.mule.test.allure.AllureConstants.DeploymentTypeFeature.DEPLOYMENT_TYPE;
+import static org.mule.test.allure.AllureConstants.DeploymentTypeFeature.DeploymentTypeStory.LIGHTWEIGHT;
+
+import static java.util.Collections.singletonList;
+
+import static org.apache.commons.io.FileUtils.writeStringToFile;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import org.mule.maven.client.api.model.MavenConfiguration;
+import org.mule.maven.pom.parser.api.model.BundleDependency;
+import org.mule.maven.pom.parser.api.model.BundleDescriptor;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@SmallTest
+@Feature(DEPLOYMENT_TYPE)
+@Story(LIGHTWEIGHT)
+public class DeployableDependenciesCacheTestCase extends AbstractMuleTestCase {
+
+  private static final String UTF_8 = "UTF-8";
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final AtomicInteger resolutions = new AtomicInteger();
+
+  private File cacheFolder;
+  private DeployableDependenciesCache cache;
+  private MavenConfiguration mavenConfiguration;
+  private File pomFile;
+  private File dependencyFile;
+
+  @Before
+  public void setUp() throws Exception {
+    cacheFolder = temporaryFolder.newFolder("cache");
+    cache = new DeployableDependenciesCache(cacheFolder);
+    mavenConfiguration = newMavenConfigurationBuilder().localMavenRepositoryLocation(temporaryFolder.newFolder("repository"))
+        .build();
+    pomFile = temporaryFolder.newFile("pom.xml");
+    writeStringToFile(pomFile, "<project/>", UTF_8);
+    dependencyFile = temporaryFolder.newFile("library-1.0.jar");
+    writeStringToFile(dependencyFile, "library", UTF_8);
+  }
+
+  @Test
+  public void unchangedPomReusesDependencies() {
+    cache.get(pomFile, false, mavenConfiguration, resolver("1.0"));
+    List<BundleDependency> dependencies = cache.get(pomFile, false, mavenConfiguration, resolver("1.0"));
+
+    assertThat(resolutions.get(), is(1));
+    assertThat(dependencies, hasSize(1));
+    BundleDependency dependency = dependencies.get(0);
+    assertThat(dependency.getDescriptor().getArtifactId(), equalTo("library"));
+    assertThat(dependency.getBundleUri(), equalTo(dependencyFile.toURI()));
+    assertThat(dependency.getScope(), equalTo(COMPILE));
+    assertThat(dependency.getTransitiveDependencies().get(0).getDescriptor().getArtifactId(), equalTo("transitive"));
+  }
+
+  @Test
+  public void modifiedPomResolvesDependencies() throws Exception {
+    cache.get(pomFile, false, mavenConfiguration, resolver("1.0"));
+    writeStringToFile(pomFile, "<project><version>2.0</version></project>", UTF_8);
+    cache.get(pomFile, false, mavenConfiguration, resolver("1.0"));
+
+    assertThat(resolutions.get(), is(2));
+  }
+
+  @Test
+  public void differentOptionsResolveDependencies() {
+    cache.get(pomFile, false, mavenConfiguration, resolver("1.0"));
+    cache.get(pomFile, true, mavenConfiguration, resolver("1.0"));
+
+    assertThat(resolutions.get(), is(2));
+  }
+
+  @Test
+  public void modifiedDependencyResolvesDependencies() throws Exception {
+    cache.get(pomFile, false, mavenConfiguration, resolver("1.0"));
+    writeStringToFile(dependencyFile, "modified library", UTF_8);
+    cache.get(pomFile, false, mavenConfiguration, resolver("1.0"));
+
+    assertThat(resolutions.get(), is(2));
+  }
+
+  @Test
+  public void snapshotDependenciesAreNotCached() {
+    cache.get(pomFile, false, mavenConfiguration, resolver("1.0-SNAPSHOT"));
+    cache.get(pomFile, false, mavenConfiguration, resolver("1.0-SNAPSHOT"));
+
+    assertThat(resolutions.get(), is(2));
+  }
+
+  @Test
+  public void timestampedSnapshotDependenciesAreNotCached() {
+    cache.get(pomFile, false, mavenConfiguration, resolver("1.0-20240101.120000-1", "1.0-SNAPSHOT"));
+    cache.get(pomFile, false, mavenConfiguration, resolver("1.0-20240101.120000-1", "1.0-SNAPSHOT"));
+
+    assertThat(resolutions.get(), is(2));
+  }
+
+  @Test
+  public void versionRangesAreNotCached() throws Exception {
+    writeStringToFile(pomFile, "<project><dependencies><dependency><groupId>org.mule.test</groupId>"
+        + "<artifactId>library</artifactId><version>${library.version}</version></dependency></dependencies>"
+        + "<properties><library.version>[1.0,2.0)</library.version></properties></project>", UTF_8);
+    cache.get(pomFile, false, mavenConfiguration, resolver("1.0"));
+    cache.get(pomFile, false, mavenConfiguration, resolver("1.0"));
+
+    assertThat(resolutions.get(), is(2));
+  }
+
+  @Test
+  public void modifiedLocalParentResolvesDependencies() throws Exception {
+    File parentPom = temporaryFolder.newFile("parent.xml");
+    writeStringToFile(parentPom, "<project><artifactId>parent</artifactId></project>", UTF_8);
+    writeStringToFile(pomFile, "<project><parent><artifactId>parent</artifactId><version>1.0-SNAPSHOT</version>"
+        + "<relativePath>parent.xml</relativePath></parent></project>", UTF_8);
+
+    cache.get(pomFile, false, mavenConfiguration, resolver("1.0"));
+    cache.get(pomFile, false, mavenConfiguration, resolver("1.0"));
+    assertThat(resolutions.get(), is(1));
+
+    writeStringToFile(parentPom, "<project><artifactId>parent</artifactId><version>2.0</version></project>", UTF_8);
+    cache.get(pomFile, false, mavenConfiguration, resolver("1.0"));
+    assertThat(resolutions.get(), is(2));
+  }
+
+  @Test
+  public void snapshotParentFromRepositoryIsNotCached() throws Exception {
+    writeStringToFile(pomFile, "<project><parent><artifactId>parent</artifactId><version>1.0-SNAPSHOT</version>"
+        + "<relativePath/></parent></project>", UTF_8);
+    cache.get(pomFile, false, mavenConfiguration, resolver("1.0"));
+    cache.get(pomFile, false, mavenConfiguration, resolver("1.0"));
+
+    assertThat(resolutions.get(), is(2));
+  }
+
+  @Test
+  public void leastRecentlyUsedCacheFilesAreDeleted() throws Exception {
+    for (int i = 0; i < 10; ++i) {
+      writeStringToFile(pomFile, "<project><version>" + i + ".0</version></project>", UTF_8);
+      cache.get(pomFile, false, mavenConfiguration, resolver("1.0"));
+    }
+
+    assertThat(cacheFolder.list().length, lessThanOrEqualTo(4));
+  }
+
+  private Supplier<List<BundleDependency>> resolver(String transitiveVersion) {
+    return resolver(transitiveVersion, transitiveVersion);
+  }
+
+  private Supplier<List<BundleDependency>> resolver(String transitiveVersion, String transitiveBaseVersion) {
+    return () -> {
+      resolutions.incrementAndGet();
+      BundleDependency transitive = new BundleDependency.Builder()
+          .setDescriptor(descriptor("transitive", transitiveVersion, transitiveBaseVersion))
+          .setScope(COMPILE)
+          .build();
+      BundleDependency.Builder dependencyBuilder = new BundleDependency.Builder()
+          .setDescriptor(descriptor("library", "1.0", "1.0"))
+          .setBundleUri(dependencyFile.toURI())
+          .setScope(COMPILE);
+      dependencyBuilder.addTransitiveDependency(transitive);
+      return singletonList(dependencyBuilder.build());
+    };
+  }
+
+  private BundleDescriptor descriptor(String artifactId, String version, String baseVersion) {
+    return new BundleDescriptor.Builder()
+        .setGroupId("org.mule.test")
+        .setArtifactId(artifactId)
+        .setVersion(version)
+        .setBaseVersion(baseVersion)
+        .setType("jar")
+        .build();
+  }
+}
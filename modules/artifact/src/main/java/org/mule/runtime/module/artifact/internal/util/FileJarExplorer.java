@@ -6,11 +6,17 @@
  */
 package org.mule.runtime.module.artifact.internal.util;
 
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+
 import static java.io.File.separator;
 import static java.io.File.separatorChar;
+import static java.lang.Boolean.getBoolean;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableSet;
 import static java.util.regex.Pattern.compile;
 import static java.util.regex.Pattern.quote;
 
+import static com.github.benmanes.caffeine.cache.Caffeine.newBuilder;
 import static org.apache.commons.io.FileUtils.listFiles;
 import static org.apache.commons.io.filefilter.TrueFileFilter.INSTANCE;
 import static org.apache.commons.io.filefilter.TrueFileFilter.TRUE;
@@ -26,20 +32,35 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.regex.Pattern;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
+import com.github.benmanes.caffeine.cache.Cache;
+
 /**
  * Discovers Java packages from files and folders
+ * <p>
+ * The result of exploring a JAR file is shared by all the instances of this class, since the same JARs are usually dependencies
+ * of many artifacts. It is reused for as long as the file is not modified, and discarded when the memory is needed.
  */
 public class FileJarExplorer implements JarExplorer {
 
+  /**
+   * When {@code true}, JAR files are explored again each time instead of reusing the result of a previous exploration.
+   *
+   * @since 4.9.0
+   */
+  public static final String DISABLE_JAR_INFO_CACHE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "jarExplorer.cache.disable";
+
   protected static final String CLASS_EXTENSION = ".class";
   private static final String META_INF_SERVICES_PATH = "META-INF/services/";
 
+  private static final Cache<JarKey, JarInfo> JAR_INFO_CACHE = newBuilder().softValues().build();
+
   private static final Pattern SLASH_PATTERN = compile("/");
   private static final Pattern SEPARATOR_PATTERN = compile(quote(separator));
 
@@ -66,76 +87,129 @@ public class FileJarExplorer implements JarExplorer {
 
   @Override
   public JarInfo explore(URI library) {
+    final File libraryFile = new File(library);
+    if (!libraryFile.exists()) {
+      throw new IllegalArgumentException("Library file does not exists: " + library);
+    }
+
+    if (libraryFile.isDirectory()) {
+      return exploreDirectory(libraryFile);
+    } else if (libraryFile.getName().toLowerCase().endsWith(".jar")) {
+      if (getBoolean(DISABLE_JAR_INFO_CACHE_PROPERTY)) {
+        return exploreJar(library, libraryFile);
+      }
+      return JAR_INFO_CACHE.get(new JarKey(libraryFile, runtimeModeForServices), key -> exploreJar(library, libraryFile));
+    } else {
+      return new JarInfo(new TreeSet<>(), new TreeSet<>(), new ArrayList<>());
+    }
+  }
+
+  private JarInfo exploreDirectory(File libraryFile) {
+    Set<String> packages = new TreeSet<>();
+    Set<String> resources = new TreeSet<>();
+
+    final Collection<File> files = listFiles(libraryFile, TRUE, INSTANCE);
+    for (File classFile : files) {
+      final String relativePath = classFile.getAbsolutePath().substring(libraryFile.getAbsolutePath().length() + 1);
+      if (relativePath.indexOf(separatorChar) > 0 && relativePath.endsWith(CLASS_EXTENSION)) {
+        packages.add(SEPARATOR_PATTERN
+            .matcher(relativePath.substring(0, relativePath.lastIndexOf(separatorChar)))
+            .replaceAll("."));
+      } else {
+        if (separatorChar == '/') {
+          resources.add(relativePath);
+        } else {
+          resources.add(SEPARATOR_PATTERN.matcher(relativePath).replaceAll("/"));
+        }
+      }
+    }
+
+    return new JarInfo(packages, resources, new ArrayList<>());
+  }
+
+  private JarInfo exploreJar(URI library, File libraryFile) {
     Set<String> rawPackages = new TreeSet<>();
     Set<String> packages = new TreeSet<>();
     Set<String> resources = new TreeSet<>();
     List<ExportedService> services = new ArrayList<>();
 
-    try {
-      final File libraryFile = new File(library);
-      if (!libraryFile.exists()) {
-        throw new IllegalArgumentException("Library file does not exists: " + library);
-      }
-      if (libraryFile.isDirectory()) {
-        final Collection<File> files = listFiles(libraryFile, TRUE, INSTANCE);
-        for (File classFile : files) {
-          final String relativePath = classFile.getAbsolutePath().substring(libraryFile.getAbsolutePath().length() + 1);
-          if (relativePath.indexOf(separatorChar) > 0 && relativePath.endsWith(CLASS_EXTENSION)) {
-            packages.add(SEPARATOR_PATTERN
-                .matcher(relativePath.substring(0, relativePath.lastIndexOf(separatorChar)))
-                .replaceAll("."));
-          } else {
-            if (separatorChar == '/') {
-              resources.add(relativePath);
-            } else {
-              resources.add(SEPARATOR_PATTERN.matcher(relativePath).replaceAll("/"));
-            }
+    try (final ZipFile zipFile = new ZipFile(libraryFile)) {
+      Enumeration<? extends ZipEntry> entries = zipFile.entries();
+      while (entries.hasMoreElements()) {
+        final ZipEntry entry = entries.nextElement();
+        final String name = entry.getName();
+
+        if (entry.isDirectory()) {
+          continue;
+        } else if (runtimeModeForServices && name.startsWith(META_INF_SERVICES_PATH)) {
+          String serviceInterface = name.substring(META_INF_SERVICES_PATH.length());
+          URL resource = getServiceResourceUrl(libraryFile.toURI().toURL(), name);
+
+          services.add(new ExportedService(serviceInterface, resource));
+        } else if (name.endsWith(CLASS_EXTENSION)) {
+          final int lastIndexOfSlash = name.lastIndexOf('/');
+          if (lastIndexOfSlash < 0) {
+            // skip default package
+            continue;
           }
-        }
-      } else {
-        if (libraryFile.getName().toLowerCase().endsWith(".jar")) {
-
-          try (final ZipFile zipFile = new ZipFile(libraryFile)) {
-            Enumeration<? extends ZipEntry> entries = zipFile.entries();
-            while (entries.hasMoreElements()) {
-              final ZipEntry entry = entries.nextElement();
-              final String name = entry.getName();
-
-              if (entry.isDirectory()) {
-                continue;
-              } else if (runtimeModeForServices && name.startsWith(META_INF_SERVICES_PATH)) {
-                String serviceInterface = name.substring(META_INF_SERVICES_PATH.length());
-                URL resource = getServiceResourceUrl(libraryFile.toURI().toURL(), name);
-
-                services.add(new ExportedService(serviceInterface, resource));
-              } else if (name.endsWith(CLASS_EXTENSION)) {
-                final int lastIndexOfSlash = name.lastIndexOf('/');
-                if (lastIndexOfSlash < 0) {
-                  // skip default package
-                  continue;
-                }
-
-                if (rawPackages.add(name.substring(0, lastIndexOfSlash))) {
-                  // prevent the matcher uses for already identified packages
-                  packages.add(SLASH_PATTERN
-                      .matcher(name.substring(0, lastIndexOfSlash))
-                      .replaceAll("."));
-                }
-              } else {
-                resources.add(name);
-              }
-            }
+
+          if (rawPackages.add(name.substring(0, lastIndexOfSlash))) {
+            // prevent the matcher uses for already identified packages
+            packages.add(SLASH_PATTERN
+                .matcher(name.substring(0, lastIndexOfSlash))
+                .replaceAll("."));
           }
+        } else {
+          resources.add(name);
         }
       }
     } catch (IOException e) {
       throw new IllegalStateException("Cannot explore URL: " + library, e);
     }
 
-    return new JarInfo(packages, resources, services);
+    // the result may be shared with other explorers
+    return new JarInfo(unmodifiableSet(packages), unmodifiableSet(resources), unmodifiableList(services));
   }
 
   public static URL getServiceResourceUrl(URL resource, String serviceInterface) throws MalformedURLException {
     return new URL("jar:" + resource + "!/" + serviceInterface);
   }
+
+  /**
+   * Identifies a version of a JAR file, along with the settings that affect how it is explored.
+   */
+  private static final class JarKey {
+
+    private final String path;
+    private final long length;
+    private final long lastModified;
+    private final boolean runtimeModeForServices;
+
+    private JarKey(File jarFile, boolean runtimeModeForServices) {
+      this.path = jarFile.getAbsolutePath();
+      this.length = jarFile.length();
+      this.lastModified = jarFile.lastModified();
+      this.runtimeModeForServices = runtimeModeForServices;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof JarKey)) {
+        return false;
+      }
+      JarKey other = (JarKey) obj;
+      return length == other.length
+          && lastModified == other.lastModified
+          && runtimeModeForServices == other.runtimeModeForServices
+          && path.equals(other.path);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(path, length, lastModified, runtimeModeForServices);
+    }
+  }
 }
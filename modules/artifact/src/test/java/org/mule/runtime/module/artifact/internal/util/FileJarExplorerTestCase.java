@@ -9,6 +9,8 @@ package org.mule.runtime.module.artifact.internal.util;
 import static org.apache.commons.io.FileUtils.writeStringToFile;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.hamcrest.core.IsCollectionContaining.hasItem;
 import org.mule.tck.ZipUtils;
 import org.mule.tck.ZipUtils.ZipResource;
@@ -39,6 +41,29 @@ public class FileJarExplorerTestCase extends AbstractMuleTestCase {
     assertThat(packages, hasItem("org.bar"));
   }
 
+  @Test
+  public void reusesJarExplorationResult() throws Exception {
+    final File jarFile = createJar(new ZipResource("EchoTest.clazz", "org/foo/Foo.class"));
+
+    final JarInfo jarInfo = packageExplorer.explore(jarFile.toURI());
+    assertThat(new FileJarExplorer().explore(jarFile.toURI()), sameInstance(jarInfo));
+  }
+
+  @Test
+  public void modifiedJarIsExploredAgain() throws Exception {
+    final File jarFile = createJar(new ZipResource("EchoTest.clazz", "org/foo/Foo.class"));
+    final JarInfo jarInfo = packageExplorer.explore(jarFile.toURI());
+
+    jarFile.delete();
+    ZipUtils.compress(jarFile, new ZipResource[] {new ZipResource("EchoTest.clazz", "org/foo/Foo.class"),
+        new ZipResource("EchoTest.clazz", "org/bar/Bar.class")});
+    jarFile.setLastModified(jarFile.lastModified() + 2000);
+
+    final JarInfo modifiedJarInfo = packageExplorer.explore(jarFile.toURI());
+    assertThat(modifiedJarInfo, not(sameInstance(jarInfo)));
+    assertThat(modifiedJarInfo.getPackages(), hasItem("org.bar"));
+  }
+
   @Test
   public void readsPackagesFromFolder() throws Exception {
     final File folder = File.createTempFile("test", "");
@@ -72,4 +97,11 @@ public class FileJarExplorerTestCase extends AbstractMuleTestCase {
     assertThat(resources, hasItem("org/foo/foo.txt"));
     assertThat(resources, hasItem("org/bar/bar.txt"));
   }
+
+  private File createJar(ZipResource... zipResources) throws Exception {
+    final File jarFile = File.createTempFile("test", ".jar");
+    jarFile.delete();
+    ZipUtils.compress(jarFile, zipResources);
+    return jarFile;
+  }
 }
@@ -12,6 +12,7 @@ import static org.mule.runtime.core.api.error.Errors.ComponentIdentifiers.Handle
 import static org.mule.runtime.core.internal.component.ComponentUtils.getFromAnnotatedObject;
 import static org.mule.runtime.core.internal.el.ExpressionLanguageUtils.compile;
 import static org.mule.runtime.core.internal.processor.strategy.DirectProcessingStrategyFactory.DIRECT_PROCESSING_STRATEGY_INSTANCE;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 import static org.mule.runtime.core.internal.util.rx.Operators.outputToTarget;
 import static org.mule.runtime.core.privileged.processor.MessageProcessors.processToApply;
 
@@ -24,8 +25,6 @@ import org.mule.runtime.api.exception.ErrorTypeRepository;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.api.message.ErrorType;
-import org.mule.runtime.api.scheduler.Scheduler;
-import org.mule.runtime.api.scheduler.SchedulerConfig;
 import org.mule.runtime.api.scheduler.SchedulerService;
 import org.mule.runtime.core.api.el.ExtendedExpressionManager;
 import org.mule.runtime.core.api.event.CoreEvent;
@@ -33,10 +32,12 @@ import org.mule.runtime.core.api.processor.AbstractMuleObjectOwner;
 import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
 import org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair;
 import org.mule.runtime.core.internal.routing.result.CompositeRoutingException;
+import org.mule.runtime.core.internal.util.rx.HashedWheelTimeoutScheduler;
 import org.mule.runtime.core.privileged.exception.MessagingException;
 import org.mule.runtime.core.privileged.processor.Scope;
 import org.mule.runtime.core.privileged.processor.chain.MessageProcessorChain;
 
+import java.util.Optional;
 import java.util.function.Consumer;
 
 import javax.inject.Inject;
@@ -66,11 +67,15 @@ public abstract class AbstractForkJoinRouter extends AbstractMuleObjectOwner<Mes
   @Inject
   private FeatureFlaggingService featureFlaggingService;
 
+  @Inject
+  private Optional<HashedWheelTimeoutScheduler> sharedTimeoutScheduler;
+
   private ForkJoinStrategyFactory forkJoinStrategyFactory;
   private ForkJoinStrategy forkJoinStrategy;
   private long timeout = Long.MAX_VALUE;
   private Integer maxConcurrency;
-  private Scheduler timeoutScheduler;
+  private HashedWheelTimeoutScheduler timeoutScheduler;
+  private boolean ownedTimeoutScheduler;
   private ErrorType timeoutErrorType;
   private String target;
   private String targetValue = "#[payload]";
@@ -119,8 +124,14 @@ public abstract class AbstractForkJoinRouter extends AbstractMuleObjectOwner<Mes
     if (targetValue != null) {
       targetValueExpression = compile(targetValue, expressionManager);
     }
-    timeoutScheduler = schedulerService.cpuLightScheduler(SchedulerConfig.config()
-        .withName(this.getClass().getName() + ".timeoutScheduler - " + getLocation().getLocation()));
+    if (sharedTimeoutScheduler != null && sharedTimeoutScheduler.isPresent()) {
+      timeoutScheduler = sharedTimeoutScheduler.get();
+    } else {
+      timeoutScheduler = new HashedWheelTimeoutScheduler(schedulerService, this.getClass().getName() + ".timeoutScheduler - "
+          + getLocation().getLocation());
+      ownedTimeoutScheduler = true;
+      initialiseIfNeeded(timeoutScheduler);
+    }
     timeoutErrorType = errorTypeRepository.getErrorType(TIMEOUT).get();
     maxConcurrency = maxConcurrency != null ? maxConcurrency : getDefaultMaxConcurrency();
     forkJoinStrategyFactory = forkJoinStrategyFactory != null ? forkJoinStrategyFactory : getDefaultForkJoinStrategyFactory();
@@ -140,8 +151,8 @@ public abstract class AbstractForkJoinRouter extends AbstractMuleObjectOwner<Mes
 
   @Override
   public void dispose() {
-    if (timeoutScheduler != null) {
-      timeoutScheduler.stop();
+    if (ownedTimeoutScheduler) {
+      timeoutScheduler.dispose();
     }
     super.dispose();
   }
@@ -8,10 +8,11 @@ package org.mule.runtime.core.internal.routing;
 
 import org.mule.runtime.api.message.ErrorType;
 import org.mule.runtime.api.metadata.DataType;
-import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
 import org.mule.runtime.core.internal.routing.result.CompositeRoutingException;
 
+import reactor.core.scheduler.Scheduler;
+
 
 public interface ForkJoinStrategyFactory {
 
@@ -22,6 +23,8 @@ public interface ForkJoinStrategyFactory {
    * @param maxConcurrency       maximum number of routes/parts to be processed in parallel.
    * @param delayErrors          if all routers/parts should be processed regardless of errors and a
    *                             {@link CompositeRoutingException} thrown or not.
+   * @param timeout              the timeout in milliseconds for each route/part, or {@link Long#MAX_VALUE} for no timeout.
+   * @param timeoutScheduler     the scheduler to use for scheduling the timeouts of each route/part.
    * @param timeoutErrorType     the timeout error type.
    * @param isDetailedLogEnabled if detailed error/exception message will be provided or not.
    * @return new instance of {@link ForkJoinStrategy}
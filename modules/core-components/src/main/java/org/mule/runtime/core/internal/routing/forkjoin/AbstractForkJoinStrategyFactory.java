@@ -29,7 +29,6 @@ import org.mule.runtime.api.message.Message;
 import org.mule.runtime.api.metadata.CollectionDataType;
 import org.mule.runtime.api.metadata.DataType;
 import org.mule.runtime.api.metadata.TypedValue;
-import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.api.util.Pair;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.processor.ReactiveProcessor;
@@ -59,8 +58,9 @@ import java.util.stream.Collectors;
 
 import org.reactivestreams.Publisher;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
+import reactor.core.scheduler.Scheduler;
 
 /**
  * Abstract {@link ForkJoinStrategy} that provides the base behavior for strategies that will perform parallel invocation of
@@ -90,30 +90,22 @@ public abstract class AbstractForkJoinStrategyFactory implements ForkJoinStrateg
   public ForkJoinStrategy createForkJoinStrategy(ProcessingStrategy processingStrategy, int maxConcurrency, boolean delayErrors,
                                                  long timeout, Scheduler timeoutScheduler, ErrorType timeoutErrorType,
                                                  boolean isDetailedLogEnabled) {
-    Duration timeoutDuration;
-    if (timeout == Long.MAX_VALUE) {
-      timeoutDuration = Duration.ofNanos(MAX_VALUE);
-    } else {
-      timeoutDuration = Duration.ofMillis(timeout);
-    }
+    Duration timeoutDuration = toTimeoutDuration(timeout);
 
-    reactor.core.scheduler.Scheduler reactorTimeoutScheduler = Schedulers.fromExecutorService(timeoutScheduler);
     return (original, routingPairs) -> {
       final AtomicInteger count = new AtomicInteger();
       final CoreEvent.Builder resultBuilder = builder(original);
       return from(routingPairs)
           .map(addSequence(count))
           .flatMapSequential(processRoutePair(processingStrategy, maxConcurrency, delayErrors, timeoutDuration,
-                                              reactorTimeoutScheduler,
+                                              timeoutScheduler,
                                               timeoutErrorType),
                              maxConcurrency)
           .reduce(new Pair<List<Pair<CoreEvent, EventProcessingException>>, Boolean>(new ArrayList<>(), false),
                   (listBooleanPair, coreEventExceptionPair) -> {
                     // Accumulates events and check if there is a (new) error within those events
                     listBooleanPair.getFirst().add(coreEventExceptionPair);
-                    boolean hasNewError =
-                        coreEventExceptionPair.getFirst().getError().map(err -> !isOriginalError(err, original.getError()))
-                            .orElse(false);
+                    boolean hasNewError = hasNewError(coreEventExceptionPair, original.getError());
                     return new Pair<>(listBooleanPair.getFirst(), listBooleanPair.getSecond() || hasNewError);
                   })
           .doOnNext(listBooleanPair -> {
@@ -130,11 +122,32 @@ public abstract class AbstractForkJoinStrategyFactory implements ForkJoinStrateg
     };
   }
 
+  /**
+   * @param timeout the timeout in milliseconds for each route, or {@link Long#MAX_VALUE} for no timeout.
+   * @return the timeout to apply to each route, or {@code null} if no timeout is configured.
+   */
+  protected static Duration toTimeoutDuration(long timeout) {
+    // No timeout is scheduled at all for each route when there is no timeout configured
+    return timeout == MAX_VALUE ? null : Duration.ofMillis(timeout);
+  }
+
+  /**
+   * @param result        the result of a route.
+   * @param originalError the error of the event the routes were forked from, if any.
+   * @return whether the route resulted in an error that was not already present in the original event.
+   */
+  protected boolean hasNewError(Pair<CoreEvent, EventProcessingException> result, Optional<Error> originalError) {
+    return result.getFirst().getError().map(err -> !isOriginalError(err, originalError)).orElse(false);
+  }
+
   private boolean isOriginalError(Error newError, Optional<Error> originalError) {
     return originalError.map(error -> error.equals(newError)).orElse(false);
   }
 
-  private Pair<CoreEvent, EventProcessingException> removeOriginalError(Pair<CoreEvent, EventProcessingException> coreEventExceptionPair,
+  /**
+   * Removes the error of the result of a route if it is the same as the one of the event the routes were forked from.
+   */
+  protected Pair<CoreEvent, EventProcessingException> removeOriginalError(Pair<CoreEvent, EventProcessingException> coreEventExceptionPair,
                                                                         Optional<Error> originalError) {
     CoreEvent coreEvent = coreEventExceptionPair.getFirst();
     EventProcessingException eventProcessingException = coreEventExceptionPair.getSecond();
@@ -156,36 +169,50 @@ public abstract class AbstractForkJoinStrategyFactory implements ForkJoinStrateg
   protected abstract Function<List<CoreEvent>, CoreEvent> createResultEvent(CoreEvent original,
                                                                             CoreEvent.Builder resultBuilder);
 
-  private Function<RoutingPair, RoutingPair> addSequence(AtomicInteger count) {
+  /**
+   * @param count the counter of the routes, to take the sequence of each route from.
+   * @return a function that sets the sequence information of the event of each {@link RoutingPair}.
+   */
+  protected Function<RoutingPair, RoutingPair> addSequence(AtomicInteger count) {
     return pair -> of(builder(pair.getEvent()).itemSequenceInfo(ofNullable(ItemSequenceInfo.of(count.getAndIncrement())))
         .build(), pair.getRoute());
   }
 
-  private Function<RoutingPair, Publisher<Pair<CoreEvent, EventProcessingException>>> processRoutePair(ProcessingStrategy processingStrategy,
-                                                                                                       int maxConcurrency,
-                                                                                                       boolean delayErrors,
-                                                                                                       Duration timeout,
-                                                                                                       reactor.core.scheduler.Scheduler timeoutScheduler,
-                                                                                                       ErrorType timeoutErrorType) {
+  /**
+   * Creates the function that processes each {@link RoutingPair}, emitting the resulting event of the route along with the
+   * exception that caused it to fail, if any.
+   *
+   * @param processingStrategy processing strategy to use
+   * @param maxConcurrency     maximum number of routes/parts to be processed in parallel.
+   * @param delayErrors        whether a failed route emits its error event or fails the returned publisher.
+   * @param timeout            the timeout for each route, or {@code null} for no timeout.
+   * @param timeoutScheduler   the scheduler to use for scheduling the timeouts of each route/part.
+   * @param timeoutErrorType   the timeout error type.
+   * @return the function that processes each route.
+   */
+  protected Function<RoutingPair, Publisher<Pair<CoreEvent, EventProcessingException>>> processRoutePair(ProcessingStrategy processingStrategy,
+                                                                                                         int maxConcurrency,
+                                                                                                         boolean delayErrors,
+                                                                                                         Duration timeout,
+                                                                                                         Scheduler timeoutScheduler,
+                                                                                                         ErrorType timeoutErrorType) {
 
     return pair -> {
       ReactiveProcessor route = publisher -> from(publisher)
           .transform(pair.getRoute());
-      return from(processWithChildContextDontComplete(pair.getEvent(),
-                                                      applyProcessingStrategy(processingStrategy, route, maxConcurrency),
-                                                      empty()))
-                                                          .timeout(timeout,
-                                                                   onTimeout(processingStrategy, delayErrors, timeoutErrorType,
-                                                                             pair),
-                                                                   timeoutScheduler)
-                                                          .map(coreEvent -> new Pair<CoreEvent, EventProcessingException>(
-                                                                                                                          ((DefaultEventBuilder) CoreEvent
-                                                                                                                              .builder(coreEvent))
-                                                                                                                                  .removeInternalParameter(ERROR_HANDLER_CONTEXT)
-                                                                                                                                  .build(),
-                                                                                                                          null))
-                                                          .onErrorResume(MessagingException.class,
-                                                                         me -> getPublisher(delayErrors, me));
+      Flux<CoreEvent> routeResult = from(processWithChildContextDontComplete(pair.getEvent(),
+                                                                             applyProcessingStrategy(processingStrategy, route,
+                                                                                                     maxConcurrency),
+                                                                             empty()));
+      if (timeout != null) {
+        routeResult = routeResult.timeout(timeout, onTimeout(processingStrategy, delayErrors, timeoutErrorType, pair),
+                                          timeoutScheduler);
+      }
+      return routeResult
+          .map(coreEvent -> new Pair<CoreEvent, EventProcessingException>(((DefaultEventBuilder) CoreEvent.builder(coreEvent))
+              .removeInternalParameter(ERROR_HANDLER_CONTEXT)
+              .build(), null))
+          .onErrorResume(MessagingException.class, me -> getPublisher(delayErrors, me));
     };
   }
 
@@ -228,7 +255,10 @@ public abstract class AbstractForkJoinStrategyFactory implements ForkJoinStrateg
         + pair.getEvent().getGroupCorrelation().get().getSequence() + "'";
   }
 
-  private CompositeRoutingException createCompositeRoutingException(List<Pair<CoreEvent, EventProcessingException>> results,
+  /**
+   * Creates the exception to throw when one or more routes fail, with the results and errors of each route.
+   */
+  protected CompositeRoutingException createCompositeRoutingException(List<Pair<CoreEvent, EventProcessingException>> results,
                                                                     boolean isDetailedLogEnabled) {
     Map<String, Message> successMap = new LinkedHashMap<>();
     Map<String, Pair<Error, EventProcessingException>> errorMap = new LinkedHashMap<>();
@@ -253,7 +283,11 @@ public abstract class AbstractForkJoinStrategyFactory implements ForkJoinStrateg
 
   }
 
-  private Consumer<List<CoreEvent>> mergeVariables(CoreEvent original, CoreEvent.Builder result) {
+  /**
+   * Merges the variables added or mutated in the given route results into the {@code result} builder, unless this factory was
+   * created to not merge variables.
+   */
+  protected Consumer<List<CoreEvent>> mergeVariables(CoreEvent original, CoreEvent.Builder result) {
     return list -> {
       if (!mergeVariables) {
         return;
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing.forkjoin;
+
+import static org.mule.runtime.api.metadata.DataType.OBJECT;
+
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * {@link ForkJoinStrategy} that:
+ * <ul>
+ * <li>Performs parallel execution of route pairs subject to {@code maxConcurrency}.
+ * <li>Emits the message of the first route that completes successfully as the result, cancelling the routes still in progress.
+ * <li>Merges the variables of that route.
+ * <li>Tolerates failed routes regardless of {@code delayErrors}, propagating a composite exception only if all of them fail.
+ * </ul>
+ *
+ * @since 4.9.0
+ */
+public class FirstSuccessfulForkJoinStrategyFactory extends QuorumForkJoinStrategyFactory {
+
+  public FirstSuccessfulForkJoinStrategyFactory() {
+    super(1);
+  }
+
+  @Override
+  protected Function<List<CoreEvent>, CoreEvent> createResultEvent(CoreEvent original, CoreEvent.Builder resultBuilder) {
+    return list -> resultBuilder.message(list.get(0).getMessage()).build();
+  }
+
+  @Override
+  public DataType getResultDataType() {
+    return OBJECT;
+  }
+}
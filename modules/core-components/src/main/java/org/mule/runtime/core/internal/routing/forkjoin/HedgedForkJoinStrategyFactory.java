@@ -0,0 +1,178 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing.forkjoin;
+
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+
+import static java.lang.Math.ceil;
+import static java.lang.Math.max;
+import static java.lang.System.nanoTime;
+import static java.time.Duration.ofMillis;
+import static java.time.Duration.ofNanos;
+import static java.util.Arrays.copyOf;
+import static java.util.Arrays.sort;
+
+import static reactor.core.publisher.Flux.defer;
+import static reactor.core.publisher.Flux.from;
+import static reactor.core.publisher.Mono.delay;
+
+import org.mule.runtime.api.message.ErrorType;
+import org.mule.runtime.api.message.ItemSequenceInfo;
+import org.mule.runtime.api.util.Pair;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair;
+import org.mule.runtime.core.privileged.exception.EventProcessingException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import org.reactivestreams.Publisher;
+
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * {@link ForkJoinStrategy} for routes that are equivalent to each other, such as the same request sent to different replicas of
+ * a backend, that:
+ * <ul>
+ * <li>Starts the first route right away, and each of the following ones after a hedge delay elapses without any route
+ * completing successfully.
+ * <li>Emits the message of the first route that completes successfully as the result, cancelling the routes still in progress
+ * and the ones not yet started.
+ * <li>Tolerates failed routes regardless of {@code delayErrors}, propagating a composite exception only if all of them fail.
+ * </ul>
+ * The hedge delay is the configured percentile of the latency of the recent routes, either successful or cancelled, so that only
+ * the slowest requests are duplicated. The percentile is recomputed every few observed latencies rather than for each route.
+ * Until enough latencies have been observed, the configured initial hedge delay is used.
+ * <p>
+ * Since the routes that are not yet started still count for {@code maxConcurrency}, it has to be greater than 1 for any route to
+ * be started before the previous one completes.
+ *
+ * @since 4.9.0
+ */
+public class HedgedForkJoinStrategyFactory extends FirstSuccessfulForkJoinStrategyFactory {
+
+  private static final int LATENCY_SAMPLES = 256;
+  private static final int MIN_LATENCY_SAMPLES = 16;
+  private static final int PERCENTILE_RECOMPUTE_SAMPLES = 16;
+
+  private final Duration initialHedgeDelay;
+  private final LatencyTracker latencyTracker;
+
+  /**
+   * @param initialHedgeDelayMillis the delay to start each route, in milliseconds, until enough latencies have been observed.
+   * @param percentile              the percentile of the observed latencies, between 0 and 100, to use as the delay to start
+   *                                each route.
+   */
+  public HedgedForkJoinStrategyFactory(long initialHedgeDelayMillis, double percentile) {
+    checkArgument(initialHedgeDelayMillis >= 0, "initialHedgeDelayMillis must not be negative");
+    checkArgument(percentile > 0 && percentile <= 100, "percentile must be greater than 0 and up to 100");
+    this.initialHedgeDelay = ofMillis(initialHedgeDelayMillis);
+    this.latencyTracker = new LatencyTracker(LATENCY_SAMPLES, percentile, MIN_LATENCY_SAMPLES, PERCENTILE_RECOMPUTE_SAMPLES);
+  }
+
+  @Override
+  protected Function<RoutingPair, Publisher<Pair<CoreEvent, EventProcessingException>>> createRouteProcessor(ProcessingStrategy processingStrategy,
+                                                                                                             int maxConcurrency,
+                                                                                                             Duration timeout,
+                                                                                                             Scheduler timeoutScheduler,
+                                                                                                             ErrorType timeoutErrorType) {
+    Function<RoutingPair, Publisher<Pair<CoreEvent, EventProcessingException>>> processRoute =
+        super.createRouteProcessor(processingStrategy, maxConcurrency, timeout, timeoutScheduler, timeoutErrorType);
+
+    return pair -> {
+      int position = pair.getEvent().getItemSequenceInfo().map(ItemSequenceInfo::getPosition).orElse(0);
+      Publisher<Pair<CoreEvent, EventProcessingException>> route = defer(() -> {
+        long start = nanoTime();
+        AtomicBoolean recorded = new AtomicBoolean();
+        Runnable recordLatency = () -> {
+          if (recorded.compareAndSet(false, true)) {
+            latencyTracker.record(nanoTime() - start);
+          }
+        };
+        return from(processRoute.apply(pair))
+            .doOnNext(result -> {
+              if (!result.getFirst().getError().isPresent()) {
+                recordLatency.run();
+              }
+            })
+            // the routes that lose the race are the slow ones, leaving them out would make the hedge delay too short
+            .doOnCancel(recordLatency);
+      });
+
+      if (position == 0) {
+        return route;
+      }
+      // cancelled along with the delay if a previous route completes successfully before it is started
+      return delay(getHedgeDelay().multipliedBy(position), timeoutScheduler)
+          .map(tick -> pair.getEvent())
+          // hands the route off the timeout scheduler so it does not run on its thread
+          .transform(processingStrategy.onPipeline(p -> p))
+          .flatMapMany(event -> route);
+    };
+  }
+
+  /**
+   * @return the delay to start each route after the previous one.
+   */
+  Duration getHedgeDelay() {
+    long latency = latencyTracker.getPercentile();
+    return latency < 0 ? initialHedgeDelay : ofNanos(latency);
+  }
+
+  /**
+   * Keeps the latest latencies observed in a ring buffer, along with their percentile as of the last time it was computed.
+   */
+  private static final class LatencyTracker {
+
+    private final long[] samples;
+    private final double percentile;
+    private final int minSamples;
+    private final int recomputeSamples;
+    private int next;
+    private int count;
+    private int recordedSinceComputed;
+    private volatile long cachedPercentile = -1;
+
+    private LatencyTracker(int size, double percentile, int minSamples, int recomputeSamples) {
+      this.samples = new long[size];
+      this.percentile = percentile;
+      this.minSamples = minSamples;
+      this.recomputeSamples = recomputeSamples;
+    }
+
+    private void record(long latencyNanos) {
+      long[] sorted = null;
+      synchronized (this) {
+        samples[next] = latencyNanos;
+        next = (next + 1) % samples.length;
+        if (count < samples.length) {
+          count++;
+        }
+        if (++recordedSinceComputed >= recomputeSamples && count >= minSamples) {
+          recordedSinceComputed = 0;
+          sorted = copyOf(samples, count);
+        }
+      }
+      // sorted out of the lock, so that the routes recording their latency meanwhile are not held
+      if (sorted != null) {
+        sort(sorted);
+        cachedPercentile = sorted[max(0, (int) ceil(percentile / 100 * sorted.length) - 1)];
+      }
+    }
+
+    /**
+     * @return the percentile of the recorded latencies as of the last time it was computed, or {@code -1} if less than
+     *         {@code minSamples} were recorded.
+     */
+    private long getPercentile() {
+      return cachedPercentile;
+    }
+  }
+}
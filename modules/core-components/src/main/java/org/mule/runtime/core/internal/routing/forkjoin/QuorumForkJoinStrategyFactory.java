@@ -0,0 +1,145 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing.forkjoin;
+
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import static org.mule.runtime.core.api.event.CoreEvent.builder;
+
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toList;
+
+import static reactor.core.publisher.Flux.from;
+import static reactor.core.publisher.Mono.just;
+
+import org.mule.runtime.api.message.ErrorType;
+import org.mule.runtime.api.util.Pair;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair;
+import org.mule.runtime.core.privileged.exception.EventProcessingException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.reactivestreams.Publisher;
+
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * {@link ForkJoinStrategy} that:
+ * <ul>
+ * <li>Performs parallel execution of route pairs subject to {@code maxConcurrency}.
+ * <li>Emits a result event as soon as {@code quorum} routes complete successfully, cancelling the routes still in progress.
+ * <li>Merges variables of the successful routes using a last-wins strategy.
+ * <li>Collects results into a result {@link CoreEvent} with a {@link java.util.Map} collection that contains {@link String} as
+ * key and {@link org.mule.runtime.api.message.Message} as value in the payload where the {@link java.util.Map} key is a string
+ * representation of the sequence number of the successful routes.
+ * <li>Tolerates failed routes regardless of {@code delayErrors}, propagating a composite exception only when the quorum can no
+ * longer be reached.
+ * </ul>
+ *
+ * @since 4.9.0
+ */
+public class QuorumForkJoinStrategyFactory extends CollectMapForkJoinStrategyFactory {
+
+  // emitted after the results of the routes in progress once all the routes are received, since only then the number of routes
+  // needed to know when the quorum can no longer be reached is known
+  private static final Pair<CoreEvent, EventProcessingException> ALL_ROUTES_RECEIVED = new Pair<>(null, null);
+
+  private final int quorum;
+
+  /**
+   * @param quorum the number of routes that have to complete successfully for the result event to be emitted.
+   */
+  public QuorumForkJoinStrategyFactory(int quorum) {
+    checkArgument(quorum > 0, "quorum must be greater than zero");
+    this.quorum = quorum;
+  }
+
+  @Override
+  public ForkJoinStrategy createForkJoinStrategy(ProcessingStrategy processingStrategy, int maxConcurrency, boolean delayErrors,
+                                                 long timeout, Scheduler timeoutScheduler, ErrorType timeoutErrorType,
+                                                 boolean isDetailedLogEnabled) {
+    Function<RoutingPair, Publisher<Pair<CoreEvent, EventProcessingException>>> routeProcessor =
+        createRouteProcessor(processingStrategy, maxConcurrency, toTimeoutDuration(timeout), timeoutScheduler,
+                             timeoutErrorType);
+
+    return (original, routingPairs) -> {
+      final AtomicInteger count = new AtomicInteger();
+      final AtomicBoolean allRoutesReceived = new AtomicBoolean();
+      final CoreEvent.Builder resultBuilder = builder(original);
+      // only accessed from the serialized signals of the flatMap
+      final List<Pair<CoreEvent, EventProcessingException>> successes = new ArrayList<>();
+      final List<Pair<CoreEvent, EventProcessingException>> failures = new ArrayList<>();
+      // the routes are started as they are received, without waiting for all of them
+      return from(routingPairs)
+          .map(addSequence(count))
+          .map(routeProcessor)
+          .concatWithValues(just(ALL_ROUTES_RECEIVED))
+          .flatMap(identity(), maxConcurrency)
+          // emitting or failing cancels the routes still in progress
+          .<List<CoreEvent>>handle((result, sink) -> {
+            if (result == ALL_ROUTES_RECEIVED) {
+              allRoutesReceived.set(true);
+            } else if (hasNewError(result, original.getError())) {
+              failures.add(removeOriginalError(result, original.getError()));
+            } else {
+              successes.add(result);
+              if (successes.size() == quorum) {
+                sink.next(successes.stream().map(Pair::getFirst).collect(toList()));
+              }
+              return;
+            }
+            // also covers having fewer routes than the quorum
+            if (allRoutesReceived.get() && failures.size() > count.get() - quorum) {
+              sink.error(createCompositeRoutingException(allResults(successes, failures), isDetailedLogEnabled));
+            }
+          })
+          .next()
+          .doOnNext(mergeVariables(original, resultBuilder))
+          .map(createResultEvent(original, resultBuilder));
+    };
+  }
+
+  private static List<Pair<CoreEvent, EventProcessingException>> allResults(List<Pair<CoreEvent, EventProcessingException>> successes,
+                                                                           List<Pair<CoreEvent, EventProcessingException>> failures) {
+    List<Pair<CoreEvent, EventProcessingException>> results = new ArrayList<>(successes);
+    results.addAll(failures);
+    return results;
+  }
+
+  /**
+   * Creates the function that processes each {@link RoutingPair}. Failed routes are always emitted as results, so that the
+   * remaining routes may still reach the quorum.
+   *
+   * @param processingStrategy processing strategy to use
+   * @param maxConcurrency     maximum number of routes/parts to be processed in parallel.
+   * @param timeout            the timeout for each route, or {@code null} for no timeout.
+   * @param timeoutScheduler   the scheduler to use for scheduling the timeouts of each route/part.
+   * @param timeoutErrorType   the timeout error type.
+   * @return the function that processes each route.
+   */
+  protected Function<RoutingPair, Publisher<Pair<CoreEvent, EventProcessingException>>> createRouteProcessor(ProcessingStrategy processingStrategy,
+                                                                                                             int maxConcurrency,
+                                                                                                             Duration timeout,
+                                                                                                             Scheduler timeoutScheduler,
+                                                                                                             ErrorType timeoutErrorType) {
+    return processRoutePair(processingStrategy, maxConcurrency, true, timeout, timeoutScheduler, timeoutErrorType);
+  }
+
+  /**
+   * @return the number of routes that have to complete successfully for the result event to be emitted.
+   */
+  public int getQuorum() {
+    return quorum;
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing.forkjoin;
+
+import static org.mule.runtime.core.api.error.Errors.ComponentIdentifiers.Handleable.TIMEOUT;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
+import static org.mule.runtime.core.api.rx.Exceptions.rxExceptionToMuleException;
+import static org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair.of;
+import static org.mule.runtime.core.privileged.processor.MessageProcessors.newChain;
+import static org.mule.test.allure.AllureConstants.ForkJoinStrategiesFeature.FORK_JOIN_STRATEGIES;
+
+import static java.lang.Long.MAX_VALUE;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.slf4j.LoggerFactory.getLogger;
+import static reactor.core.publisher.Flux.fromIterable;
+import static reactor.core.publisher.Mono.from;
+import static reactor.core.scheduler.Schedulers.fromExecutorService;
+
+import org.mule.runtime.api.component.AbstractComponent;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.message.ErrorType;
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.Processor;
+import org.mule.runtime.core.api.processor.ReactiveProcessor;
+import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategyFactory;
+import org.mule.runtime.core.internal.routing.forkjoin.AbstractForkJoinStrategyTestCase.SleepingProcessor;
+import org.mule.runtime.core.privileged.processor.chain.MessageProcessorChain;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+
+import io.qameta.allure.Feature;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Base class for the tests of the {@link ForkJoinStrategy strategies} that may emit their result before all the routes complete.
+ */
+@Feature(FORK_JOIN_STRATEGIES)
+public abstract class AbstractEarlyTerminationForkJoinStrategyTestCase extends AbstractMuleContextTestCase {
+
+  protected ProcessingStrategy processingStrategy;
+  protected Scheduler scheduler;
+  protected ErrorType timeoutErrorType;
+  private final List<MessageProcessorChain> chains = new ArrayList<>();
+
+  @Before
+  public void setup() {
+    scheduler = muleContext.getSchedulerService().ioScheduler();
+    timeoutErrorType = muleContext.getErrorTypeRepository().getErrorType(TIMEOUT).get();
+    processingStrategy = mock(ProcessingStrategy.class);
+    when(processingStrategy.onPipeline(any(ReactiveProcessor.class)))
+        .thenAnswer(invocation -> {
+          ReactiveProcessor processor = invocation.getArgument(0);
+          return (ReactiveProcessor) publisher -> Flux.from(publisher)
+              .publishOn(fromExecutorService(scheduler)).transform(processor);
+        });
+  }
+
+  @After
+  public void tearDown() {
+    scheduler.stop();
+    disposeIfNeeded(chains, getLogger(getClass()));
+    chains.clear();
+  }
+
+  protected ForkJoinStrategy createStrategy(ForkJoinStrategyFactory factory, int maxConcurrency) {
+    return factory.createForkJoinStrategy(processingStrategy, maxConcurrency, false, MAX_VALUE, fromExecutorService(scheduler),
+                                          timeoutErrorType, false);
+  }
+
+  protected CoreEvent invokeStrategyBlocking(ForkJoinStrategy strategy, List<RoutingPair> routingPairs) throws Throwable {
+    try {
+      return from(strategy.forkJoin(testEvent(), fromIterable(routingPairs))).block();
+    } catch (Throwable throwable) {
+      throw rxExceptionToMuleException(throwable);
+    }
+  }
+
+  protected RoutingPair createRoutingPair(Message result, long sleep) throws MuleException {
+    return createRoutingPair(new SleepingProcessor(result, sleep));
+  }
+
+  protected RoutingPair createFailingRoutingPair() throws MuleException {
+    return createRoutingPair(new FailingProcessor());
+  }
+
+  protected RoutingPair createRoutingPair(Processor processor) throws MuleException {
+    MessageProcessorChain chain = newChain(Optional.empty(), processor);
+    chains.add(chain);
+    initialiseIfNeeded(chain, muleContext);
+    return of(testEvent(), chain);
+  }
+
+  static class FailingProcessor extends AbstractComponent implements Processor {
+
+    @Override
+    public CoreEvent process(CoreEvent event) throws MuleException {
+      throw new IllegalStateException("Expected");
+    }
+  }
+
+  static class CountingProcessor extends AbstractComponent implements Processor {
+
+    final AtomicInteger invocations = new AtomicInteger();
+    final Message result;
+
+    CountingProcessor(Message result) {
+      this.result = result;
+    }
+
+    @Override
+    public CoreEvent process(CoreEvent event) throws MuleException {
+      invocations.incrementAndGet();
+      return CoreEvent.builder(event).message(result).build();
+    }
+  }
+}
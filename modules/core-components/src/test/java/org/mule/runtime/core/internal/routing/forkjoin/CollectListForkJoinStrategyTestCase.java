@@ -18,6 +18,8 @@ import static org.mule.runtime.api.util.MuleSystemProperties.MULE_PRINT_DETAILED
 import static org.mule.runtime.core.api.event.CoreEvent.builder;
 import static org.mule.test.allure.AllureConstants.ForkJoinStrategiesFeature.ForkJoinStrategiesStory.COLLECT_LIST;
 
+import static reactor.core.scheduler.Schedulers.fromExecutorService;
+
 import org.mule.runtime.api.message.Message;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
@@ -59,7 +61,7 @@ public class CollectListForkJoinStrategyTestCase extends AbstractForkJoinStrateg
                                             long timeout) {
     boolean isDetailedLogEnabled = Boolean.parseBoolean(detailedCompositeRoutingExceptionLog.getValue());
     return new CollectListForkJoinStrategyFactory().createForkJoinStrategy(processingStrategy, concurrency, delayErrors, timeout,
-                                                                           scheduler,
+                                                                           fromExecutorService(scheduler),
                                                                            timeoutErrorType, isDetailedLogEnabled);
   }
 
@@ -88,7 +90,8 @@ public class CollectListForkJoinStrategyTestCase extends AbstractForkJoinStrateg
   @Description("Checks that variables are not merged if set as it")
   public void flowVarsNotMerged() throws Throwable {
     boolean isDetailedLogEnabled = Boolean.parseBoolean(detailedCompositeRoutingExceptionLog.getValue());
-    strategy = new CollectListForkJoinStrategyFactory(false).createForkJoinStrategy(processingStrategy, 1, true, 50, scheduler,
+    strategy = new CollectListForkJoinStrategyFactory(false).createForkJoinStrategy(processingStrategy, 1, true, 50,
+                                                                                    fromExecutorService(scheduler),
                                                                                     timeoutErrorType, isDetailedLogEnabled);
     final String beforeVarName = "before";
     final String beforeVarValue = "beforeValue";
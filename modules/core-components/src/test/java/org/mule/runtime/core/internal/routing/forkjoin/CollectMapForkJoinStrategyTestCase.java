@@ -15,6 +15,8 @@ import static org.mule.runtime.api.message.Message.of;
 import static org.mule.runtime.api.util.MuleSystemProperties.MULE_PRINT_DETAILED_COMPOSITE_EXCEPTION_LOG_PROPERTY;
 import static org.mule.test.allure.AllureConstants.ForkJoinStrategiesFeature.ForkJoinStrategiesStory.COLLECT_MAP;
 
+import static reactor.core.scheduler.Schedulers.fromExecutorService;
+
 import org.mule.runtime.api.message.Message;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
@@ -57,7 +59,7 @@ public class CollectMapForkJoinStrategyTestCase extends AbstractForkJoinStrategy
                                             long timeout) {
     boolean isDetailedLogEnabled = Boolean.parseBoolean(detailedCompositeRoutingExceptionLog.getValue());
     return new CollectMapForkJoinStrategyFactory().createForkJoinStrategy(processingStrategy, concurrency, delayErrors, timeout,
-                                                                          scheduler,
+                                                                          fromExecutorService(scheduler),
                                                                           timeoutErrorType, isDetailedLogEnabled);
   }
 
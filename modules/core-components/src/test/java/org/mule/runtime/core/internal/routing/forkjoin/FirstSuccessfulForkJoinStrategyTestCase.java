@@ -0,0 +1,60 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing.forkjoin;
+
+import static org.mule.runtime.api.message.Message.of;
+import static org.mule.test.allure.AllureConstants.ForkJoinStrategiesFeature.ForkJoinStrategiesStory.FIRST_SUCCESSFUL;
+
+import static java.lang.System.currentTimeMillis;
+import static java.util.Arrays.asList;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.fail;
+
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy;
+import org.mule.runtime.core.internal.routing.result.CompositeRoutingException;
+
+import org.junit.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Story;
+
+@Story(FIRST_SUCCESSFUL)
+public class FirstSuccessfulForkJoinStrategyTestCase extends AbstractEarlyTerminationForkJoinStrategyTestCase {
+
+  @Test
+  @Description("The message of the first route to complete successfully is the result, without waiting for the remaining routes.")
+  public void firstSuccessfulWins() throws Throwable {
+    Message fastResult = of(2);
+    ForkJoinStrategy strategy = createStrategy(new FirstSuccessfulForkJoinStrategyFactory(), 3);
+
+    long start = currentTimeMillis();
+    CoreEvent result = invokeStrategyBlocking(strategy, asList(createRoutingPair(of(1), 5000),
+                                                               createFailingRoutingPair(),
+                                                               createRoutingPair(fastResult, 50)));
+
+    assertThat(currentTimeMillis() - start, lessThan(5000L));
+    assertThat(result.getMessage(), is(fastResult));
+  }
+
+  @Test
+  @Description("When all the routes fail, a CompositeRoutingException is thrown.")
+  public void allRoutesFail() throws Throwable {
+    ForkJoinStrategy strategy = createStrategy(new FirstSuccessfulForkJoinStrategyFactory(), 2);
+
+    try {
+      invokeStrategyBlocking(strategy, asList(createFailingRoutingPair(), createFailingRoutingPair()));
+      fail("Was expecting all routes to fail");
+    } catch (CompositeRoutingException e) {
+      assertThat(e.getErrors().size(), is(2));
+    }
+  }
+}
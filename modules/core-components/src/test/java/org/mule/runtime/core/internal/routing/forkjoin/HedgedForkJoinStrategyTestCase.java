@@ -0,0 +1,89 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing.forkjoin;
+
+import static org.mule.runtime.api.message.Message.of;
+import static org.mule.test.allure.AllureConstants.ForkJoinStrategiesFeature.ForkJoinStrategiesStory.HEDGED;
+
+import static java.lang.System.currentTimeMillis;
+import static java.lang.Thread.sleep;
+import static java.time.Duration.ofMillis;
+import static java.util.Arrays.asList;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThan;
+
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy;
+
+import org.junit.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Story;
+
+@Story(HEDGED)
+public class HedgedForkJoinStrategyTestCase extends AbstractEarlyTerminationForkJoinStrategyTestCase {
+
+  @Test
+  @Description("A slow route is hedged by starting the next one after the hedge delay.")
+  public void slowRouteIsHedged() throws Throwable {
+    Message hedgeResult = of(2);
+    ForkJoinStrategy strategy = createStrategy(new HedgedForkJoinStrategyFactory(100, 95), 2);
+
+    long start = currentTimeMillis();
+    CoreEvent result = invokeStrategyBlocking(strategy, asList(createRoutingPair(of(1), 5000),
+                                                               createRoutingPair(hedgeResult, 0)));
+
+    assertThat(currentTimeMillis() - start, lessThan(5000L));
+    assertThat(result.getMessage(), is(hedgeResult));
+  }
+
+  @Test
+  @Description("The following routes are not started when the first one completes before the hedge delay.")
+  public void fastRouteIsNotHedged() throws Throwable {
+    Message firstResult = of(1);
+    CountingProcessor hedgeProcessor = new CountingProcessor(of(2));
+    ForkJoinStrategy strategy = createStrategy(new HedgedForkJoinStrategyFactory(200, 95), 2);
+
+    CoreEvent result = invokeStrategyBlocking(strategy, asList(createRoutingPair(firstResult, 0),
+                                                               createRoutingPair(hedgeProcessor)));
+    sleep(400);
+
+    assertThat(result.getMessage(), is(firstResult));
+    assertThat(hedgeProcessor.invocations.get(), is(0));
+  }
+
+  @Test
+  @Description("The hedge delay is taken from the observed latencies once there are enough of them.")
+  public void hedgeDelayFromObservedLatencies() throws Throwable {
+    HedgedForkJoinStrategyFactory factory = new HedgedForkJoinStrategyFactory(5000, 50);
+    ForkJoinStrategy strategy = createStrategy(factory, 2);
+    assertThat(factory.getHedgeDelay(), is(ofMillis(5000)));
+
+    for (int i = 0; i < 20; ++i) {
+      invokeStrategyBlocking(strategy, asList(createRoutingPair(of(i), 0)));
+    }
+
+    assertThat(factory.getHedgeDelay().toMillis(), lessThan(5000L));
+  }
+
+  @Test
+  @Description("The latency of the routes cancelled after losing the race is taken into account for the hedge delay.")
+  public void hedgeDelayFromCancelledRoutes() throws Throwable {
+    HedgedForkJoinStrategyFactory factory = new HedgedForkJoinStrategyFactory(50, 100);
+    ForkJoinStrategy strategy = createStrategy(factory, 2);
+
+    for (int i = 0; i < 10; ++i) {
+      invokeStrategyBlocking(strategy, asList(createRoutingPair(of(i), 5000), createRoutingPair(of(i), 0)));
+    }
+
+    assertThat(factory.getHedgeDelay().toMillis(), greaterThanOrEqualTo(50L));
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing.forkjoin;
+
+import static org.mule.runtime.api.message.Message.of;
+import static org.mule.test.allure.AllureConstants.ForkJoinStrategiesFeature.ForkJoinStrategiesStory.QUORUM;
+
+import static java.lang.System.currentTimeMillis;
+import static java.time.Duration.ofSeconds;
+import static java.util.Arrays.asList;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.fail;
+
+import static reactor.core.publisher.Flux.concat;
+import static reactor.core.publisher.Flux.from;
+import static reactor.core.publisher.Flux.just;
+import static reactor.core.publisher.Flux.never;
+
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy;
+import org.mule.runtime.core.internal.routing.result.CompositeRoutingException;
+import org.mule.runtime.core.privileged.routing.RoutingResult;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Story;
+
+@Story(QUORUM)
+public class QuorumForkJoinStrategyTestCase extends AbstractEarlyTerminationForkJoinStrategyTestCase {
+
+  @Test
+  @Description("The result is emitted once the quorum is reached, without waiting for the remaining routes.")
+  public void quorumReached() throws Throwable {
+    Message route1Result = of(1);
+    Message route3Result = of(3);
+    ForkJoinStrategy strategy = createStrategy(new QuorumForkJoinStrategyFactory(2), 3);
+
+    long start = currentTimeMillis();
+    CoreEvent result = invokeStrategyBlocking(strategy, asList(createRoutingPair(route1Result, 0),
+                                                               createRoutingPair(of(2), 5000),
+                                                               createRoutingPair(route3Result, 0)));
+
+    assertThat(currentTimeMillis() - start, lessThan(5000L));
+    Map<String, Message> resultMap = (Map<String, Message>) result.getMessage().getPayload().getValue();
+    assertThat(resultMap.entrySet(), hasSize(2));
+    assertThat(resultMap.get("0"), is(route1Result));
+    assertThat(resultMap.get("2"), is(route3Result));
+  }
+
+  @Test
+  @Description("Failed routes are tolerated as long as the quorum can be reached.")
+  public void quorumReachedWithFailures() throws Throwable {
+    ForkJoinStrategy strategy = createStrategy(new QuorumForkJoinStrategyFactory(2), 3);
+
+    CoreEvent result = invokeStrategyBlocking(strategy, asList(createFailingRoutingPair(),
+                                                               createRoutingPair(of(2), 0),
+                                                               createRoutingPair(of(3), 50)));
+
+    Map<String, Message> resultMap = (Map<String, Message>) result.getMessage().getPayload().getValue();
+    assertThat(resultMap.entrySet(), hasSize(2));
+  }
+
+  @Test
+  @Description("When the quorum is not reached, a CompositeRoutingException is thrown with the results and failures of all routes.")
+  public void quorumNotReached() throws Throwable {
+    ForkJoinStrategy strategy = createStrategy(new QuorumForkJoinStrategyFactory(2), 3);
+
+    try {
+      invokeStrategyBlocking(strategy, asList(createFailingRoutingPair(),
+                                              createRoutingPair(of(2), 0),
+                                              createFailingRoutingPair()));
+      fail("Was expecting the quorum not to be reached");
+    } catch (CompositeRoutingException e) {
+      RoutingResult routingResult = (RoutingResult) e.getErrorMessage().getPayload().getValue();
+      assertThat(routingResult.getFailures().size(), is(2));
+      assertThat(routingResult.getFailures().get("0").getCause(), instanceOf(IllegalStateException.class));
+    }
+  }
+
+  @Test
+  @Description("The strategy fails as soon as the quorum can no longer be reached, without waiting for the remaining routes.")
+  public void quorumNoLongerReachable() throws Throwable {
+    ForkJoinStrategy strategy = createStrategy(new QuorumForkJoinStrategyFactory(3), 3);
+
+    long start = currentTimeMillis();
+    try {
+      invokeStrategyBlocking(strategy, asList(createRoutingPair(of(1), 0),
+                                              createFailingRoutingPair(),
+                                              createRoutingPair(of(3), 5000)));
+      fail("Was expecting the quorum not to be reached");
+    } catch (CompositeRoutingException e) {
+      assertThat(currentTimeMillis() - start, lessThan(5000L));
+      RoutingResult routingResult = (RoutingResult) e.getErrorMessage().getPayload().getValue();
+      assertThat(routingResult.getFailures().get("1").getCause(), instanceOf(IllegalStateException.class));
+    }
+  }
+
+  @Test
+  @Description("The routes are started as they are received, so the quorum may be reached before all of them are received.")
+  public void quorumReachedBeforeAllRoutesAreReceived() throws Throwable {
+    Message routeResult = of(1);
+    ForkJoinStrategy strategy = createStrategy(new QuorumForkJoinStrategyFactory(1), 2);
+
+    // the routes that are never received would keep the strategy waiting if it collected them before starting
+    CoreEvent result = from(strategy.forkJoin(testEvent(), concat(just(createRoutingPair(routeResult, 0)), never())))
+        .blockLast(ofSeconds(10));
+
+    Map<String, Message> resultMap = (Map<String, Message>) result.getMessage().getPayload().getValue();
+    assertThat(resultMap.entrySet(), hasSize(1));
+    assertThat(resultMap.get("0"), is(routeResult));
+  }
+}
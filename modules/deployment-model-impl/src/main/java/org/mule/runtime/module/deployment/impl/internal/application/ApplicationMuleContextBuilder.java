@@ -7,6 +7,7 @@
 package org.mule.runtime.module.deployment.impl.internal.application;
 
 import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_LAZY_INIT_DEPLOYMENT_PROPERTY;
+import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_ON_DEMAND_FLOWS_DEPLOYMENT_PROPERTY;
 import static org.mule.runtime.core.api.config.bootstrap.ArtifactType.APP;
 import static org.mule.runtime.core.api.util.StringUtils.isBlank;
 
@@ -33,7 +34,8 @@ public class ApplicationMuleContextBuilder extends SupportsPropertiesMuleContext
   @Override
   protected DefaultMuleConfiguration createMuleConfiguration() {
     final DefaultMuleConfiguration configuration;
-    if (Boolean.valueOf(getArtifactProperties().get(MULE_LAZY_INIT_DEPLOYMENT_PROPERTY))) {
+    if (Boolean.valueOf(getArtifactProperties().get(MULE_LAZY_INIT_DEPLOYMENT_PROPERTY))
+        || Boolean.valueOf(getArtifactProperties().get(MULE_ON_DEMAND_FLOWS_DEPLOYMENT_PROPERTY))) {
       configuration = new ReconfigurableMuleConfiguration(true);
     } else {
       configuration = new DefaultMuleConfiguration(true);
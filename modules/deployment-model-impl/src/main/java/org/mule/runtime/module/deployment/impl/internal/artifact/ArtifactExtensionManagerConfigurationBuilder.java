@@ -7,10 +7,13 @@
 package org.mule.runtime.module.deployment.impl.internal.artifact;
 
 import static org.mule.runtime.api.util.Preconditions.checkNotNull;
+import static org.mule.runtime.core.internal.profiling.startup.StartupTracer.phase;
+
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.config.ConfigurationBuilder;
 import org.mule.runtime.core.api.config.builders.AbstractConfigurationBuilder;
 import org.mule.runtime.core.api.extension.ExtensionManager;
+import org.mule.runtime.core.internal.profiling.startup.StartupPhase;
 import org.mule.runtime.deployment.model.api.plugin.ArtifactPlugin;
 import org.mule.runtime.module.extension.api.manager.ExtensionManagerFactory;
 
@@ -45,7 +48,10 @@ public class ArtifactExtensionManagerConfigurationBuilder extends AbstractConfig
 
   @Override
   protected void doConfigure(MuleContext muleContext) throws Exception {
-    ExtensionManager extensionManager = extensionManagerFactory.create(muleContext);
+    ExtensionManager extensionManager;
+    try (StartupPhase phase = phase("extensionModels")) {
+      extensionManager = extensionManagerFactory.create(muleContext);
+    }
 
     muleContext.setExtensionManager(extensionManager);
   }
@@ -10,6 +10,8 @@ import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.container.api.MuleFoldersUtil.getAppDataFolder;
 import static org.mule.runtime.container.api.MuleFoldersUtil.getAppNativeLibrariesTempFolder;
 import static org.mule.runtime.core.api.util.ExceptionUtils.containsType;
+import static org.mule.runtime.core.internal.profiling.startup.StartupTracer.phase;
+import static org.mule.runtime.core.internal.profiling.startup.StartupTracer.startTrace;
 import static org.mule.runtime.core.internal.util.splash.SplashScreen.miniSplash;
 import static org.mule.runtime.module.deployment.impl.internal.util.DeploymentPropertiesUtils.resolveDeploymentProperties;
 
@@ -28,6 +30,7 @@ import static org.slf4j.LoggerFactory.getLogger;
 import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.api.scheduler.SchedulerConfig;
 import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.core.internal.profiling.startup.StartupPhase;
 import org.mule.runtime.deployment.model.api.DeployableArtifact;
 import org.mule.runtime.deployment.model.api.DeploymentException;
 import org.mule.runtime.deployment.model.api.DeploymentStartException;
@@ -389,9 +392,12 @@ public class DefaultArchiveDeployer<D extends DeployableArtifactDescriptor, T ex
   }
 
   private T createArtifact(File artifactLocation, Optional<Properties> appProperties) throws IOException {
-    T artifact = artifactFactory.createArtifact(artifactLocation, appProperties);
-    artifact.setMuleContextListener(muleContextListenerFactory.create(artifact.getArtifactName()));
-    return artifact;
+    startTrace(artifactLocation.getName());
+    try (StartupPhase phase = phase(artifactLocation.getName(), "create")) {
+      T artifact = artifactFactory.createArtifact(artifactLocation, appProperties);
+      artifact.setMuleContextListener(muleContextListenerFactory.create(artifact.getArtifactName()));
+      return artifact;
+    }
   }
 
   private static boolean allResourcesExist(File[] resourceFiles) {
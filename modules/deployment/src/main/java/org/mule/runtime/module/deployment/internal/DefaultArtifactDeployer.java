@@ -7,10 +7,16 @@
 package org.mule.runtime.module.deployment.internal;
 
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.container.api.MuleFoldersUtil.getAppDataFolder;
 import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_ADD_TOOLING_OBJECTS_TO_REGISTRY;
 import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_LAZY_INIT_DEPLOYMENT_PROPERTY;
 import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_LAZY_INIT_ENABLE_XML_VALIDATIONS_DEPLOYMENT_PROPERTY;
+import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_ON_DEMAND_FLOWS_DEPLOYMENT_PROPERTY;
 import static org.mule.runtime.core.internal.context.ArtifactStoppedPersistenceListener.ARTIFACT_STOPPED_LISTENER;
+import static org.mule.runtime.core.internal.profiling.startup.StartupTracer.isEnabled;
+import static org.mule.runtime.core.internal.profiling.startup.StartupTracer.phase;
+import static org.mule.runtime.core.internal.profiling.startup.StartupTracer.removeTrace;
+import static org.mule.runtime.core.internal.profiling.startup.StartupTracer.writeReport;
 import static org.mule.runtime.module.deployment.impl.internal.artifact.ArtifactFactoryUtils.withArtifactMuleContext;
 import static org.mule.runtime.module.deployment.impl.internal.util.DeploymentPropertiesUtils.resolveArtifactStatusDeploymentProperties;
 import static org.mule.runtime.module.deployment.impl.internal.util.DeploymentPropertiesUtils.resolveFlowDeploymentProperties;
@@ -31,6 +37,7 @@ import org.mule.runtime.core.internal.construct.DefaultFlowBuilder;
 import org.mule.runtime.core.internal.context.ArtifactStoppedPersistenceListener;
 import org.mule.runtime.core.internal.context.FlowStoppedPersistenceListener;
 import org.mule.runtime.core.internal.context.MuleContextWithRegistry;
+import org.mule.runtime.core.internal.profiling.startup.StartupPhase;
 import org.mule.runtime.core.internal.registry.MuleRegistry;
 import org.mule.runtime.deployment.model.api.DeployableArtifact;
 import org.mule.runtime.deployment.model.api.DeploymentException;
@@ -62,14 +69,18 @@ public class DefaultArtifactDeployer<T extends DeployableArtifact> implements Ar
   @Override
   public void deploy(T artifact, boolean startArtifact) {
     try {
-      artifact.install();
-      doInit(artifact);
+      try (StartupPhase phase = phase(artifact.getArtifactName(), "install")) {
+        artifact.install();
+      }
+      try (StartupPhase phase = phase(artifact.getArtifactName(), "init")) {
+        doInit(artifact);
+      }
       addFlowStoppedListeners(artifact);
       if (startArtifact && shouldStartArtifactAccordingToPersistedStatus(artifact)) {
         // The purpose of dispatching this to a separate thread is to have a clean call stack when starting the app.
         // This is needed in order to prevent an StackOverflowError when starting apps with really long flows.
         final Future<?> startTask = artifactStartExecutor.get().submit(() -> {
-          try {
+          try (StartupPhase phase = phase(artifact.getArtifactName(), "start")) {
             artifact.start();
           } catch (Throwable t) {
             artifact.dispose();
@@ -100,6 +111,10 @@ public class DefaultArtifactDeployer<T extends DeployableArtifact> implements Ar
       }
 
       throw new DeploymentException(createStaticMessage("Failed to deploy artifact [%s]", artifact.getArtifactName()), t);
+    } finally {
+      if (isEnabled()) {
+        writeReport(artifact.getArtifactName(), getAppDataFolder(artifact.getArtifactName()));
+      }
     }
   }
 
@@ -134,18 +149,21 @@ public class DefaultArtifactDeployer<T extends DeployableArtifact> implements Ar
   /**
    * Initializes the artifact by taking into account deployment properties
    * {@link MuleDeploymentProperties#MULE_LAZY_INIT_DEPLOYMENT_PROPERTY},
-   * {@link MuleDeploymentProperties#MULE_LAZY_INIT_ENABLE_XML_VALIDATIONS_DEPLOYMENT_PROPERTY} and
+   * {@link MuleDeploymentProperties#MULE_LAZY_INIT_ENABLE_XML_VALIDATIONS_DEPLOYMENT_PROPERTY},
+   * {@link MuleDeploymentProperties#MULE_ON_DEMAND_FLOWS_DEPLOYMENT_PROPERTY} and
    * {@link MuleDeploymentProperties#MULE_ADD_TOOLING_OBJECTS_TO_REGISTRY}.
    *
    * @param artifact the T artifact to be initialized
    */
   private void doInit(T artifact) {
     boolean lazyInit = false;
+    boolean onDemandFlows = false;
     boolean addToolingObjectsToRegistry = false;
     boolean enableXmlValidations = false;
     if (artifact.getDescriptor().getDeploymentProperties().isPresent()) {
       Properties deploymentProperties = artifact.getDescriptor().getDeploymentProperties().get();
       lazyInit = valueOf((String) deploymentProperties.getOrDefault(MULE_LAZY_INIT_DEPLOYMENT_PROPERTY, "false"));
+      onDemandFlows = valueOf((String) deploymentProperties.getOrDefault(MULE_ON_DEMAND_FLOWS_DEPLOYMENT_PROPERTY, "false"));
       addToolingObjectsToRegistry =
           valueOf((String) deploymentProperties.getOrDefault(MULE_ADD_TOOLING_OBJECTS_TO_REGISTRY, "false"));
       enableXmlValidations =
@@ -159,6 +177,10 @@ public class DefaultArtifactDeployer<T extends DeployableArtifact> implements Ar
       } else {
         artifact.lazyInit(!enableXmlValidations);
       }
+    } else if (onDemandFlows) {
+      // The lazy context is used so flows can be initialized on demand, but all other components are initialized along with the
+      // artifact, so it is validated as in a regular deployment
+      artifact.lazyInit(false);
     } else {
       if (addToolingObjectsToRegistry) {
         artifact.initTooling();
@@ -175,6 +197,7 @@ public class DefaultArtifactDeployer<T extends DeployableArtifact> implements Ar
       tryToStopArtifact(artifact);
       deletePersistence(artifact);
       tryToDisposeArtifact(artifact);
+      removeTrace(artifact.getArtifactName());
     } catch (Throwable t) {
       if (t instanceof DeploymentException) {
         throw ((DeploymentException) t);
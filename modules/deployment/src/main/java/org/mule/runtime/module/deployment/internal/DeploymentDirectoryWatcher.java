@@ -11,7 +11,6 @@ import static org.mule.runtime.container.api.MuleFoldersUtil.getDomainsFolder;
 import static org.mule.runtime.core.internal.util.splash.SplashScreen.miniSplash;
 import static org.mule.runtime.module.deployment.internal.DefaultArchiveDeployer.JAR_FILE_SUFFIX;
 import static org.mule.runtime.module.deployment.internal.DefaultArchiveDeployer.ZIP_FILE_SUFFIX;
-import static org.mule.runtime.module.deployment.internal.DeploymentUtils.deployExplodedDomains;
 import static org.mule.runtime.module.deployment.internal.DeploymentUtils.listFiles;
 
 import static java.lang.String.format;
@@ -89,7 +88,7 @@ public class DeploymentDirectoryWatcher implements Runnable {
   private static final Logger SPLASH_LOGGER = getLogger("org.mule.runtime.core.internal.logging");
 
   private final ReentrantLock deploymentLock;
-  private final ArchiveDeployer<DomainDescriptor, Domain> domainArchiveDeployer;
+  protected final ArchiveDeployer<DomainDescriptor, Domain> domainArchiveDeployer;
   protected final ArchiveDeployer<ApplicationDescriptor, Application> applicationArchiveDeployer;
   protected final Supplier<SchedulerService> schedulerServiceSupplier;
   private final ArtifactTimestampListener<Application> applicationTimestampListener;
@@ -175,7 +174,7 @@ public class DeploymentDirectoryWatcher implements Runnable {
         String[] packagedDomains = listFiles(domainsDir, JAR_ARTIFACT_FILTER);
 
         deployPackedDomains(packagedDomains);
-        deployExplodedDomains(domainArchiveDeployer, explodedDomains);
+        deployExplodedDomains(explodedDomains);
         String[] apps = appString.split(":");
         apps = removeDuplicateAppNames(apps);
 
@@ -333,7 +332,7 @@ public class DeploymentDirectoryWatcher implements Runnable {
         domains = listFiles(domainsDir, DIRECTORY);
       }
 
-      deployExplodedDomains(domainArchiveDeployer, domains);
+      deployExplodedDomains(domains);
 
       redeployModifiedApplications();
 
@@ -451,7 +450,7 @@ public class DeploymentDirectoryWatcher implements Runnable {
     return anchors;
   }
 
-  private void deployPackedDomains(String[] zips) {
+  protected void deployPackedDomains(String[] zips) {
     for (String zip : zips) {
       try {
         domainArchiveDeployer.deployPackagedArtifact(zip, empty());
@@ -461,6 +460,10 @@ public class DeploymentDirectoryWatcher implements Runnable {
     }
   }
 
+  protected void deployExplodedDomains(String[] domains) {
+    DeploymentUtils.deployExplodedDomains(domainArchiveDeployer, domains);
+  }
+
   private void deleteAllAnchors() {
     deleteAnchorsFromDirectory(domainsDir);
     deleteAnchorsFromDirectory(appsDir);
@@ -7,9 +7,18 @@
 package org.mule.runtime.module.deployment.internal;
 
 import static org.mule.runtime.api.scheduler.SchedulerConfig.config;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.module.deployment.internal.DefaultArchiveDeployer.JAR_FILE_SUFFIX;
 
+import static java.lang.Integer.getInteger;
+import static java.lang.System.nanoTime;
 import static java.lang.Thread.currentThread;
+import static java.util.Collections.unmodifiableMap;
 import static java.util.Optional.empty;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import static org.apache.commons.lang3.StringUtils.removeEnd;
+import static org.slf4j.LoggerFactory.getLogger;
 
 import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.api.scheduler.SchedulerService;
@@ -21,14 +30,23 @@ import org.mule.runtime.module.deployment.internal.util.ObservableList;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
 
+import org.slf4j.Logger;
+
 /**
- * Provides parallel deployment of Mule applications.
+ * Provides parallel deployment of Mule domains and applications.
+ * <p>
+ * All the domains found on each scan are deployed concurrently, and then all the applications, so that the domain of each
+ * application is already deployed when the application is deployed. The time taken to deploy each artifact is logged, and
+ * the one of the last deployment of each artifact is available through {@link #getDomainDeploymentTimes()} and
+ * {@link #getApplicationDeploymentTimes()}.
  *
  * @since 3.8.2
  */
@@ -36,6 +54,22 @@ public class ParallelDeploymentDirectoryWatcher extends DeploymentDirectoryWatch
 
   public static final int MAX_APPS_IN_PARALLEL_DEPLOYMENT = 20;
 
+  /**
+   * The maximum number of artifacts to deploy concurrently. Defaults to {@link #MAX_APPS_IN_PARALLEL_DEPLOYMENT}.
+   *
+   * @since 4.9.0
+   */
+  public static final String PARALLEL_DEPLOYMENT_MAX_CONCURRENCY_PROPERTY =
+      SYSTEM_PROPERTY_PREFIX + "deployment.parallel.maxConcurrency";
+
+  private static final Logger LOGGER = getLogger(ParallelDeploymentDirectoryWatcher.class);
+
+  private static final String DOMAIN = "domain";
+  private static final String APPLICATION = "application";
+
+  private final Map<String, Long> domainDeploymentTimes = new ConcurrentHashMap<>();
+  private final Map<String, Long> applicationDeploymentTimes = new ConcurrentHashMap<>();
+
   private Scheduler threadPoolExecutor;
 
   public ParallelDeploymentDirectoryWatcher(DomainBundleArchiveDeployer domainBundleDeployer,
@@ -48,21 +82,41 @@ public class ParallelDeploymentDirectoryWatcher extends DeploymentDirectoryWatch
   }
 
   @Override
-  protected void deployPackedApps(String[] zips) {
-    if (zips.length == 0) {
-      return;
+  protected void deployPackedDomains(String[] zips) {
+    List<Callable<Object>> tasks = new ArrayList<>(zips.length);
+    for (final String zip : zips) {
+      tasks.add(timedTask(DOMAIN, domainDeploymentTimes, removeEnd(zip, JAR_FILE_SUFFIX),
+                          () -> domainArchiveDeployer.deployPackagedArtifact(zip, empty())));
     }
 
+    waitForTasksToFinish(tasks);
+  }
+
+  @Override
+  protected void deployExplodedDomains(String[] domains) {
+    List<Callable<Object>> tasks = new ArrayList<>(domains.length);
+    for (final String addedDomain : domains) {
+      if (domainArchiveDeployer.isUpdatedZombieArtifact(addedDomain)) {
+        tasks.add(timedTask(DOMAIN, domainDeploymentTimes, addedDomain, () -> {
+          try {
+            domainArchiveDeployer.deployExplodedArtifact(addedDomain, empty());
+          } catch (Exception e) {
+            LOGGER.error("Error deploying domain '{}'", addedDomain, e);
+          }
+          return null;
+        }));
+      }
+    }
+
+    waitForTasksToFinish(tasks);
+  }
+
+  @Override
+  protected void deployPackedApps(String[] zips) {
     List<Callable<Object>> tasks = new ArrayList<>(zips.length);
     for (final String zip : zips) {
-      tasks.add(() -> {
-        try {
-          applicationArchiveDeployer.deployPackagedArtifact(zip, empty());
-        } catch (Exception e) {
-          // Ignore and continue
-        }
-        return null;
-      });
+      tasks.add(timedTask(APPLICATION, applicationDeploymentTimes, removeEnd(zip, JAR_FILE_SUFFIX),
+                          () -> applicationArchiveDeployer.deployPackagedArtifact(zip, empty())));
     }
 
     waitForTasksToFinish(tasks);
@@ -75,26 +129,61 @@ public class ParallelDeploymentDirectoryWatcher extends DeploymentDirectoryWatch
 
     for (final String addedApp : apps) {
       if (applicationArchiveDeployer.isUpdatedZombieArtifact(addedApp)) {
-        tasks.add(() -> {
-          try {
-            applicationArchiveDeployer.deployExplodedArtifact(addedApp, empty());
-          } catch (Exception e) {
-            // Ignore and continue
-          }
-          return null;
-        });
+        tasks.add(timedTask(APPLICATION, applicationDeploymentTimes, addedApp,
+                            () -> applicationArchiveDeployer.deployExplodedArtifact(addedApp, empty())));
       }
     }
 
-    if (!tasks.isEmpty()) {
-      waitForTasksToFinish(tasks);
-    }
+    waitForTasksToFinish(tasks);
+  }
+
+  /**
+   * @return the time taken by the last deployment of each domain, in milliseconds, by domain name.
+   *
+   * @since 4.9.0
+   */
+  public Map<String, Long> getDomainDeploymentTimes() {
+    return unmodifiableMap(domainDeploymentTimes);
+  }
+
+  /**
+   * @return the time taken by the last deployment of each application, in milliseconds, by application name.
+   *
+   * @since 4.9.0
+   */
+  public Map<String, Long> getApplicationDeploymentTimes() {
+    return unmodifiableMap(applicationDeploymentTimes);
+  }
+
+  /**
+   * Creates a task that deploys an artifact, ignoring any failure since it is already notified to the deployment listeners, and
+   * records the time it took.
+   */
+  private Callable<Object> timedTask(String artifactType, Map<String, Long> deploymentTimes, String artifactName,
+                                     Callable<?> deployment) {
+    return () -> {
+      long startTime = nanoTime();
+      try {
+        deployment.call();
+      } catch (Exception e) {
+        // Ignore and continue
+      } finally {
+        long deploymentTime = NANOSECONDS.toMillis(nanoTime() - startTime);
+        deploymentTimes.put(artifactName, deploymentTime);
+        LOGGER.info("Deployment of {} '{}' took {} ms", artifactType, artifactName, deploymentTime);
+      }
+      return null;
+    };
   }
 
   private void waitForTasksToFinish(List<Callable<Object>> tasks) {
+    if (tasks.isEmpty()) {
+      return;
+    }
+
     this.threadPoolExecutor =
         schedulerServiceSupplier.get()
-            .ioScheduler(config().withName("parallelDeployment").withMaxConcurrentTasks(MAX_APPS_IN_PARALLEL_DEPLOYMENT));
+            .ioScheduler(config().withName("parallelDeployment").withMaxConcurrentTasks(getMaxConcurrency()));
     try {
       final List<Future<Object>> futures = threadPoolExecutor.invokeAll(tasks);
 
@@ -112,4 +201,8 @@ public class ParallelDeploymentDirectoryWatcher extends DeploymentDirectoryWatch
       threadPoolExecutor.stop();
     }
   }
+
+  private static int getMaxConcurrency() {
+    return getInteger(PARALLEL_DEPLOYMENT_MAX_CONCURRENCY_PROPERTY, MAX_APPS_IN_PARALLEL_DEPLOYMENT);
+  }
 }
@@ -7,6 +7,7 @@
 package org.mule.runtime.module.deployment.internal.processor;
 
 import static org.mule.runtime.config.api.ArtifactContextFactory.createArtifactContextFactory;
+import static org.mule.runtime.core.internal.profiling.startup.StartupTracer.phase;
 
 import static org.apache.commons.lang3.ArrayUtils.isEmpty;
 
@@ -17,6 +18,7 @@ import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.config.ConfigurationException;
 import org.mule.runtime.core.internal.context.DefaultMuleContext;
 import org.mule.runtime.core.internal.context.NullDomainMuleContextLifecycleStrategy;
+import org.mule.runtime.core.internal.profiling.startup.StartupPhase;
 import org.mule.runtime.deployment.model.api.artifact.ArtifactConfigurationProcessor;
 import org.mule.runtime.deployment.model.api.artifact.ArtifactContext;
 import org.mule.runtime.deployment.model.api.artifact.ArtifactContextConfiguration;
@@ -37,7 +39,10 @@ abstract class AbstractAstConfigurationProcessor implements ArtifactConfiguratio
       return contextForEmptyArtifact(artifactContextConfiguration);
     }
 
-    ArtifactAst artifactAst = obtainArtifactAst(artifactContextConfiguration);
+    ArtifactAst artifactAst;
+    try (StartupPhase phase = phase("ast")) {
+      artifactAst = obtainArtifactAst(artifactContextConfiguration);
+    }
 
     ArtifactContextFactory configurationBuilder = createArtifactContextFactory(artifactAst,
                                                                                artifactContextConfiguration
@@ -53,7 +58,9 @@ abstract class AbstractAstConfigurationProcessor implements ArtifactConfiguratio
                                                                                artifactContextConfiguration
                                                                                    .getParentArtifactContext());
 
-    configurationBuilder.configure(artifactContextConfiguration.getMuleContext());
+    try (StartupPhase phase = phase("registry.configure")) {
+      configurationBuilder.configure(artifactContextConfiguration.getMuleContext());
+    }
     return configurationBuilder.createArtifactContext();
   }
 
@@ -110,6 +110,6 @@ public class SerializedAstArtifactConfigurationProcessor extends AbstractAstConf
 
   public static ArtifactConfigurationProcessor serializedAstWithFallbackArtifactConfigurationProcessor() {
     return new FallbackArtifactConfigurationProcessor(new SerializedAstArtifactConfigurationProcessor(),
-                                                      new AstXmlParserArtifactConfigurationProcessor());
+                                                      new SnapshotAstArtifactConfigurationProcessor(new AstXmlParserArtifactConfigurationProcessor()));
   }
 }
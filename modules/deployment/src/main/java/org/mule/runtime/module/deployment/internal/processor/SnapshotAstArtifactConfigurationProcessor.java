@@ -0,0 +1,315 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.deployment.internal.processor;
+
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.core.api.config.MuleManifest.getProductVersion;
+import static org.mule.runtime.core.api.config.bootstrap.ArtifactType.POLICY;
+
+import static java.lang.Boolean.getBoolean;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.createDirectories;
+import static java.nio.file.Files.deleteIfExists;
+import static java.nio.file.Files.move;
+import static java.nio.file.Files.newInputStream;
+import static java.nio.file.Files.newOutputStream;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Collections.emptySet;
+import static java.util.Comparator.comparing;
+
+import static org.apache.commons.io.IOUtils.copy;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.meta.model.ExtensionModel;
+import org.mule.runtime.ast.api.ArtifactAst;
+import org.mule.runtime.ast.api.ImportedResource;
+import org.mule.runtime.ast.api.serialization.ArtifactAstDeserializer;
+import org.mule.runtime.ast.api.serialization.ArtifactAstSerializer;
+import org.mule.runtime.ast.api.serialization.ArtifactAstSerializerProvider;
+import org.mule.runtime.ast.api.xml.AstXmlParser;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.config.ConfigurationException;
+import org.mule.runtime.core.api.extension.ExtensionManager;
+import org.mule.runtime.deployment.model.api.artifact.ArtifactContextConfiguration;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+
+/**
+ * Decorates the {@link AstXmlParserArtifactConfigurationProcessor} so that the {@link ArtifactAst} obtained from parsing the
+ * configuration files of an artifact is stored as a snapshot in the working directory of the artifact, and loaded from there on
+ * the next deployment of the same artifact instead of parsing its configuration files again.
+ * <p>
+ * The snapshot is only used if it was created for the same contents of the configuration files of the artifact (including the
+ * imported ones), the same versions of the runtime, the AST parser and serializer and the extension models and the same deployment
+ * properties. Otherwise, the configuration
+ * files are parsed and the snapshot is replaced.
+ * <p>
+ * Policies, artifacts created from an {@link org.mule.runtime.app.declaration.api.ArtifactDeclaration} and artifacts that define
+ * their own extension model are always parsed, since their {@link ArtifactAst} depends on things not available when loading the
+ * snapshot.
+ *
+ * @since 4.9.0
+ */
+public class SnapshotAstArtifactConfigurationProcessor extends AbstractAstConfigurationProcessor {
+
+  /**
+   * When {@code true}, the {@link ArtifactAst} of the deployed artifacts is stored as a snapshot and reused by the following
+   * deployments of the same artifact.
+   */
+  public static final String AST_SNAPSHOT_PROPERTY = SYSTEM_PROPERTY_PREFIX + "deployment.astSnapshot";
+
+  public static final String SNAPSHOT_FILE_NAME = "artifact-ast.snapshot";
+
+  private static final Logger LOGGER = getLogger(SnapshotAstArtifactConfigurationProcessor.class);
+
+  private static final int MAGIC = 0x4D415354;
+  private static final int FORMAT_VERSION = 1;
+  private static final String SERIALIZER_FORMAT = "JSON";
+  private static final String SERIALIZER_VERSION = "1.0";
+
+  private static final String AST_PARSER_VERSION = libraryVersion(AstXmlParser.class);
+  private static final String AST_SERIALIZER_VERSION = libraryVersion(ArtifactAstSerializerProvider.class);
+
+  private final ArtifactAstSerializer artifactAstSerializer =
+      new ArtifactAstSerializerProvider().getSerializer(SERIALIZER_FORMAT, SERIALIZER_VERSION);
+  private final ArtifactAstDeserializer artifactAstDeserializer = new ArtifactAstSerializerProvider().getDeserializer();
+
+  private final AbstractAstConfigurationProcessor delegate;
+
+  public SnapshotAstArtifactConfigurationProcessor(AbstractAstConfigurationProcessor delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  protected ArtifactAst obtainArtifactAst(ArtifactContextConfiguration artifactContextConfiguration)
+      throws ConfigurationException {
+    Path snapshotFile = getSnapshotFile(artifactContextConfiguration);
+    if (snapshotFile == null) {
+      return delegate.obtainArtifactAst(artifactContextConfiguration);
+    }
+
+    MuleContext muleContext = artifactContextConfiguration.getMuleContext();
+    Set<ExtensionModel> extensions = getExtensions(muleContext.getExtensionManager());
+
+    ArtifactAst snapshot = loadSnapshot(snapshotFile, artifactContextConfiguration, extensions);
+    if (snapshot != null) {
+      LOGGER.debug("Loaded AST snapshot of artifact '{}' from '{}'", muleContext.getConfiguration().getId(), snapshotFile);
+      return snapshot;
+    }
+
+    ArtifactAst artifactAst = delegate.obtainArtifactAst(artifactContextConfiguration);
+    if (extensions.containsAll(artifactAst.dependencies())) {
+      writeSnapshot(snapshotFile, artifactAst, artifactContextConfiguration, extensions);
+    }
+    return artifactAst;
+  }
+
+  private Path getSnapshotFile(ArtifactContextConfiguration artifactContextConfiguration) {
+    if (!getBoolean(AST_SNAPSHOT_PROPERTY)
+        || POLICY.equals(artifactContextConfiguration.getArtifactType())
+        || artifactContextConfiguration.getArtifactDeclaration() != null) {
+      return null;
+    }
+
+    String workingDirectory = artifactContextConfiguration.getMuleContext().getConfiguration().getWorkingDirectory();
+    return workingDirectory == null ? null : Paths.get(workingDirectory, SNAPSHOT_FILE_NAME);
+  }
+
+  private ArtifactAst loadSnapshot(Path snapshotFile, ArtifactContextConfiguration artifactContextConfiguration,
+                                   Set<ExtensionModel> extensions) {
+    if (!snapshotFile.toFile().exists()) {
+      return null;
+    }
+
+    try (DataInputStream input = new DataInputStream(newInputStream(snapshotFile))) {
+      if (input.readInt() != MAGIC || input.readInt() != FORMAT_VERSION) {
+        return null;
+      }
+
+      byte[] checksum = new byte[input.readInt()];
+      input.readFully(checksum);
+      int resourcesCount = input.readInt();
+      List<String> resources = new ArrayList<>(resourcesCount);
+      for (int i = 0; i < resourcesCount; ++i) {
+        resources.add(input.readUTF());
+      }
+
+      if (!MessageDigest.isEqual(checksum, checksum(resources, artifactContextConfiguration, extensions))) {
+        LOGGER.debug("AST snapshot '{}' is outdated", snapshotFile);
+        return null;
+      }
+
+      return artifactAstDeserializer.deserialize(new GZIPInputStream(input),
+                                                 name -> extensions.stream()
+                                                     .filter(extension -> extension.getName().equals(name))
+                                                     .findFirst()
+                                                     .orElse(null));
+    } catch (Exception e) {
+      LOGGER.warn("Could not load AST snapshot '" + snapshotFile + "', the configuration files will be parsed", e);
+      return null;
+    }
+  }
+
+  private void writeSnapshot(Path snapshotFile, ArtifactAst artifactAst,
+                             ArtifactContextConfiguration artifactContextConfiguration, Set<ExtensionModel> extensions) {
+    Set<String> resources = new LinkedHashSet<>();
+    for (String configResource : artifactContextConfiguration.getConfigResources()) {
+      resources.add(configResource);
+    }
+    for (ImportedResource importedResource : artifactAst.getImportedResources()) {
+      resources.add(importedResource.getResourceLocation());
+    }
+
+    Path tempFile = snapshotFile.resolveSibling(SNAPSHOT_FILE_NAME + ".tmp");
+    try {
+      createDirectories(snapshotFile.getParent());
+      byte[] checksum = checksum(resources, artifactContextConfiguration, extensions);
+
+      try (DataOutputStream output = new DataOutputStream(newOutputStream(tempFile))) {
+        output.writeInt(MAGIC);
+        output.writeInt(FORMAT_VERSION);
+        output.writeInt(checksum.length);
+        output.write(checksum);
+        output.writeInt(resources.size());
+        for (String resource : resources) {
+          output.writeUTF(resource);
+        }
+
+        GZIPOutputStream compressed = new GZIPOutputStream(output);
+        try (InputStream serialized = artifactAstSerializer.serialize(artifactAst)) {
+          copy(serialized, compressed);
+        }
+        compressed.finish();
+      }
+
+      move(tempFile, snapshotFile, REPLACE_EXISTING, ATOMIC_MOVE);
+    } catch (Exception e) {
+      LOGGER.warn("Could not write AST snapshot '" + snapshotFile + "'", e);
+      try {
+        deleteIfExists(tempFile);
+      } catch (IOException deleteException) {
+        e.addSuppressed(deleteException);
+      }
+    }
+  }
+
+  /**
+   * Calculates a checksum of everything that the {@link ArtifactAst} of the artifact depends on, including the contents of the
+   * given resources.
+   */
+  private byte[] checksum(Iterable<String> resources, ArtifactContextConfiguration artifactContextConfiguration,
+                          Set<ExtensionModel> extensions)
+      throws IOException, NoSuchAlgorithmException {
+    MessageDigest digest = MessageDigest.getInstance("SHA-256");
+
+    // a snapshot written by a different runtime or AST library may not be readable, or not equivalent to parsing again
+    update(digest, getProductVersion());
+    update(digest, AST_PARSER_VERSION);
+    update(digest, AST_SERIALIZER_VERSION);
+    update(digest, SERIALIZER_FORMAT);
+    update(digest, SERIALIZER_VERSION);
+    update(digest, artifactContextConfiguration.getMuleContext().getConfiguration().getId());
+    update(digest, artifactContextConfiguration.getArtifactType().name());
+    update(digest, Boolean.toString(artifactContextConfiguration.isDisableXmlValidations()));
+    for (String configResource : artifactContextConfiguration.getConfigResources()) {
+      update(digest, configResource);
+    }
+
+    Map<String, String> artifactProperties = artifactContextConfiguration.getArtifactProperties();
+    if (artifactProperties != null) {
+      new TreeMap<>(artifactProperties).forEach((key, value) -> {
+        update(digest, key);
+        update(digest, value);
+      });
+    }
+
+    extensions.stream()
+        .sorted(comparing(ExtensionModel::getName))
+        .forEach(extension -> {
+          update(digest, extension.getName());
+          update(digest, extension.getVersion());
+        });
+
+    ClassLoader executionClassLoader = artifactContextConfiguration.getMuleContext().getExecutionClassLoader();
+    byte[] buffer = new byte[8 * 1024];
+    for (String resource : resources) {
+      update(digest, resource);
+      URL resourceUrl = executionClassLoader.getResource(resource);
+      if (resourceUrl == null) {
+        digest.update((byte) 0);
+        continue;
+      }
+
+      digest.update((byte) 1);
+      try (InputStream resourceStream = resourceUrl.openStream()) {
+        int read;
+        while ((read = resourceStream.read(buffer)) != -1) {
+          digest.update(buffer, 0, read);
+        }
+      }
+    }
+
+    return digest.digest();
+  }
+
+  private void update(MessageDigest digest, String value) {
+    if (value == null) {
+      digest.update((byte) 0);
+    } else {
+      byte[] bytes = value.getBytes(UTF_8);
+      digest.update((byte) 1);
+      digest.update(intToBytes(bytes.length));
+      digest.update(bytes);
+    }
+  }
+
+  private static byte[] intToBytes(int value) {
+    return new byte[] {(byte) (value >>> 24), (byte) (value >>> 16), (byte) (value >>> 8), (byte) value};
+  }
+
+  /**
+   * @return the version of the library containing the given class, or its location if the manifest of the library does not
+   *         declare it.
+   */
+  private static String libraryVersion(Class<?> libraryClass) {
+    String version = libraryClass.getPackage().getImplementationVersion();
+    if (version != null) {
+      return version;
+    }
+    CodeSource codeSource = libraryClass.getProtectionDomain().getCodeSource();
+    return codeSource == null || codeSource.getLocation() == null ? null : codeSource.getLocation().toString();
+  }
+
+  private Set<ExtensionModel> getExtensions(ExtensionManager extensionManager) {
+    return extensionManager == null ? emptySet() : extensionManager.getExtensions();
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "[" + delegate + "]";
+  }
+}
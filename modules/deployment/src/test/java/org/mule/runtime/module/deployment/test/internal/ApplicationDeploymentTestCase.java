@@ -45,6 +45,8 @@ import static org.mule.runtime.module.deployment.test.internal.TestArtifactsCata
 import static org.mule.runtime.module.deployment.test.internal.TestArtifactsCatalog.moduleUsingByeXmlExtensionPlugin;
 import static org.mule.runtime.module.deployment.test.internal.TestArtifactsCatalog.privilegedExtensionV1JarFile;
 import static org.mule.runtime.module.deployment.internal.processor.SerializedAstArtifactConfigurationProcessor.serializedAstWithFallbackArtifactConfigurationProcessor;
+import static org.mule.runtime.module.deployment.internal.processor.SnapshotAstArtifactConfigurationProcessor.AST_SNAPSHOT_PROPERTY;
+import static org.mule.runtime.module.deployment.internal.processor.SnapshotAstArtifactConfigurationProcessor.SNAPSHOT_FILE_NAME;
 import static org.mule.runtime.module.deployment.test.internal.util.DeploymentServiceTestUtils.deploy;
 import static org.mule.runtime.module.deployment.test.internal.util.DeploymentServiceTestUtils.redeploy;
 import static org.mule.tck.MuleTestUtils.testWithSystemProperty;
@@ -214,6 +216,27 @@ public class ApplicationDeploymentTestCase extends AbstractApplicationDeployment
     assertApplicationAnchorFileExists(dummyAppDescriptorFileBuilder.getId());
   }
 
+  @Test
+  @Story(AST_JSON_DESERIALIZER)
+  public void deploysAppOnRestartUsingAstSnapshot() throws Exception {
+    testWithSystemProperty(AST_SNAPSHOT_PROPERTY, "true", () -> {
+      addPackedAppFromBuilder(dummyAppDescriptorFileBuilder);
+
+      startDeployment();
+
+      assertApplicationDeploymentSuccess(applicationDeploymentListener, dummyAppDescriptorFileBuilder.getId());
+      final File snapshotFile = new File(getAppMetaFolder(findApp(dummyAppDescriptorFileBuilder.getId(), 1)),
+                                         SNAPSHOT_FILE_NAME);
+      assertThat(snapshotFile, exists);
+      final long snapshotLastModified = snapshotFile.lastModified();
+
+      restartServer();
+
+      assertApplicationDeploymentSuccess(applicationDeploymentListener, dummyAppDescriptorFileBuilder.getId());
+      assertThat(snapshotFile.lastModified(), is(snapshotLastModified));
+    });
+  }
+
   @Test
   public void deploysAppZipOnStartupUsingSerializedAstFallback() throws Exception {
     addPackedAppFromBuilder(dummyAppWithBrokenAstDescriptorFileBuilder);
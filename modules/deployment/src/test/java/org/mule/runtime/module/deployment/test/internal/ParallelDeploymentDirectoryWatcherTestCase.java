@@ -0,0 +1,216 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.deployment.test.internal;
+
+import static org.mule.runtime.module.deployment.internal.ParallelDeploymentDirectoryWatcher.PARALLEL_DEPLOYMENT_MAX_CONCURRENCY_PROPERTY;
+import static org.mule.test.allure.AllureConstants.ArtifactDeploymentFeature.APP_DEPLOYMENT;
+import static org.mule.test.allure.AllureConstants.ArtifactDeploymentFeature.DeploymentSuccessfulStory.DEPLOYMENT_SUCCESS;
+
+import static java.lang.Thread.sleep;
+import static java.util.Collections.synchronizedList;
+import static java.util.concurrent.ConcurrentHashMap.newKeySet;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.api.scheduler.SchedulerConfig;
+import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.deployment.model.api.application.Application;
+import org.mule.runtime.deployment.model.api.domain.Domain;
+import org.mule.runtime.module.artifact.api.descriptor.ApplicationDescriptor;
+import org.mule.runtime.module.artifact.api.descriptor.DomainDescriptor;
+import org.mule.runtime.module.deployment.internal.ArchiveDeployer;
+import org.mule.runtime.module.deployment.internal.DomainBundleArchiveDeployer;
+import org.mule.runtime.module.deployment.internal.ParallelDeploymentDirectoryWatcher;
+import org.mule.runtime.module.deployment.internal.util.DebuggableReentrantLock;
+import org.mule.runtime.module.deployment.internal.util.ObservableList;
+import org.mule.tck.SimpleUnitTestSupportSchedulerService;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.junit4.rule.SystemProperty;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@Feature(APP_DEPLOYMENT)
+@Story(DEPLOYMENT_SUCCESS)
+public class ParallelDeploymentDirectoryWatcherTestCase extends AbstractMuleTestCase {
+
+  private static final int MAX_CONCURRENCY = 2;
+  private static final long APP_DEPLOYMENT_MILLIS = 50;
+
+  @Rule
+  public SystemProperty maxConcurrency =
+      new SystemProperty(PARALLEL_DEPLOYMENT_MAX_CONCURRENCY_PROPERTY, Integer.toString(MAX_CONCURRENCY));
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final SimpleUnitTestSupportSchedulerService schedulerService = new SimpleUnitTestSupportSchedulerService();
+  private final List<SchedulerConfig> schedulerConfigs = synchronizedList(new ArrayList<>());
+  private final List<String> deployments = synchronizedList(new ArrayList<>());
+  private final Set<String> deployedArtifacts = newKeySet();
+  private final AtomicInteger deployingApps = new AtomicInteger();
+  private final AtomicInteger maxDeployingApps = new AtomicInteger();
+  private final List<Boolean> concurrentDomains = synchronizedList(new ArrayList<>());
+  private final List<Boolean> concurrentApps = synchronizedList(new ArrayList<>());
+
+  private CountDownLatch domainsLatch;
+  private CountDownLatch appsLatch;
+  private File domainsDir;
+  private File appsDir;
+  private ParallelDeploymentDirectoryWatcher watcher;
+
+  @Before
+  public void before() throws Exception {
+    domainsDir = temporaryFolder.newFolder("domains");
+    appsDir = temporaryFolder.newFolder("apps");
+
+    ArchiveDeployer<DomainDescriptor, Domain> domainDeployer = mock(ArchiveDeployer.class);
+    when(domainDeployer.getDeploymentDirectory()).thenReturn(domainsDir);
+    when(domainDeployer.isUpdatedZombieArtifact(anyString()))
+        .thenAnswer(invocation -> !deployedArtifacts.contains(invocation.getArgument(0)));
+    when(domainDeployer.deployExplodedArtifact(anyString(), any())).thenAnswer(invocation -> {
+      String domain = invocation.getArgument(0);
+      domainsLatch.countDown();
+      concurrentDomains.add(domainsLatch.await(10, SECONDS));
+      deployedArtifacts.add(domain);
+      deployments.add(domain);
+      return null;
+    });
+
+    ArchiveDeployer<ApplicationDescriptor, Application> applicationDeployer = mock(ArchiveDeployer.class);
+    when(applicationDeployer.getDeploymentDirectory()).thenReturn(appsDir);
+    when(applicationDeployer.isUpdatedZombieArtifact(anyString()))
+        .thenAnswer(invocation -> !deployedArtifacts.contains(invocation.getArgument(0)));
+    when(applicationDeployer.deployExplodedArtifact(anyString(), any())).thenAnswer(invocation -> {
+      String app = invocation.getArgument(0);
+      maxDeployingApps.accumulateAndGet(deployingApps.incrementAndGet(), Math::max);
+      try {
+        appsLatch.countDown();
+        concurrentApps.add(appsLatch.await(10, SECONDS));
+        sleep(APP_DEPLOYMENT_MILLIS);
+      } finally {
+        deployingApps.decrementAndGet();
+      }
+      deployedArtifacts.add(app);
+      deployments.add(app);
+      return null;
+    });
+
+    SchedulerService schedulerServiceMock = mock(SchedulerService.class);
+    when(schedulerServiceMock.ioScheduler(any(SchedulerConfig.class))).thenAnswer(invocation -> {
+      SchedulerConfig config = invocation.getArgument(0);
+      schedulerConfigs.add(config);
+      // honors the max concurrent tasks of the config, unlike the io scheduler of the test service
+      return schedulerService.customScheduler(config);
+    });
+
+    watcher = new ParallelDeploymentDirectoryWatcher(mock(DomainBundleArchiveDeployer.class), domainDeployer,
+                                                     applicationDeployer, new ObservableList<>(), new ObservableList<>(),
+                                                     () -> schedulerServiceMock, new DebuggableReentrantLock());
+  }
+
+  @After
+  public void after() throws Exception {
+    schedulerService.stop();
+  }
+
+  @Test
+  @Description("Domains are deployed concurrently, and then the applications, up to the configured max concurrency")
+  public void domainsAreDeployedBeforeApplications() throws Exception {
+    addArtifacts(domainsDir, "domain1", "domain2");
+    addArtifacts(appsDir, "app1", "app2", "app3");
+    domainsLatch = new CountDownLatch(2);
+    appsLatch = new CountDownLatch(MAX_CONCURRENCY);
+
+    watcher.run();
+
+    assertThat(deployments, hasSize(5));
+    assertThat(deployments.subList(0, 2), containsInAnyOrder("domain1", "domain2"));
+    assertThat(deployments.subList(2, 5), containsInAnyOrder("app1", "app2", "app3"));
+    assertThat(concurrentDomains, containsInAnyOrder(true, true));
+    assertThat(concurrentApps, containsInAnyOrder(true, true, true));
+    assertThat(maxDeployingApps.get(), is(lessThanOrEqualTo(MAX_CONCURRENCY)));
+    assertMaxConcurrency();
+  }
+
+  @Test
+  @Description("Domains and applications added after the first scan are deployed concurrently on the following scans, "
+      + "domains first")
+  public void redeployScanDeploysAddedArtifacts() throws Exception {
+    addArtifacts(domainsDir, "domain1");
+    addArtifacts(appsDir, "app1");
+    domainsLatch = new CountDownLatch(1);
+    appsLatch = new CountDownLatch(1);
+    watcher.run();
+
+    addArtifacts(domainsDir, "domain2", "domain3");
+    addArtifacts(appsDir, "app2", "app3");
+    domainsLatch = new CountDownLatch(2);
+    appsLatch = new CountDownLatch(2);
+    watcher.run();
+
+    assertThat(deployments, hasSize(6));
+    assertThat(deployments.subList(0, 2), contains("domain1", "app1"));
+    assertThat(deployments.subList(2, 4), containsInAnyOrder("domain2", "domain3"));
+    assertThat(deployments.subList(4, 6), containsInAnyOrder("app2", "app3"));
+    assertThat(concurrentDomains, containsInAnyOrder(true, true, true));
+    assertThat(concurrentApps, containsInAnyOrder(true, true, true));
+    assertMaxConcurrency();
+  }
+
+  @Test
+  @Description("The time taken by the last deployment of each artifact is available")
+  public void deploymentTimesAreRecorded() throws Exception {
+    addArtifacts(domainsDir, "domain1");
+    addArtifacts(appsDir, "app1", "app2");
+    domainsLatch = new CountDownLatch(1);
+    appsLatch = new CountDownLatch(2);
+
+    watcher.run();
+
+    assertThat(watcher.getDomainDeploymentTimes().keySet(), containsInAnyOrder("domain1"));
+    assertThat(watcher.getApplicationDeploymentTimes().keySet(), containsInAnyOrder("app1", "app2"));
+    assertThat(watcher.getApplicationDeploymentTimes().get("app1"), is(greaterThanOrEqualTo(APP_DEPLOYMENT_MILLIS)));
+    assertThat(watcher.getApplicationDeploymentTimes().get("app2"), is(greaterThanOrEqualTo(APP_DEPLOYMENT_MILLIS)));
+  }
+
+  private void assertMaxConcurrency() {
+    for (SchedulerConfig schedulerConfig : schedulerConfigs) {
+      assertThat(schedulerConfig.getMaxConcurrentTasks(), is(MAX_CONCURRENCY));
+    }
+  }
+
+  private static void addArtifacts(File deploymentDir, String... artifactNames) {
+    for (String artifactName : artifactNames) {
+      new File(deploymentDir, artifactName).mkdir();
+    }
+  }
+}
@@ -11,6 +11,8 @@ import static org.mule.runtime.core.api.util.StreamingUtils.supportsStreaming;
 import static org.mule.runtime.extension.privileged.util.ComponentDeclarationUtils.isPagedOperation;
 import static org.mule.runtime.module.extension.internal.ExtensionProperties.CONNECTION_PARAM;
 
+import static java.util.concurrent.CompletableFuture.completedFuture;
+
 import org.mule.runtime.api.connection.ConnectionException;
 import org.mule.runtime.api.connection.ConnectionHandler;
 import org.mule.runtime.api.meta.model.ComponentModel;
@@ -18,11 +20,12 @@ import org.mule.runtime.api.meta.model.operation.OperationModel;
 import org.mule.runtime.api.tx.TransactionException;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.extension.api.runtime.operation.ExecutionContext;
-import org.mule.runtime.extension.api.runtime.operation.Interceptor;
 import org.mule.runtime.module.extension.api.runtime.privileged.ExecutionContextAdapter;
 import org.mule.runtime.module.extension.internal.ExtensionProperties;
+import org.mule.runtime.module.extension.internal.runtime.execution.interceptor.PreparableInterceptor;
 import org.mule.runtime.tracer.api.component.ComponentTracer;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 /**
@@ -31,7 +34,7 @@ import java.util.function.Consumer;
  *
  * @since 4.0
  */
-public final class ConnectionInterceptor implements Interceptor<ComponentModel> {
+public final class ConnectionInterceptor implements PreparableInterceptor<ComponentModel> {
 
   private static final String CLOSE_CONNECTION_COMMAND = "closeCommand";
 
@@ -62,12 +65,30 @@ public final class ConnectionInterceptor implements Interceptor<ComponentModel>
 
     ExecutionContextAdapter<OperationModel> context = (ExecutionContextAdapter) executionContext;
     if (context.getVariable(CONNECTION_PARAM) == null) {
-      context.setVariable(CONNECTION_PARAM, getConnection(context));
+      setConnection(executionContext, getConnection(context));
+    }
+  }
 
-      if (!supportsStreaming(componentModel)) {
-        setCloseCommand(executionContext, () -> release(executionContext));
-      }
+  /**
+   * Adds the {@code Connection} as in {@link #before(ExecutionContext)}, but without blocking the calling thread if it has to be
+   * taken from a pool which is exhausted.
+   *
+   * @param executionContext the {@link ExecutionContext} for the operation to be executed
+   * @return a {@link CompletableFuture} completed once the connection is set
+   */
+  @Override
+  public CompletableFuture<Void> prepare(ExecutionContext<ComponentModel> executionContext) {
+    if (isPagedOperation(executionContext.getComponentModel())) {
+      return completedFuture(null);
     }
+
+    ExecutionContextAdapter<OperationModel> context = (ExecutionContextAdapter) executionContext;
+    if (context.getVariable(CONNECTION_PARAM) != null) {
+      return completedFuture(null);
+    }
+
+    return connectionSupplier.getConnectionAsync(context, operationConnectionTracer)
+        .thenAccept(connectionHandler -> setConnection(executionContext, connectionHandler));
   }
 
   @Override
@@ -106,6 +127,14 @@ public final class ConnectionInterceptor implements Interceptor<ComponentModel>
     }
   }
 
+  private void setConnection(ExecutionContext<ComponentModel> executionContext, ConnectionHandler<?> connectionHandler) {
+    ((ExecutionContextAdapter<ComponentModel>) executionContext).setVariable(CONNECTION_PARAM, connectionHandler);
+
+    if (!supportsStreaming(executionContext.getComponentModel())) {
+      setCloseCommand(executionContext, () -> release(executionContext));
+    }
+  }
+
   private void setCloseCommand(ExecutionContext<ComponentModel> executionContext, Runnable command) {
     ExecutionContextAdapter<ComponentModel> context = (ExecutionContextAdapter) executionContext;
     context.setVariable(CLOSE_CONNECTION_COMMAND, command);
@@ -11,6 +11,8 @@ import static org.mule.runtime.extension.api.util.NameUtils.getComponentModelTyp
 
 import static java.lang.Boolean.parseBoolean;
 import static java.lang.String.format;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
 
 import org.mule.runtime.api.connection.ConnectionException;
 import org.mule.runtime.api.connection.ConnectionHandler;
@@ -22,6 +24,7 @@ import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.connector.ConnectionManager;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.transaction.TransactionConfig;
+import org.mule.runtime.core.internal.connection.ConnectionManagerAdapter;
 import org.mule.runtime.core.internal.profiling.InternalProfilingService;
 import org.mule.runtime.extension.api.connectivity.TransactionalConnection;
 import org.mule.runtime.extension.api.runtime.config.ConfigurationInstance;
@@ -34,6 +37,8 @@ import org.mule.runtime.tracer.api.component.ComponentTracer;
 import org.mule.runtime.tracer.api.EventTracer;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
 import javax.inject.Inject;
 
 /**
@@ -90,6 +95,52 @@ public class ExtensionConnectionSupplier {
     return connectionHandler;
   }
 
+  /**
+   * Same as {@link #getConnection(ExecutionContextAdapter, ComponentTracer)}, but if the connection is taken from a pool which is
+   * exhausted, the returned {@link CompletableFuture} is completed once a connection is released instead of blocking the calling
+   * thread.
+   * <p>
+   * Connections which participate in a transaction and lazy connections are still obtained on the calling thread, since the
+   * former are bound to it and the latter are not established until used.
+   *
+   * @param context                   an {@link ExecutionContextAdapter}
+   * @param operationConnectionTracer a {@link ComponentTracer} that will be used to trace the connection obtention.
+   * @return a {@link CompletableFuture} completed with the {@link ConnectionHandler}, or exceptionally if the connection could
+   *         not be obtained
+   * @since 4.9.0
+   */
+  public <T> CompletableFuture<ConnectionHandler<T>> getConnectionAsync(ExecutionContextAdapter<? extends ComponentModel> context,
+                                                                      ComponentTracer<CoreEvent> operationConnectionTracer) {
+    if (lazyConnections || isTransacted(context) || !(connectionManager instanceof ConnectionManagerAdapter)) {
+      try {
+        return completedFuture((ConnectionHandler<T>) getConnection(context, operationConnectionTracer));
+      } catch (ConnectionException | TransactionException e) {
+        return failedFuture(e);
+      }
+    }
+
+    if (operationConnectionTracer != null) {
+      operationConnectionTracer.startSpan(context.getEvent());
+    }
+
+    CompletableFuture<ConnectionHandler<T>> connectionHandler;
+    try {
+      connectionHandler = ((ConnectionManagerAdapter) connectionManager).getConnectionAsync(getConnectionOwner(context));
+    } catch (RuntimeException e) {
+      connectionHandler = failedFuture(e);
+    }
+
+    if (operationConnectionTracer != null) {
+      return connectionHandler.whenComplete((handler, failure) -> operationConnectionTracer
+          .endCurrentSpan(context.getEvent()));
+    }
+    return connectionHandler;
+  }
+
+  private boolean isTransacted(ExecutionContextAdapter<? extends ComponentModel> executionContext) {
+    return executionContext.getTransactionConfig().map(TransactionConfig::isTransacted).orElse(false);
+  }
+
   private ConnectionHandler<?> getConnectionHandler(ExecutionContextAdapter<? extends ComponentModel> executionContext)
       throws ConnectionException, TransactionException {
     return executionContext.getTransactionConfig().isPresent()
@@ -126,8 +177,10 @@ public class ExtensionConnectionSupplier {
 
   private <T> ConnectionHandler<T> getTransactionlessConnectionHandler(ExecutionContext executionContext)
       throws ConnectionException {
+    return connectionManager.getConnection(getConnectionOwner(executionContext));
+  }
 
-
+  private Object getConnectionOwner(ExecutionContext executionContext) {
     final Optional<ConfigurationInstance> configuration = executionContext.getConfiguration();
     Optional<ConnectionProvider> connectionProvider = configuration.flatMap(ConfigurationInstance::getConnectionProvider);
 
@@ -143,7 +196,7 @@ public class ExtensionConnectionSupplier {
                                              configRef));
     }
 
-    return connectionManager.getConnection(configuration.get().getValue());
+    return configuration.get().getValue();
   }
 
   @Inject
@@ -12,6 +12,7 @@ import org.mule.runtime.extension.api.runtime.operation.Interceptor;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Groups an ordered list of {@link Interceptor interceptors} that will be applied as one.
@@ -60,6 +61,19 @@ public interface InterceptorChain {
     return new Builder();
   }
 
+  /**
+   * Executes the {@link PreparableInterceptor#prepare(ExecutionContext)} phase on each added interceptor that supports it, one
+   * after the other.
+   * <p>
+   * If the returned {@link CompletableFuture} is completed exceptionally, the {@link #onError(ExecutionContext, Throwable)} phase
+   * has to be executed so that the resources obtained by the interceptors prepared so far are freed.
+   *
+   * @param executionContext the {@link ExecutionContext}
+   * @return a {@link CompletableFuture} completed once all the interceptors are prepared
+   * @since 4.9.0
+   */
+  CompletableFuture<Void> prepare(ExecutionContext executionContext);
+
   /**
    * Executes the {@link Interceptor#before(ExecutionContext)} phase on each added interceptor.
    * <p>
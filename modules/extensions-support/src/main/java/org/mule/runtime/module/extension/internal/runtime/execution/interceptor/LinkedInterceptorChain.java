@@ -7,6 +7,8 @@
 package org.mule.runtime.module.extension.internal.runtime.execution.interceptor;
 
 import static java.lang.String.format;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
 import static java.util.stream.Collectors.toList;
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -15,6 +17,7 @@ import org.mule.runtime.extension.api.runtime.operation.ExecutionContext;
 import org.mule.runtime.extension.api.runtime.operation.Interceptor;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import org.slf4j.Logger;
 
@@ -27,6 +30,7 @@ class LinkedInterceptorChain implements InterceptorChain {
 
   private static final Logger LOGGER = getLogger(LinkedInterceptorChain.class);
 
+  private static final String PREPARE = "prepare";
   private static final String BEFORE = "before";
   private static final String ON_SUCCESS = "onSuccess";
   private static final String ON_ERROR = "onError";
@@ -64,6 +68,27 @@ class LinkedInterceptorChain implements InterceptorChain {
     this.interceptor = interceptor;
   }
 
+  @Override
+  public CompletableFuture<Void> prepare(ExecutionContext executionContext) {
+    CompletableFuture<Void> prepared;
+    if (interceptor instanceof PreparableInterceptor) {
+      try {
+        prepared = ((PreparableInterceptor) interceptor).prepare(executionContext);
+      } catch (Throwable t) {
+        logError(t, PREPARE, false);
+        prepared = failedFuture(t);
+      }
+    } else {
+      prepared = completedFuture(null);
+    }
+
+    if (next != null) {
+      return prepared.thenCompose(v -> next.prepare(executionContext));
+    }
+
+    return prepared;
+  }
+
   @Override
   public Throwable before(ExecutionContext executionContext, ExecutorCallback callback) {
     try {
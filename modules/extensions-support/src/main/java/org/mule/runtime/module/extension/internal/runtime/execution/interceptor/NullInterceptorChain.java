@@ -6,9 +6,13 @@
  */
 package org.mule.runtime.module.extension.internal.runtime.execution.interceptor;
 
+import static java.util.concurrent.CompletableFuture.completedFuture;
+
 import org.mule.runtime.extension.api.runtime.operation.CompletableComponentExecutor.ExecutorCallback;
 import org.mule.runtime.extension.api.runtime.operation.ExecutionContext;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * {@link InterceptorChain} implementation based on the Null Object pattern.
  *
@@ -20,6 +24,11 @@ class NullInterceptorChain implements InterceptorChain {
 
   private NullInterceptorChain() {}
 
+  @Override
+  public CompletableFuture<Void> prepare(ExecutionContext executionContext) {
+    return completedFuture(null);
+  }
+
   @Override
   public Throwable before(ExecutionContext executionContext, ExecutorCallback callback) {
     return null;
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.runtime.execution.interceptor;
+
+import org.mule.runtime.api.meta.model.ComponentModel;
+import org.mule.runtime.extension.api.runtime.operation.ExecutionContext;
+import org.mule.runtime.extension.api.runtime.operation.Interceptor;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An {@link Interceptor} that can obtain the resources needed by its {@link #before(ExecutionContext)} phase without blocking the
+ * calling thread, for instance a connection from a pool that may be exhausted.
+ *
+ * @param <T> the generic type of the intercepted {@link ComponentModel}
+ * @since 4.9.0
+ */
+public interface PreparableInterceptor<T extends ComponentModel> extends Interceptor<T> {
+
+  /**
+   * Obtains the resources needed by the {@link #before(ExecutionContext)} phase and stores them into the
+   * {@code executionContext}.
+   * <p>
+   * In case the returned {@link CompletableFuture} is completed exceptionally, the resources already stored are expected to be
+   * freed by the {@link #onError(ExecutionContext, Throwable)} and {@link #after(ExecutionContext, Object)} phases.
+   *
+   * @param executionContext the {@link ExecutionContext}
+   * @return a {@link CompletableFuture} completed once the resources are available
+   */
+  CompletableFuture<Void> prepare(ExecutionContext<T> executionContext);
+}
@@ -33,6 +33,7 @@ import org.mule.runtime.api.meta.model.declaration.fluent.ConfigurationDeclarati
 import org.mule.runtime.api.notification.NotificationDispatcher;
 import org.mule.runtime.api.profiling.ProfilingDataProducer;
 import org.mule.runtime.api.profiling.type.context.ComponentThreadingProfilingEventContext;
+import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.core.api.config.MuleConfiguration;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.execution.ExecutionCallback;
@@ -51,7 +52,10 @@ import org.mule.runtime.module.extension.internal.runtime.exception.ModuleExcept
 import org.mule.runtime.module.extension.internal.runtime.execution.interceptor.InterceptorChain;
 import org.mule.runtime.tracer.api.component.ComponentTracer;
 
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Consumer;
 
 import javax.transaction.TransactionManager;
@@ -70,6 +74,10 @@ import org.slf4j.Logger;
  * available interceptors. If the operation fails with {@link ConnectionException}, then a retry might be attempted depending on
  * the configured {@link RetryPolicyTemplate}. Notice that if a retry is attempted, the entire cycle of interception (before,
  * onSuccess/interceptError, after) will be fired again.
+ * <p>
+ * Before the interception cycle, the interceptors are given the chance to prepare through {@link InterceptorChain#prepare}, so
+ * that an operation waiting for a connection from an exhausted pool is resumed once it is available instead of blocking the
+ * thread that executes it.
  *
  * @since 4.0
  */
@@ -241,6 +249,54 @@ public final class DefaultExecutionMediator<M extends ComponentModel> implements
   private void executeCommand(CompletableComponentExecutor<M> executor,
                               ExecutionContextAdapter<M> context,
                               ExecutorCallback callback) {
+    CompletableFuture<Void> prepared = interceptorChain.prepare(context);
+    if (prepared.isDone()) {
+      // Nothing had to be waited for, so the operation is executed right away as usual
+      executePreparedCommand(executor, context, callback, prepared);
+      return;
+    }
+
+    // A connection is being waited for, the operation is resumed once it is available instead of blocking this thread
+    prepared.whenComplete((v, e) -> {
+      Scheduler scheduler = context.getCurrentScheduler();
+      if (scheduler == null) {
+        resumePreparedCommand(executor, context, callback, prepared);
+        return;
+      }
+
+      try {
+        scheduler.execute(() -> resumePreparedCommand(executor, context, callback, prepared));
+      } catch (RejectedExecutionException ree) {
+        callback.error(ree);
+      }
+    });
+  }
+
+  private void resumePreparedCommand(CompletableComponentExecutor<M> executor,
+                                     ExecutionContextAdapter<M> context,
+                                     ExecutorCallback callback,
+                                     CompletableFuture<Void> prepared) {
+    // There is no caller to propagate to anymore, so the errors have to be notified through the callback
+    try {
+      executePreparedCommand(executor, context, callback, prepared);
+    } catch (Exception e) {
+      callback.error(e);
+    } catch (Throwable t) {
+      callback.error(wrapFatal(t));
+    }
+  }
+
+  private void executePreparedCommand(CompletableComponentExecutor<M> executor,
+                                      ExecutionContextAdapter<M> context,
+                                      ExecutorCallback callback,
+                                      CompletableFuture<Void> prepared) {
+    try {
+      prepared.join();
+    } catch (CompletionException | CancellationException e) {
+      callback.error(e.getCause() != null ? e.getCause() : e);
+      return;
+    }
+
     Throwable t = interceptorChain.before(context, callback);
     if (t == null) {
       if (resultTransformer != null) {
@@ -24,6 +24,7 @@ import static java.util.Collections.singleton;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
 import static java.util.Optional.ofNullable;
+import static java.util.concurrent.CompletableFuture.failedFuture;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
@@ -41,6 +42,7 @@ import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -81,6 +83,7 @@ import org.mule.runtime.module.extension.api.runtime.privileged.ExecutionContext
 import org.mule.runtime.module.extension.internal.runtime.config.LifecycleAwareConfigurationInstance;
 import org.mule.runtime.module.extension.internal.runtime.config.MutableConfigurationStats;
 import org.mule.runtime.module.extension.internal.runtime.execution.interceptor.InterceptorChain;
+import org.mule.runtime.module.extension.internal.runtime.execution.interceptor.PreparableInterceptor;
 import org.mule.runtime.module.extension.internal.runtime.operation.DefaultExecutionMediator;
 import org.mule.runtime.module.extension.internal.runtime.operation.ResultTransformer;
 import org.mule.runtime.module.extension.internal.runtime.operation.ExecutionMediator;
@@ -94,6 +97,7 @@ import org.mule.test.heisenberg.extension.exception.NullExceptionEnricher;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 import com.google.common.collect.ImmutableList;
@@ -234,16 +238,7 @@ public class DefaultExecutionMediatorTestCase extends AbstractMuleContextTestCas
     when(interceptor1.onError(any(), any())).thenAnswer(inv -> inv.getArgument(1));
     when(interceptor2.onError(any(), any())).thenAnswer(inv -> inv.getArgument(1));
 
-    mediator = new DefaultExecutionMediator(extensionModel,
-                                            operationModel,
-                                            interceptorChain,
-                                            muleContext.getErrorTypeRepository(),
-                                            muleContext.getExecutionClassLoader(),
-                                            muleContext.getConfiguration(),
-                                            notificationDispatcher,
-                                            muleContext.getTransactionManager(),
-                                            null,
-                                            threadReleaseDataProducer, operationExecutionTracer, true);
+    mediator = createMediator(interceptorChain);
 
     final ReconnectableConnectionProviderWrapper<Object> connectionProviderWrapper =
         new ReconnectableConnectionProviderWrapper<>(null,
@@ -340,16 +335,7 @@ public class DefaultExecutionMediatorTestCase extends AbstractMuleContextTestCas
     mockExceptionEnricher(operationModel, () -> exceptionEnricher);
     stubFailingComponentExecutor(operationExecutor, exception);
 
-    mediator = new DefaultExecutionMediator(extensionModel,
-                                            operationModel,
-                                            interceptorChain,
-                                            muleContext.getErrorTypeRepository(),
-                                            muleContext.getExecutionClassLoader(),
-                                            muleContext.getConfiguration(),
-                                            notificationDispatcher,
-                                            muleContext.getTransactionManager(),
-                                            null,
-                                            threadReleaseDataProducer, operationExecutionTracer, true);
+    mediator = createMediator(interceptorChain);
     execute();
   }
 
@@ -359,16 +345,7 @@ public class DefaultExecutionMediatorTestCase extends AbstractMuleContextTestCas
     mockExceptionEnricher(operationModel, () -> new NullExceptionEnricher());
     stubFailingComponentExecutor(operationExecutor, exception);
 
-    mediator = new DefaultExecutionMediator(extensionModel,
-                                            operationModel,
-                                            interceptorChain,
-                                            muleContext.getErrorTypeRepository(),
-                                            muleContext.getExecutionClassLoader(),
-                                            muleContext.getConfiguration(),
-                                            notificationDispatcher,
-                                            muleContext.getTransactionManager(),
-                                            null,
-                                            threadReleaseDataProducer, operationExecutionTracer, true);
+    mediator = createMediator(interceptorChain);
     execute();
   }
 
@@ -645,6 +622,64 @@ public class DefaultExecutionMediatorTestCase extends AbstractMuleContextTestCas
     execute();
   }
 
+  @Test
+  @Description("Tests that an operation waiting for its interceptors to be prepared, such as for a connection from an exhausted "
+      + "pool, is executed once they are prepared")
+  public void executedOncePrepared() throws Throwable {
+    CompletableFuture<Void> preparation = new CompletableFuture<>();
+    PreparableInterceptor preparableInterceptor = mock(PreparableInterceptor.class);
+    when(preparableInterceptor.prepare(operationContext)).thenReturn(preparation);
+    mediator = createMediator(InterceptorChain.builder()
+        .addInterceptor(preparableInterceptor)
+        .addInterceptor(interceptor1)
+        .build());
+
+    mediator.execute(operationExecutor, operationContext, executorCallback);
+    verify(preparableInterceptor, never()).before(operationContext);
+    verify(operationExecutor, never()).execute(any(), any());
+
+    preparation.complete(null);
+    verify(preparableInterceptor).before(operationContext);
+    verify(interceptor1).before(operationContext);
+    verify(executorCallback, timeout(5000)).complete(result);
+  }
+
+  @Test
+  @Description("Tests that a failure preparing the interceptors is propagated without executing the operation")
+  public void preparationFailure() throws Throwable {
+    PreparableInterceptor preparableInterceptor = mock(PreparableInterceptor.class);
+    when(preparableInterceptor.prepare(operationContext)).thenReturn(failedFuture(exception));
+    when(preparableInterceptor.onError(any(), any())).thenAnswer(inv -> inv.getArgument(1));
+    mediator = createMediator(InterceptorChain.builder()
+        .addInterceptor(preparableInterceptor)
+        .addInterceptor(interceptor1)
+        .build());
+
+    assertException(e -> {
+      assertThat(e, is(sameInstance(exception)));
+      try {
+        verify(preparableInterceptor, never()).before(operationContext);
+        verify(operationExecutor, never()).execute(any(), any());
+      } catch (Exception e2) {
+        throw new RuntimeException(e2);
+      }
+      verify(preparableInterceptor).after(operationContext, null);
+    });
+  }
+
+  private ExecutionMediator createMediator(InterceptorChain interceptorChain) {
+    return new DefaultExecutionMediator(extensionModel,
+                                        operationModel,
+                                        interceptorChain,
+                                        muleContext.getErrorTypeRepository(),
+                                        muleContext.getExecutionClassLoader(),
+                                        muleContext.getConfiguration(),
+                                        notificationDispatcher,
+                                        muleContext.getTransactionManager(),
+                                        null,
+                                        threadReleaseDataProducer, operationExecutionTracer, true);
+  }
+
   private void assertException(Consumer<Throwable> assertion) throws Throwable {
     try {
       execute();
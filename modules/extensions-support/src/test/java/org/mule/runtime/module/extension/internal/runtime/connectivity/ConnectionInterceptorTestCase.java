@@ -7,6 +7,10 @@
 package org.mule.runtime.module.extension.internal.runtime.connectivity;
 
 import static java.util.Optional.empty;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
 
 import static org.mockito.Answers.RETURNS_DEEP_STUBS;
 import static org.mockito.ArgumentMatchers.any;
@@ -29,6 +33,7 @@ import org.mule.test.petstore.extension.PetStoreConnector;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -95,6 +100,45 @@ public class ConnectionInterceptorTestCase extends AbstractMuleContextTestCase {
     verify(connectionSupplier, never()).getConnection(eq(operationContext), any());
   }
 
+  @Test
+  public void pagedOperationIsNotPrepared() throws Exception {
+    when(operationModel.getModelProperty(PagedOperationModelProperty.class))
+        .thenReturn(Optional.of(new PagedOperationModelProperty()));
+
+    assertThat(interceptor.prepare(operationContext).isDone(), is(true));
+    verify(connectionSupplier, never()).getConnectionAsync(eq(operationContext), any());
+  }
+
+  @Test
+  public void preparedConnectionIsUsedAndReleased() throws Exception {
+    CompletableFuture<ConnectionHandler<Object>> connection = new CompletableFuture<>();
+    when(connectionSupplier.getConnectionAsync(eq(operationContext), any(ComponentTracer.class))).thenReturn(connection);
+
+    CompletableFuture<Void> prepared = interceptor.prepare(operationContext);
+    assertThat(prepared.isDone(), is(false));
+
+    connection.complete(connectionHandler);
+    assertThat(prepared.isDone(), is(true));
+
+    interceptor.before(operationContext);
+    verify(connectionSupplier, never()).getConnection(eq(operationContext), any());
+
+    interceptor.onSuccess(operationContext, null);
+    interceptor.after(operationContext, null);
+    verify(connectionHandler).release();
+  }
+
+  @Test
+  public void preparedConnectionIsReleasedOnError() throws Exception {
+    when(connectionSupplier.getConnectionAsync(eq(operationContext), any(ComponentTracer.class)))
+        .thenReturn(completedFuture(connectionHandler));
+
+    interceptor.prepare(operationContext);
+    interceptor.onError(operationContext, new Exception());
+    interceptor.after(operationContext, null);
+    verify(connectionHandler).release();
+  }
+
   @Test
   public void onSuccess() throws Exception {
     interceptor.before(operationContext);
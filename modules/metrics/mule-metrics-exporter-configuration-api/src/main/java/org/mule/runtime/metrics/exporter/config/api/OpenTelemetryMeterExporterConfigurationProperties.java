@@ -43,4 +43,16 @@ public class OpenTelemetryMeterExporterConfigurationProperties {
       MULE_OPEN_TELEMETRY_METER_EXPORTER + ".aggregationTemporality";
 
   public static final String MULE_OPEN_TELEMETRY_METER_EXPORTER_INTERVAL = MULE_OPEN_TELEMETRY_METER_EXPORTER + ".interval";
+
+  public static final String MULE_OPEN_TELEMETRY_METER_EXPORTER_FILE_DIRECTORY =
+      MULE_OPEN_TELEMETRY_METER_EXPORTER + ".file.directory";
+
+  public static final String MULE_OPEN_TELEMETRY_METER_EXPORTER_FILE_MAX_FILE_SIZE =
+      MULE_OPEN_TELEMETRY_METER_EXPORTER + ".file.maxFileSize";
+
+  public static final String MULE_OPEN_TELEMETRY_METER_EXPORTER_FILE_MAX_FILES =
+      MULE_OPEN_TELEMETRY_METER_EXPORTER + ".file.maxFiles";
+
+  public static final String MULE_OPEN_TELEMETRY_METER_EXPORTER_FILE_QUEUE_SIZE =
+      MULE_OPEN_TELEMETRY_METER_EXPORTER + ".file.queueSize";
 }
@@ -20,11 +20,14 @@ module org.mule.runtime.metrics.exporter.impl {
   requires org.mule.runtime.metrics.exporter.configuration.api;
   requires org.mule.runtime.metrics.exporter.configuration.impl;
   requires org.mule.runtime.metrics.api;
+  requires org.mule.runtime.tracer.common;
 
   requires java.inject;
   requires com.google.gson;
+  requires com.google.protobuf;
   requires io.opentelemetry.api;
   requires io.opentelemetry.exporter.otlp;
+  requires io.opentelemetry.proto;
   requires io.opentelemetry.sdk.common;
   requires io.opentelemetry.sdk.metrics;
   requires io.opentelemetry.sdk.testing;
@@ -7,6 +7,7 @@
 package org.mule.runtime.metrics.exporter.impl.config;
 
 import org.mule.runtime.metrics.exporter.impl.optel.resources.MeterExporterConfigurator;
+import org.mule.runtime.metrics.exporter.impl.optel.resources.file.FileMeterExporterConfigurator;
 import org.mule.runtime.metrics.exporter.impl.optel.resources.grpc.GrpcMeterExporterConfigurator;
 import org.mule.runtime.metrics.exporter.impl.optel.resources.http.HttpMeterExporterConfigurator;
 import org.mule.runtime.metrics.exporter.impl.optel.resources.inmemory.InMemoryMeterExporterConfigurator;
@@ -22,7 +23,9 @@ public enum OpenTelemetryMeterExporterTransport {
 
   HTTP(new HttpMeterExporterConfigurator()),
 
-  IN_MEMORY(new InMemoryMeterExporterConfigurator());
+  IN_MEMORY(new InMemoryMeterExporterConfigurator()),
+
+  FILE(new FileMeterExporterConfigurator());
 
   private final MeterExporterConfigurator meterExporterConfigurator;
 
@@ -8,6 +8,9 @@ package org.mule.runtime.metrics.exporter.impl.optel.config;
 
 import static org.mule.runtime.metrics.exporter.config.api.OpenTelemetryMeterExporterConfigurationProperties.MULE_OPEN_TELEMETRY_METER_EXPORTER_ENABLED;
 import static org.mule.runtime.metrics.exporter.config.api.OpenTelemetryMeterExporterConfigurationProperties.MULE_OPEN_TELEMETRY_METER_EXPORTER_ENDPOINT;
+import static org.mule.runtime.metrics.exporter.config.api.OpenTelemetryMeterExporterConfigurationProperties.MULE_OPEN_TELEMETRY_METER_EXPORTER_FILE_MAX_FILES;
+import static org.mule.runtime.metrics.exporter.config.api.OpenTelemetryMeterExporterConfigurationProperties.MULE_OPEN_TELEMETRY_METER_EXPORTER_FILE_MAX_FILE_SIZE;
+import static org.mule.runtime.metrics.exporter.config.api.OpenTelemetryMeterExporterConfigurationProperties.MULE_OPEN_TELEMETRY_METER_EXPORTER_FILE_QUEUE_SIZE;
 import static org.mule.runtime.metrics.exporter.config.api.OpenTelemetryMeterExporterConfigurationProperties.MULE_OPEN_TELEMETRY_METER_EXPORTER_INTERVAL;
 import static org.mule.runtime.metrics.exporter.config.api.OpenTelemetryMeterExporterConfigurationProperties.MULE_OPEN_TELEMETRY_METER_EXPORTER_TIMEOUT;
 import static org.mule.runtime.metrics.exporter.config.api.OpenTelemetryMeterExporterConfigurationProperties.MULE_OPEN_TELEMETRY_METER_EXPORTER_TYPE;
@@ -34,6 +37,9 @@ public class OpenTelemetryAutoConfigurableMeterExporterConfiguration implements
   private static final String DEFAULT_EXPORTER_TIMEOUT = "10000";
   private static final String DEFAULT_EXPORTER_INTERVAL = "60";
   private static final String DEFAULT_ENABLED_VALUE = "false";
+  private static final String DEFAULT_FILE_MAX_FILE_SIZE = "16777216";
+  private static final String DEFAULT_FILE_MAX_FILES = "10";
+  private static final String DEFAULT_FILE_QUEUE_SIZE = "256";
 
   private MeterExporterConfiguration delegate;
   private final Map<String, String> defaultConfigurationValues = new HashMap<>();
@@ -71,5 +77,8 @@ public class OpenTelemetryAutoConfigurableMeterExporterConfiguration implements
     }
     defaultConfigurationValues.put(MULE_OPEN_TELEMETRY_METER_EXPORTER_TIMEOUT, DEFAULT_EXPORTER_TIMEOUT);
     defaultConfigurationValues.put(MULE_OPEN_TELEMETRY_METER_EXPORTER_INTERVAL, DEFAULT_EXPORTER_INTERVAL);
+    defaultConfigurationValues.put(MULE_OPEN_TELEMETRY_METER_EXPORTER_FILE_MAX_FILE_SIZE, DEFAULT_FILE_MAX_FILE_SIZE);
+    defaultConfigurationValues.put(MULE_OPEN_TELEMETRY_METER_EXPORTER_FILE_MAX_FILES, DEFAULT_FILE_MAX_FILES);
+    defaultConfigurationValues.put(MULE_OPEN_TELEMETRY_METER_EXPORTER_FILE_QUEUE_SIZE, DEFAULT_FILE_QUEUE_SIZE);
   }
 }
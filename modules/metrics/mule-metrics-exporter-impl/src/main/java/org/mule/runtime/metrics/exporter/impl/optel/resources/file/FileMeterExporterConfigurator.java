@@ -0,0 +1,72 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.metrics.exporter.impl.optel.resources.file;
+
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_HOME_DIRECTORY_PROPERTY;
+import static org.mule.runtime.metrics.exporter.config.api.OpenTelemetryMeterExporterConfigurationProperties.MULE_OPEN_TELEMETRY_METER_EXPORTER_FILE_DIRECTORY;
+import static org.mule.runtime.metrics.exporter.config.api.OpenTelemetryMeterExporterConfigurationProperties.MULE_OPEN_TELEMETRY_METER_EXPORTER_FILE_MAX_FILES;
+import static org.mule.runtime.metrics.exporter.config.api.OpenTelemetryMeterExporterConfigurationProperties.MULE_OPEN_TELEMETRY_METER_EXPORTER_FILE_MAX_FILE_SIZE;
+import static org.mule.runtime.metrics.exporter.config.api.OpenTelemetryMeterExporterConfigurationProperties.MULE_OPEN_TELEMETRY_METER_EXPORTER_FILE_QUEUE_SIZE;
+import static org.mule.runtime.metrics.exporter.config.api.OpenTelemetryMeterExporterConfigurationProperties.MULE_OPEN_TELEMETRY_METER_EXPORTER_TIMEOUT;
+
+import static java.lang.Integer.parseInt;
+import static java.lang.Long.parseLong;
+import static java.lang.System.getProperty;
+import static java.nio.file.Paths.get;
+
+import static org.apache.commons.lang3.StringUtils.isEmpty;
+
+import org.mule.runtime.metrics.exporter.config.api.MeterExporterConfiguration;
+import org.mule.runtime.metrics.exporter.impl.optel.resources.MeterExporterConfigurator;
+import org.mule.runtime.metrics.exporter.impl.optel.resources.MeterExporterConfiguratorException;
+import org.mule.runtime.tracer.common.file.AsyncRecordFileWriter;
+import org.mule.runtime.tracer.common.file.RotatingMappedRecordFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import io.opentelemetry.sdk.metrics.export.MetricExporter;
+
+/**
+ * A {@link MeterExporterConfigurator} for export to local files.
+ *
+ * @since 4.9.0
+ */
+public class FileMeterExporterConfigurator implements MeterExporterConfigurator {
+
+  private static final String FILE_PREFIX = "metrics";
+  private static final String WRITER_THREAD_NAME = "mule-metrics-file-exporter";
+
+  @Override
+  public MetricExporter configExporter(MeterExporterConfiguration meterExporterConfiguration)
+      throws MeterExporterConfiguratorException {
+    try {
+      RotatingMappedRecordFile recordFile =
+          new RotatingMappedRecordFile(getDirectory(meterExporterConfiguration), FILE_PREFIX,
+                                       parseInt(meterExporterConfiguration
+                                           .getStringValue(MULE_OPEN_TELEMETRY_METER_EXPORTER_FILE_MAX_FILE_SIZE)),
+                                       parseInt(meterExporterConfiguration
+                                           .getStringValue(MULE_OPEN_TELEMETRY_METER_EXPORTER_FILE_MAX_FILES)));
+
+      int queueSize = parseInt(meterExporterConfiguration.getStringValue(MULE_OPEN_TELEMETRY_METER_EXPORTER_FILE_QUEUE_SIZE));
+      AsyncRecordFileWriter writer = new AsyncRecordFileWriter(WRITER_THREAD_NAME, recordFile, queueSize, queueSize);
+
+      return new FileMetricExporter(writer, parseLong(meterExporterConfiguration
+          .getStringValue(MULE_OPEN_TELEMETRY_METER_EXPORTER_TIMEOUT)));
+    } catch (IOException | IllegalArgumentException e) {
+      throw new MeterExporterConfiguratorException(e);
+    }
+  }
+
+  private Path getDirectory(MeterExporterConfiguration meterExporterConfiguration) {
+    String directory = meterExporterConfiguration.getStringValue(MULE_OPEN_TELEMETRY_METER_EXPORTER_FILE_DIRECTORY);
+    if (!isEmpty(directory)) {
+      return get(directory);
+    }
+    return get(getProperty(MULE_HOME_DIRECTORY_PROPERTY, getProperty("java.io.tmpdir")), "logs", "otel", FILE_PREFIX);
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.metrics.exporter.impl.optel.resources.file;
+
+import static org.mule.runtime.metrics.exporter.impl.optel.resources.file.MetricDataProtoConverter.toExportMetricsServiceRequest;
+
+import static io.opentelemetry.sdk.common.CompletableResultCode.ofFailure;
+import static io.opentelemetry.sdk.common.CompletableResultCode.ofSuccess;
+import static io.opentelemetry.sdk.metrics.data.AggregationTemporality.CUMULATIVE;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.tracer.common.file.AsyncRecordFileWriter;
+import org.mule.runtime.tracer.common.file.RotatingMappedRecordFile;
+
+import java.util.Collection;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.metrics.InstrumentType;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.export.MetricExporter;
+import org.slf4j.Logger;
+
+/**
+ * A {@link MetricExporter} that appends each collection of metrics as an OTLP {@code ExportMetricsServiceRequest} in protobuf
+ * binary format to local files (see {@link RotatingMappedRecordFile} for the file layout).
+ *
+ * @since 4.9.0
+ */
+public class FileMetricExporter implements MetricExporter {
+
+  private static final Logger LOGGER = getLogger(FileMetricExporter.class);
+
+  private final AsyncRecordFileWriter writer;
+  private final long flushTimeoutMillis;
+
+  public FileMetricExporter(AsyncRecordFileWriter writer, long flushTimeoutMillis) {
+    this.writer = writer;
+    this.flushTimeoutMillis = flushTimeoutMillis;
+  }
+
+  @Override
+  public CompletableResultCode export(Collection<MetricData> metrics) {
+    if (metrics.isEmpty()) {
+      return ofSuccess();
+    }
+
+    if (writer.write(toExportMetricsServiceRequest(metrics).toByteArray())) {
+      return ofSuccess();
+    }
+    LOGGER.debug("Dropped {} metrics because the file exporter queue is full", metrics.size());
+    return ofFailure();
+  }
+
+  @Override
+  public AggregationTemporality getAggregationTemporality(InstrumentType instrumentType) {
+    return CUMULATIVE;
+  }
+
+  @Override
+  public CompletableResultCode flush() {
+    return writer.flush(flushTimeoutMillis) ? ofSuccess() : ofFailure();
+  }
+
+  @Override
+  public CompletableResultCode shutdown() {
+    writer.close();
+    return ofSuccess();
+  }
+}
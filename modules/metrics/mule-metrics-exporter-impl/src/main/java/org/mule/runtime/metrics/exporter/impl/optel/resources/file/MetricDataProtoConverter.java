@@ -0,0 +1,277 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.metrics.exporter.impl.optel.resources.file;
+
+import static io.opentelemetry.proto.metrics.v1.AggregationTemporality.AGGREGATION_TEMPORALITY_CUMULATIVE;
+import static io.opentelemetry.proto.metrics.v1.AggregationTemporality.AGGREGATION_TEMPORALITY_DELTA;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.proto.collector.metrics.v1.ExportMetricsServiceRequest;
+import io.opentelemetry.proto.common.v1.AnyValue;
+import io.opentelemetry.proto.common.v1.ArrayValue;
+import io.opentelemetry.proto.common.v1.InstrumentationScope;
+import io.opentelemetry.proto.common.v1.KeyValue;
+import io.opentelemetry.proto.metrics.v1.ExponentialHistogram;
+import io.opentelemetry.proto.metrics.v1.ExponentialHistogramDataPoint;
+import io.opentelemetry.proto.metrics.v1.Gauge;
+import io.opentelemetry.proto.metrics.v1.Histogram;
+import io.opentelemetry.proto.metrics.v1.HistogramDataPoint;
+import io.opentelemetry.proto.metrics.v1.Metric;
+import io.opentelemetry.proto.metrics.v1.NumberDataPoint;
+import io.opentelemetry.proto.metrics.v1.ResourceMetrics;
+import io.opentelemetry.proto.metrics.v1.ScopeMetrics;
+import io.opentelemetry.proto.metrics.v1.Sum;
+import io.opentelemetry.proto.metrics.v1.Summary;
+import io.opentelemetry.proto.metrics.v1.SummaryDataPoint;
+import io.opentelemetry.proto.resource.v1.Resource;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.DoublePointData;
+import io.opentelemetry.sdk.metrics.data.ExponentialHistogramBuckets;
+import io.opentelemetry.sdk.metrics.data.ExponentialHistogramPointData;
+import io.opentelemetry.sdk.metrics.data.HistogramPointData;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.data.PointData;
+import io.opentelemetry.sdk.metrics.data.SumData;
+import io.opentelemetry.sdk.metrics.data.SummaryPointData;
+import io.opentelemetry.sdk.metrics.data.ValueAtQuantile;
+
+/**
+ * Converts {@link MetricData} to the OTLP protobuf types, grouping the metrics by resource and instrumentation scope as the
+ * OTLP exporters do. Exemplars are not exported.
+ *
+ * @since 4.9.0
+ */
+final class MetricDataProtoConverter {
+
+  private MetricDataProtoConverter() {}
+
+  static ExportMetricsServiceRequest toExportMetricsServiceRequest(Collection<MetricData> metrics) {
+    Map<io.opentelemetry.sdk.resources.Resource, Map<InstrumentationScopeInfo, List<Metric>>> metricsByResource =
+        new LinkedHashMap<>();
+    for (MetricData metric : metrics) {
+      metricsByResource.computeIfAbsent(metric.getResource(), resource -> new LinkedHashMap<>())
+          .computeIfAbsent(metric.getInstrumentationScopeInfo(), scope -> new ArrayList<>())
+          .add(toMetric(metric));
+    }
+
+    ExportMetricsServiceRequest.Builder request = ExportMetricsServiceRequest.newBuilder();
+    metricsByResource.forEach((resource, metricsByScope) -> {
+      ResourceMetrics.Builder resourceMetrics = ResourceMetrics.newBuilder().setResource(toResource(resource));
+      if (resource.getSchemaUrl() != null) {
+        resourceMetrics.setSchemaUrl(resource.getSchemaUrl());
+      }
+      metricsByScope.forEach((scope, scopeMetrics) -> {
+        ScopeMetrics.Builder scopeMetricsBuilder =
+            ScopeMetrics.newBuilder().setScope(toScope(scope)).addAllMetrics(scopeMetrics);
+        if (scope.getSchemaUrl() != null) {
+          scopeMetricsBuilder.setSchemaUrl(scope.getSchemaUrl());
+        }
+        resourceMetrics.addScopeMetrics(scopeMetricsBuilder);
+      });
+      request.addResourceMetrics(resourceMetrics);
+    });
+    return request.build();
+  }
+
+  private static Metric toMetric(MetricData metricData) {
+    Metric.Builder metric = Metric.newBuilder()
+        .setName(metricData.getName())
+        .setDescription(metricData.getDescription())
+        .setUnit(metricData.getUnit());
+
+    switch (metricData.getType()) {
+      case LONG_GAUGE:
+        Gauge.Builder longGauge = Gauge.newBuilder();
+        metricData.getLongGaugeData().getPoints().forEach(point -> longGauge.addDataPoints(toNumberDataPoint(point)));
+        return metric.setGauge(longGauge).build();
+      case DOUBLE_GAUGE:
+        Gauge.Builder doubleGauge = Gauge.newBuilder();
+        metricData.getDoubleGaugeData().getPoints().forEach(point -> doubleGauge.addDataPoints(toNumberDataPoint(point)));
+        return metric.setGauge(doubleGauge).build();
+      case LONG_SUM:
+        SumData<LongPointData> longSumData = metricData.getLongSumData();
+        Sum.Builder longSum = toSum(longSumData);
+        longSumData.getPoints().forEach(point -> longSum.addDataPoints(toNumberDataPoint(point)));
+        return metric.setSum(longSum).build();
+      case DOUBLE_SUM:
+        SumData<DoublePointData> doubleSumData = metricData.getDoubleSumData();
+        Sum.Builder doubleSum = toSum(doubleSumData);
+        doubleSumData.getPoints().forEach(point -> doubleSum.addDataPoints(toNumberDataPoint(point)));
+        return metric.setSum(doubleSum).build();
+      case HISTOGRAM:
+        Histogram.Builder histogram = Histogram.newBuilder()
+            .setAggregationTemporality(toTemporality(metricData.getHistogramData().getAggregationTemporality()));
+        metricData.getHistogramData().getPoints().forEach(point -> histogram.addDataPoints(toHistogramDataPoint(point)));
+        return metric.setHistogram(histogram).build();
+      case EXPONENTIAL_HISTOGRAM:
+        ExponentialHistogram.Builder exponentialHistogram = ExponentialHistogram.newBuilder()
+            .setAggregationTemporality(toTemporality(metricData.getExponentialHistogramData().getAggregationTemporality()));
+        metricData.getExponentialHistogramData().getPoints()
+            .forEach(point -> exponentialHistogram.addDataPoints(toExponentialHistogramDataPoint(point)));
+        return metric.setExponentialHistogram(exponentialHistogram).build();
+      case SUMMARY:
+        Summary.Builder summary = Summary.newBuilder();
+        metricData.getSummaryData().getPoints().forEach(point -> summary.addDataPoints(toSummaryDataPoint(point)));
+        return metric.setSummary(summary).build();
+      default:
+        return metric.build();
+    }
+  }
+
+  private static Sum.Builder toSum(SumData<?> sumData) {
+    return Sum.newBuilder()
+        .setIsMonotonic(sumData.isMonotonic())
+        .setAggregationTemporality(toTemporality(sumData.getAggregationTemporality()));
+  }
+
+  private static io.opentelemetry.proto.metrics.v1.AggregationTemporality toTemporality(AggregationTemporality temporality) {
+    return temporality == AggregationTemporality.DELTA ? AGGREGATION_TEMPORALITY_DELTA : AGGREGATION_TEMPORALITY_CUMULATIVE;
+  }
+
+  private static NumberDataPoint toNumberDataPoint(LongPointData point) {
+    return numberDataPoint(point).setAsInt(point.getValue()).build();
+  }
+
+  private static NumberDataPoint toNumberDataPoint(DoublePointData point) {
+    return numberDataPoint(point).setAsDouble(point.getValue()).build();
+  }
+
+  private static NumberDataPoint.Builder numberDataPoint(PointData point) {
+    return NumberDataPoint.newBuilder()
+        .addAllAttributes(toKeyValues(point.getAttributes()))
+        .setStartTimeUnixNano(point.getStartEpochNanos())
+        .setTimeUnixNano(point.getEpochNanos());
+  }
+
+  private static HistogramDataPoint toHistogramDataPoint(HistogramPointData point) {
+    HistogramDataPoint.Builder dataPoint = HistogramDataPoint.newBuilder()
+        .addAllAttributes(toKeyValues(point.getAttributes()))
+        .setStartTimeUnixNano(point.getStartEpochNanos())
+        .setTimeUnixNano(point.getEpochNanos())
+        .setCount(point.getCount())
+        .setSum(point.getSum())
+        .addAllBucketCounts(point.getCounts())
+        .addAllExplicitBounds(point.getBoundaries());
+    if (point.hasMin()) {
+      dataPoint.setMin(point.getMin());
+    }
+    if (point.hasMax()) {
+      dataPoint.setMax(point.getMax());
+    }
+    return dataPoint.build();
+  }
+
+  private static ExponentialHistogramDataPoint toExponentialHistogramDataPoint(ExponentialHistogramPointData point) {
+    ExponentialHistogramDataPoint.Builder dataPoint = ExponentialHistogramDataPoint.newBuilder()
+        .addAllAttributes(toKeyValues(point.getAttributes()))
+        .setStartTimeUnixNano(point.getStartEpochNanos())
+        .setTimeUnixNano(point.getEpochNanos())
+        .setCount(point.getCount())
+        .setSum(point.getSum())
+        .setScale(point.getScale())
+        .setZeroCount(point.getZeroCount())
+        .setPositive(toBuckets(point.getPositiveBuckets()))
+        .setNegative(toBuckets(point.getNegativeBuckets()));
+    if (point.hasMin()) {
+      dataPoint.setMin(point.getMin());
+    }
+    if (point.hasMax()) {
+      dataPoint.setMax(point.getMax());
+    }
+    return dataPoint.build();
+  }
+
+  private static ExponentialHistogramDataPoint.Buckets toBuckets(ExponentialHistogramBuckets buckets) {
+    return ExponentialHistogramDataPoint.Buckets.newBuilder()
+        .setOffset(buckets.getOffset())
+        .addAllBucketCounts(buckets.getBucketCounts())
+        .build();
+  }
+
+  private static SummaryDataPoint toSummaryDataPoint(SummaryPointData point) {
+    SummaryDataPoint.Builder dataPoint = SummaryDataPoint.newBuilder()
+        .addAllAttributes(toKeyValues(point.getAttributes()))
+        .setStartTimeUnixNano(point.getStartEpochNanos())
+        .setTimeUnixNano(point.getEpochNanos())
+        .setCount(point.getCount())
+        .setSum(point.getSum());
+    for (ValueAtQuantile value : point.getValues()) {
+      dataPoint.addQuantileValues(SummaryDataPoint.ValueAtQuantile.newBuilder()
+          .setQuantile(value.getQuantile())
+          .setValue(value.getValue()));
+    }
+    return dataPoint.build();
+  }
+
+  private static Resource toResource(io.opentelemetry.sdk.resources.Resource resource) {
+    return Resource.newBuilder().addAllAttributes(toKeyValues(resource.getAttributes())).build();
+  }
+
+  private static InstrumentationScope toScope(InstrumentationScopeInfo scopeInfo) {
+    InstrumentationScope.Builder scope = InstrumentationScope.newBuilder()
+        .setName(scopeInfo.getName())
+        .addAllAttributes(toKeyValues(scopeInfo.getAttributes()));
+    if (scopeInfo.getVersion() != null) {
+      scope.setVersion(scopeInfo.getVersion());
+    }
+    return scope.build();
+  }
+
+  private static List<KeyValue> toKeyValues(Attributes attributes) {
+    List<KeyValue> keyValues = new ArrayList<>(attributes.size());
+    attributes.forEach((key, value) -> keyValues.add(KeyValue.newBuilder()
+        .setKey(key.getKey())
+        .setValue(toAnyValue(key, value))
+        .build()));
+    return keyValues;
+  }
+
+  private static AnyValue toAnyValue(AttributeKey<?> key, Object value) {
+    switch (key.getType()) {
+      case STRING:
+        return AnyValue.newBuilder().setStringValue((String) value).build();
+      case BOOLEAN:
+        return AnyValue.newBuilder().setBoolValue((Boolean) value).build();
+      case LONG:
+        return AnyValue.newBuilder().setIntValue((Long) value).build();
+      case DOUBLE:
+        return AnyValue.newBuilder().setDoubleValue((Double) value).build();
+      case STRING_ARRAY:
+      case BOOLEAN_ARRAY:
+      case LONG_ARRAY:
+      case DOUBLE_ARRAY:
+        ArrayValue.Builder arrayValue = ArrayValue.newBuilder();
+        for (Object element : (List<?>) value) {
+          arrayValue.addValues(toAnyValue(element));
+        }
+        return AnyValue.newBuilder().setArrayValue(arrayValue).build();
+      default:
+        return AnyValue.newBuilder().setStringValue(String.valueOf(value)).build();
+    }
+  }
+
+  private static AnyValue toAnyValue(Object value) {
+    if (value instanceof Boolean) {
+      return AnyValue.newBuilder().setBoolValue((Boolean) value).build();
+    } else if (value instanceof Long) {
+      return AnyValue.newBuilder().setIntValue((Long) value).build();
+    } else if (value instanceof Double) {
+      return AnyValue.newBuilder().setDoubleValue((Double) value).build();
+    } else {
+      return AnyValue.newBuilder().setStringValue(String.valueOf(value)).build();
+    }
+  }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.metrics.exporter.impl;
+
+import static org.mule.runtime.tracer.common.file.RotatingMappedRecordFile.readRecords;
+import static org.mule.test.allure.AllureConstants.Profiling.PROFILING;
+import static org.mule.test.allure.AllureConstants.Profiling.ProfilingServiceStory.METRICS_EXPORTER;
+
+import static java.nio.file.Files.list;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.stream.Collectors.toList;
+
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
+import static io.opentelemetry.proto.metrics.v1.AggregationTemporality.AGGREGATION_TEMPORALITY_CUMULATIVE;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.aMapWithSize;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+import org.mule.runtime.metrics.exporter.impl.optel.resources.file.FileMetricExporter;
+import org.mule.runtime.tracer.common.file.AsyncRecordFileWriter;
+import org.mule.runtime.tracer.common.file.RotatingMappedRecordFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.proto.collector.metrics.v1.ExportMetricsServiceRequest;
+import io.opentelemetry.proto.common.v1.KeyValue;
+import io.opentelemetry.proto.metrics.v1.HistogramDataPoint;
+import io.opentelemetry.proto.metrics.v1.Metric;
+import io.opentelemetry.proto.metrics.v1.NumberDataPoint;
+import io.opentelemetry.proto.metrics.v1.ScopeMetrics;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.export.PeriodicMetricReader;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@Feature(PROFILING)
+@Story(METRICS_EXPORTER)
+public class FileMetricExporterTestCase {
+
+  private static final long FLUSH_TIMEOUT = 10000;
+  private static final String METER_NAME = "test-meter";
+  private static final String ATTRIBUTE_KEY = "artifactId";
+  private static final String ATTRIBUTE_VALUE = "app";
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  @Description("Gauges, sums and histograms are written as OTLP requests that can be parsed back")
+  public void metricsAreWrittenAsOtlpRequests() throws Exception {
+    Path directory = temporaryFolder.getRoot().toPath();
+    FileMetricExporter exporter = exporter(directory);
+    SdkMeterProvider meterProvider = SdkMeterProvider.builder()
+        .registerMetricReader(PeriodicMetricReader.builder(exporter).build())
+        .build();
+    Meter meter = meterProvider.get(METER_NAME);
+    Attributes attributes = Attributes.of(stringKey(ATTRIBUTE_KEY), ATTRIBUTE_VALUE);
+
+    meter.gaugeBuilder("gauge").buildWithCallback(measurement -> measurement.record(1.5, attributes));
+    meter.counterBuilder("sum").build().add(3, attributes);
+    meter.histogramBuilder("histogram").build().record(7, attributes);
+    assertThat(meterProvider.forceFlush().join(FLUSH_TIMEOUT, MILLISECONDS).isSuccess(), is(true));
+    meterProvider.shutdown().join(FLUSH_TIMEOUT, MILLISECONDS);
+
+    Map<String, Metric> metrics = new HashMap<>();
+    for (Path file : files(directory)) {
+      readRecords(file, record -> parse(record).getResourceMetricsList()
+          .forEach(resourceMetrics -> resourceMetrics.getScopeMetricsList().stream()
+              .filter(scopeMetrics -> scopeMetrics.getScope().getName().equals(METER_NAME))
+              .map(ScopeMetrics::getMetricsList)
+              .forEach(scopeMetrics -> scopeMetrics.forEach(metric -> metrics.putIfAbsent(metric.getName(), metric)))));
+    }
+    assertThat(metrics, aMapWithSize(3));
+
+    Metric gauge = metrics.get("gauge");
+    assertThat(gauge.hasGauge(), is(true));
+    NumberDataPoint gaugePoint = gauge.getGauge().getDataPoints(0);
+    assertThat(gaugePoint.getAsDouble(), is(1.5));
+    assertAttributes(gaugePoint.getAttributesList());
+
+    Metric sum = metrics.get("sum");
+    assertThat(sum.hasSum(), is(true));
+    assertThat(sum.getSum().getIsMonotonic(), is(true));
+    assertThat(sum.getSum().getAggregationTemporality(), is(AGGREGATION_TEMPORALITY_CUMULATIVE));
+    NumberDataPoint sumPoint = sum.getSum().getDataPoints(0);
+    assertThat(sumPoint.getAsInt(), is(3L));
+    assertAttributes(sumPoint.getAttributesList());
+
+    Metric histogram = metrics.get("histogram");
+    assertThat(histogram.hasHistogram(), is(true));
+    assertThat(histogram.getHistogram().getAggregationTemporality(), is(AGGREGATION_TEMPORALITY_CUMULATIVE));
+    HistogramDataPoint histogramPoint = histogram.getHistogram().getDataPoints(0);
+    assertThat(histogramPoint.getCount(), is(1L));
+    assertThat(histogramPoint.getSum(), is(7.0));
+    assertThat(histogramPoint.getMin(), is(7.0));
+    assertThat(histogramPoint.getMax(), is(7.0));
+    assertThat(histogramPoint.getBucketCountsCount(), is(histogramPoint.getExplicitBoundsCount() + 1));
+    assertThat(histogramPoint.getBucketCountsList().stream().mapToLong(Long::longValue).sum(), is(1L));
+    assertAttributes(histogramPoint.getAttributesList());
+  }
+
+  @Test
+  @Description("Nothing is written when there are no metrics to export")
+  public void emptyExportIsNotWritten() throws Exception {
+    Path directory = temporaryFolder.getRoot().toPath();
+    FileMetricExporter exporter = exporter(directory);
+
+    assertThat(exporter.export(List.of()).isSuccess(), is(true));
+    assertThat(exporter.flush().join(FLUSH_TIMEOUT, MILLISECONDS).isSuccess(), is(true));
+    exporter.shutdown();
+
+    List<byte[]> records = new ArrayList<>();
+    for (Path file : files(directory)) {
+      readRecords(file, records::add);
+    }
+    assertThat(records, hasSize(0));
+  }
+
+  private static void assertAttributes(List<KeyValue> attributes) {
+    assertThat(attributes, hasSize(1));
+    assertThat(attributes.get(0).getKey(), is(ATTRIBUTE_KEY));
+    assertThat(attributes.get(0).getValue().getStringValue(), is(ATTRIBUTE_VALUE));
+  }
+
+  private FileMetricExporter exporter(Path directory) throws IOException {
+    RotatingMappedRecordFile recordFile = new RotatingMappedRecordFile(directory, "metrics", 64 * 1024, 2);
+    return new FileMetricExporter(new AsyncRecordFileWriter("test-file-exporter", recordFile, 16, 16), FLUSH_TIMEOUT);
+  }
+
+  private static List<Path> files(Path directory) throws IOException {
+    try (Stream<Path> files = list(directory)) {
+      return files.sorted().collect(toList());
+    }
+  }
+
+  private static ExportMetricsServiceRequest parse(byte[] record) {
+    try {
+      return ExportMetricsServiceRequest.parseFrom(record);
+    } catch (InvalidProtocolBufferException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -11,7 +11,9 @@ import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 
 import static java.lang.Boolean.valueOf;
+import static java.lang.String.format;
 import static java.lang.System.getProperty;
+import static java.lang.ThreadLocal.withInitial;
 import static java.util.Objects.requireNonNull;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
@@ -27,7 +29,13 @@ import org.mule.runtime.config.api.properties.ConfigurationPropertiesResolver;
 import org.mule.runtime.properties.api.ConfigurationPropertiesProvider;
 import org.mule.runtime.properties.api.ConfigurationProperty;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
@@ -38,6 +46,9 @@ import org.slf4j.Logger;
  * Resolves attribute placeholders.
  * <p>
  * It will delegate the placeholder resolution to it's parent if it weren't able to resolve a value by itself.
+ * <p>
+ * The values of the placeholders are resolved only once for each key, and the values with placeholders are split into their
+ * literal parts and the keys of their placeholders, so that they are not scanned again after each replacement.
  *
  * @since 4.0
  */
@@ -50,6 +61,9 @@ public class DefaultConfigurationPropertiesResolver implements ConfigurationProp
   private final Optional<ConfigurationPropertiesResolver> nextResolver;
   private final ConfigurationPropertiesProvider configurationPropertiesProvider;
   private final Cache<String, Object> resolutionCache = CacheBuilder.<String, String>newBuilder().build();
+  private final Map<String, Object> placeholderKeyValues = new ConcurrentHashMap<>();
+  // Used for detecting properties whose value references themselves, directly or through other properties
+  private final ThreadLocal<Set<String>> placeholderKeysBeingResolved = withInitial(HashSet::new);
   private boolean initialized = false;
   private Optional<ConfigurationPropertiesResolver> rootResolver = empty();
   private final boolean failIfPropertyNotFound;
@@ -117,7 +131,7 @@ public class DefaultConfigurationPropertiesResolver implements ConfigurationProp
         if (prefixIndex == -1) {
           return CORRECT_USE_OF_BACKSLASH ? value.replace("\\" + PLACEHOLDER_PREFIX, PLACEHOLDER_PREFIX) : value;
         }
-        return replaceAllPlaceholders(value);
+        return resolvePlaceholders(value);
       });
     } catch (Exception e) {
       LOGGER.debug("Could not resolve property at {}", configurationPropertiesProvider.getDescription());
@@ -134,6 +148,7 @@ public class DefaultConfigurationPropertiesResolver implements ConfigurationProp
     initialiseIfNeeded(nextResolver);
     if (!initialized) {
       initialiseIfNeeded(configurationPropertiesProvider);
+      placeholderKeyValues.clear();
       initialized = true;
     }
   }
@@ -142,6 +157,7 @@ public class DefaultConfigurationPropertiesResolver implements ConfigurationProp
   public void dispose() {
     disposeIfNeeded(configurationPropertiesProvider, LOGGER);
     disposeIfNeeded(nextResolver, LOGGER);
+    placeholderKeyValues.clear();
     initialized = false;
   }
 
@@ -153,13 +169,24 @@ public class DefaultConfigurationPropertiesResolver implements ConfigurationProp
    */
   @Override
   public Object resolvePlaceholderKeyValue(final String placeholderKey) {
+    Object value = placeholderKeyValues.get(placeholderKey);
+    if (value == null) {
+      value = doResolvePlaceholderKeyValue(placeholderKey);
+      if (value != null) {
+        placeholderKeyValues.put(placeholderKey, value);
+      }
+    }
+    return value;
+  }
+
+  private Object doResolvePlaceholderKeyValue(final String placeholderKey) {
     Optional<? extends ConfigurationProperty> foundValueOptional =
         configurationPropertiesProvider.provide(placeholderKey);
     // verify that the provided value is not the same as the placeholder key searched for. If that's the case jump to parent.
     if (foundValueOptional.isPresent()
         && !foundValueOptional.get().getValue().equals(PLACEHOLDER_PREFIX + placeholderKey + PLACEHOLDER_SUFFIX)) {
       if (foundValueOptional.get().getValue() instanceof String) {
-        return replaceAllPlaceholders(foundValueOptional.get().getValue());
+        return resolvePropertyValue(placeholderKey, foundValueOptional.get().getValue());
       } else {
         return foundValueOptional.get();
       }
@@ -192,6 +219,97 @@ public class DefaultConfigurationPropertiesResolver implements ConfigurationProp
     return CORRECT_USE_OF_BACKSLASH ? findPrefixIndex(value) : value.indexOf(PLACEHOLDER_PREFIX);
   }
 
+  private Object resolvePropertyValue(String placeholderKey, String value) {
+    Set<String> keysBeingResolved = placeholderKeysBeingResolved.get();
+    if (!keysBeingResolved.add(placeholderKey)) {
+      throw new MuleRuntimeException(createStaticMessage(format("Cyclic reference found resolving property '%s' at %s",
+                                                                placeholderKey,
+                                                                configurationPropertiesProvider.getDescription())));
+    }
+    try {
+      return resolvePlaceholders(value);
+    } finally {
+      keysBeingResolved.remove(placeholderKey);
+      if (keysBeingResolved.isEmpty()) {
+        placeholderKeysBeingResolved.remove();
+      }
+    }
+  }
+
+  /**
+   * Resolves the placeholders of the given value from its {@link SplitValue}.
+   * <p>
+   * Falls back to {@link #replaceAllPlaceholders(String)}, which scans the value again after each replacement, when the value
+   * can't be split or when a resolved placeholder could form new placeholders along with the rest of the value.
+   */
+  private Object resolvePlaceholders(String value) {
+    SplitValue splitValue = split(value);
+    if (splitValue == null) {
+      return replaceAllPlaceholders(value);
+    }
+
+    List<String> keys = splitValue.getPlaceholderKeys();
+    List<String> literals = splitValue.getLiterals();
+    // only use the value as string if it's a concat of placeholders
+    if (keys.size() == 1 && value.equals(PLACEHOLDER_PREFIX + keys.get(0) + PLACEHOLDER_SUFFIX)) {
+      return tryResolveByRoot(keys.get(0));
+    }
+
+    StringBuilder resolvedValue = new StringBuilder(literals.get(0));
+    for (int i = 0; i < keys.size(); ++i) {
+      String placeholderValue = tryResolveByRoot(keys.get(i)).toString();
+      if (mayFormPlaceholders(placeholderValue)) {
+        return replaceAllPlaceholders(value);
+      }
+      resolvedValue.append(placeholderValue).append(literals.get(i + 1));
+    }
+    return CORRECT_USE_OF_BACKSLASH ? resolvedValue.toString().replace("\\" + PLACEHOLDER_PREFIX, PLACEHOLDER_PREFIX)
+        : resolvedValue.toString();
+  }
+
+  private boolean mayFormPlaceholders(String placeholderValue) {
+    for (int i = 0; i < placeholderValue.length(); ++i) {
+      char c = placeholderValue.charAt(i);
+      if (c == '$' || c == '{' || c == '}' || c == '\\') {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Splits the given value into its literal parts and the keys of its placeholders, as {@link #replaceAllPlaceholders(String)}
+   * would find them.
+   *
+   * @return the split value, or {@code null} if a placeholder is not closed.
+   */
+  private SplitValue split(String value) {
+    List<String> literals = new ArrayList<>();
+    List<String> placeholderKeys = new ArrayList<>();
+    int literalStart = 0;
+    int prefixIndex = prefixIndexConsideringBackslash(value);
+    while (prefixIndex != -1) {
+      int suffixIndex = value.indexOf(PLACEHOLDER_SUFFIX, prefixIndex + PLACEHOLDER_PREFIX.length());
+      if (suffixIndex == -1) {
+        return null;
+      }
+      placeholderKeys.add(value.substring(prefixIndex + PLACEHOLDER_PREFIX.length(), suffixIndex));
+
+      int literalEnd = prefixIndex;
+      // Avoid propagating the escaped backslash
+      if (prefixIndex > 1 && value.charAt(prefixIndex - 1) == '\\' && value.charAt(prefixIndex - 2) == '\\') {
+        literalEnd--;
+      }
+      literals.add(value.substring(literalStart, literalEnd));
+
+      literalStart = suffixIndex + PLACEHOLDER_SUFFIX.length();
+      int nextPrefixIndex = prefixIndexConsideringBackslash(value.substring(literalStart));
+      prefixIndex = nextPrefixIndex == -1 ? -1 : literalStart + nextPrefixIndex;
+    }
+    literals.add(value.substring(literalStart));
+    return new SplitValue(literals, placeholderKeys);
+  }
+
   private Object replaceAllPlaceholders(String value) {
     String innerPlaceholderKey;
     String testValue = value;
@@ -226,10 +344,12 @@ public class DefaultConfigurationPropertiesResolver implements ConfigurationProp
 
   public void setRootResolver(ConfigurationPropertiesResolver rootResolver) {
     this.rootResolver = of(rootResolver);
+    placeholderKeyValues.clear();
     propagateRootResolver(rootResolver);
   }
 
   public void setAsRootResolver() {
+    placeholderKeyValues.clear();
     propagateRootResolver(this);
   }
 
@@ -251,4 +371,29 @@ public class DefaultConfigurationPropertiesResolver implements ConfigurationProp
   public String toString() {
     return configurationPropertiesProvider.toString() + nextResolver.map(n -> " -> " + n.toString()).orElse("");
   }
+
+  /**
+   * A value with placeholders, split into the literal parts around its placeholders and the keys of those placeholders.
+   * <p>
+   * There is always one more literal part than placeholder keys, the literal parts before and after each placeholder may be
+   * empty.
+   */
+  private static final class SplitValue {
+
+    private final List<String> literals;
+    private final List<String> placeholderKeys;
+
+    private SplitValue(List<String> literals, List<String> placeholderKeys) {
+      this.literals = literals;
+      this.placeholderKeys = placeholderKeys;
+    }
+
+    List<String> getLiterals() {
+      return literals;
+    }
+
+    List<String> getPlaceholderKeys() {
+      return placeholderKeys;
+    }
+  }
 }
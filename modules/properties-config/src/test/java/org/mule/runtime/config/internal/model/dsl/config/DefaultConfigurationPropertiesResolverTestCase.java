@@ -10,14 +10,22 @@ import static org.mule.test.allure.AllureConstants.ConfigurationProperties.CONFI
 import static org.mule.test.allure.AllureConstants.ConfigurationProperties.ComponentConfigurationAttributesStory.CONFIGURATION_PROPERTIES_RESOLVER_STORY;
 
 import static java.util.Optional.empty;
+import static java.util.Optional.of;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
+import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.runtime.properties.api.ConfigurationPropertiesProvider;
 import org.mule.tck.junit4.AbstractMuleTestCase;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import io.qameta.allure.Feature;
 import io.qameta.allure.Issue;
 import io.qameta.allure.Story;
@@ -44,4 +52,58 @@ public class DefaultConfigurationPropertiesResolverTestCase extends AbstractMule
         new DefaultConfigurationPropertiesResolver(empty(), mock(ConfigurationPropertiesProvider.class), true);
     resolver.apply(NOT_FOUND_PROPERTY);
   }
+
+  @Test
+  public void placeholderKeyIsResolvedOnce() {
+    Map<String, String> properties = new HashMap<>();
+    properties.put("host", "localhost");
+    properties.put("port", "8081");
+    properties.put("url", "http://${host}:${port}/api");
+    ConfigurationPropertiesProvider provider = spy(new MapConfigurationPropertiesProvider(properties, "test"));
+    DefaultConfigurationPropertiesResolver resolver = new DefaultConfigurationPropertiesResolver(empty(), provider);
+
+    assertThat(resolver.resolveValue("${url}"), is("http://localhost:8081/api"));
+    assertThat(resolver.resolveValue("${host}-${port}"), is("localhost-8081"));
+    verify(provider, times(1)).provide("host");
+    verify(provider, times(1)).provide("port");
+  }
+
+  @Test
+  public void escapedPlaceholderIsNotResolved() {
+    Map<String, String> properties = new HashMap<>();
+    properties.put("host", "localhost");
+    DefaultConfigurationPropertiesResolver resolver =
+        new DefaultConfigurationPropertiesResolver(empty(), new MapConfigurationPropertiesProvider(properties, "test"));
+
+    assertThat(resolver.resolveValue("\\${host}-${host}"), is("${host}-localhost"));
+  }
+
+  @Test
+  public void placeholderResolvedFromNextResolver() {
+    Map<String, String> parentProperties = new HashMap<>();
+    parentProperties.put("host", "localhost");
+    parentProperties.put("url", "http://${host}/api");
+    DefaultConfigurationPropertiesResolver parentResolver =
+        new DefaultConfigurationPropertiesResolver(empty(), new MapConfigurationPropertiesProvider(parentProperties, "parent"));
+
+    Map<String, String> properties = new HashMap<>();
+    properties.put("host", "example.com");
+    DefaultConfigurationPropertiesResolver resolver =
+        new DefaultConfigurationPropertiesResolver(of(parentResolver),
+                                                   new MapConfigurationPropertiesProvider(properties, "test"));
+    resolver.setAsRootResolver();
+
+    assertThat(resolver.resolveValue("${url}"), is("http://example.com/api"));
+  }
+
+  @Test(expected = MuleRuntimeException.class)
+  public void cyclicReferenceFails() {
+    Map<String, String> properties = new HashMap<>();
+    properties.put("first", "a-${second}");
+    properties.put("second", "b-${first}");
+    DefaultConfigurationPropertiesResolver resolver =
+        new DefaultConfigurationPropertiesResolver(empty(), new MapConfigurationPropertiesProvider(properties, "test"));
+
+    resolver.resolveValue("${first}");
+  }
 }
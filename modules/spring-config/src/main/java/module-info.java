@@ -62,7 +62,6 @@ module org.mule.runtime.spring.config {
   requires com.github.benmanes.caffeine;
   requires com.google.common;
 
-  requires org.jgrapht.core;
   requires net.bytebuddy;
 
   // Still needed for the deprecated properties support
@@ -11,8 +11,6 @@ import static java.util.Collections.reverse;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
 
-import static com.google.common.collect.Lists.newArrayList;
-
 import org.mule.runtime.config.internal.registry.AbstractSpringRegistry;
 import org.mule.runtime.config.internal.resolvers.DependencyGraphBeanDependencyResolver;
 import org.mule.runtime.core.internal.lifecycle.RegistryLifecycleManager;
@@ -20,16 +18,15 @@ import org.mule.runtime.core.internal.lifecycle.phases.DefaultLifecycleObjectSor
 import org.mule.runtime.core.internal.lifecycle.phases.LifecycleObjectSorter;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+
 import javax.inject.Inject;
 
-import org.jgrapht.alg.connectivity.ConnectivityInspector;
-import org.jgrapht.graph.DefaultDirectedGraph;
-import org.jgrapht.graph.DefaultEdge;
-import org.jgrapht.traverse.TopologicalOrderIterator;
 import org.springframework.beans.factory.config.BeanDefinition;
 
 /**
@@ -42,22 +39,17 @@ import org.springframework.beans.factory.config.BeanDefinition;
  */
 public class DependencyGraphLifecycleObjectSorter implements LifecycleObjectSorter {
 
-  private List<DefaultDirectedGraph<BeanWrapper, DefaultEdge>> dependencyGraphs;
-  private List<DefaultDirectedGraph<BeanWrapper, DefaultEdge>> reverseGraphs;
+  private final List<LifecycleDependencyGraph> dependencyGraphs;
   private DependencyGraphBeanDependencyResolver resolver;
   protected final Class<?>[] orderedLifecycleTypes;
   private Map<String, Integer> lifecycleObjectNameOrderMap;
 
   public DependencyGraphLifecycleObjectSorter(DependencyGraphBeanDependencyResolver resolver, Class<?>[] orderedLifecycleTypes) {
     this.dependencyGraphs = new ArrayList<>(orderedLifecycleTypes.length);
-    this.reverseGraphs = new ArrayList<>(orderedLifecycleTypes.length);
     this.resolver = resolver;
     this.orderedLifecycleTypes = orderedLifecycleTypes;
     for (int i = 0; i < orderedLifecycleTypes.length; i++) {
-      DefaultDirectedGraph<BeanWrapper, DefaultEdge> graph = new DefaultDirectedGraph<>(DefaultEdge.class);
-      dependencyGraphs.add(graph);
-      DefaultDirectedGraph<BeanWrapper, DefaultEdge> reverseGraph = new DefaultDirectedGraph<>(DefaultEdge.class);
-      reverseGraphs.add(reverseGraph);
+      dependencyGraphs.add(new LifecycleDependencyGraph());
     }
     this.lifecycleObjectNameOrderMap = new HashMap<>();
   }
@@ -78,44 +70,31 @@ public class DependencyGraphLifecycleObjectSorter implements LifecycleObjectSort
     }
     int graphIndex = getDependencyGraphIndex(currentObject);
 
-    DefaultDirectedGraph<BeanWrapper, DefaultEdge> dependencyGraph = getDependencyGraphForLifecycleType(graphIndex);
-    DefaultDirectedGraph<BeanWrapper, DefaultEdge> reverseGraph = getReverseGraphForLifecycleType(graphIndex);
-    ConnectivityInspector pathInspector = new ConnectivityInspector(reverseGraph);
-
-    BeanWrapper currentVertex = new BeanWrapper(beanName, currentObject);
-    dependencyGraph.addVertex(currentVertex);
-    reverseGraph.addVertex(currentVertex);
+    LifecycleDependencyGraph dependencyGraph = getDependencyGraphForLifecycleType(graphIndex);
+    dependencyGraph.addVertex(new BeanWrapper(beanName, currentObject));
 
     // get (direct) prerequisite objects for the current object
     Map<BeanWrapper, List<BeanWrapper>> prerequisiteObjectsMap =
         resolver.getTransitiveDependencies(beanName, graphIndex);
 
+    // the connectivity of each vertex is taken when its first prerequisite is added, and used for all its prerequisites
+    Map<Integer, Long> connectivityTimes = new HashMap<>();
+
     // add direct prerequisites to the graph & create edges(current object -> prerequisite)
-    for (BeanWrapper source : prerequisiteObjectsMap.keySet()) {
-      List<BeanWrapper> prerequisiteObjects = prerequisiteObjectsMap.get(source);
-      BeanWrapper current = new BeanWrapper(source.getName(), source.getWrappedObject());
-      dependencyGraph.addVertex(current);
-      reverseGraph.addVertex(current);
-
-      if (prerequisiteObjects.isEmpty()) {
-        continue;
+    for (Map.Entry<BeanWrapper, List<BeanWrapper>> prerequisiteObjects : prerequisiteObjectsMap.entrySet()) {
+      int current = dependencyGraph.addVertex(prerequisiteObjects.getKey());
+
+      for (BeanWrapper prerequisite : prerequisiteObjects.getValue()) {
+        int preReqVertex = dependencyGraph.addVertex(prerequisite);
+        long connectivityTime = connectivityTimes.computeIfAbsent(current, v -> dependencyGraph.getConnectivityTime());
+
+        // skip the edge if both objects were already connected, to avoid cycles
+        // (W-10704588 : tested multiple options for faster cycle detection)
+        if (!dependencyGraph.wereConnected(current, preReqVertex, connectivityTime)) {
+          // edges that would still create a cycle are discarded
+          dependencyGraph.addEdge(current, preReqVertex);
+        }
       }
-      prerequisiteObjects.forEach(
-                                  prerequisite -> {
-                                    String preReqName = prerequisite.getName();
-                                    Object preReqObject = prerequisite.getWrappedObject();
-
-                                    BeanWrapper preReqVertex = new BeanWrapper(preReqName, preReqObject);
-                                    dependencyGraph.addVertex(preReqVertex);
-                                    reverseGraph.addVertex(preReqVertex);
-
-                                    // check if a path exists in the edge reversed graph to avoid cycles
-                                    // (W-10704588 : tested multiple options for faster cycle detection)
-                                    if (!pathInspector.pathExists(current, preReqVertex)) {
-                                      reverseGraph.addEdge(preReqVertex, current);
-                                      dependencyGraph.addEdge(current, preReqVertex);
-                                    }
-                                  });
     }
   }
 
@@ -140,20 +119,10 @@ public class DependencyGraphLifecycleObjectSorter implements LifecycleObjectSort
    * @param graphIndex index of the graph for the current object
    * @return relevant dependency graph(bucket)
    */
-  private DefaultDirectedGraph<BeanWrapper, DefaultEdge> getDependencyGraphForLifecycleType(int graphIndex) {
+  private LifecycleDependencyGraph getDependencyGraphForLifecycleType(int graphIndex) {
     return dependencyGraphs.get(graphIndex);
   }
 
-  /**
-   * Provides the edge reversed graph(bucket) the current object should be added to
-   *
-   * @param graphIndex index of the graph for the current object
-   * @return edge reversed dependency graph(bucket)
-   */
-  private DefaultDirectedGraph<BeanWrapper, DefaultEdge> getReverseGraphForLifecycleType(int graphIndex) {
-    return reverseGraphs.get(graphIndex);
-  }
-
   /**
    * The objects in each graph(bucket) will be sorted based on the topological order. By reversing the order, The object that
    * should be initialised/disposed first will come first.
@@ -162,34 +131,40 @@ public class DependencyGraphLifecycleObjectSorter implements LifecycleObjectSort
    */
   @Override
   public List<Object> getSortedObjects() {
-    List<BeanWrapper> res = dependencyGraphs.stream().map(graph -> {
+    Set<BeanWrapper> res = new LinkedHashSet<>();
+    for (LifecycleDependencyGraph graph : dependencyGraphs) {
+      List<BeanWrapper> sortedObjects = graph.topologicalSort(this::getLifeCycleObjectNameOrder);
+      reverse(sortedObjects);
+      res.addAll(sortedObjects);
+    }
 
-      List<BeanWrapper> sortedObjects = newArrayList(new TopologicalOrderIterator<>(graph, new Comparator<BeanWrapper>() {
+    return res.stream().map(BeanWrapper::getWrappedObject).collect(toList());
+  }
 
-        @Override
-        public int compare(BeanWrapper o1, BeanWrapper o2) {
-          if (getLifeCycleObjectNameOrder().getOrDefault(o1.getName(), -1) > getLifeCycleObjectNameOrder()
-              .getOrDefault(o2.getName(), -1)) {
-            return -1;
-          } else {
-            return 1;
+  /**
+   * The objects in each graph(bucket) will be grouped by their depth in the graph, so that the objects in each group only depend
+   * on objects of the previous groups of the same or previous graphs(buckets).
+   *
+   * @return The groups of objects, in the order in which they should be initialised/disposed
+   */
+  @Override
+  public List<List<Object>> getSortedObjectLevels() {
+    Set<BeanWrapper> added = new HashSet<>();
+    List<List<Object>> res = new ArrayList<>();
+    for (LifecycleDependencyGraph graph : dependencyGraphs) {
+      for (List<BeanWrapper> level : graph.topologicalLevels(this::getLifeCycleObjectNameOrder)) {
+        List<Object> levelObjects = new ArrayList<>(level.size());
+        for (BeanWrapper vertex : level) {
+          if (added.add(vertex)) {
+            levelObjects.add(vertex.getWrappedObject());
           }
         }
-      }));
-      reverse(sortedObjects);
-      return sortedObjects;
-    }).reduce(new ArrayList<>(), (sortedObjectList, b) -> {
-      for (BeanWrapper v : b) {
-        if (!sortedObjectList.contains(v)) {
-          sortedObjectList.add(v);
+        if (!levelObjects.isEmpty()) {
+          res.add(levelObjects);
         }
       }
-      return sortedObjectList;
-
-    });
-
-    return res.stream().map(BeanWrapper::getWrappedObject).collect(toList());
-
+    }
+    return res;
   }
 
   /**
@@ -207,10 +182,11 @@ public class DependencyGraphLifecycleObjectSorter implements LifecycleObjectSort
   /**
    * Provides the information about the lookup order of objects that should be initialized
    *
-   * @return map with the order of objects that should be initialized from {@link RegistryLifecycleManager}'s lookup
+   * @param vertex the object to get the order for
+   * @return the order of the object from {@link RegistryLifecycleManager}'s lookup, or {@code -1} if it was not looked up
    */
-  private Map<String, Integer> getLifeCycleObjectNameOrder() {
-    return lifecycleObjectNameOrderMap;
+  private int getLifeCycleObjectNameOrder(BeanWrapper vertex) {
+    return lifecycleObjectNameOrderMap.getOrDefault(vertex.getName(), -1);
   }
 
 }
@@ -0,0 +1,342 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.config.internal;
+
+import static java.lang.Math.max;
+import static java.lang.System.arraycopy;
+import static java.util.Arrays.copyOf;
+import static java.util.Arrays.sort;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+/**
+ * Directed graph of the dependencies between the objects of a lifecycle type, where an edge from {@code a} to {@code b} means
+ * that {@code a} depends on {@code b}.
+ * <p>
+ * Vertices are indexed by their insertion order and edges are kept in adjacency lists of those indexes. A topological order of
+ * the vertices is maintained incrementally as edges are added (Pearce-Kelly), so that an edge that would create a cycle is
+ * detected by visiting only the vertices between the ends of that edge in the current order, and discarded.
+ * <p>
+ * The weakly connected components of the graph are tracked with a union-find whose links record when they were made, so that
+ * {@link #wereConnected(int, int, long)} can tell whether two vertices were connected at any previous
+ * {@link #getConnectivityTime() time}.
+ *
+ * @since 4.9.0
+ */
+final class LifecycleDependencyGraph {
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final Map<BeanWrapper, Integer> indexes = new HashMap<>();
+  private final List<BeanWrapper> vertices = new ArrayList<>();
+  private final Set<Long> edges = new HashSet<>();
+
+  private int[][] outgoing = new int[INITIAL_CAPACITY][];
+  private int[] outgoingSizes = new int[INITIAL_CAPACITY];
+  private int[][] incoming = new int[INITIAL_CAPACITY][];
+  private int[] incomingSizes = new int[INITIAL_CAPACITY];
+
+  // position of each vertex in the current topological order
+  private int[] order = new int[INITIAL_CAPACITY];
+
+  // marks of the vertices visited by the current search, to avoid clearing them on each search
+  private int[] visitMarks = new int[INITIAL_CAPACITY];
+  private int visitMark;
+
+  // union-find of the weakly connected components, without path compression so that the links keep the time they were made
+  private int[] componentParents = new int[INITIAL_CAPACITY];
+  private int[] componentRanks = new int[INITIAL_CAPACITY];
+  private long[] componentLinkTimes = new long[INITIAL_CAPACITY];
+  private long connectivityTime;
+
+  /**
+   * Adds a vertex for the given bean, if not already present.
+   *
+   * @param vertex the bean to add.
+   * @return the index of the vertex for the bean.
+   */
+  int addVertex(BeanWrapper vertex) {
+    Integer index = indexes.get(vertex);
+    if (index != null) {
+      return index;
+    }
+
+    int newIndex = vertices.size();
+    if (newIndex == order.length) {
+      int capacity = newIndex * 2;
+      outgoing = copyOf(outgoing, capacity);
+      outgoingSizes = copyOf(outgoingSizes, capacity);
+      incoming = copyOf(incoming, capacity);
+      incomingSizes = copyOf(incomingSizes, capacity);
+      order = copyOf(order, capacity);
+      visitMarks = copyOf(visitMarks, capacity);
+      componentParents = copyOf(componentParents, capacity);
+      componentRanks = copyOf(componentRanks, capacity);
+      componentLinkTimes = copyOf(componentLinkTimes, capacity);
+    }
+
+    vertices.add(vertex);
+    indexes.put(vertex, newIndex);
+    order[newIndex] = newIndex;
+    componentParents[newIndex] = newIndex;
+    return newIndex;
+  }
+
+  /**
+   * Adds an edge from {@code dependant} to {@code dependency}, unless it would create a cycle.
+   *
+   * @param dependant  the index of the vertex that depends on {@code dependency}.
+   * @param dependency the index of the vertex {@code dependant} depends on.
+   * @return {@code false} if the edge was discarded because it would create a cycle, {@code true} otherwise.
+   */
+  boolean addEdge(int dependant, int dependency) {
+    if (dependant == dependency) {
+      return false;
+    }
+    if (edges.contains(edgeKey(dependant, dependency))) {
+      return true;
+    }
+
+    int lowerBound = order[dependency];
+    int upperBound = order[dependant];
+    if (lowerBound < upperBound) {
+      // the dependency is before the dependant in the current order, so it has to be reordered along with the affected vertices
+      int[] forward = visit(dependency, outgoing, outgoingSizes, upperBound, true);
+      if (forward == null) {
+        return false;
+      }
+      int[] backward = visit(dependant, incoming, incomingSizes, lowerBound, false);
+      reorder(backward, forward);
+    }
+
+    edges.add(edgeKey(dependant, dependency));
+    outgoing[dependant] = append(outgoing[dependant], outgoingSizes[dependant]++, dependency);
+    incoming[dependency] = append(incoming[dependency], incomingSizes[dependency]++, dependant);
+    connect(dependant, dependency);
+    return true;
+  }
+
+  /**
+   * @return the current time of the connectivity of the graph, which advances each time two weakly connected components are
+   *         joined by an edge.
+   */
+  long getConnectivityTime() {
+    return connectivityTime;
+  }
+
+  /**
+   * @param a    the index of a vertex.
+   * @param b    the index of another vertex.
+   * @param time a time previously obtained from {@link #getConnectivityTime()}.
+   * @return whether there was a path between {@code a} and {@code b}, regardless of the direction of the edges, at the given
+   *         time.
+   */
+  boolean wereConnected(int a, int b, long time) {
+    return componentAt(a, time) == componentAt(b, time);
+  }
+
+  private int componentAt(int vertex, long time) {
+    int component = vertex;
+    while (componentParents[component] != component && componentLinkTimes[component] <= time) {
+      component = componentParents[component];
+    }
+    return component;
+  }
+
+  private void connect(int a, int b) {
+    int componentA = componentAt(a, connectivityTime);
+    int componentB = componentAt(b, connectivityTime);
+    if (componentA == componentB) {
+      return;
+    }
+
+    // union by rank keeps the links to follow logarithmic
+    if (componentRanks[componentA] < componentRanks[componentB]) {
+      int swap = componentA;
+      componentA = componentB;
+      componentB = swap;
+    } else if (componentRanks[componentA] == componentRanks[componentB]) {
+      componentRanks[componentA]++;
+    }
+    componentParents[componentB] = componentA;
+    componentLinkTimes[componentB] = ++connectivityTime;
+  }
+
+  /**
+   * Visits the vertices reachable from {@code start} whose position in the current order is between {@code start} and
+   * {@code bound}.
+   *
+   * @return the visited vertices, or {@code null} if {@code forward} and the vertex at {@code bound} was reached.
+   */
+  private int[] visit(int start, int[][] adjacency, int[] adjacencySizes, int bound, boolean forward) {
+    int mark = ++visitMark;
+    int[] visited = new int[INITIAL_CAPACITY];
+    int visitedCount = 0;
+    int[] stack = new int[INITIAL_CAPACITY];
+    int stackSize = 0;
+
+    visitMarks[start] = mark;
+    stack[stackSize++] = start;
+    while (stackSize > 0) {
+      int vertex = stack[--stackSize];
+      visited = append(visited, visitedCount++, vertex);
+
+      for (int i = 0; i < adjacencySizes[vertex]; ++i) {
+        int next = adjacency[vertex][i];
+        if (forward && order[next] == bound) {
+          return null;
+        }
+        if (visitMarks[next] != mark && (forward ? order[next] < bound : order[next] > bound)) {
+          visitMarks[next] = mark;
+          stack = append(stack, stackSize++, next);
+        }
+      }
+    }
+    return copyOf(visited, visitedCount);
+  }
+
+  /**
+   * Reassigns the positions taken by the given vertices so that all of {@code backward} come before all of {@code forward},
+   * keeping the relative order within each of them.
+   */
+  private void reorder(int[] backward, int[] forward) {
+    sortByOrder(backward);
+    sortByOrder(forward);
+
+    int[] positions = new int[backward.length + forward.length];
+    for (int i = 0; i < backward.length; ++i) {
+      positions[i] = order[backward[i]];
+    }
+    for (int i = 0; i < forward.length; ++i) {
+      positions[backward.length + i] = order[forward[i]];
+    }
+    sort(positions);
+
+    for (int i = 0; i < backward.length; ++i) {
+      order[backward[i]] = positions[i];
+    }
+    for (int i = 0; i < forward.length; ++i) {
+      order[forward[i]] = positions[backward.length + i];
+    }
+  }
+
+  private void sortByOrder(int[] toSort) {
+    // sort the packed (order, vertex) pairs, both fit in an int
+    long[] packed = new long[toSort.length];
+    for (int i = 0; i < toSort.length; ++i) {
+      packed[i] = ((long) order[toSort[i]] << 32) | toSort[i];
+    }
+    sort(packed);
+    for (int i = 0; i < toSort.length; ++i) {
+      toSort[i] = (int) packed[i];
+    }
+  }
+
+  /**
+   * Sorts the vertices so that each one comes after the ones that depend on it.
+   * <p>
+   * Vertices are taken in insertion order, and among the ones with no pending dependants, the one with the highest
+   * {@code priority} is taken first.
+   *
+   * @param priority provides the priority of each vertex.
+   * @return the sorted vertices.
+   */
+  List<BeanWrapper> topologicalSort(ToIntFunction<BeanWrapper> priority) {
+    int[] sortedIndexes = sortIndexes(priority);
+    List<BeanWrapper> sorted = new ArrayList<>(sortedIndexes.length);
+    for (int vertex : sortedIndexes) {
+      sorted.add(vertices.get(vertex));
+    }
+    return sorted;
+  }
+
+  /**
+   * Groups the vertices by their depth in the graph, so that each one only depends on vertices of the previous groups.
+   * <p>
+   * Within each group, vertices are in the reverse order of {@link #topologicalSort(ToIntFunction)}.
+   *
+   * @param priority provides the priority of each vertex.
+   * @return the groups of vertices, starting by the ones that don't depend on any other.
+   */
+  List<List<BeanWrapper>> topologicalLevels(ToIntFunction<BeanWrapper> priority) {
+    int[] sortedIndexes = sortIndexes(priority);
+    int[] levels = new int[sortedIndexes.length];
+    List<List<BeanWrapper>> grouped = new ArrayList<>();
+
+    // dependencies come after their dependants in the sorted indexes, so their level is calculated first
+    for (int i = sortedIndexes.length - 1; i >= 0; --i) {
+      int vertex = sortedIndexes[i];
+      int level = 0;
+      for (int j = 0; j < outgoingSizes[vertex]; ++j) {
+        level = max(level, levels[outgoing[vertex][j]] + 1);
+      }
+      levels[vertex] = level;
+
+      if (level == grouped.size()) {
+        grouped.add(new ArrayList<>());
+      }
+      grouped.get(level).add(vertices.get(vertex));
+    }
+    return grouped;
+  }
+
+  private int[] sortIndexes(ToIntFunction<BeanWrapper> priority) {
+    int size = vertices.size();
+    int[] priorities = new int[size];
+    int[] pendingDependants = new int[size];
+    for (int i = 0; i < size; ++i) {
+      priorities[i] = priority.applyAsInt(vertices.get(i));
+      pendingDependants[i] = incomingSizes[i];
+    }
+
+    // the comparison never returns 0, so vertices with the same priority are taken in the order that jgrapht's
+    // TopologicalOrderIterator takes them
+    PriorityQueue<Integer> available = new PriorityQueue<>((a, b) -> priorities[a] > priorities[b] ? -1 : 1);
+    for (int i = 0; i < size; ++i) {
+      if (pendingDependants[i] == 0) {
+        available.offer(i);
+      }
+    }
+
+    int[] sorted = new int[size];
+    int sortedCount = 0;
+    while (!available.isEmpty()) {
+      int vertex = available.poll();
+      sorted[sortedCount++] = vertex;
+      for (int i = 0; i < outgoingSizes[vertex]; ++i) {
+        int dependency = outgoing[vertex][i];
+        if (--pendingDependants[dependency] == 0) {
+          available.offer(dependency);
+        }
+      }
+    }
+    return copyOf(sorted, sortedCount);
+  }
+
+  private static long edgeKey(int from, int to) {
+    return ((long) from << 32) | (to & 0xFFFFFFFFL);
+  }
+
+  private static int[] append(int[] array, int size, int value) {
+    int[] target = array;
+    if (target == null) {
+      target = new int[4];
+    } else if (size == target.length) {
+      target = new int[size * 2];
+      arraycopy(array, 0, target, 0, size);
+    }
+    target[size] = value;
+    return target;
+  }
+}
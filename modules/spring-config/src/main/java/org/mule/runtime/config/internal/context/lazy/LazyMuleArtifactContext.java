@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.config.internal.context.lazy;
 
+import static org.mule.runtime.api.component.TypedComponentIdentifier.ComponentType.FLOW;
 import static org.mule.runtime.api.component.TypedComponentIdentifier.ComponentType.OPERATION;
 import static org.mule.runtime.api.component.TypedComponentIdentifier.ComponentType.SCOPE;
 import static org.mule.runtime.api.component.TypedComponentIdentifier.ComponentType.SOURCE;
@@ -16,7 +17,9 @@ import static org.mule.runtime.ast.api.util.MuleAstUtils.filteredArtifactAst;
 import static org.mule.runtime.ast.api.util.MuleAstUtils.resolveOrphanComponents;
 import static org.mule.runtime.ast.graph.api.ArtifactAstDependencyGraphFactory.generateFor;
 import static org.mule.runtime.config.internal.parsers.generic.AutoIdUtils.uniqueValue;
+import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_LAZY_INIT_DEPLOYMENT_PROPERTY;
 import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_LAZY_INIT_ENABLE_DSL_DECLARATION_VALIDATIONS_DEPLOYMENT_PROPERTY;
+import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_ON_DEMAND_FLOWS_DEPLOYMENT_PROPERTY;
 import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_SECURITY_MANAGER;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 import static org.mule.runtime.core.api.util.ClassUtils.withContextClassLoader;
@@ -26,8 +29,10 @@ import static java.lang.String.format;
 import static java.lang.ThreadLocal.withInitial;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
 import static java.util.Collections.sort;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 
 import org.mule.runtime.api.component.ConfigurationProperties;
 import org.mule.runtime.api.component.location.Location;
@@ -78,6 +83,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 
@@ -95,6 +101,12 @@ import org.springframework.lang.Nullable;
  * Implementation of {@link MuleArtifactContext} that allows to create configuration components lazily.
  * <p/>
  * Components will be created upon request to use the from the exposed services.
+ * <p/>
+ * When {@link org.mule.runtime.core.api.config.MuleDeploymentProperties#MULE_ON_DEMAND_FLOWS_DEPLOYMENT_PROPERTY} is enabled, all
+ * the components of the artifact are created when this context is refreshed, as part of the initialisation of the
+ * {@link MuleContext}, except for the flows without a message source that no other created component depends on. Those are
+ * created, initialised and started the first time they are looked up. So, just as in a regular deployment, any failure creating
+ * or initialising the other components fails the initialisation of the {@link MuleContext}.
  *
  * @since 4.0
  */
@@ -121,6 +133,11 @@ public class LazyMuleArtifactContext extends MuleArtifactContext
   private final Map<String, String> artifactProperties;
   private final LockFactory runtimeLockFactory;
 
+  private final boolean onDemandFlowsEnabled;
+  // Names of the flows that are initialized on demand, and of the ones among them whose lifecycle has already been applied
+  private final Set<String> onDemandFlowNames;
+  private final Set<String> readyOnDemandFlowNames = ConcurrentHashMap.newKeySet();
+
   /**
    * Parses configuration files creating a spring ApplicationContext which is used as a parent registry using the SpringRegistry
    * registry implementation to wraps the spring ApplicationContext
@@ -181,6 +198,35 @@ public class LazyMuleArtifactContext extends MuleArtifactContext
     // Graph should be generated after the initialize() method since the applicationModel will change by macro expanding XmlSdk
     // components.
     this.postProcessedGraph = generateFor(getApplicationModel());
+
+    this.onDemandFlowsEnabled = isOnDemandFlowsEnabled(artifactProperties);
+    if (onDemandFlowsEnabled) {
+      this.onDemandFlowNames = getApplicationModel().topLevelComponentsStream()
+          .filter(LazyMuleArtifactContext::isOnDemandFlow)
+          .map(ComponentAst::getComponentId)
+          .flatMap(Optional::stream)
+          .collect(toSet());
+    } else {
+      this.onDemandFlowNames = emptySet();
+    }
+  }
+
+  private static boolean isOnDemandFlowsEnabled(Map<String, String> artifactProperties) {
+    return Boolean.valueOf(artifactProperties.getOrDefault(MULE_ON_DEMAND_FLOWS_DEPLOYMENT_PROPERTY, Boolean.FALSE.toString()))
+        && !Boolean.valueOf(artifactProperties.getOrDefault(MULE_LAZY_INIT_DEPLOYMENT_PROPERTY, Boolean.FALSE.toString()));
+  }
+
+  private static boolean isOnDemandFlow(ComponentAst componentAst) {
+    // Sub-flows are not included, they are prototypes that are already instantiated for each flow-ref that references them
+    return componentAst.getComponentType() == FLOW
+        && componentAst.directChildrenStream().noneMatch(child -> child.getComponentType() == SOURCE);
+  }
+
+  private static boolean isInitializedWithArtifact(ComponentAst componentAst) {
+    // Only root components are requested, the components they depend on are initialized along with them
+    return componentAst.getLocation() != null
+        && componentAst.getLocation().getParts().size() == 1
+        && !isOnDemandFlow(componentAst);
   }
 
   @Override
@@ -216,18 +262,31 @@ public class LazyMuleArtifactContext extends MuleArtifactContext
     currentComponentInitializationState.registerTrackingPostProcessor(beanFactory);
   }
 
+  @Override
+  protected void finishBeanFactoryInitialization(ConfigurableListableBeanFactory beanFactory) {
+    super.finishBeanFactoryInitialization(beanFactory);
+    if (onDemandFlowsEnabled) {
+      // The lifecycle of these components is applied by the MuleContext along with the rest of the registry
+      initializeComponentsWithArtifact();
+    }
+  }
+
   @Override
   public Object getBean(String name) throws BeansException {
-    return tryWithLazyInitializationFallback(name, () -> super.getBean(name));
+    return getWithLazyInitializationFallback(name, () -> super.getBean(name));
   }
 
   @Override
   public <T> T getBean(String name, Class<T> requiredType) throws BeansException {
-    return tryWithLazyInitializationFallback(name, () -> super.getBean(name, requiredType));
+    return getWithLazyInitializationFallback(name, () -> super.getBean(name, requiredType));
   }
 
   @Override
   public boolean containsBean(String name) {
+    if (isPendingOnDemandFlow(name)) {
+      // The flow exists, it is just not created until it is looked up
+      return true;
+    }
     return tryWithLazyInitializationFallback(name, () -> super.containsBean(name));
   }
 
@@ -268,7 +327,29 @@ public class LazyMuleArtifactContext extends MuleArtifactContext
     return tryWithLazyInitializationFallback(name, () -> super.getAliases(name));
   }
 
+  private boolean isPendingOnDemandFlow(String name) {
+    return onDemandFlowNames.contains(name) && !readyOnDemandFlowNames.contains(name);
+  }
+
+  /**
+   * Same as {@link #tryWithLazyInitializationFallback(String, Supplier)}, but also creates the flows that are initialized on
+   * demand. Only getting a bean creates them, querying the bean factory about them does not.
+   */
+  private <T> T getWithLazyInitializationFallback(String name, Supplier<T> supplier) {
+    if (isPendingOnDemandFlow(name)) {
+      return tryWithOnDemandFlowInitialization(name, supplier);
+    }
+    return doTryWithLazyInitializationFallback(name, supplier);
+  }
+
   private <T> T tryWithLazyInitializationFallback(String name, Supplier<T> supplier) {
+    if (isPendingOnDemandFlow(name)) {
+      return supplier.get();
+    }
+    return doTryWithLazyInitializationFallback(name, supplier);
+  }
+
+  private <T> T doTryWithLazyInitializationFallback(String name, Supplier<T> supplier) {
     // It is possible that the operation on the bean factory failed because the bean definition was not yet registered.
     // We will try to do that now.
     // If it fails, we will re-throw the original exception as if the lazy initialization attempt never occurred.
@@ -290,6 +371,19 @@ public class LazyMuleArtifactContext extends MuleArtifactContext
     }
   }
 
+  /**
+   * Gets the flow with the given name while holding the same lock used for initializing components, so that it is not seen by
+   * other threads until it has been fully initialized and started.
+   */
+  private synchronized <T> T tryWithOnDemandFlowInitialization(String name, Supplier<T> supplier) {
+    T returnValue = doTryWithLazyInitializationFallback(name, supplier);
+    if (beanNamesBeingInitialized.get().isEmpty() && getMuleContext().isStarted()) {
+      // No initialization is in progress in this thread, so the lifecycle of the flow has already been applied
+      readyOnDemandFlowNames.add(name);
+    }
+    return returnValue;
+  }
+
   private synchronized <T> Either<T, Throwable> initializeAndRetry(String name, Supplier<T> supplier) {
     // Re-checks for bean existence in the registry again before attempting initialization.
     // This is because some other thread may have initialized the bean already.
@@ -420,6 +514,13 @@ public class LazyMuleArtifactContext extends MuleArtifactContext
     createComponentsAndApplyLifecycle(getRequestBuilder(applyStartPhase, false).build(componentModelPredicate));
   }
 
+  /**
+   * Creates and initializes all the components of the artifact except the flows that are initialized on demand.
+   */
+  private synchronized void initializeComponentsWithArtifact() {
+    createComponentsAndApplyLifecycle(getRequestBuilder(true, false).build(LazyMuleArtifactContext::isInitializedWithArtifact));
+  }
+
   private ComponentInitializationRequest.Builder getRequestBuilder(boolean applyStartPhase, boolean keepPrevious) {
     return new ComponentInitializationRequest.Builder(postProcessedGraph,
                                                       baseGraph,
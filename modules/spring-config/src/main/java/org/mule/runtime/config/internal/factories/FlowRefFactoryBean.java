@@ -237,8 +237,13 @@ public class FlowRefFactoryBean extends AbstractComponentFactory<Processor> impl
           }
         }
       } catch (NoSuchBeanDefinitionException e) {
-        // Null is handled by the caller method
-        return null;
+        // The definition of a flow initialized on demand is only registered when the flow is looked up
+        try {
+          return (Component) applicationContext.getBean(name);
+        } catch (NoSuchBeanDefinitionException notFound) {
+          // Null is handled by the caller method
+          return null;
+        }
       }
     }
     return (Component) applicationContext.getBean(name);
@@ -7,6 +7,7 @@
 package org.mule.runtime.config.internal.registry;
 
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.internal.profiling.startup.StartupTracer.phase;
 import static org.mule.runtime.core.internal.util.InjectionUtils.getInjectionTarget;
 
 import static java.lang.String.format;
@@ -30,6 +31,7 @@ import org.mule.runtime.core.api.lifecycle.LifecycleManager;
 import org.mule.runtime.core.api.util.StringUtils;
 import org.mule.runtime.core.internal.lifecycle.LifecycleInterceptor;
 import org.mule.runtime.core.internal.lifecycle.phases.NotInLifecyclePhase;
+import org.mule.runtime.core.internal.profiling.startup.StartupPhase;
 import org.mule.runtime.core.internal.registry.AbstractRegistry;
 import org.mule.runtime.core.privileged.registry.RegistrationException;
 
@@ -103,7 +105,9 @@ public abstract class AbstractSpringRegistry extends AbstractRegistry implements
   @Override
   protected void doInitialise() throws InitialisationException {
     if (!isReadOnly()) {
-      ((ConfigurableApplicationContext) applicationContext).refresh();
+      try (StartupPhase phase = phase("spring.refresh")) {
+        ((ConfigurableApplicationContext) applicationContext).refresh();
+      }
     }
   }
 
@@ -211,6 +211,33 @@ public class DependencyGraphLifecycleObjectSorterTestCase {
                                                 containsInRelativeOrder(objectC, objectB)));
   }
 
+  @Test
+  @Description("When A -> C and B -> C, C should be in a level before the one of A and B.")
+  public void sortComponentLevelsWithSharedChildTest() {
+    BeanWrapper componentA = new BeanWrapper("objectA", objectA);
+    BeanWrapper componentB = new BeanWrapper("objectB", objectB);
+    BeanWrapper componentC = new BeanWrapper("objectC", objectC);
+
+    Map<BeanWrapper, List<BeanWrapper>> transitiveDependenciesOfA = new LinkedHashMap<>();
+    transitiveDependenciesOfA.put(componentA, asList(componentC));
+    transitiveDependenciesOfA.put(componentC, emptyList());
+    Map<BeanWrapper, List<BeanWrapper>> transitiveDependenciesOfB = new LinkedHashMap<>();
+    transitiveDependenciesOfB.put(componentB, asList(componentC));
+
+    when(resolver.getTransitiveDependencies("objectA", streamingManagerGraphIndex)).thenReturn(transitiveDependenciesOfA);
+    when(resolver.getTransitiveDependencies("objectB", streamingManagerGraphIndex)).thenReturn(transitiveDependenciesOfB);
+    when(resolver.getTransitiveDependencies("objectC", streamingManagerGraphIndex)).thenReturn(emptyMap());
+
+    sorter.addObject("objectA", objectA);
+    sorter.addObject("objectB", objectB);
+    sorter.addObject("objectC", objectC);
+
+    List<List<Object>> levels = sorter.getSortedObjectLevels();
+    assertThat(levels.toString(), levels.size(), is(2));
+    assertThat(levels.get(0), contains(objectC));
+    assertThat(levels.get(1), contains(objectA, objectB));
+  }
+
   @Test(expected = NullPointerException.class)
   @Description("If a null component is added to the graph, it will throw NullPointerException.")
   public void handleNullObjectTest() {
@@ -278,6 +305,56 @@ public class DependencyGraphLifecycleObjectSorterTestCase {
     assertThat(sorter.getSortedObjects(), containsInRelativeOrder(objectC, objectA));
   }
 
+  @Test
+  @Description("When A -> B and C -> B are added and then A -> C, A -> C is discarded since A and C are already connected " +
+      "through B, so the order should be B - A - C.")
+  public void dependencyBetweenConnectedComponentsIsDiscardedTest() {
+    BeanWrapper componentA = new BeanWrapper("objectA", objectA);
+    BeanWrapper componentB = new BeanWrapper("objectB", objectB);
+    BeanWrapper componentC = new BeanWrapper("objectC", objectC);
+
+    Map<BeanWrapper, List<BeanWrapper>> transitiveDependenciesOfA = new LinkedHashMap<>();
+    transitiveDependenciesOfA.put(componentA, asList(componentB));
+    Map<BeanWrapper, List<BeanWrapper>> transitiveDependenciesOfC = new LinkedHashMap<>();
+    transitiveDependenciesOfC.put(componentC, asList(componentB));
+    Map<BeanWrapper, List<BeanWrapper>> transitiveDependenciesOfB = new LinkedHashMap<>();
+    transitiveDependenciesOfB.put(componentA, asList(componentC));
+
+    when(resolver.getTransitiveDependencies("objectA", streamingManagerGraphIndex)).thenReturn(transitiveDependenciesOfA);
+    when(resolver.getTransitiveDependencies("objectC", streamingManagerGraphIndex)).thenReturn(transitiveDependenciesOfC);
+    when(resolver.getTransitiveDependencies("objectB", streamingManagerGraphIndex)).thenReturn(transitiveDependenciesOfB);
+
+    sorter.addObject("objectA", objectA);
+    sorter.addObject("objectC", objectC);
+    sorter.addObject("objectB", objectB);
+
+    final List<Object> sortedObjects = sorter.getSortedObjects();
+    assertThat(sortedObjects.toString(), sortedObjects, contains(objectB, objectA, objectC));
+  }
+
+  @Test
+  @Description("When C -> B is added and then A -> B and A -> C for the same object, A -> C is kept since A was not connected " +
+      "to C when its first prerequisite was added, so the order should be B - C - A.")
+  public void connectivityIsTakenOnFirstPrerequisiteTest() {
+    BeanWrapper componentA = new BeanWrapper("objectA", objectA);
+    BeanWrapper componentB = new BeanWrapper("objectB", objectB);
+    BeanWrapper componentC = new BeanWrapper("objectC", objectC);
+
+    Map<BeanWrapper, List<BeanWrapper>> transitiveDependenciesOfC = new LinkedHashMap<>();
+    transitiveDependenciesOfC.put(componentC, asList(componentB));
+    Map<BeanWrapper, List<BeanWrapper>> transitiveDependenciesOfB = new LinkedHashMap<>();
+    transitiveDependenciesOfB.put(componentA, asList(componentB, componentC));
+
+    when(resolver.getTransitiveDependencies("objectC", streamingManagerGraphIndex)).thenReturn(transitiveDependenciesOfC);
+    when(resolver.getTransitiveDependencies("objectB", streamingManagerGraphIndex)).thenReturn(transitiveDependenciesOfB);
+
+    sorter.addObject("objectC", objectC);
+    sorter.addObject("objectB", objectB);
+
+    final List<Object> sortedObjects = sorter.getSortedObjects();
+    assertThat(sortedObjects.toString(), sortedObjects, contains(objectB, objectC, objectA));
+  }
+
   @Test
   @Description("When adding C -> (non initializable) D -> A-> B, the order of initialisables should be BAC.")
   public void transitiveDependenciesTest() {
@@ -11,8 +11,10 @@
  * @since 4.5
  */
 module org.mule.runtime.tracer.common {
+    exports org.mule.runtime.tracer.common.file;
     exports org.mule.runtime.tracer.common.watcher;
 
     requires org.mule.runtime.tracer.exporter.configuration.api;
     requires org.slf4j;
+    requires jdk.unsupported;
 }
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.tracer.common.file;
+
+import static java.lang.System.currentTimeMillis;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+
+/**
+ * Writes records to a {@link RotatingMappedRecordFile} from a dedicated thread.
+ * <p>
+ * Records are put in a bounded queue, so that the callers never wait for the disk: when the queue is full the record is
+ * dropped. The writer thread takes the records in batches and forces them to the storage device once per batch.
+ *
+ * @since 4.9.0
+ */
+public final class AsyncRecordFileWriter implements Closeable {
+
+  private static final Logger LOGGER = getLogger(AsyncRecordFileWriter.class);
+
+  private static final long POLL_TIMEOUT_MILLIS = 100;
+  private static final long CLOSE_TIMEOUT_MILLIS = 10000;
+
+  private final RotatingMappedRecordFile recordFile;
+  private final BlockingQueue<byte[]> queue;
+  private final int maxBatchSize;
+  private final Thread writerThread;
+  private final Object progressLock = new Object();
+  private final AtomicLong enqueuedRecords = new AtomicLong();
+  private final AtomicLong droppedRecords = new AtomicLong();
+
+  private volatile long processedRecords;
+  private volatile boolean running = true;
+
+  /**
+   * @param name         the name of the writer thread.
+   * @param recordFile   the file to write to. It is closed when this writer is closed.
+   * @param queueSize    the maximum amount of records waiting to be written.
+   * @param maxBatchSize the maximum amount of records written between two flushes to the storage device.
+   */
+  public AsyncRecordFileWriter(String name, RotatingMappedRecordFile recordFile, int queueSize, int maxBatchSize) {
+    this.recordFile = recordFile;
+    this.queue = new ArrayBlockingQueue<>(queueSize);
+    this.maxBatchSize = maxBatchSize;
+    this.writerThread = new Thread(this::writeRecords, name);
+    this.writerThread.setDaemon(true);
+    this.writerThread.start();
+  }
+
+  /**
+   * @param record the record to write.
+   * @return whether the record was queued for writing. It is not when the queue is full or this writer is closed.
+   */
+  public boolean write(byte[] record) {
+    if (!running || !queue.offer(record)) {
+      droppedRecords.incrementAndGet();
+      return false;
+    }
+    enqueuedRecords.incrementAndGet();
+    return true;
+  }
+
+  /**
+   * Waits for the records queued before this call to be written.
+   *
+   * @param timeoutMillis the maximum time to wait.
+   * @return whether the records were written before the timeout.
+   */
+  public boolean flush(long timeoutMillis) {
+    long target = enqueuedRecords.get();
+    long deadline = currentTimeMillis() + timeoutMillis;
+    synchronized (progressLock) {
+      while (processedRecords < target) {
+        long remaining = deadline - currentTimeMillis();
+        if (remaining <= 0) {
+          return false;
+        }
+        try {
+          progressLock.wait(remaining);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return the amount of records that were dropped because the queue was full or could not be written.
+   */
+  public long getDroppedRecords() {
+    return droppedRecords.get();
+  }
+
+  private void writeRecords() {
+    List<byte[]> batch = new ArrayList<>(maxBatchSize);
+    try {
+      while (running || !queue.isEmpty()) {
+        byte[] first = queue.poll(POLL_TIMEOUT_MILLIS, MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        queue.drainTo(batch, maxBatchSize - 1);
+        writeBatch(batch);
+        batch.clear();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      try {
+        recordFile.close();
+      } catch (IOException e) {
+        LOGGER.warn("Unable to close the record file", e);
+      }
+    }
+  }
+
+  private void writeBatch(List<byte[]> batch) {
+    for (byte[] record : batch) {
+      try {
+        recordFile.append(record);
+      } catch (IOException e) {
+        droppedRecords.incrementAndGet();
+        LOGGER.warn("Unable to write a record", e);
+      }
+    }
+    recordFile.force();
+
+    synchronized (progressLock) {
+      processedRecords += batch.size();
+      progressLock.notifyAll();
+    }
+  }
+
+  @Override
+  public void close() {
+    running = false;
+    try {
+      writerThread.join(CLOSE_TIMEOUT_MILLIS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.tracer.common.file;
+
+import static java.lang.Math.max;
+import static java.lang.String.format;
+import static java.lang.System.currentTimeMillis;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.Files.createDirectories;
+import static java.nio.file.Files.deleteIfExists;
+import static java.nio.file.Files.list;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import sun.misc.Unsafe;
+
+/**
+ * Appends length-prefixed binary records to a set of rotating memory-mapped files.
+ * <p>
+ * Each file starts with a header made of {@link #FILE_MAGIC} and {@link #FORMAT_VERSION} (two big-endian ints), followed by
+ * records, each one being a big-endian int with its length and then its bytes. Files are preallocated to the configured size,
+ * so a length of {@code 0} (or reaching the end of the file) marks the end of the records. When a record does not fit in the
+ * current file a new one is created, and the oldest files are deleted so that at most {@code maxFiles} are kept, counting the
+ * files left in the directory by previous executions. The mapping of a file is released as soon as it is rotated, instead of
+ * when its buffer is garbage collected.
+ * <p>
+ * This class is not thread safe.
+ *
+ * @since 4.9.0
+ */
+public final class RotatingMappedRecordFile implements Closeable {
+
+  private static final Logger LOGGER = getLogger(RotatingMappedRecordFile.class);
+
+  public static final int FILE_MAGIC = 0x4D4F544C;
+  public static final int FORMAT_VERSION = 1;
+  public static final String FILE_EXTENSION = ".binpb";
+
+  private static final int HEADER_SIZE = 2 * Integer.BYTES;
+  private static final int LENGTH_PREFIX_SIZE = Integer.BYTES;
+  private static final Unsafe UNSAFE = getUnsafe();
+
+  private final Path directory;
+  private final String filePrefix;
+  private final int maxFileSize;
+  private final int maxFiles;
+  private final Deque<Path> files = new ArrayDeque<>();
+
+  private long sequence = currentTimeMillis();
+  private FileChannel channel;
+  private MappedByteBuffer buffer;
+
+  /**
+   * @param directory   the directory where the files are created. It is created if it does not exist.
+   * @param filePrefix  the prefix of the name of the files.
+   * @param maxFileSize the size of each file, in bytes.
+   * @param maxFiles    the maximum amount of files to keep.
+   * @throws IOException if the directory could not be created or listed.
+   */
+  public RotatingMappedRecordFile(Path directory, String filePrefix, int maxFileSize, int maxFiles) throws IOException {
+    if (maxFileSize <= HEADER_SIZE) {
+      throw new IllegalArgumentException(format("The max file size must be greater than %d bytes", HEADER_SIZE));
+    }
+    if (maxFiles < 1) {
+      throw new IllegalArgumentException("At least one file must be kept");
+    }
+    this.directory = createDirectories(directory);
+    this.filePrefix = filePrefix;
+    this.maxFileSize = maxFileSize;
+    this.maxFiles = maxFiles;
+
+    NavigableMap<Long, Path> previousFiles = findPreviousFiles();
+    files.addAll(previousFiles.values());
+    if (!previousFiles.isEmpty()) {
+      sequence = max(sequence, previousFiles.lastKey() + 1);
+    }
+  }
+
+  /**
+   * @return the files written by previous executions with the same prefix, by sequence number.
+   */
+  private NavigableMap<Long, Path> findPreviousFiles() throws IOException {
+    String namePrefix = filePrefix + "-";
+    NavigableMap<Long, Path> previousFiles = new TreeMap<>();
+    try (Stream<Path> directoryFiles = list(directory)) {
+      directoryFiles.forEach(file -> {
+        String fileName = file.getFileName().toString();
+        if (fileName.startsWith(namePrefix) && fileName.endsWith(FILE_EXTENSION)) {
+          try {
+            previousFiles.put(Long.parseLong(fileName.substring(namePrefix.length(),
+                                                                fileName.length() - FILE_EXTENSION.length())),
+                              file);
+          } catch (NumberFormatException e) {
+            // Not written by this class.
+          }
+        }
+      });
+    }
+    return previousFiles;
+  }
+
+  /**
+   * Appends a record, rotating the file if it does not fit in the current one.
+   *
+   * @param record the bytes of the record. Empty records are ignored, since a length of {@code 0} marks the end of a file.
+   * @throws IOException if a new file could not be created.
+   */
+  public void append(byte[] record) throws IOException {
+    if (record.length == 0) {
+      return;
+    }
+
+    int requiredSize = LENGTH_PREFIX_SIZE + record.length;
+    if (buffer == null || buffer.remaining() < requiredSize) {
+      rotate(requiredSize);
+    }
+
+    buffer.putInt(record.length);
+    buffer.put(record);
+  }
+
+  /**
+   * Forces the records appended so far to the storage device.
+   */
+  public void force() {
+    if (buffer != null) {
+      buffer.force();
+    }
+  }
+
+  private void rotate(int requiredSize) throws IOException {
+    closeCurrentFile();
+
+    int fileSize = max(maxFileSize, HEADER_SIZE + requiredSize);
+    Path file = createNextFile();
+    channel = FileChannel.open(file, READ, WRITE);
+    buffer = channel.map(READ_WRITE, 0, fileSize);
+    buffer.putInt(FILE_MAGIC);
+    buffer.putInt(FORMAT_VERSION);
+
+    files.addLast(file);
+    deleteOldestFiles();
+  }
+
+  private void deleteOldestFiles() {
+    while (files.size() > maxFiles) {
+      Path oldestFile = files.removeFirst();
+      try {
+        deleteIfExists(oldestFile);
+      } catch (IOException e) {
+        LOGGER.warn("Unable to delete the rotated file {}", oldestFile, e);
+      }
+    }
+  }
+
+  private Path createNextFile() throws IOException {
+    while (true) {
+      Path file = directory.resolve(filePrefix + "-" + sequence++ + FILE_EXTENSION);
+      try {
+        FileChannel.open(file, CREATE_NEW, WRITE).close();
+        return file;
+      } catch (FileAlreadyExistsException e) {
+        // A file from a previous execution; try with the next sequence number.
+      }
+    }
+  }
+
+  private void closeCurrentFile() throws IOException {
+    if (buffer != null) {
+      buffer.force();
+      unmap(buffer);
+      buffer = null;
+    }
+    if (channel != null) {
+      channel.close();
+      channel = null;
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    closeCurrentFile();
+  }
+
+  /**
+   * Reads the records of a file written by a {@link RotatingMappedRecordFile}.
+   *
+   * @param file           the file to read.
+   * @param recordConsumer the consumer of each record.
+   * @throws IOException if the file could not be read or has an unknown format.
+   */
+  public static void readRecords(Path file, Consumer<byte[]> recordConsumer) throws IOException {
+    try (FileChannel fileChannel = FileChannel.open(file, READ)) {
+      MappedByteBuffer mappedBuffer = fileChannel.map(READ_ONLY, 0, fileChannel.size());
+      try {
+        if (mappedBuffer.remaining() < HEADER_SIZE || mappedBuffer.getInt() != FILE_MAGIC
+            || mappedBuffer.getInt() != FORMAT_VERSION) {
+          throw new IOException(format("The file %s has an unknown format", file));
+        }
+
+        while (mappedBuffer.remaining() >= LENGTH_PREFIX_SIZE) {
+          int length = mappedBuffer.getInt();
+          if (length <= 0 || length > mappedBuffer.remaining()) {
+            return;
+          }
+          byte[] record = new byte[length];
+          mappedBuffer.get(record);
+          recordConsumer.accept(record);
+        }
+      } finally {
+        unmap(mappedBuffer);
+      }
+    }
+  }
+
+  /**
+   * Releases the mapping of a buffer, which otherwise keeps the file mapped (and, in some platforms, undeletable) until the
+   * buffer is garbage collected. The buffer must not be used afterwards.
+   */
+  private static void unmap(MappedByteBuffer mappedBuffer) {
+    if (UNSAFE == null) {
+      return;
+    }
+    try {
+      UNSAFE.invokeCleaner(mappedBuffer);
+    } catch (RuntimeException e) {
+      LOGGER.debug("Unable to unmap a rotated file, it will be unmapped when garbage collected", e);
+    }
+  }
+
+  private static Unsafe getUnsafe() {
+    try {
+      Field unsafeField = Unsafe.class.getDeclaredField("theUnsafe");
+      unsafeField.setAccessible(true);
+      return (Unsafe) unsafeField.get(null);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      LOGGER.debug("Unable to access Unsafe, rotated files will be unmapped when garbage collected", e);
+      return null;
+    }
+  }
+}
@@ -80,6 +80,41 @@ public class OpenTelemetrySpanExporterConfigurationProperties {
   public static final String MULE_OPEN_TELEMETRY_EXPORTER_METRICS_LOG_FREQUENCY =
       MULE_OPEN_TELEMETRY_EXPORTER + ".metricsLogFrequency";
 
+  // Tail sampling
+
+  public static final String MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_ENABLED =
+      MULE_OPEN_TELEMETRY_EXPORTER + ".tailSampling.enabled";
+
+  public static final String MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_MAX_TRACES =
+      MULE_OPEN_TELEMETRY_EXPORTER + ".tailSampling.maxTraces";
+
+  public static final String MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_MAX_SPANS_PER_TRACE =
+      MULE_OPEN_TELEMETRY_EXPORTER + ".tailSampling.maxSpansPerTrace";
+
+  public static final String MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_TRACE_TIMEOUT =
+      MULE_OPEN_TELEMETRY_EXPORTER + ".tailSampling.traceTimeout";
+
+  public static final String MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_DURATION_THRESHOLD =
+      MULE_OPEN_TELEMETRY_EXPORTER + ".tailSampling.durationThreshold";
+
+  public static final String MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_FLOW_NAMES =
+      MULE_OPEN_TELEMETRY_EXPORTER + ".tailSampling.flowNames";
+
+  public static final String MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_RATE_LIMIT =
+      MULE_OPEN_TELEMETRY_EXPORTER + ".tailSampling.rateLimit";
+
+  public static final String MULE_OPEN_TELEMETRY_EXPORTER_FILE_DIRECTORY =
+      MULE_OPEN_TELEMETRY_EXPORTER + ".file.directory";
+
+  public static final String MULE_OPEN_TELEMETRY_EXPORTER_FILE_MAX_FILE_SIZE =
+      MULE_OPEN_TELEMETRY_EXPORTER + ".file.maxFileSize";
+
+  public static final String MULE_OPEN_TELEMETRY_EXPORTER_FILE_MAX_FILES =
+      MULE_OPEN_TELEMETRY_EXPORTER + ".file.maxFiles";
+
+  public static final String MULE_OPEN_TELEMETRY_EXPORTER_FILE_QUEUE_SIZE =
+      MULE_OPEN_TELEMETRY_EXPORTER + ".file.queueSize";
+
   // Sampling
 
   public static final String PARENTBASED_ALWAYS_ON_SAMPLER = "parentbased_always_on";
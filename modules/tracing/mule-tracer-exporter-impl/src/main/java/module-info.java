@@ -15,6 +15,7 @@ module org.mule.runtime.tracer.exporter.impl {
   requires org.mule.runtime.artifact.ast;
 
   requires org.mule.runtime.tracer.api;
+  requires org.mule.runtime.tracer.common;
   requires org.mule.runtime.tracer.exporter.api;
   requires org.mule.runtime.tracer.exporter.configuration.api;
   requires org.mule.runtime.tracer.exporter.config.impl;
@@ -25,11 +26,13 @@ module org.mule.runtime.tracer.exporter.impl {
   requires io.opentelemetry.context;
   requires io.opentelemetry.exporter.internal;
   requires io.opentelemetry.exporter.otlp;
+  requires io.opentelemetry.proto;
   requires io.opentelemetry.sdk.common;
   requires io.opentelemetry.sdk.metrics;
   requires io.opentelemetry.sdk.trace;
 
   requires com.google.gson;
+  requires com.google.protobuf;
   requires org.apache.commons.lang3;
 
   requires java.inject;
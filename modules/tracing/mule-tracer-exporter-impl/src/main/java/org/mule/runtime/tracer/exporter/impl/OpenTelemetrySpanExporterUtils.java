@@ -24,6 +24,9 @@ import static io.opentelemetry.sdk.trace.samplers.Sampler.parentBased;
 import static io.opentelemetry.sdk.trace.samplers.Sampler.traceIdRatioBased;
 import static org.slf4j.LoggerFactory.getLogger;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.sdk.trace.samplers.Sampler;
 
@@ -54,6 +57,26 @@ public class OpenTelemetrySpanExporterUtils {
   public static final String SPAN_KIND = "span.kind.override";
   public static final String STATUS = "status.override";
 
+  // Attribute keys are a small, mostly fixed set (component attributes, logging variables), so the OpenTelemetry keys are
+  // reused across exports. The bound protects against applications that generate attribute names dynamically.
+  private static final int MAX_CACHED_ATTRIBUTE_KEYS = 1024;
+  private static final Map<String, AttributeKey<String>> ATTRIBUTE_KEYS = new ConcurrentHashMap<>();
+
+  /**
+   * @param key the name of a string attribute.
+   * @return the {@link AttributeKey} corresponding to the given name, reusing a previously created instance when possible.
+   */
+  public static AttributeKey<String> getStringAttributeKey(String key) {
+    AttributeKey<String> attributeKey = ATTRIBUTE_KEYS.get(key);
+    if (attributeKey == null) {
+      attributeKey = stringKey(key);
+      if (ATTRIBUTE_KEYS.size() < MAX_CACHED_ATTRIBUTE_KEYS) {
+        ATTRIBUTE_KEYS.putIfAbsent(key, attributeKey);
+      }
+    }
+    return attributeKey;
+  }
+
   public static String getNameWithoutNamespace(String name) {
     int index = name.lastIndexOf(":");
     if (index != -1) {
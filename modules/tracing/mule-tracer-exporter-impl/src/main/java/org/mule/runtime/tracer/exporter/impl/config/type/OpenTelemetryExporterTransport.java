@@ -7,6 +7,7 @@
 package org.mule.runtime.tracer.exporter.impl.config.type;
 
 import org.mule.runtime.tracer.exporter.impl.optel.resources.SpanExporterConfigurator;
+import org.mule.runtime.tracer.exporter.impl.optel.resources.file.FileSpanExporterConfigurator;
 import org.mule.runtime.tracer.exporter.impl.optel.resources.grpc.GrpcSpanExporterConfigurator;
 import org.mule.runtime.tracer.exporter.impl.optel.resources.http.HttpSpanExporterConfigurator;
 
@@ -19,7 +20,9 @@ public enum OpenTelemetryExporterTransport {
 
   GRPC(new GrpcSpanExporterConfigurator()),
 
-  HTTP(new HttpSpanExporterConfigurator());
+  HTTP(new HttpSpanExporterConfigurator()),
+
+  FILE(new FileSpanExporterConfigurator());
 
   private final SpanExporterConfigurator spanExporterConfigurator;
 
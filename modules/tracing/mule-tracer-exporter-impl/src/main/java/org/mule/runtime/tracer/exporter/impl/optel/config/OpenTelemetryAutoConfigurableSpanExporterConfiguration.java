@@ -14,9 +14,19 @@ import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExpor
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_MAX_BATCH_SIZE;
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_ENABLED;
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_ENDPOINT;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_FILE_MAX_FILES;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_FILE_MAX_FILE_SIZE;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_FILE_QUEUE_SIZE;
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_INITIAL_BACKOFF;
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_MAX_BACKOFF;
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_METRICS_LOG_FREQUENCY;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_DURATION_THRESHOLD;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_ENABLED;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_FLOW_NAMES;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_MAX_SPANS_PER_TRACE;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_MAX_TRACES;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_RATE_LIMIT;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_TRACE_TIMEOUT;
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_TIMEOUT;
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_TYPE;
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_OTEL_TRACES_SAMPLER;
@@ -63,6 +73,17 @@ public class OpenTelemetryAutoConfigurableSpanExporterConfiguration implements S
   private static final String DEFAULT_MAX_BATCH_SIZE = "512";
   private static final String DEFAULT_SCHEDULED_DELAY = "5000";
 
+  private static final String DEFAULT_TAIL_SAMPLING_MAX_TRACES = "10000";
+  private static final String DEFAULT_TAIL_SAMPLING_MAX_SPANS_PER_TRACE = "1000";
+  private static final String DEFAULT_TAIL_SAMPLING_TRACE_TIMEOUT = "30000";
+  private static final String DEFAULT_TAIL_SAMPLING_DURATION_THRESHOLD = "0";
+  private static final String DEFAULT_TAIL_SAMPLING_FLOW_NAMES = "";
+  private static final String DEFAULT_TAIL_SAMPLING_RATE_LIMIT = "1";
+
+  private static final String DEFAULT_FILE_MAX_FILE_SIZE = "67108864";
+  private static final String DEFAULT_FILE_MAX_FILES = "10";
+  private static final String DEFAULT_FILE_QUEUE_SIZE = "1024";
+
   private static final String DEFAULT_SAMPLER = PARENTBASED_TRACEIDRATIO_SAMPLER;
   private static final String DEFAULT_SAMPLER_ARG = "0.1";
 
@@ -112,6 +133,18 @@ public class OpenTelemetryAutoConfigurableSpanExporterConfiguration implements S
     defaultConfigurationValues.put(MULE_OPEN_TELEMETRY_EXPORTER_MAX_BATCH_SIZE, DEFAULT_MAX_BATCH_SIZE);
     defaultConfigurationValues.put(MULE_OPEN_TELEMETRY_EXPORTER_BATCH_QUEUE_SIZE, DEFAULT_BATCH_QUEUE_SIZE);
     defaultConfigurationValues.put(MULE_OPEN_TELEMETRY_EXPORTER_BATCH_SCHEDULED_DELAY, DEFAULT_SCHEDULED_DELAY);
+    defaultConfigurationValues.put(MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_ENABLED, "false");
+    defaultConfigurationValues.put(MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_MAX_TRACES, DEFAULT_TAIL_SAMPLING_MAX_TRACES);
+    defaultConfigurationValues.put(MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_MAX_SPANS_PER_TRACE,
+                                   DEFAULT_TAIL_SAMPLING_MAX_SPANS_PER_TRACE);
+    defaultConfigurationValues.put(MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_TRACE_TIMEOUT, DEFAULT_TAIL_SAMPLING_TRACE_TIMEOUT);
+    defaultConfigurationValues.put(MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_DURATION_THRESHOLD,
+                                   DEFAULT_TAIL_SAMPLING_DURATION_THRESHOLD);
+    defaultConfigurationValues.put(MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_FLOW_NAMES, DEFAULT_TAIL_SAMPLING_FLOW_NAMES);
+    defaultConfigurationValues.put(MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_RATE_LIMIT, DEFAULT_TAIL_SAMPLING_RATE_LIMIT);
+    defaultConfigurationValues.put(MULE_OPEN_TELEMETRY_EXPORTER_FILE_MAX_FILE_SIZE, DEFAULT_FILE_MAX_FILE_SIZE);
+    defaultConfigurationValues.put(MULE_OPEN_TELEMETRY_EXPORTER_FILE_MAX_FILES, DEFAULT_FILE_MAX_FILES);
+    defaultConfigurationValues.put(MULE_OPEN_TELEMETRY_EXPORTER_FILE_QUEUE_SIZE, DEFAULT_FILE_QUEUE_SIZE);
     defaultConfigurationValues.put(MULE_OPEN_TELEMETRY_OTEL_TRACES_SAMPLER, DEFAULT_SAMPLER);
     defaultConfigurationValues.put(MULE_OPEN_TELEMETRY_OTEL_TRACES_SAMPLER_ARG, DEFAULT_SAMPLER_ARG);
   }
@@ -11,6 +11,13 @@ import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExpor
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_ENDPOINT;
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_MAX_BATCH_SIZE;
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_METRICS_LOG_FREQUENCY;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_DURATION_THRESHOLD;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_ENABLED;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_FLOW_NAMES;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_MAX_SPANS_PER_TRACE;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_MAX_TRACES;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_RATE_LIMIT;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_TRACE_TIMEOUT;
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_TYPE;
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_OTEL_TRACES_SAMPLER;
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_OTEL_TRACES_SAMPLER_ARG;
@@ -18,21 +25,29 @@ import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExpor
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterEnvProperties.OTEL_TRACES_SAMPLER_ENV;
 import static org.mule.runtime.tracer.exporter.impl.config.type.OpenTelemetryExporterTransport.valueOf;
 
+import static java.lang.Boolean.parseBoolean;
 import static java.lang.Integer.parseInt;
 import static java.lang.Long.parseLong;
 import static java.time.Duration.ofMillis;
+import static java.util.Arrays.stream;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.stream.Collectors.toSet;
 
 import static io.opentelemetry.api.common.AttributeKey.stringKey;
 import static io.opentelemetry.context.propagation.ContextPropagators.create;
 import static io.opentelemetry.sdk.resources.Resource.getDefault;
 import static io.opentelemetry.sdk.trace.export.BatchSpanProcessor.builder;
+import static io.opentelemetry.sdk.trace.samplers.Sampler.alwaysOn;
+import static io.opentelemetry.sdk.trace.samplers.Sampler.parentBased;
 
 import org.mule.runtime.tracer.exporter.config.api.SpanExporterConfiguration;
 import org.mule.runtime.tracer.exporter.impl.OpenTelemetrySpanExporterUtils;
 import org.mule.runtime.tracer.exporter.impl.metrics.OpenTelemetryExportQueueMetrics;
+import org.mule.runtime.tracer.exporter.impl.optel.sampling.TailSamplingRules;
+import org.mule.runtime.tracer.exporter.impl.optel.sampling.TailSamplingSpanProcessor;
 
 import java.util.Collection;
+import java.util.Set;
 
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
@@ -106,12 +121,45 @@ public class OpenTelemetryResources {
     int batchQueueSize =
         parseInt(spanExporterConfiguration.getStringValue(MULE_OPEN_TELEMETRY_EXPORTER_BATCH_QUEUE_SIZE));
 
-    return builder(spanExporter)
+    SpanProcessor batchSpanProcessor = builder(spanExporter)
         .setMaxQueueSize(batchQueueSize)
         .setMeterProvider(getMeterProvider(spanExporterConfiguration))
         .setScheduleDelay(parseLong(privilegedSpanExporterConfiguration
             .getStringValue(MULE_OPEN_TELEMETRY_EXPORTER_BATCH_SCHEDULED_DELAY)), MILLISECONDS)
         .setMaxExportBatchSize(maxBatchSize).build();
+
+    if (isTailSamplingEnabled(spanExporterConfiguration)) {
+      LOGGER.debug("Mule Open Telemetry Tracer Exporter tail sampling is enabled");
+      return resolveTailSamplingSpanProcessor(spanExporterConfiguration, batchSpanProcessor);
+    }
+
+    return batchSpanProcessor;
+  }
+
+  private static SpanProcessor resolveTailSamplingSpanProcessor(SpanExporterConfiguration spanExporterConfiguration,
+                                                                SpanProcessor delegate) {
+    long durationThreshold =
+        parseLong(spanExporterConfiguration.getStringValue(MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_DURATION_THRESHOLD));
+    Set<String> flowNames =
+        stream(spanExporterConfiguration.getStringValue(MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_FLOW_NAMES).split(","))
+            .map(String::trim)
+            .filter(flowName -> !flowName.isEmpty())
+            .collect(toSet());
+    int rateLimit = parseInt(spanExporterConfiguration.getStringValue(MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_RATE_LIMIT));
+
+    TailSamplingRules rules = new TailSamplingRules(durationThreshold, flowNames, rateLimit);
+
+    return new TailSamplingSpanProcessor(delegate, rules,
+                                         parseInt(spanExporterConfiguration
+                                             .getStringValue(MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_MAX_TRACES)),
+                                         parseInt(spanExporterConfiguration
+                                             .getStringValue(MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_MAX_SPANS_PER_TRACE)),
+                                         parseLong(spanExporterConfiguration
+                                             .getStringValue(MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_TRACE_TIMEOUT)));
+  }
+
+  private static boolean isTailSamplingEnabled(SpanExporterConfiguration spanExporterConfiguration) {
+    return parseBoolean(spanExporterConfiguration.getStringValue(MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_ENABLED));
   }
 
   public static SpanExporter resolveOpenTelemetrySpanExporter(SpanExporterConfiguration spanExporterConfiguration)
@@ -133,9 +181,14 @@ public class OpenTelemetryResources {
   /**
    * @param spanExporterConfiguration the spanExporterConfiguration.
    *
-   * @return the sampler for the {@link SpanExporter}.
+   * @return the sampler for the {@link SpanExporter}. When tail sampling is enabled, every trace is sampled at span start
+   *         (unless a remote parent says otherwise) so that the decision is made once the trace is complete.
    */
   public static Sampler getSampler(SpanExporterConfiguration spanExporterConfiguration) {
+    if (isTailSamplingEnabled(spanExporterConfiguration)) {
+      return parentBased(alwaysOn());
+    }
+
     return OpenTelemetrySpanExporterUtils
         .getSampler(spanExporterConfiguration.getStringValue(MULE_OPEN_TELEMETRY_OTEL_TRACES_SAMPLER),
                     spanExporterConfiguration.getStringValue(MULE_OPEN_TELEMETRY_OTEL_TRACES_SAMPLER_ARG));
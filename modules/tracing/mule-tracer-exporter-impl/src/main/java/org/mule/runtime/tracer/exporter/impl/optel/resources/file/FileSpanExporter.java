@@ -0,0 +1,66 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.tracer.exporter.impl.optel.resources.file;
+
+import static org.mule.runtime.tracer.exporter.impl.optel.resources.file.SpanDataProtoConverter.toExportTraceServiceRequest;
+
+import static io.opentelemetry.sdk.common.CompletableResultCode.ofFailure;
+import static io.opentelemetry.sdk.common.CompletableResultCode.ofSuccess;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.tracer.common.file.AsyncRecordFileWriter;
+import org.mule.runtime.tracer.common.file.RotatingMappedRecordFile;
+
+import java.util.Collection;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.slf4j.Logger;
+
+/**
+ * A {@link SpanExporter} that appends each exported batch of spans as an OTLP {@code ExportTraceServiceRequest} in protobuf
+ * binary format to local files (see {@link RotatingMappedRecordFile} for the file layout).
+ *
+ * @since 4.9.0
+ */
+public class FileSpanExporter implements SpanExporter {
+
+  private static final Logger LOGGER = getLogger(FileSpanExporter.class);
+
+  private final AsyncRecordFileWriter writer;
+  private final long flushTimeoutMillis;
+
+  public FileSpanExporter(AsyncRecordFileWriter writer, long flushTimeoutMillis) {
+    this.writer = writer;
+    this.flushTimeoutMillis = flushTimeoutMillis;
+  }
+
+  @Override
+  public CompletableResultCode export(Collection<SpanData> spans) {
+    if (spans.isEmpty()) {
+      return ofSuccess();
+    }
+
+    if (writer.write(toExportTraceServiceRequest(spans).toByteArray())) {
+      return ofSuccess();
+    }
+    LOGGER.debug("Dropped {} spans because the file exporter queue is full", spans.size());
+    return ofFailure();
+  }
+
+  @Override
+  public CompletableResultCode flush() {
+    return writer.flush(flushTimeoutMillis) ? ofSuccess() : ofFailure();
+  }
+
+  @Override
+  public CompletableResultCode shutdown() {
+    writer.close();
+    return ofSuccess();
+  }
+}
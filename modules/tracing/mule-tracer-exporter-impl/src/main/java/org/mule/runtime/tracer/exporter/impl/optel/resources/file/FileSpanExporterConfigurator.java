@@ -0,0 +1,72 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.tracer.exporter.impl.optel.resources.file;
+
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_HOME_DIRECTORY_PROPERTY;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_FILE_DIRECTORY;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_FILE_MAX_FILES;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_FILE_MAX_FILE_SIZE;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_FILE_QUEUE_SIZE;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_TIMEOUT;
+
+import static java.lang.Integer.parseInt;
+import static java.lang.Long.parseLong;
+import static java.lang.System.getProperty;
+import static java.nio.file.Paths.get;
+
+import org.mule.runtime.tracer.common.file.AsyncRecordFileWriter;
+import org.mule.runtime.tracer.common.file.RotatingMappedRecordFile;
+import org.mule.runtime.tracer.exporter.config.api.SpanExporterConfiguration;
+import org.mule.runtime.tracer.exporter.impl.optel.resources.SpanExporterConfigurator;
+import org.mule.runtime.tracer.exporter.impl.optel.resources.SpanExporterConfiguratorException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * A {@link SpanExporterConfigurator} for export to local files.
+ *
+ * @since 4.9.0
+ */
+public class FileSpanExporterConfigurator implements SpanExporterConfigurator {
+
+  private static final String FILE_PREFIX = "traces";
+  private static final String WRITER_THREAD_NAME = "mule-tracer-file-exporter";
+
+  @Override
+  public SpanExporter configExporter(SpanExporterConfiguration spanExporterConfiguration)
+      throws SpanExporterConfiguratorException {
+    try {
+      RotatingMappedRecordFile recordFile =
+          new RotatingMappedRecordFile(getDirectory(spanExporterConfiguration), FILE_PREFIX,
+                                       parseInt(spanExporterConfiguration
+                                           .getStringValue(MULE_OPEN_TELEMETRY_EXPORTER_FILE_MAX_FILE_SIZE)),
+                                       parseInt(spanExporterConfiguration
+                                           .getStringValue(MULE_OPEN_TELEMETRY_EXPORTER_FILE_MAX_FILES)));
+
+      // Each record is a whole batch from the batch span processor, so a write batch is bounded by the queue itself.
+      int queueSize = parseInt(spanExporterConfiguration.getStringValue(MULE_OPEN_TELEMETRY_EXPORTER_FILE_QUEUE_SIZE));
+      AsyncRecordFileWriter writer = new AsyncRecordFileWriter(WRITER_THREAD_NAME, recordFile, queueSize, queueSize);
+
+      return new FileSpanExporter(writer, parseLong(spanExporterConfiguration
+          .getStringValue(MULE_OPEN_TELEMETRY_EXPORTER_TIMEOUT)));
+    } catch (IOException | IllegalArgumentException e) {
+      throw new SpanExporterConfiguratorException(e);
+    }
+  }
+
+  private Path getDirectory(SpanExporterConfiguration spanExporterConfiguration) {
+    String directory = spanExporterConfiguration.getStringValue(MULE_OPEN_TELEMETRY_EXPORTER_FILE_DIRECTORY);
+    if (!StringUtils.isEmpty(directory)) {
+      return get(directory);
+    }
+    return get(getProperty(MULE_HOME_DIRECTORY_PROPERTY, getProperty("java.io.tmpdir")), "logs", "otel", FILE_PREFIX);
+  }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.tracer.exporter.impl.optel.resources.file;
+
+import static com.google.protobuf.ByteString.copyFrom;
+import static io.opentelemetry.proto.trace.v1.Span.SpanKind.SPAN_KIND_CLIENT;
+import static io.opentelemetry.proto.trace.v1.Span.SpanKind.SPAN_KIND_CONSUMER;
+import static io.opentelemetry.proto.trace.v1.Span.SpanKind.SPAN_KIND_INTERNAL;
+import static io.opentelemetry.proto.trace.v1.Span.SpanKind.SPAN_KIND_PRODUCER;
+import static io.opentelemetry.proto.trace.v1.Span.SpanKind.SPAN_KIND_SERVER;
+import static io.opentelemetry.proto.trace.v1.Span.SpanKind.SPAN_KIND_UNSPECIFIED;
+import static io.opentelemetry.proto.trace.v1.Status.StatusCode.STATUS_CODE_ERROR;
+import static io.opentelemetry.proto.trace.v1.Status.StatusCode.STATUS_CODE_OK;
+import static io.opentelemetry.proto.trace.v1.Status.StatusCode.STATUS_CODE_UNSET;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.proto.collector.trace.v1.ExportTraceServiceRequest;
+import io.opentelemetry.proto.common.v1.AnyValue;
+import io.opentelemetry.proto.common.v1.ArrayValue;
+import io.opentelemetry.proto.common.v1.InstrumentationScope;
+import io.opentelemetry.proto.common.v1.KeyValue;
+import io.opentelemetry.proto.resource.v1.Resource;
+import io.opentelemetry.proto.trace.v1.ResourceSpans;
+import io.opentelemetry.proto.trace.v1.ScopeSpans;
+import io.opentelemetry.proto.trace.v1.Span;
+import io.opentelemetry.proto.trace.v1.Status;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.trace.data.EventData;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.data.StatusData;
+
+/**
+ * Converts {@link SpanData} to the OTLP protobuf types, grouping the spans by resource and instrumentation scope as the OTLP
+ * exporters do.
+ *
+ * @since 4.9.0
+ */
+final class SpanDataProtoConverter {
+
+  private SpanDataProtoConverter() {}
+
+  static ExportTraceServiceRequest toExportTraceServiceRequest(Collection<SpanData> spans) {
+    Map<io.opentelemetry.sdk.resources.Resource, Map<InstrumentationScopeInfo, List<Span>>> spansByResource =
+        new LinkedHashMap<>();
+    for (SpanData span : spans) {
+      spansByResource.computeIfAbsent(span.getResource(), resource -> new LinkedHashMap<>())
+          .computeIfAbsent(span.getInstrumentationScopeInfo(), scope -> new ArrayList<>())
+          .add(toSpan(span));
+    }
+
+    ExportTraceServiceRequest.Builder request = ExportTraceServiceRequest.newBuilder();
+    spansByResource.forEach((resource, spansByScope) -> {
+      ResourceSpans.Builder resourceSpans = ResourceSpans.newBuilder().setResource(toResource(resource));
+      if (resource.getSchemaUrl() != null) {
+        resourceSpans.setSchemaUrl(resource.getSchemaUrl());
+      }
+      spansByScope.forEach((scope, scopeSpans) -> {
+        ScopeSpans.Builder scopeSpansBuilder = ScopeSpans.newBuilder().setScope(toScope(scope)).addAllSpans(scopeSpans);
+        if (scope.getSchemaUrl() != null) {
+          scopeSpansBuilder.setSchemaUrl(scope.getSchemaUrl());
+        }
+        resourceSpans.addScopeSpans(scopeSpansBuilder);
+      });
+      request.addResourceSpans(resourceSpans);
+    });
+    return request.build();
+  }
+
+  private static Span toSpan(SpanData spanData) {
+    SpanContext spanContext = spanData.getSpanContext();
+    Span.Builder span = Span.newBuilder()
+        .setTraceId(copyFrom(spanContext.getTraceIdBytes()))
+        .setSpanId(copyFrom(spanContext.getSpanIdBytes()))
+        .setTraceState(encodeTraceState(spanContext.getTraceState()))
+        .setName(spanData.getName())
+        .setKind(toSpanKind(spanData.getKind()))
+        .setStartTimeUnixNano(spanData.getStartEpochNanos())
+        .setEndTimeUnixNano(spanData.getEndEpochNanos())
+        .addAllAttributes(toKeyValues(spanData.getAttributes()))
+        .setDroppedAttributesCount(spanData.getTotalAttributeCount() - spanData.getAttributes().size())
+        .setDroppedEventsCount(spanData.getTotalRecordedEvents() - spanData.getEvents().size())
+        .setDroppedLinksCount(spanData.getTotalRecordedLinks() - spanData.getLinks().size())
+        .setStatus(toStatus(spanData.getStatus()));
+
+    if (spanData.getParentSpanContext().isValid()) {
+      span.setParentSpanId(copyFrom(spanData.getParentSpanContext().getSpanIdBytes()));
+    }
+    for (EventData event : spanData.getEvents()) {
+      span.addEvents(Span.Event.newBuilder()
+          .setTimeUnixNano(event.getEpochNanos())
+          .setName(event.getName())
+          .addAllAttributes(toKeyValues(event.getAttributes()))
+          .setDroppedAttributesCount(event.getTotalAttributeCount() - event.getAttributes().size()));
+    }
+    for (LinkData link : spanData.getLinks()) {
+      span.addLinks(Span.Link.newBuilder()
+          .setTraceId(copyFrom(link.getSpanContext().getTraceIdBytes()))
+          .setSpanId(copyFrom(link.getSpanContext().getSpanIdBytes()))
+          .setTraceState(encodeTraceState(link.getSpanContext().getTraceState()))
+          .addAllAttributes(toKeyValues(link.getAttributes()))
+          .setDroppedAttributesCount(link.getTotalAttributeCount() - link.getAttributes().size()));
+    }
+    return span.build();
+  }
+
+  private static Span.SpanKind toSpanKind(SpanKind kind) {
+    switch (kind) {
+      case INTERNAL:
+        return SPAN_KIND_INTERNAL;
+      case SERVER:
+        return SPAN_KIND_SERVER;
+      case CLIENT:
+        return SPAN_KIND_CLIENT;
+      case PRODUCER:
+        return SPAN_KIND_PRODUCER;
+      case CONSUMER:
+        return SPAN_KIND_CONSUMER;
+      default:
+        return SPAN_KIND_UNSPECIFIED;
+    }
+  }
+
+  private static Status toStatus(StatusData statusData) {
+    StatusCode statusCode = statusData.getStatusCode();
+    return Status.newBuilder()
+        .setCode(statusCode == StatusCode.OK ? STATUS_CODE_OK
+            : statusCode == StatusCode.ERROR ? STATUS_CODE_ERROR : STATUS_CODE_UNSET)
+        .setMessage(statusData.getDescription())
+        .build();
+  }
+
+  private static String encodeTraceState(TraceState traceState) {
+    if (traceState.isEmpty()) {
+      return "";
+    }
+    StringBuilder encoded = new StringBuilder();
+    traceState.forEach((key, value) -> {
+      if (encoded.length() > 0) {
+        encoded.append(',');
+      }
+      encoded.append(key).append('=').append(value);
+    });
+    return encoded.toString();
+  }
+
+  private static Resource toResource(io.opentelemetry.sdk.resources.Resource resource) {
+    return Resource.newBuilder().addAllAttributes(toKeyValues(resource.getAttributes())).build();
+  }
+
+  private static InstrumentationScope toScope(InstrumentationScopeInfo scopeInfo) {
+    InstrumentationScope.Builder scope = InstrumentationScope.newBuilder()
+        .setName(scopeInfo.getName())
+        .addAllAttributes(toKeyValues(scopeInfo.getAttributes()));
+    if (scopeInfo.getVersion() != null) {
+      scope.setVersion(scopeInfo.getVersion());
+    }
+    return scope.build();
+  }
+
+  private static List<KeyValue> toKeyValues(Attributes attributes) {
+    List<KeyValue> keyValues = new ArrayList<>(attributes.size());
+    attributes.forEach((key, value) -> keyValues.add(KeyValue.newBuilder()
+        .setKey(key.getKey())
+        .setValue(toAnyValue(key, value))
+        .build()));
+    return keyValues;
+  }
+
+  private static AnyValue toAnyValue(AttributeKey<?> key, Object value) {
+    switch (key.getType()) {
+      case STRING:
+        return AnyValue.newBuilder().setStringValue((String) value).build();
+      case BOOLEAN:
+        return AnyValue.newBuilder().setBoolValue((Boolean) value).build();
+      case LONG:
+        return AnyValue.newBuilder().setIntValue((Long) value).build();
+      case DOUBLE:
+        return AnyValue.newBuilder().setDoubleValue((Double) value).build();
+      case STRING_ARRAY:
+      case BOOLEAN_ARRAY:
+      case LONG_ARRAY:
+      case DOUBLE_ARRAY:
+        ArrayValue.Builder arrayValue = ArrayValue.newBuilder();
+        for (Object element : (List<?>) value) {
+          arrayValue.addValues(toAnyValue(element));
+        }
+        return AnyValue.newBuilder().setArrayValue(arrayValue).build();
+      default:
+        return AnyValue.newBuilder().setStringValue(String.valueOf(value)).build();
+    }
+  }
+
+  private static AnyValue toAnyValue(Object value) {
+    if (value instanceof Boolean) {
+      return AnyValue.newBuilder().setBoolValue((Boolean) value).build();
+    } else if (value instanceof Long) {
+      return AnyValue.newBuilder().setIntValue((Long) value).build();
+    } else if (value instanceof Double) {
+      return AnyValue.newBuilder().setDoubleValue((Double) value).build();
+    } else {
+      return AnyValue.newBuilder().setStringValue(String.valueOf(value)).build();
+    }
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.tracer.exporter.impl.optel.sampling;
+
+import static java.lang.Math.max;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import static io.opentelemetry.api.trace.StatusCode.ERROR;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.data.SpanData;
+
+/**
+ * The rules that decide whether a complete trace buffered by the {@link TailSamplingSpanProcessor} is exported.
+ * <p>
+ * A trace is kept if any of its spans recorded an error, if its root span lasted at least the configured duration threshold or
+ * if its root span belongs to one of the configured flows. Traces not matching any of those rules are kept up to the configured
+ * rate limit of traces per second, and dropped beyond it.
+ *
+ * @since 4.9.0
+ */
+public class TailSamplingRules {
+
+  private static final String LOCATION_KEY = "location";
+  private static final long RATE_LIMIT_WINDOW_NANOS = SECONDS.toNanos(1);
+  private static final long KEPT_MASK = 0xFFFFFFFFL;
+
+  private final long durationThresholdNanos;
+  private final Set<String> flowNames;
+  private final int rateLimit;
+
+  private final long startNanos = nanoTime();
+  // the current rate limit window in the high 32 bits and the traces kept in it in the low 32 bits, so that both are updated
+  // together
+  private final AtomicLong rateLimitState = new AtomicLong();
+
+  /**
+   * @param durationThresholdMillis minimum duration of the root span, in millis, for a trace to be kept. {@code 0} disables the
+   *                                rule.
+   * @param flowNames               the names of the flows whose traces are always kept.
+   * @param rateLimit               maximum traces per second kept when no other rule applies. {@code 0} drops them all.
+   */
+  public TailSamplingRules(long durationThresholdMillis, Set<String> flowNames, int rateLimit) {
+    this.durationThresholdNanos = MILLISECONDS.toNanos(durationThresholdMillis);
+    this.flowNames = flowNames;
+    this.rateLimit = rateLimit;
+  }
+
+  /**
+   * @param rootSpan      the local root span of the trace, or {@code null} if the trace was evicted before its root ended.
+   * @param errorRecorded whether any span of the trace recorded an error.
+   * @return whether the trace has to be exported.
+   */
+  public boolean shouldKeep(ReadableSpan rootSpan, boolean errorRecorded) {
+    if (errorRecorded || (rootSpan != null && hasError(rootSpan))) {
+      return true;
+    }
+
+    if (rootSpan != null) {
+      SpanData rootSpanData = rootSpan.toSpanData();
+      if (durationThresholdNanos > 0
+          && rootSpanData.getEndEpochNanos() - rootSpanData.getStartEpochNanos() >= durationThresholdNanos) {
+        return true;
+      }
+
+      if (!flowNames.isEmpty() && flowNames.contains(getLocation(rootSpanData))) {
+        return true;
+      }
+    }
+
+    return tryAcquireRateLimit();
+  }
+
+  /**
+   * @param span a finished span.
+   * @return whether the span recorded an error.
+   */
+  public static boolean hasError(ReadableSpan span) {
+    return ERROR.equals(span.toSpanData().getStatus().getStatusCode());
+  }
+
+  private static String getLocation(SpanData spanData) {
+    String[] location = new String[1];
+    spanData.getAttributes().forEach((key, value) -> {
+      if (LOCATION_KEY.equals(key.getKey())) {
+        location[0] = String.valueOf(value);
+      }
+    });
+    return location[0];
+  }
+
+  private boolean tryAcquireRateLimit() {
+    if (rateLimit <= 0) {
+      return false;
+    }
+
+    long window = (nanoTime() - startNanos) / RATE_LIMIT_WINDOW_NANOS;
+    while (true) {
+      long state = rateLimitState.get();
+      long stateWindow = state >>> 32;
+      // another thread may have already moved to a later window
+      long currentWindow = max(window, stateWindow);
+      long kept = currentWindow == stateWindow ? state & KEPT_MASK : 0;
+      if (kept >= rateLimit) {
+        return false;
+      }
+      if (rateLimitState.compareAndSet(state, (currentWindow << 32) | (kept + 1))) {
+        return true;
+      }
+    }
+  }
+}
@@ -0,0 +1,390 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.tracer.exporter.impl.optel.sampling;
+
+import static org.mule.runtime.tracer.exporter.impl.optel.sampling.TailSamplingRules.hasError;
+
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import org.slf4j.Logger;
+
+/**
+ * A {@link SpanProcessor} that performs tail-based sampling.
+ * <p>
+ * Ended spans are buffered per trace until the local root span of the trace ends. At that point the whole trace is evaluated
+ * with the {@link TailSamplingRules} and, if kept, every buffered span is handed to the delegate processor (typically the
+ * batch processor that does the actual export). Spans that end while the decision is being made follow that decision.
+ * <p>
+ * The decisions are recorded for the configured timeout, up to the maximum number of buffered traces, so that the spans of a
+ * trace that end after it was decided follow the decision instead of being buffered as a new trace.
+ * <p>
+ * The buffer is bounded both in number of traces and spans per trace. Traces whose root span does not end within the configured
+ * timeout are evaluated without it, oldest first, as new traces are buffered. When the buffer is full, spans of new traces are
+ * only exported if they recorded an error.
+ *
+ * @since 4.9.0
+ */
+public class TailSamplingSpanProcessor implements SpanProcessor {
+
+  private static final Logger LOGGER = getLogger(TailSamplingSpanProcessor.class);
+
+  private final SpanProcessor delegate;
+  private final TailSamplingRules rules;
+  private final int maxTraces;
+  private final int maxSpansPerTrace;
+  private final long traceTimeoutNanos;
+
+  private final Map<String, TraceBuffer> traces = new ConcurrentHashMap<>();
+  private final AtomicInteger bufferedTraces = new AtomicInteger();
+  // the buffered traces in the order they were created, including already decided ones until they reach the head
+  private final Queue<TraceBuffer> tracesByAge = new ConcurrentLinkedQueue<>();
+  private final Lock evictionLock = new ReentrantLock();
+
+  private final Map<String, TraceDecision> decisions = new ConcurrentHashMap<>();
+  private final AtomicInteger recordedDecisions = new AtomicInteger();
+  // the recorded decisions in the order they were made, including already replaced ones until they reach the head
+  private final Queue<TraceDecision> decisionsByAge = new ConcurrentLinkedQueue<>();
+  private final Lock decisionEvictionLock = new ReentrantLock();
+
+  private final LongAdder keptTraces = new LongAdder();
+  private final LongAdder droppedTraces = new LongAdder();
+  private final LongAdder droppedSpans = new LongAdder();
+
+  /**
+   * @param delegate           the processor that receives the spans of the traces to keep.
+   * @param rules              the rules to decide which traces to keep.
+   * @param maxTraces          maximum number of traces buffered at the same time.
+   * @param maxSpansPerTrace   maximum number of spans buffered for a trace. Further spans of the trace are dropped.
+   * @param traceTimeoutMillis time after which a trace whose root span did not end is evaluated without it.
+   */
+  public TailSamplingSpanProcessor(SpanProcessor delegate, TailSamplingRules rules, int maxTraces, int maxSpansPerTrace,
+                                   long traceTimeoutMillis) {
+    this.delegate = delegate;
+    this.rules = rules;
+    this.maxTraces = maxTraces;
+    this.maxSpansPerTrace = maxSpansPerTrace;
+    this.traceTimeoutNanos = MILLISECONDS.toNanos(traceTimeoutMillis);
+  }
+
+  @Override
+  public void onStart(Context parentContext, ReadWriteSpan span) {
+    // Nothing to do: decisions are made when spans end.
+  }
+
+  @Override
+  public boolean isStartRequired() {
+    return false;
+  }
+
+  @Override
+  public void onEnd(ReadableSpan span) {
+    String traceId = span.getSpanContext().getTraceId();
+
+    if (isLocalRoot(span)) {
+      TraceBuffer buffer = traces.get(traceId);
+      if (buffer != null && !buffer.claim()) {
+        // the trace is already being evaluated without the root span, which follows that decision
+        buffer.add(span);
+        return;
+      }
+      // the buffer is removed once the decision is recorded, so that the spans that end meanwhile are not buffered again
+      decide(traceId, span, buffer);
+      if (buffer != null && traces.remove(traceId, buffer)) {
+        bufferedTraces.decrementAndGet();
+      }
+      return;
+    }
+
+    TraceBuffer buffer = traces.get(traceId);
+    if (buffer == null) {
+      TraceDecision decision = decisions.get(traceId);
+      if (decision != null) {
+        if (decision.kept) {
+          delegate.onEnd(span);
+        }
+        return;
+      }
+
+      evictExpiredTraces();
+
+      if (bufferedTraces.get() >= maxTraces) {
+        onSpanOverflow(span);
+        return;
+      }
+
+      buffer = traces.computeIfAbsent(traceId, k -> {
+        bufferedTraces.incrementAndGet();
+        TraceBuffer created = new TraceBuffer(k);
+        tracesByAge.add(created);
+        return created;
+      });
+    }
+
+    buffer.add(span);
+  }
+
+  @Override
+  public boolean isEndRequired() {
+    return true;
+  }
+
+  @Override
+  public CompletableResultCode shutdown() {
+    decideAll();
+    return delegate.shutdown();
+  }
+
+  @Override
+  public CompletableResultCode forceFlush() {
+    decideAll();
+    return delegate.forceFlush();
+  }
+
+  /**
+   * @return the number of traces currently buffered waiting for their root span to end.
+   */
+  public int getBufferedTraces() {
+    return bufferedTraces.get();
+  }
+
+  /**
+   * @return the number of traces handed to the delegate processor so far.
+   */
+  public long getKeptTraces() {
+    return keptTraces.sum();
+  }
+
+  /**
+   * @return the number of traces dropped by the sampling rules so far.
+   */
+  public long getDroppedTraces() {
+    return droppedTraces.sum();
+  }
+
+  /**
+   * @return the number of spans dropped because the buffer was full.
+   */
+  public long getDroppedSpans() {
+    return droppedSpans.sum();
+  }
+
+  private static boolean isLocalRoot(ReadableSpan span) {
+    SpanContext parentSpanContext = span.getParentSpanContext();
+    return !parentSpanContext.isValid() || parentSpanContext.isRemote();
+  }
+
+  private void decide(String traceId, ReadableSpan rootSpan, TraceBuffer buffer) {
+    boolean errorRecorded = buffer != null && buffer.errorRecorded;
+    boolean keep = rules.shouldKeep(rootSpan, errorRecorded);
+
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Tail sampling decision for trace {}: {}", traceId, keep ? "keep" : "drop");
+    }
+
+    if (keep) {
+      keptTraces.increment();
+    } else {
+      droppedTraces.increment();
+    }
+
+    recordDecision(traceId, keep);
+
+    if (buffer != null) {
+      List<ReadableSpan> bufferedSpans = buffer.close(keep);
+      if (keep) {
+        bufferedSpans.forEach(delegate::onEnd);
+      }
+    }
+
+    if (keep && rootSpan != null) {
+      delegate.onEnd(rootSpan);
+    }
+  }
+
+  /**
+   * Evicts the traces at the head of {@link #tracesByAge} that have already been decided or have timed out. Only visits the
+   * traces it removes plus one, and is skipped if another thread is already evicting.
+   */
+  private void evictExpiredTraces() {
+    if (!evictionLock.tryLock()) {
+      return;
+    }
+
+    try {
+      long now = nanoTime();
+      TraceBuffer oldest;
+      while ((oldest = tracesByAge.peek()) != null) {
+        if (traces.get(oldest.traceId) == oldest) {
+          if (now - oldest.createdNanos < traceTimeoutNanos) {
+            return;
+          }
+          // otherwise, its root span is being decided and removes it once done
+          if (oldest.claim()) {
+            decide(oldest.traceId, null, oldest);
+            if (traces.remove(oldest.traceId, oldest)) {
+              bufferedTraces.decrementAndGet();
+            }
+          }
+        }
+        tracesByAge.poll();
+      }
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  private void decideAll() {
+    for (Map.Entry<String, TraceBuffer> entry : traces.entrySet()) {
+      if (entry.getValue().claim()) {
+        decide(entry.getKey(), null, entry.getValue());
+        if (traces.remove(entry.getKey(), entry.getValue())) {
+          bufferedTraces.decrementAndGet();
+        }
+      }
+    }
+    // the decided traces are removed from tracesByAge as they reach its head
+    evictExpiredTraces();
+  }
+
+  private void recordDecision(String traceId, boolean keep) {
+    TraceDecision decision = new TraceDecision(traceId, keep);
+    if (decisions.put(traceId, decision) == null) {
+      recordedDecisions.incrementAndGet();
+    }
+    decisionsByAge.add(decision);
+    evictExpiredDecisions();
+  }
+
+  /**
+   * Evicts the decisions at the head of {@link #decisionsByAge} that have already been replaced, have timed out or exceed the
+   * maximum number of traces. Only visits the decisions it removes plus one, and is skipped if another thread is already
+   * evicting.
+   */
+  private void evictExpiredDecisions() {
+    if (!decisionEvictionLock.tryLock()) {
+      return;
+    }
+
+    try {
+      long now = nanoTime();
+      TraceDecision oldest;
+      while ((oldest = decisionsByAge.peek()) != null) {
+        if (decisions.get(oldest.traceId) == oldest) {
+          if (now - oldest.decidedNanos < traceTimeoutNanos && recordedDecisions.get() <= maxTraces) {
+            return;
+          }
+          if (decisions.remove(oldest.traceId, oldest)) {
+            recordedDecisions.decrementAndGet();
+          }
+        }
+        decisionsByAge.poll();
+      }
+    } finally {
+      decisionEvictionLock.unlock();
+    }
+  }
+
+  private void onSpanOverflow(ReadableSpan span) {
+    if (hasError(span)) {
+      delegate.onEnd(span);
+    } else {
+      droppedSpans.increment();
+    }
+  }
+
+  /**
+   * The spans of a trace ended so far. Once the trace is decided, spans that end later follow the decision.
+   */
+  private final class TraceBuffer {
+
+    private final String traceId;
+    private final long createdNanos = nanoTime();
+    private final AtomicBoolean claimed = new AtomicBoolean();
+    private List<ReadableSpan> spans = new ArrayList<>();
+    private volatile boolean errorRecorded;
+    private boolean decided;
+    private boolean kept;
+
+    TraceBuffer(String traceId) {
+      this.traceId = traceId;
+    }
+
+    void add(ReadableSpan span) {
+      if (hasError(span)) {
+        errorRecorded = true;
+      }
+
+      boolean forward;
+      synchronized (this) {
+        if (!decided) {
+          if (spans.size() < maxSpansPerTrace) {
+            spans.add(span);
+          } else {
+            droppedSpans.increment();
+          }
+          return;
+        }
+        forward = kept;
+      }
+
+      if (forward) {
+        delegate.onEnd(span);
+      }
+    }
+
+    /**
+     * @return whether the caller is the one that decides the trace.
+     */
+    boolean claim() {
+      return claimed.compareAndSet(false, true);
+    }
+
+    synchronized List<ReadableSpan> close(boolean keep) {
+      List<ReadableSpan> bufferedSpans = spans;
+      spans = null;
+      decided = true;
+      kept = keep;
+      return bufferedSpans;
+    }
+  }
+
+  /**
+   * The decision made for a trace, followed by its spans that end afterwards.
+   */
+  private static final class TraceDecision {
+
+    private final String traceId;
+    private final boolean kept;
+    private final long decidedNanos = nanoTime();
+
+    TraceDecision(String traceId, boolean kept) {
+      this.traceId = traceId;
+      this.kept = kept;
+    }
+  }
+}
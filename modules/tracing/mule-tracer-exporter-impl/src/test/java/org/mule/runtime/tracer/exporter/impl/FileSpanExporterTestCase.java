@@ -0,0 +1,128 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.tracer.exporter.impl;
+
+import static org.mule.runtime.tracer.common.file.RotatingMappedRecordFile.readRecords;
+import static org.mule.test.allure.AllureConstants.Profiling.PROFILING;
+import static org.mule.test.allure.AllureConstants.Profiling.ProfilingServiceStory.OPEN_TELEMETRY_EXPORTER;
+
+import static java.nio.file.Files.list;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.stream.Collectors.toList;
+
+import static io.opentelemetry.sdk.trace.export.SimpleSpanProcessor.create;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+import org.mule.runtime.tracer.common.file.AsyncRecordFileWriter;
+import org.mule.runtime.tracer.common.file.RotatingMappedRecordFile;
+import org.mule.runtime.tracer.exporter.impl.optel.resources.file.FileSpanExporter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.proto.collector.trace.v1.ExportTraceServiceRequest;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@Feature(PROFILING)
+@Story(OPEN_TELEMETRY_EXPORTER)
+public class FileSpanExporterTestCase {
+
+  private static final long FLUSH_TIMEOUT = 10000;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void spansAreWrittenAsOtlpRequests() throws Exception {
+    Path directory = temporaryFolder.getRoot().toPath();
+    FileSpanExporter exporter = exporter(directory, 4096, 10);
+    SdkTracerProvider tracerProvider = SdkTracerProvider.builder().addSpanProcessor(create(exporter)).build();
+    Tracer tracer = tracerProvider.get("test");
+
+    tracer.spanBuilder("first").startSpan().end();
+    tracer.spanBuilder("second").startSpan().end();
+    assertThat(exporter.flush().join(FLUSH_TIMEOUT, MILLISECONDS).isSuccess(), is(true));
+    tracerProvider.shutdown();
+
+    List<String> spanNames = new ArrayList<>();
+    for (Path file : files(directory)) {
+      readRecords(file, record -> parse(record).getResourceSpansList()
+          .forEach(resourceSpans -> resourceSpans.getScopeSpansList()
+              .forEach(scopeSpans -> scopeSpans.getSpansList().forEach(span -> spanNames.add(span.getName())))));
+    }
+    assertThat(spanNames, contains("first", "second"));
+  }
+
+  @Test
+  public void filesAreRotated() throws Exception {
+    Path directory = temporaryFolder.getRoot().toPath();
+    FileSpanExporter exporter = exporter(directory, 64, 2);
+    SdkTracerProvider tracerProvider = SdkTracerProvider.builder().addSpanProcessor(create(exporter)).build();
+    Tracer tracer = tracerProvider.get("test");
+
+    for (int i = 0; i < 5; i++) {
+      tracer.spanBuilder("span" + i).startSpan().end();
+    }
+    tracerProvider.shutdown();
+
+    assertThat(files(directory), hasSize(2));
+  }
+
+  @Test
+  public void filesOfPreviousExecutionsAreRotated() throws Exception {
+    Path directory = temporaryFolder.getRoot().toPath();
+    for (int execution = 0; execution < 3; execution++) {
+      FileSpanExporter exporter = exporter(directory, 64, 2);
+      SdkTracerProvider tracerProvider = SdkTracerProvider.builder().addSpanProcessor(create(exporter)).build();
+      tracerProvider.get("test").spanBuilder("span" + execution).startSpan().end();
+      tracerProvider.shutdown();
+    }
+
+    List<Path> files = files(directory);
+    assertThat(files, hasSize(2));
+    List<String> spanNames = new ArrayList<>();
+    for (Path file : files) {
+      readRecords(file, record -> parse(record).getResourceSpansList()
+          .forEach(resourceSpans -> resourceSpans.getScopeSpansList()
+              .forEach(scopeSpans -> scopeSpans.getSpansList().forEach(span -> spanNames.add(span.getName())))));
+    }
+    assertThat(spanNames, contains("span1", "span2"));
+  }
+
+  private FileSpanExporter exporter(Path directory, int maxFileSize, int maxFiles) throws IOException {
+    RotatingMappedRecordFile recordFile = new RotatingMappedRecordFile(directory, "traces", maxFileSize, maxFiles);
+    return new FileSpanExporter(new AsyncRecordFileWriter("test-file-exporter", recordFile, 16, 16), FLUSH_TIMEOUT);
+  }
+
+  private static List<Path> files(Path directory) throws IOException {
+    try (Stream<Path> files = list(directory)) {
+      return files.sorted().collect(toList());
+    }
+  }
+
+  private static ExportTraceServiceRequest parse(byte[] record) {
+    try {
+      return ExportTraceServiceRequest.parseFrom(record);
+    } catch (InvalidProtocolBufferException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.tracer.exporter.impl;
+
+import static org.mule.test.allure.AllureConstants.Profiling.PROFILING;
+import static org.mule.test.allure.AllureConstants.Profiling.ProfilingServiceStory.OPEN_TELEMETRY_EXPORTER;
+
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
+import static io.opentelemetry.api.trace.SpanContext.getInvalid;
+import static io.opentelemetry.api.trace.StatusCode.ERROR;
+import static io.opentelemetry.api.trace.TraceFlags.getSampled;
+import static io.opentelemetry.api.trace.TraceState.getDefault;
+import static io.opentelemetry.sdk.trace.data.StatusData.create;
+import static io.opentelemetry.sdk.trace.data.StatusData.unset;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.tracer.exporter.impl.optel.sampling.TailSamplingRules;
+import org.mule.runtime.tracer.exporter.impl.optel.sampling.TailSamplingSpanProcessor;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.Before;
+import org.junit.Test;
+
+@Feature(PROFILING)
+@Story(OPEN_TELEMETRY_EXPORTER)
+public class TailSamplingSpanProcessorTestCase {
+
+  private static final String TRACE_ID = "0af7651916cd43dd8448eb211c80319c";
+  private static final String OTHER_TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+  private static final String ROOT_SPAN_ID = "b7ad6b7169203331";
+  private static final String CHILD_SPAN_ID = "00f067aa0ba902b7";
+  private static final String LATE_SPAN_ID = "53995c3f42cd8ad8";
+
+  private SpanProcessor delegate;
+
+  @Before
+  public void before() {
+    delegate = mock(SpanProcessor.class);
+  }
+
+  @Test
+  public void traceWithErrorIsKept() {
+    TailSamplingSpanProcessor processor = processor(new TailSamplingRules(0, emptySet(), 0));
+    ReadableSpan child = span(CHILD_SPAN_ID, rootContext(), true, 0, "flow");
+    ReadableSpan root = span(ROOT_SPAN_ID, getInvalid(), false, 0, "flow");
+
+    processor.onEnd(child);
+    verify(delegate, never()).onEnd(any());
+    assertThat(processor.getBufferedTraces(), is(1));
+
+    processor.onEnd(root);
+    verify(delegate).onEnd(child);
+    verify(delegate).onEnd(root);
+    assertThat(processor.getBufferedTraces(), is(0));
+    assertThat(processor.getKeptTraces(), is(1L));
+  }
+
+  @Test
+  public void uninterestingTraceIsDropped() {
+    TailSamplingSpanProcessor processor = processor(new TailSamplingRules(0, emptySet(), 0));
+    ReadableSpan child = span(CHILD_SPAN_ID, rootContext(), false, 0, "flow");
+    ReadableSpan root = span(ROOT_SPAN_ID, getInvalid(), false, 0, "flow");
+
+    processor.onEnd(child);
+    processor.onEnd(root);
+
+    verify(delegate, never()).onEnd(any());
+    assertThat(processor.getBufferedTraces(), is(0));
+    assertThat(processor.getDroppedTraces(), is(1L));
+  }
+
+  @Test
+  public void slowTraceIsKept() {
+    TailSamplingSpanProcessor processor = processor(new TailSamplingRules(100, emptySet(), 0));
+    ReadableSpan root = span(ROOT_SPAN_ID, getInvalid(), false, MILLISECONDS.toNanos(150), "flow");
+
+    processor.onEnd(root);
+
+    verify(delegate).onEnd(root);
+  }
+
+  @Test
+  public void configuredFlowIsKept() {
+    TailSamplingSpanProcessor processor = processor(new TailSamplingRules(0, singleton("interestingFlow"), 0));
+    ReadableSpan interesting = span(ROOT_SPAN_ID, getInvalid(), false, 0, "interestingFlow");
+    ReadableSpan other = span(ROOT_SPAN_ID, getInvalid(), false, 0, "otherFlow");
+
+    processor.onEnd(interesting);
+    processor.onEnd(other);
+
+    verify(delegate).onEnd(interesting);
+    verify(delegate, never()).onEnd(other);
+  }
+
+  @Test
+  public void rateLimitedTraces() {
+    TailSamplingSpanProcessor processor = processor(new TailSamplingRules(0, emptySet(), 1));
+    ReadableSpan first = span(ROOT_SPAN_ID, getInvalid(), false, 0, "flow");
+    ReadableSpan second = span(ROOT_SPAN_ID, getInvalid(), false, 0, "flow");
+
+    processor.onEnd(first);
+    processor.onEnd(second);
+
+    // Both traces may straddle a rate limit window, so only the lower bound is deterministic.
+    verify(delegate).onEnd(first);
+  }
+
+  @Test
+  public void fullBufferOnlyForwardsErrors() {
+    TailSamplingSpanProcessor processor = new TailSamplingSpanProcessor(delegate, new TailSamplingRules(0, emptySet(), 0),
+                                                                        0, 10, Long.MAX_VALUE);
+    ReadableSpan failed = span(CHILD_SPAN_ID, rootContext(), true, 0, "flow");
+    ReadableSpan succeeded = span(CHILD_SPAN_ID, rootContext(), false, 0, "flow");
+
+    processor.onEnd(failed);
+    processor.onEnd(succeeded);
+
+    verify(delegate).onEnd(failed);
+    verify(delegate, never()).onEnd(succeeded);
+    assertThat(processor.getDroppedSpans(), is(1L));
+  }
+
+  @Test
+  public void timedOutTraceIsDecidedWhenNewTraceIsBuffered() {
+    TailSamplingSpanProcessor processor = new TailSamplingSpanProcessor(delegate, new TailSamplingRules(0, emptySet(), 0),
+                                                                        100, 100, 0);
+    ReadableSpan timedOut = span(CHILD_SPAN_ID, rootContext(), true, 0, "flow");
+    ReadableSpan other = span(OTHER_TRACE_ID, CHILD_SPAN_ID, rootContext(OTHER_TRACE_ID), false, 0, "flow");
+
+    processor.onEnd(timedOut);
+    processor.onEnd(other);
+
+    verify(delegate).onEnd(timedOut);
+    assertThat(processor.getKeptTraces(), is(1L));
+    assertThat(processor.getBufferedTraces(), is(1));
+  }
+
+  @Test
+  public void lateSpanOfKeptTraceIsForwarded() {
+    TailSamplingSpanProcessor processor = processor(new TailSamplingRules(0, emptySet(), 0));
+    ReadableSpan child = span(CHILD_SPAN_ID, rootContext(), true, 0, "flow");
+    ReadableSpan root = span(ROOT_SPAN_ID, getInvalid(), false, 0, "flow");
+    ReadableSpan late = span(LATE_SPAN_ID, rootContext(), false, 0, "flow");
+
+    processor.onEnd(child);
+    processor.onEnd(root);
+    processor.onEnd(late);
+
+    verify(delegate).onEnd(late);
+    assertThat(processor.getBufferedTraces(), is(0));
+    assertThat(processor.getKeptTraces(), is(1L));
+  }
+
+  @Test
+  public void lateSpanOfDroppedTraceIsNotBuffered() {
+    TailSamplingSpanProcessor processor = processor(new TailSamplingRules(0, emptySet(), 0));
+    ReadableSpan root = span(ROOT_SPAN_ID, getInvalid(), false, 0, "flow");
+    ReadableSpan late = span(LATE_SPAN_ID, rootContext(), false, 0, "flow");
+
+    processor.onEnd(root);
+    processor.onEnd(late);
+    processor.forceFlush();
+
+    verify(delegate, never()).onEnd(any());
+    assertThat(processor.getBufferedTraces(), is(0));
+    assertThat(processor.getDroppedTraces(), is(1L));
+  }
+
+  @Test
+  public void lateSpanAfterDecisionExpiredIsBuffered() {
+    TailSamplingSpanProcessor processor = new TailSamplingSpanProcessor(delegate, new TailSamplingRules(0, emptySet(), 0),
+                                                                        100, 100, 0);
+    ReadableSpan root = span(ROOT_SPAN_ID, getInvalid(), false, 0, "flow");
+    ReadableSpan late = span(LATE_SPAN_ID, rootContext(), false, 0, "flow");
+
+    processor.onEnd(root);
+    processor.onEnd(late);
+
+    assertThat(processor.getBufferedTraces(), is(1));
+  }
+
+  @Test
+  public void flushDecidesBufferedTraces() {
+    TailSamplingSpanProcessor processor = processor(new TailSamplingRules(0, emptySet(), 0));
+    ReadableSpan child = span(CHILD_SPAN_ID, rootContext(), true, 0, "flow");
+
+    processor.onEnd(child);
+    processor.forceFlush();
+
+    verify(delegate).onEnd(child);
+    verify(delegate).forceFlush();
+    assertThat(processor.getBufferedTraces(), is(0));
+  }
+
+  private TailSamplingSpanProcessor processor(TailSamplingRules rules) {
+    return new TailSamplingSpanProcessor(delegate, rules, 100, 100, Long.MAX_VALUE);
+  }
+
+  private static SpanContext rootContext() {
+    return rootContext(TRACE_ID);
+  }
+
+  private static SpanContext rootContext(String traceId) {
+    return SpanContext.create(traceId, ROOT_SPAN_ID, getSampled(), getDefault());
+  }
+
+  private static ReadableSpan span(String spanId, SpanContext parentSpanContext, boolean error, long durationNanos,
+                                   String location) {
+    return span(TRACE_ID, spanId, parentSpanContext, error, durationNanos, location);
+  }
+
+  private static ReadableSpan span(String traceId, String spanId, SpanContext parentSpanContext, boolean error,
+                                   long durationNanos, String location) {
+    SpanData spanData = mock(SpanData.class);
+    when(spanData.getStatus()).thenReturn(error ? create(ERROR, null) : unset());
+    when(spanData.getStartEpochNanos()).thenReturn(0L);
+    when(spanData.getEndEpochNanos()).thenReturn(durationNanos);
+    when(spanData.getAttributes()).thenReturn(Attributes.of(stringKey("location"), location));
+
+    ReadableSpan span = mock(ReadableSpan.class);
+    when(span.getSpanContext()).thenReturn(SpanContext.create(traceId, spanId, getSampled(), getDefault()));
+    when(span.getParentSpanContext()).thenReturn(parentSpanContext);
+    when(span.toSpanData()).thenReturn(spanData);
+    return span;
+  }
+}
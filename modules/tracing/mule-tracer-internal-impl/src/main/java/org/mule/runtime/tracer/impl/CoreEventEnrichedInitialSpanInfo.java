@@ -6,13 +6,14 @@
  */
 package org.mule.runtime.tracer.impl;
 
+import static java.util.Collections.emptyMap;
+
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.privileged.event.PrivilegedEvent;
 import org.mule.runtime.tracer.api.span.info.EnrichedInitialSpanInfo;
 import org.mule.runtime.tracer.api.span.info.InitialExportInfo;
 import org.mule.runtime.tracer.api.span.info.InitialSpanInfo;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.function.BiConsumer;
 
@@ -23,20 +24,27 @@ public class CoreEventEnrichedInitialSpanInfo implements EnrichedInitialSpanInfo
   private static final String THREAD_START_ID_KEY = "thread.start.id";
   // These are correlation.id, thread.start.id, thread.start.name
   public static final int ADDITIONAL_SPAN_ATTRIBUTES_COUNT = 3;
+  // The id of a thread never changes, so its string representation is computed once per thread instead of once per span.
+  private static final ThreadLocal<String> CURRENT_THREAD_ID =
+      ThreadLocal.withInitial(() -> Long.toString(Thread.currentThread().getId()));
 
   private final InitialSpanInfo baseInitialSpanInfo;
   private final String correlationId;
   private final String threadStartName;
   private final String threadStartId;
-  private final Map<String, String> tracingVariables = new HashMap<>();
+  private final Map<String, String> tracingVariables;
 
   public CoreEventEnrichedInitialSpanInfo(InitialSpanInfo baseInitialSpanInfo, CoreEvent coreEvent) {
     this.baseInitialSpanInfo = baseInitialSpanInfo;
     this.correlationId = coreEvent.getCorrelationId();
     this.threadStartName = Thread.currentThread().getName();
-    this.threadStartId = Long.toString(Thread.currentThread().getId());
+    this.threadStartId = CURRENT_THREAD_ID.get();
+    // The logging variables of an event are never modified once it is built (builders work on a copy), so they can be
+    // referenced instead of copied.
     if (coreEvent instanceof PrivilegedEvent) {
-      ((PrivilegedEvent) coreEvent).getLoggingVariables().ifPresent(tracingVariables::putAll);
+      this.tracingVariables = ((PrivilegedEvent) coreEvent).getLoggingVariables().orElse(emptyMap());
+    } else {
+      this.tracingVariables = emptyMap();
     }
   }
 
@@ -21,7 +21,6 @@ import org.mule.runtime.tracer.api.span.exporter.SpanExporter;
 import org.mule.runtime.tracer.api.span.info.InitialSpanInfo;
 import org.mule.runtime.tracer.exporter.api.SpanExporterFactory;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiConsumer;
@@ -39,11 +38,13 @@ public class ExportOnEndExecutionSpan implements InternalSpan {
   private final SpanExporter spanExporter;
   private SpanError lastError;
   private final InternalSpan parent;
-  private final Long startTime;
+  private final long startTime;
   private Long endTime;
-  private final Map<String, String> additionalAttributes = new HashMap<>();
+  private SpanDuration duration;
+  // Most spans get no additional attributes, so the storage is only created when the first one is added.
+  private SpanAttributes additionalAttributes;
 
-  private ExportOnEndExecutionSpan(SpanExporterFactory spanExporterFactory, InitialSpanInfo initialSpanInfo, Long startTime,
+  private ExportOnEndExecutionSpan(SpanExporterFactory spanExporterFactory, InitialSpanInfo initialSpanInfo, long startTime,
                                    InternalSpan parent) {
     this.initialSpanInfo = initialSpanInfo;
     this.startTime = startTime;
@@ -86,6 +87,7 @@ public class ExportOnEndExecutionSpan implements InternalSpan {
   @Override
   public void end(long endTime) {
     this.endTime = endTime;
+    this.duration = null;
     this.spanExporter.export();
   }
 
@@ -103,7 +105,7 @@ public class ExportOnEndExecutionSpan implements InternalSpan {
   @Override
   public void forEachAttribute(BiConsumer<String, String> biConsumer) {
     initialSpanInfo.forEachAttribute(biConsumer);
-    if (!additionalAttributes.isEmpty()) {
+    if (additionalAttributes != null) {
       additionalAttributes.forEach(biConsumer);
     }
   }
@@ -135,7 +137,15 @@ public class ExportOnEndExecutionSpan implements InternalSpan {
 
   @Override
   public SpanDuration getDuration() {
-    return new DefaultSpanDuration(startTime, endTime);
+    // The exporter queries the duration more than once per span, so the instance is reused until the span ends again.
+    SpanDuration spanDuration = duration;
+    if (spanDuration == null) {
+      spanDuration = new DefaultSpanDuration(startTime, endTime);
+      if (endTime != null) {
+        duration = spanDuration;
+      }
+    }
+    return spanDuration;
   }
 
   @Override
@@ -149,7 +159,7 @@ public class ExportOnEndExecutionSpan implements InternalSpan {
 
   @Override
   public int getAttributesCount() {
-    return initialSpanInfo.getInitialAttributesCount() + additionalAttributes.size();
+    return initialSpanInfo.getInitialAttributesCount() + (additionalAttributes != null ? additionalAttributes.size() : 0);
   }
 
   @Override
@@ -184,6 +194,9 @@ public class ExportOnEndExecutionSpan implements InternalSpan {
   @Override
   public void addAttribute(String key, String value) {
     if (!key.equals(SPAN_KIND) && !key.equals(STATUS)) {
+      if (additionalAttributes == null) {
+        additionalAttributes = new SpanAttributes();
+      }
       additionalAttributes.put(key, value);
     }
     spanExporter.onAdditionalAttribute(key, value);
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.tracer.impl.span;
+
+import static java.util.Arrays.copyOf;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Compact storage for the attributes added to a span during its execution.
+ * <p>
+ * Spans usually carry just a handful of additional attributes, so they are kept in two parallel arrays that are scanned
+ * linearly, instead of a hash map with an entry object per attribute. Insertion order is preserved and adding an existing key
+ * replaces its value.
+ *
+ * @since 4.9.0
+ */
+final class SpanAttributes {
+
+  private static final int INITIAL_CAPACITY = 4;
+
+  private String[] keys = new String[INITIAL_CAPACITY];
+  private String[] values = new String[INITIAL_CAPACITY];
+  private int size;
+
+  void put(String key, String value) {
+    for (int i = 0; i < size; i++) {
+      if (keys[i].equals(key)) {
+        values[i] = value;
+        return;
+      }
+    }
+
+    if (size == keys.length) {
+      keys = copyOf(keys, size * 2);
+      values = copyOf(values, size * 2);
+    }
+
+    keys[size] = key;
+    values[size] = value;
+    size++;
+  }
+
+  void forEach(BiConsumer<String, String> biConsumer) {
+    for (int i = 0; i < size; i++) {
+      biConsumer.accept(keys[i], values[i]);
+    }
+  }
+
+  int size() {
+    return size;
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.tracer.impl.span;
+
+import static org.mule.test.allure.AllureConstants.Profiling.PROFILING;
+import static org.mule.test.allure.AllureConstants.Profiling.ProfilingServiceStory.DEFAULT_CORE_EVENT_TRACER;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.Test;
+
+@Feature(PROFILING)
+@Story(DEFAULT_CORE_EVENT_TRACER)
+public class SpanAttributesTestCase {
+
+  @Test
+  public void attributesKeepInsertionOrderBeyondInitialCapacity() {
+    SpanAttributes spanAttributes = new SpanAttributes();
+    for (int i = 0; i < 10; i++) {
+      spanAttributes.put("key" + i, "value" + i);
+    }
+
+    List<String> entries = new ArrayList<>();
+    spanAttributes.forEach((key, value) -> entries.add(key + "=" + value));
+
+    assertThat(spanAttributes.size(), equalTo(10));
+    assertThat(entries, contains("key0=value0", "key1=value1", "key2=value2", "key3=value3", "key4=value4", "key5=value5",
+                                 "key6=value6", "key7=value7", "key8=value8", "key9=value9"));
+  }
+
+  @Test
+  public void existingAttributeIsReplaced() {
+    SpanAttributes spanAttributes = new SpanAttributes();
+    spanAttributes.put("key", "value");
+    spanAttributes.put("otherKey", "otherValue");
+    spanAttributes.put("key", "newValue");
+
+    List<String> entries = new ArrayList<>();
+    spanAttributes.forEach((key, value) -> entries.add(key + "=" + value));
+
+    assertThat(spanAttributes.size(), equalTo(2));
+    assertThat(entries, contains("key=newValue", "otherKey=otherValue"));
+  }
+}
@@ -15,7 +15,11 @@ import org.mule.runtime.module.troubleshooting.api.TroubleshootingOperationCallb
 import org.mule.runtime.module.troubleshooting.api.TroubleshootingOperationDefinition;
 import org.mule.runtime.module.troubleshooting.api.TroubleshootingOperationException;
 import org.mule.runtime.module.troubleshooting.api.TroubleshootingService;
+import org.mule.runtime.module.troubleshooting.internal.operations.ConnectionPoolsOperation;
 import org.mule.runtime.module.troubleshooting.internal.operations.EventDumpOperation;
+import org.mule.runtime.module.troubleshooting.internal.operations.ObjectStoresOperation;
+import org.mule.runtime.module.troubleshooting.internal.operations.ProfilingDataOperation;
+import org.mule.runtime.module.troubleshooting.internal.operations.StartupTraceOperation;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -29,6 +33,10 @@ public class DefaultTroubleshootingService implements TroubleshootingService {
 
   public DefaultTroubleshootingService(DeploymentService deploymentService) {
     registerOperation(new EventDumpOperation(deploymentService));
+    registerOperation(new ProfilingDataOperation(deploymentService));
+    registerOperation(new StartupTraceOperation());
+    registerOperation(new ConnectionPoolsOperation(deploymentService));
+    registerOperation(new ObjectStoresOperation(deploymentService));
   }
 
   @Override
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.troubleshooting.internal.operations;
+
+import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_CONNECTION_MANAGER;
+
+import static java.util.Collections.emptyMap;
+
+import org.mule.runtime.core.internal.connection.ConnectionManagerAdapter;
+import org.mule.runtime.deployment.model.api.application.Application;
+import org.mule.runtime.module.deployment.api.DeploymentService;
+import org.mule.runtime.module.troubleshooting.api.ArgumentDefinition;
+import org.mule.runtime.module.troubleshooting.api.TroubleshootingOperation;
+import org.mule.runtime.module.troubleshooting.api.TroubleshootingOperationCallback;
+import org.mule.runtime.module.troubleshooting.api.TroubleshootingOperationDefinition;
+import org.mule.runtime.module.troubleshooting.internal.DefaultArgumentDefinition;
+import org.mule.runtime.module.troubleshooting.internal.DefaultTroubleshootingOperationDefinition;
+
+import java.util.Map;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+
+/**
+ * Operation used to collect the state of the connection pools of the deployed applications, along with the time spent waiting
+ * for their connections, in JSON format.
+ * <p>
+ * The name of the operation is "connectionPools". Only the pools that are not blocking are inspected.
+ * <p>
+ * Arguments:
+ * <ul>
+ * <li>application (Optional): The application to collect the state of the connection pools from</li>
+ * </ul>
+ *
+ * @since 4.9.0
+ */
+public class ConnectionPoolsOperation implements TroubleshootingOperation {
+
+  public static final String CONNECTION_POOLS_OPERATION_NAME = "connectionPools";
+  public static final String CONNECTION_POOLS_OPERATION_DESCRIPTION =
+      "Collects the state and wait times of the connection pools of the applications in JSON format";
+
+  public static final String APPLICATION_ARGUMENT_NAME = "application";
+  public static final String APPLICATION_ARGUMENT_DESCRIPTION = "Application to collect the state of the connection pools from";
+
+  private static final TroubleshootingOperationDefinition definition = createOperationDefinition();
+
+  private final DeploymentService deploymentService;
+
+  public ConnectionPoolsOperation(DeploymentService deploymentService) {
+    this.deploymentService = deploymentService;
+  }
+
+  @Override
+  public TroubleshootingOperationDefinition getDefinition() {
+    return definition;
+  }
+
+  @Override
+  public TroubleshootingOperationCallback getCallback() {
+    return arguments -> {
+      Gson gson = new GsonBuilder().setPrettyPrinting().create();
+      JsonObject connectionPools = new JsonObject();
+      final String applicationName = arguments.get(APPLICATION_ARGUMENT_NAME);
+      if (applicationName == null) {
+        for (Application application : deploymentService.getApplications()) {
+          addConnectionPoolsOf(application, connectionPools, gson);
+        }
+      } else {
+        addConnectionPoolsOf(deploymentService.findApplication(applicationName), connectionPools, gson);
+      }
+      return gson.toJson(connectionPools);
+    };
+  }
+
+  private static void addConnectionPoolsOf(Application application, JsonObject connectionPools, Gson gson) {
+    connectionPools.add(application.getArtifactName(), gson.toJsonTree(getPoolStatistics(application)));
+  }
+
+  private static Map<String, Map<String, Object>> getPoolStatistics(Application application) {
+    return application
+        .getArtifactContext()
+        .getRegistry()
+        .lookupByName(OBJECT_CONNECTION_MANAGER)
+        .filter(ConnectionManagerAdapter.class::isInstance)
+        .map(connectionManager -> ((ConnectionManagerAdapter) connectionManager).getPoolStatistics())
+        .orElse(emptyMap());
+  }
+
+  private static TroubleshootingOperationDefinition createOperationDefinition() {
+    return new DefaultTroubleshootingOperationDefinition(CONNECTION_POOLS_OPERATION_NAME, CONNECTION_POOLS_OPERATION_DESCRIPTION,
+                                                         createApplicationArgumentDefinition());
+  }
+
+  private static ArgumentDefinition createApplicationArgumentDefinition() {
+    return new DefaultArgumentDefinition(APPLICATION_ARGUMENT_NAME, APPLICATION_ARGUMENT_DESCRIPTION, false);
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.troubleshooting.internal.operations;
+
+import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_STORE_MANAGER;
+
+import static java.util.Collections.emptyMap;
+
+import org.mule.runtime.core.internal.util.store.MuleObjectStoreManager;
+import org.mule.runtime.deployment.model.api.application.Application;
+import org.mule.runtime.module.deployment.api.DeploymentService;
+import org.mule.runtime.module.troubleshooting.api.ArgumentDefinition;
+import org.mule.runtime.module.troubleshooting.api.TroubleshootingOperation;
+import org.mule.runtime.module.troubleshooting.api.TroubleshootingOperationCallback;
+import org.mule.runtime.module.troubleshooting.api.TroubleshootingOperationDefinition;
+import org.mule.runtime.module.troubleshooting.internal.DefaultArgumentDefinition;
+import org.mule.runtime.module.troubleshooting.internal.DefaultTroubleshootingOperationDefinition;
+
+import java.util.Map;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+
+/**
+ * Operation used to collect the number of entries expired from the object stores of the deployed applications, along with the
+ * duration of the last expiration run of each store, in JSON format.
+ * <p>
+ * The name of the operation is "objectStores". Only the stores whose base store does not expire entries by itself are inspected.
+ * <p>
+ * Arguments:
+ * <ul>
+ * <li>application (Optional): The application to collect the expiration statistics of the object stores from</li>
+ * </ul>
+ *
+ * @since 4.9.0
+ */
+public class ObjectStoresOperation implements TroubleshootingOperation {
+
+  public static final String OBJECT_STORES_OPERATION_NAME = "objectStores";
+  public static final String OBJECT_STORES_OPERATION_DESCRIPTION =
+      "Collects the expiration statistics of the object stores of the applications in JSON format";
+
+  public static final String APPLICATION_ARGUMENT_NAME = "application";
+  public static final String APPLICATION_ARGUMENT_DESCRIPTION = "Application to collect the statistics of the object stores from";
+
+  private static final TroubleshootingOperationDefinition definition = createOperationDefinition();
+
+  private final DeploymentService deploymentService;
+
+  public ObjectStoresOperation(DeploymentService deploymentService) {
+    this.deploymentService = deploymentService;
+  }
+
+  @Override
+  public TroubleshootingOperationDefinition getDefinition() {
+    return definition;
+  }
+
+  @Override
+  public TroubleshootingOperationCallback getCallback() {
+    return arguments -> {
+      Gson gson = new GsonBuilder().setPrettyPrinting().create();
+      JsonObject objectStores = new JsonObject();
+      final String applicationName = arguments.get(APPLICATION_ARGUMENT_NAME);
+      if (applicationName == null) {
+        for (Application application : deploymentService.getApplications()) {
+          addObjectStoresOf(application, objectStores, gson);
+        }
+      } else {
+        addObjectStoresOf(deploymentService.findApplication(applicationName), objectStores, gson);
+      }
+      return gson.toJson(objectStores);
+    };
+  }
+
+  private static void addObjectStoresOf(Application application, JsonObject objectStores, Gson gson) {
+    objectStores.add(application.getArtifactName(), gson.toJsonTree(getExpirationStatistics(application)));
+  }
+
+  private static Map<String, Map<String, Object>> getExpirationStatistics(Application application) {
+    return application
+        .getArtifactContext()
+        .getRegistry()
+        .lookupByName(OBJECT_STORE_MANAGER)
+        .filter(MuleObjectStoreManager.class::isInstance)
+        .map(objectStoreManager -> ((MuleObjectStoreManager) objectStoreManager).getExpirationStatistics())
+        .orElse(emptyMap());
+  }
+
+  private static TroubleshootingOperationDefinition createOperationDefinition() {
+    return new DefaultTroubleshootingOperationDefinition(OBJECT_STORES_OPERATION_NAME, OBJECT_STORES_OPERATION_DESCRIPTION,
+                                                         createApplicationArgumentDefinition());
+  }
+
+  private static ArgumentDefinition createApplicationArgumentDefinition() {
+    return new DefaultArgumentDefinition(APPLICATION_ARGUMENT_NAME, APPLICATION_ARGUMENT_DESCRIPTION, false);
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.troubleshooting.internal.operations;
+
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_PROFILING_SERVICE_KEY;
+
+import static java.util.Collections.emptyMap;
+
+import org.json.JSONObject;
+import org.mule.runtime.core.internal.profiling.InternalProfilingService;
+import org.mule.runtime.deployment.model.api.application.Application;
+import org.mule.runtime.module.deployment.api.DeploymentService;
+import org.mule.runtime.module.troubleshooting.api.ArgumentDefinition;
+import org.mule.runtime.module.troubleshooting.api.TroubleshootingOperation;
+import org.mule.runtime.module.troubleshooting.api.TroubleshootingOperationCallback;
+import org.mule.runtime.module.troubleshooting.api.TroubleshootingOperationDefinition;
+import org.mule.runtime.module.troubleshooting.internal.DefaultArgumentDefinition;
+import org.mule.runtime.module.troubleshooting.internal.DefaultTroubleshootingOperationDefinition;
+
+import java.util.Map;
+
+/**
+ * Operation used to collect the data aggregated by the runtime profiling data consumers in JSON format.
+ * <p>
+ * The name of the operation is "profiling".
+ * <p>
+ * Arguments:
+ * <ul>
+ * <li>application (Optional): The application to collect the profiling data from</li>
+ * </ul>
+ */
+public class ProfilingDataOperation implements TroubleshootingOperation {
+
+  public static final String PROFILING_DATA_OPERATION_NAME = "profiling";
+  public static final String PROFILING_DATA_OPERATION_DESCRIPTION =
+      "Collects the data aggregated by the runtime profiling in JSON format";
+
+  public static final String APPLICATION_ARGUMENT_NAME = "application";
+  public static final String APPLICATION_ARGUMENT_DESCRIPTION = "Application to collect the profiling data from";
+
+  private static final TroubleshootingOperationDefinition definition = createOperationDefinition();
+
+  private final DeploymentService deploymentService;
+
+  public ProfilingDataOperation(DeploymentService deploymentService) {
+    this.deploymentService = deploymentService;
+  }
+
+  @Override
+  public TroubleshootingOperationDefinition getDefinition() {
+    return definition;
+  }
+
+  @Override
+  public TroubleshootingOperationCallback getCallback() {
+    return arguments -> {
+      JSONObject profilingData = new JSONObject();
+      final String applicationName = arguments.get(APPLICATION_ARGUMENT_NAME);
+      if (applicationName == null) {
+        for (Application application : deploymentService.getApplications()) {
+          addProfilingDataFor(application, profilingData);
+        }
+      } else {
+        addProfilingDataFor(deploymentService.findApplication(applicationName), profilingData);
+      }
+      return profilingData.toString(2);
+    };
+  }
+
+  private static void addProfilingDataFor(Application application, JSONObject profilingData) {
+    profilingData.put(application.getArtifactName(), new JSONObject(getAggregatedProfilingData(application)));
+  }
+
+  private static Map<String, Object> getAggregatedProfilingData(Application application) {
+    // The profiling service may not be an internal one (for instance, when the profiling is disabled)
+    return application
+        .getArtifactContext()
+        .getRegistry()
+        .lookupByName(MULE_PROFILING_SERVICE_KEY)
+        .filter(InternalProfilingService.class::isInstance)
+        .map(profilingService -> ((InternalProfilingService) profilingService).getAggregatedProfilingData())
+        .orElse(emptyMap());
+  }
+
+  private static TroubleshootingOperationDefinition createOperationDefinition() {
+    return new DefaultTroubleshootingOperationDefinition(PROFILING_DATA_OPERATION_NAME, PROFILING_DATA_OPERATION_DESCRIPTION,
+                                                         createApplicationArgumentDefinition());
+  }
+
+  private static ArgumentDefinition createApplicationArgumentDefinition() {
+    return new DefaultArgumentDefinition(APPLICATION_ARGUMENT_NAME, APPLICATION_ARGUMENT_DESCRIPTION, false);
+  }
+}
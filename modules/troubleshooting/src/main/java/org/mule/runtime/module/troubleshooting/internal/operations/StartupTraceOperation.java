@@ -0,0 +1,80 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.troubleshooting.internal.operations;
+
+import static org.mule.runtime.core.internal.profiling.startup.StartupTracer.getTrace;
+import static org.mule.runtime.core.internal.profiling.startup.StartupTracer.getTraces;
+
+import org.mule.runtime.core.internal.profiling.startup.StartupTrace;
+import org.mule.runtime.module.troubleshooting.api.ArgumentDefinition;
+import org.mule.runtime.module.troubleshooting.api.TroubleshootingOperation;
+import org.mule.runtime.module.troubleshooting.api.TroubleshootingOperationCallback;
+import org.mule.runtime.module.troubleshooting.api.TroubleshootingOperationDefinition;
+import org.mule.runtime.module.troubleshooting.internal.DefaultArgumentDefinition;
+import org.mule.runtime.module.troubleshooting.internal.DefaultTroubleshootingOperationDefinition;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+
+/**
+ * Operation used to collect the time and memory spent on each phase of the startup of the deployed artifacts, in JSON format.
+ * <p>
+ * The name of the operation is "startup". Traces are only collected when
+ * {@link org.mule.runtime.core.internal.profiling.startup.StartupTracer#STARTUP_TRACE_PROPERTY} is set.
+ * <p>
+ * Arguments:
+ * <ul>
+ * <li>artifact (Optional): The application or domain to collect the startup trace from</li>
+ * </ul>
+ *
+ * @since 4.9.0
+ */
+public class StartupTraceOperation implements TroubleshootingOperation {
+
+  public static final String STARTUP_TRACE_OPERATION_NAME = "startup";
+  public static final String STARTUP_TRACE_OPERATION_DESCRIPTION =
+      "Collects the time and memory spent on each phase of the startup of the deployed artifacts in JSON format";
+
+  public static final String ARTIFACT_ARGUMENT_NAME = "artifact";
+  public static final String ARTIFACT_ARGUMENT_DESCRIPTION = "Application or domain to collect the startup trace from";
+
+  private static final TroubleshootingOperationDefinition definition = createOperationDefinition();
+
+  @Override
+  public TroubleshootingOperationDefinition getDefinition() {
+    return definition;
+  }
+
+  @Override
+  public TroubleshootingOperationCallback getCallback() {
+    return arguments -> {
+      JsonObject startupTraces = new JsonObject();
+      final String artifactName = arguments.get(ARTIFACT_ARGUMENT_NAME);
+      if (artifactName == null) {
+        for (StartupTrace trace : getTraces()) {
+          addStartupTrace(trace, startupTraces);
+        }
+      } else {
+        getTrace(artifactName).ifPresent(trace -> addStartupTrace(trace, startupTraces));
+      }
+      return new GsonBuilder().setPrettyPrinting().create().toJson(startupTraces);
+    };
+  }
+
+  private static void addStartupTrace(StartupTrace trace, JsonObject startupTraces) {
+    startupTraces.add(trace.getArtifactName(), trace.toJsonObject());
+  }
+
+  private static TroubleshootingOperationDefinition createOperationDefinition() {
+    return new DefaultTroubleshootingOperationDefinition(STARTUP_TRACE_OPERATION_NAME, STARTUP_TRACE_OPERATION_DESCRIPTION,
+                                                         createArtifactArgumentDefinition());
+  }
+
+  private static ArgumentDefinition createArtifactArgumentDefinition() {
+    return new DefaultArgumentDefinition(ARTIFACT_ARGUMENT_NAME, ARTIFACT_ARGUMENT_DESCRIPTION, false);
+  }
+}
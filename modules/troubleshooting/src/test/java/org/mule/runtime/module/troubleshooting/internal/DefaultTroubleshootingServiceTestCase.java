@@ -15,7 +15,11 @@ import static org.mule.runtime.module.troubleshooting.internal.TestTroubleshooti
 import static org.mule.runtime.module.troubleshooting.internal.TroubleshootingTestUtils.mockApplication;
 import static org.mule.runtime.module.troubleshooting.internal.TroubleshootingTestUtils.mockDeploymentService;
 import static org.mule.runtime.module.troubleshooting.internal.TroubleshootingTestUtils.mockFlowStackEntry;
+import static org.mule.runtime.module.troubleshooting.internal.operations.ConnectionPoolsOperation.CONNECTION_POOLS_OPERATION_NAME;
 import static org.mule.runtime.module.troubleshooting.internal.operations.EventDumpOperation.EVENT_DUMP_OPERATION_NAME;
+import static org.mule.runtime.module.troubleshooting.internal.operations.ObjectStoresOperation.OBJECT_STORES_OPERATION_NAME;
+import static org.mule.runtime.module.troubleshooting.internal.operations.ProfilingDataOperation.PROFILING_DATA_OPERATION_NAME;
+import static org.mule.runtime.module.troubleshooting.internal.operations.StartupTraceOperation.STARTUP_TRACE_OPERATION_NAME;
 
 import org.junit.After;
 import org.junit.Before;
@@ -52,10 +56,12 @@ public class DefaultTroubleshootingServiceTestCase {
   @Test
   public void checkOperations() {
     List<TroubleshootingOperationDefinition> availableOperations = troubleshootingService.getAvailableOperations();
-    assertThat(availableOperations.size(), is(2));
+    assertThat(availableOperations.size(), is(6));
 
     List<String> operationNames = availableOperations.stream().map(TroubleshootingOperationDefinition::getName).collect(toList());
-    assertThat(operationNames, containsInAnyOrder(EVENT_DUMP_OPERATION_NAME, TEST_OPERATION_NAME));
+    assertThat(operationNames,
+               containsInAnyOrder(EVENT_DUMP_OPERATION_NAME, PROFILING_DATA_OPERATION_NAME, STARTUP_TRACE_OPERATION_NAME,
+                                  CONNECTION_POOLS_OPERATION_NAME, OBJECT_STORES_OPERATION_NAME, TEST_OPERATION_NAME));
   }
 
   @Test(expected = TroubleshootingOperationException.class)
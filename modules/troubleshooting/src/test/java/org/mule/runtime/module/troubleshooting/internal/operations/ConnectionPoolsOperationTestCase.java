@@ -0,0 +1,77 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.troubleshooting.internal.operations;
+
+import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_CONNECTION_MANAGER;
+import static org.mule.runtime.module.troubleshooting.internal.TroubleshootingTestUtils.mockApplication;
+import static org.mule.runtime.module.troubleshooting.internal.TroubleshootingTestUtils.mockDeploymentService;
+import static org.mule.runtime.module.troubleshooting.internal.operations.ConnectionPoolsOperation.APPLICATION_ARGUMENT_NAME;
+import static org.mule.runtime.module.troubleshooting.internal.operations.ConnectionPoolsOperation.CONNECTION_POOLS_OPERATION_NAME;
+
+import static java.util.Collections.singletonMap;
+import static java.util.Optional.of;
+
+import static com.google.gson.JsonParser.parseString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.api.artifact.Registry;
+import org.mule.runtime.core.internal.connection.ConnectionManagerAdapter;
+import org.mule.runtime.deployment.model.api.application.Application;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.google.gson.JsonElement;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ConnectionPoolsOperationTestCase {
+
+  private ConnectionPoolsOperation connectionPoolsOperation;
+
+  @Before
+  public void setup() {
+    Application app1 = mockApplication("app1");
+    ConnectionManagerAdapter connectionManager = mock(ConnectionManagerAdapter.class);
+    when(connectionManager.getPoolStatistics()).thenReturn(singletonMap("config-pool", singletonMap("numActive", 2)));
+    Registry registry = app1.getArtifactContext().getRegistry();
+    when(registry.lookupByName(OBJECT_CONNECTION_MANAGER)).thenReturn(of(connectionManager));
+
+    Application app2 = mockApplication("app2");
+    connectionPoolsOperation = new ConnectionPoolsOperation(mockDeploymentService(app1, app2));
+  }
+
+  @Test
+  public void definitionHasCorrectNameAndNumberOfArguments() {
+    assertThat(connectionPoolsOperation.getDefinition().getName(), is(CONNECTION_POOLS_OPERATION_NAME));
+    assertThat(connectionPoolsOperation.getDefinition().getArgumentDefinitions().size(), is(1));
+  }
+
+  @Test
+  public void whenNoApplicationIsPassedItReturnsAllApplications() {
+    Object result = connectionPoolsOperation.getCallback().execute(new HashMap<>());
+
+    JsonElement resultJson = parseString((String) result);
+    JsonElement expectedJson = parseString("{\"app1\":{\"config-pool\":{\"numActive\":2}},\"app2\":{}}");
+    assertThat(resultJson, is(equalTo(expectedJson)));
+  }
+
+  @Test
+  public void whenApplicationIsPassedItReturnsOnlyThePassedOne() {
+    Map<String, String> argumentsWithApplication = new HashMap<>();
+    argumentsWithApplication.put(APPLICATION_ARGUMENT_NAME, "app1");
+    Object result = connectionPoolsOperation.getCallback().execute(argumentsWithApplication);
+
+    JsonElement resultJson = parseString((String) result);
+    JsonElement expectedJson = parseString("{\"app1\":{\"config-pool\":{\"numActive\":2}}}");
+    assertThat(resultJson, is(equalTo(expectedJson)));
+  }
+}
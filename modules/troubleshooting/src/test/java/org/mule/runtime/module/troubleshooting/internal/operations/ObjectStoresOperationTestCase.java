@@ -0,0 +1,77 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.troubleshooting.internal.operations;
+
+import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_STORE_MANAGER;
+import static org.mule.runtime.module.troubleshooting.internal.TroubleshootingTestUtils.mockApplication;
+import static org.mule.runtime.module.troubleshooting.internal.TroubleshootingTestUtils.mockDeploymentService;
+import static org.mule.runtime.module.troubleshooting.internal.operations.ObjectStoresOperation.APPLICATION_ARGUMENT_NAME;
+import static org.mule.runtime.module.troubleshooting.internal.operations.ObjectStoresOperation.OBJECT_STORES_OPERATION_NAME;
+
+import static java.util.Collections.singletonMap;
+import static java.util.Optional.of;
+
+import static com.google.gson.JsonParser.parseString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.api.artifact.Registry;
+import org.mule.runtime.core.internal.util.store.MuleObjectStoreManager;
+import org.mule.runtime.deployment.model.api.application.Application;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.google.gson.JsonElement;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ObjectStoresOperationTestCase {
+
+  private ObjectStoresOperation objectStoresOperation;
+
+  @Before
+  public void setup() {
+    Application app1 = mockApplication("app1");
+    MuleObjectStoreManager objectStoreManager = mock(MuleObjectStoreManager.class);
+    when(objectStoreManager.getExpirationStatistics()).thenReturn(singletonMap("store", singletonMap("expiredEntries", 2)));
+    Registry registry = app1.getArtifactContext().getRegistry();
+    when(registry.lookupByName(OBJECT_STORE_MANAGER)).thenReturn(of(objectStoreManager));
+
+    Application app2 = mockApplication("app2");
+    objectStoresOperation = new ObjectStoresOperation(mockDeploymentService(app1, app2));
+  }
+
+  @Test
+  public void definitionHasCorrectNameAndNumberOfArguments() {
+    assertThat(objectStoresOperation.getDefinition().getName(), is(OBJECT_STORES_OPERATION_NAME));
+    assertThat(objectStoresOperation.getDefinition().getArgumentDefinitions().size(), is(1));
+  }
+
+  @Test
+  public void whenNoApplicationIsPassedItReturnsAllApplications() {
+    Object result = objectStoresOperation.getCallback().execute(new HashMap<>());
+
+    JsonElement resultJson = parseString((String) result);
+    JsonElement expectedJson = parseString("{\"app1\":{\"store\":{\"expiredEntries\":2}},\"app2\":{}}");
+    assertThat(resultJson, is(equalTo(expectedJson)));
+  }
+
+  @Test
+  public void whenApplicationIsPassedItReturnsOnlyThePassedOne() {
+    Map<String, String> argumentsWithApplication = new HashMap<>();
+    argumentsWithApplication.put(APPLICATION_ARGUMENT_NAME, "app1");
+    Object result = objectStoresOperation.getCallback().execute(argumentsWithApplication);
+
+    JsonElement resultJson = parseString((String) result);
+    JsonElement expectedJson = parseString("{\"app1\":{\"store\":{\"expiredEntries\":2}}}");
+    assertThat(resultJson, is(equalTo(expectedJson)));
+  }
+}
@@ -479,6 +479,9 @@ public interface AllureConstants {
       String COLLECT_LIST = "Collect List";
       String COLLECT_MAP = "Collect Map";
       String JOIN_ONLY = "Join Only";
+      String QUORUM = "Quorum";
+      String FIRST_SUCCESSFUL = "First Successful";
+      String HEDGED = "Hedged";
     }
 
   }
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.functional.junit4;
+
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_ON_DEMAND_FLOWS_DEPLOYMENT_PROPERTY;
+
+import static java.util.Collections.singletonMap;
+
+import static org.apache.commons.lang3.exception.ExceptionUtils.getRootCause;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
+import org.mule.runtime.api.lifecycle.Initialisable;
+import org.mule.runtime.api.lifecycle.InitialisationException;
+import org.mule.runtime.core.api.MuleContext;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+import io.qameta.allure.Description;
+
+/**
+ * Tests for the {@link FunctionalTestCase} support class when the flows without a message source are initialized on demand and
+ * the configuration has a component that fails to initialise.
+ */
+public class FunctionalTestCaseWithOnDemandFlowsInvalidConfigTestCase extends FunctionalTestCase {
+
+  private static final String FAILURE_MESSAGE = "Invalid component";
+
+  private Exception initialisationFailure;
+
+  @Override
+  public boolean enableLazyInit() {
+    return true;
+  }
+
+  @Override
+  protected Map<String, String> artifactProperties() {
+    return singletonMap(MULE_ON_DEMAND_FLOWS_DEPLOYMENT_PROPERTY, "true");
+  }
+
+  @Override
+  protected String getConfigFile() {
+    return "on-demand-flows-invalid-config.xml";
+  }
+
+  @Override
+  protected MuleContext createMuleContext() throws Exception {
+    try {
+      return super.createMuleContext();
+    } catch (Exception e) {
+      initialisationFailure = e;
+      return null;
+    }
+  }
+
+  @Override
+  protected boolean doTestClassInjection() {
+    return false;
+  }
+
+  @Test
+  @Description("Checks that a component that fails to initialise fails the deployment, as in a regular deployment")
+  public void invalidComponentFailsDeployment() {
+    assertThat(initialisationFailure, is(notNullValue()));
+    assertThat(getRootCause(initialisationFailure), instanceOf(InitialisationException.class));
+    assertThat(getRootCause(initialisationFailure).getMessage(), containsString(FAILURE_MESSAGE));
+  }
+
+  public static class FailingObject implements Initialisable {
+
+    @Override
+    public void initialise() throws InitialisationException {
+      throw new InitialisationException(createStaticMessage(FAILURE_MESSAGE), this);
+    }
+  }
+}
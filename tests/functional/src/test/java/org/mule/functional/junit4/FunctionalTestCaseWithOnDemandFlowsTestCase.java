@@ -0,0 +1,124 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.functional.junit4;
+
+import static org.mule.runtime.api.component.location.Location.builder;
+import static org.mule.runtime.config.internal.registry.AbstractSpringRegistry.SPRING_APPLICATION_CONTEXT;
+import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_ON_DEMAND_FLOWS_DEPLOYMENT_PROPERTY;
+
+import static java.util.Collections.singletonMap;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.mule.runtime.api.component.location.ConfigurationComponentLocator;
+import org.mule.runtime.core.api.construct.Flow;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import javax.inject.Inject;
+
+import org.springframework.context.ApplicationContext;
+
+import org.junit.Test;
+
+import io.qameta.allure.Description;
+
+/**
+ * Tests for the {@link FunctionalTestCase} support class when the flows without a message source are initialized on demand.
+ */
+public class FunctionalTestCaseWithOnDemandFlowsTestCase extends FunctionalTestCase {
+
+  private static final String ON_DEMAND_FLOW = "onDemandFlow";
+  private static final String REFERENCED_FLOW = "referencedFlow";
+  private static final int CONCURRENT_LOOKUPS = 8;
+
+  @Inject
+  private ConfigurationComponentLocator locator;
+
+  @Override
+  public boolean enableLazyInit() {
+    return true;
+  }
+
+  @Override
+  protected Map<String, String> artifactProperties() {
+    return singletonMap(MULE_ON_DEMAND_FLOWS_DEPLOYMENT_PROPERTY, "true");
+  }
+
+  @Override
+  protected String getConfigFile() {
+    return "on-demand-flows-config.xml";
+  }
+
+  @Test
+  @Description("Checks that a flow without a message source is not created along with the artifact")
+  public void flowWithoutSourceIsNotCreatedWithArtifact() {
+    assertThat(isCreated(ON_DEMAND_FLOW), is(false));
+  }
+
+  @Test
+  @Description("Checks that a flow referenced from a static flow-ref is created along with the artifact")
+  public void staticallyReferencedFlowIsCreatedWithArtifact() {
+    assertThat(isCreated(REFERENCED_FLOW), is(true));
+  }
+
+  @Test
+  @Description("Checks that a flow initialized on demand is created and started when it is first looked up")
+  public void flowIsCreatedAndStartedOnFirstLookup() {
+    Flow flow = (Flow) registry.lookupByName(ON_DEMAND_FLOW).get();
+
+    assertThat(flow.isStarted(), is(true));
+    assertThat(isCreated(ON_DEMAND_FLOW), is(true));
+  }
+
+  @Test
+  @Description("Checks that querying the bean factory about a flow initialized on demand does not create it")
+  public void queryingFlowDoesNotCreateIt() {
+    ApplicationContext applicationContext = (ApplicationContext) registry.lookupByName(SPRING_APPLICATION_CONTEXT).get();
+
+    assertThat(applicationContext.containsBean(ON_DEMAND_FLOW), is(true));
+    assertThat(isCreated(ON_DEMAND_FLOW), is(false));
+  }
+
+  @Test
+  @Description("Checks that concurrent first lookups of a flow initialized on demand create it only once")
+  public void concurrentFirstLookupsCreateFlowOnce() throws Exception {
+    CountDownLatch latch = new CountDownLatch(1);
+    ExecutorService executor = newFixedThreadPool(CONCURRENT_LOOKUPS);
+    try {
+      List<Future<Object>> lookups = new ArrayList<>();
+      for (int i = 0; i < CONCURRENT_LOOKUPS; ++i) {
+        lookups.add(executor.submit((Callable<Object>) () -> {
+          latch.await();
+          return registry.lookupByName(ON_DEMAND_FLOW).get();
+        }));
+      }
+      latch.countDown();
+
+      Object flow = lookups.get(0).get();
+      assertThat(((Flow) flow).isStarted(), is(true));
+      for (Future<Object> lookup : lookups) {
+        assertThat(lookup.get(), is(sameInstance(flow)));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private boolean isCreated(String flowName) {
+    return locator.find(builder().globalName(flowName).build()).isPresent();
+  }
+}
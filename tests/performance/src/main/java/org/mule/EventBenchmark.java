@@ -40,6 +40,7 @@ public class EventBenchmark extends AbstractBenchmark {
   private CoreEvent eventWith10Variables;
   private CoreEvent eventWith50Variables;
   private CoreEvent eventWith100Variables;
+  private CoreEvent eventWith50LoggingVariables;
 
   @Setup
   public void setup() throws Exception {
@@ -53,7 +54,12 @@ public class EventBenchmark extends AbstractBenchmark {
     event = eventBuilder.build();
     eventWith10Variables = createMuleEventWithFlowVars(10);
     eventWith50Variables = createMuleEventWithFlowVars(50);
-    eventWith100Variables = createMuleEventWithFlowVars(50);
+    eventWith100Variables = createMuleEventWithFlowVars(100);
+    final PrivilegedEvent.Builder loggingVariablesBuilder = PrivilegedEvent.builder(event);
+    for (int i = 1; i <= 50; i++) {
+      loggingVariablesBuilder.addLoggingVariable("loggingVariable" + i, "val");
+    }
+    eventWith50LoggingVariables = loggingVariablesBuilder.build();
   }
 
   @TearDown
@@ -162,6 +168,29 @@ public class EventBenchmark extends AbstractBenchmark {
     return eventBuilder.message(builder.build()).build();
   }
 
+  @Benchmark
+  public CoreEvent setVariable20TimesEventWith50Variables() {
+    CoreEvent result = eventWith50Variables;
+    for (int j = 1; j <= 20; j++) {
+      result = CoreEvent.builder(result).addVariable("newKey" + j, "val").build();
+    }
+    return result;
+  }
+
+  @Benchmark
+  public CoreEvent overwriteVariable20TimesEventWith100Variables() {
+    CoreEvent result = eventWith100Variables;
+    for (int j = 1; j <= 20; j++) {
+      result = CoreEvent.builder(result).addVariable("flowVariableKey" + j, "newVal").build();
+    }
+    return result;
+  }
+
+  @Benchmark
+  public CoreEvent copyEventWith50LoggingVariables() {
+    return PrivilegedEvent.builder(eventWith50LoggingVariables).message(of(PAYLOAD)).build();
+  }
+
   @Benchmark
   public CoreEvent quickCopyInternalParameters() {
     return InternalEvent.builder(quickCopy(quickCopy(event, of("k1", "v1")), of("k2", "v2")))
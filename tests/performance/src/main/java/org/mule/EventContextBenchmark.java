@@ -51,7 +51,7 @@ public class EventContextBenchmark extends AbstractBenchmark {
   private final String id = UUID.getUUID();
   private final String severId = UUID.getUUID();
   private CoreEvent event;
-
+  private CoreEvent eventWith50Variables;
 
   @Setup
   public void setup() throws Exception {
@@ -63,6 +63,12 @@ public class EventContextBenchmark extends AbstractBenchmark {
     CoreEvent.Builder eventBuilder =
         CoreEvent.builder(create(flow, CONNECTOR_LOCATION)).message(messageBuilder.build());
     event = eventBuilder.build();
+
+    CoreEvent.Builder variablesBuilder = CoreEvent.builder(event);
+    for (int i = 1; i <= 50; i++) {
+      variablesBuilder.addVariable("flowVariable" + i, "val");
+    }
+    eventWith50Variables = variablesBuilder.build();
   }
 
   @TearDown
@@ -146,6 +152,18 @@ public class EventContextBenchmark extends AbstractBenchmark {
     return childEventContextForEach(1000);
   }
 
+  @Benchmark
+  public CoreEvent[] createEventWith50VariablesFor10ChildrenAndSetVariable() {
+    BaseEventContext eventContext = (BaseEventContext) create(flow, CONNECTOR_LOCATION);
+    CoreEvent parentEvent = CoreEvent.builder(eventContext, eventWith50Variables).build();
+
+    CoreEvent[] childEvents = new CoreEvent[10];
+    for (int i = 0; i < childEvents.length; ++i) {
+      childEvents[i] = CoreEvent.builder(child(eventContext, empty()), parentEvent).addVariable("counter", i).build();
+    }
+    return childEvents;
+  }
+
   private Object[] childEventContextForEach(int childrenCount) {
     AtomicReference<CoreEvent> result = new AtomicReference<>();
     AtomicBoolean complete = new AtomicBoolean();
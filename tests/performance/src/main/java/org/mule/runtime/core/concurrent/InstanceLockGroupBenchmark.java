@@ -0,0 +1,72 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.concurrent;
+
+import static java.util.concurrent.ThreadLocalRandom.current;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.core.internal.lock.InstanceLockGroup;
+import org.mule.runtime.core.internal.lock.SingleServerLockProvider;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+public class InstanceLockGroupBenchmark extends AbstractBenchmark {
+
+  private static final int KEYS = 1024;
+
+  private final String[] lockIds = new String[KEYS];
+  private InstanceLockGroup lockGroup;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    for (int i = 0; i < KEYS; ++i) {
+      lockIds[i] = "lock-" + i;
+    }
+    lockGroup = new InstanceLockGroup(new SingleServerLockProvider(), 0);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    lockGroup.dispose();
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public void lockUnlockDistinctKeys() {
+    String lockId = lockIds[current().nextInt(KEYS)];
+    lockGroup.lock(lockId);
+    lockGroup.unlock(lockId);
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public boolean tryLockUnlockDistinctKeys() {
+    String lockId = lockIds[current().nextInt(KEYS)];
+    if (lockGroup.tryLock(lockId)) {
+      lockGroup.unlock(lockId);
+      return true;
+    }
+    return false;
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public void lockUnlockSameKey() {
+    lockGroup.lock(lockIds[0]);
+    lockGroup.unlock(lockIds[0]);
+  }
+}